@@ -0,0 +1,52 @@
+package dev.hyein.article.app.accesslog;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * 서블릿(/articles) 요청 접근 로그
+ * 핸들러는 객체를 로그로 남기는 대신 resultSize 로 결과 건수만 알린다.
+ */
+@Component
+@RequiredArgsConstructor
+public class AccessLogFilter extends OncePerRequestFilter {
+    private static final String RESULT_SIZE_ATTRIBUTE = AccessLogFilter.class.getName() + ".resultSize";
+
+    private final AccessLogger accessLogger;
+
+    /**
+     * 현재 요청의 결과 건수 기록
+     * @param resultSize
+     */
+    public static void resultSize(int resultSize) {
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if(requestAttributes != null)
+            requestAttributes.setAttribute(RESULT_SIZE_ATTRIBUTE, resultSize, RequestAttributes.SCOPE_REQUEST);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        long startedAt = System.nanoTime();
+        Throwable error = null;
+        try {
+            filterChain.doFilter(request, response);
+        } catch (IOException | ServletException | RuntimeException e) {
+            error = e;
+            throw e;
+        } finally {
+            Object resultSize = request.getAttribute(RESULT_SIZE_ATTRIBUTE);
+            accessLogger.log(request.getMethod(), request.getRequestURI(), request.getQueryString(),
+                    error != null ? HttpServletResponse.SC_INTERNAL_SERVER_ERROR : response.getStatus(),
+                    System.nanoTime() - startedAt, resultSize instanceof Integer ? (Integer) resultSize : -1, error);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package dev.hyein.article.app.accesslog;
+
+import dev.hyein.article.app.properties.AccessLogProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 구조화된 접근 로그
+ * 요청마다 객체 전체 대신 메서드, 경로, 상태, 소요 시간, 결과 건수만 key=value 한 줄로 남긴다.
+ * 정상 요청은 sampleRate 비율만 기록하고, 느리거나 실패한 요청은 항상 기록한다.
+ * ACCESS 로거는 logback-spring.xml 에서 비동기 appender 로 연결되어 요청 스레드가 I/O 를 기다리지 않는다.
+ */
+@Component
+public class AccessLogger {
+    public static final String LOGGER_NAME = "ACCESS";
+    private static final Logger ACCESS_LOG = LoggerFactory.getLogger(LOGGER_NAME);
+
+    private final AccessLogProperties accessLogProperties;
+
+    public AccessLogger(AccessLogProperties accessLogProperties) {
+        this.accessLogProperties = accessLogProperties;
+    }
+
+    /**
+     * 기록 대상이면 접근 로그 기록
+     * @param method
+     * @param path
+     * @param query 쿼리 스트링, 없으면 null
+     * @param status HTTP 상태
+     * @param durationNanos
+     * @param resultSize 결과 건수, 모르면 -1
+     * @param error 처리 중 발생한 예외, 없으면 null
+     */
+    public void log(String method, String path, String query, int status, long durationNanos, int resultSize, Throwable error) {
+        if(!accessLogProperties.isEnabled() || !ACCESS_LOG.isInfoEnabled())
+            return;
+
+        long durationMs = TimeUnit.NANOSECONDS.toMillis(durationNanos);
+        if(!shouldLog(status, durationMs, error))
+            return;
+
+        ACCESS_LOG.info(format(method, path, query, status, durationMs, resultSize, error));
+    }
+
+    /**
+     * 기록 대상 여부, 느리거나 실패한 요청은 항상 기록하고 나머지는 샘플링한다.
+     * @param status
+     * @param durationMs
+     * @param error
+     * @return
+     */
+    boolean shouldLog(int status, long durationMs, Throwable error) {
+        return isSlow(durationMs) || status >= 400 || error != null || isSampled();
+    }
+
+    String format(String method, String path, String query, int status, long durationMs, int resultSize, Throwable error) {
+        StringBuilder sb = new StringBuilder(128)
+                .append("method=").append(method)
+                .append(" path=").append(path)
+                .append(" status=").append(status)
+                .append(" durationMs=").append(durationMs);
+        if(resultSize >= 0)
+            sb.append(" results=").append(resultSize);
+        if(query != null && !query.isEmpty())
+            sb.append(" query=\"").append(truncate(query)).append('"');
+        if(isSlow(durationMs))
+            sb.append(" slow=true");
+        if(error != null)
+            sb.append(" error=").append(error.getClass().getSimpleName());
+        return sb.toString();
+    }
+
+    private boolean isSlow(long durationMs) {
+        return durationMs >= accessLogProperties.getSlowThresholdMs();
+    }
+
+    private boolean isSampled() {
+        double sampleRate = accessLogProperties.getSampleRate();
+        return sampleRate >= 1 || (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate);
+    }
+
+    private String truncate(String query) {
+        String escaped = query.replace('"', '\'');
+        return escaped.length() <= accessLogProperties.getMaxQueryLength() ? escaped : escaped.substring(0, accessLogProperties.getMaxQueryLength()) + "...";
+    }
+}
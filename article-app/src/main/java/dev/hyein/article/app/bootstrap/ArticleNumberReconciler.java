@@ -0,0 +1,45 @@
+package dev.hyein.article.app.bootstrap;
+
+import dev.hyein.article.app.properties.ExistenceBitmapProperties;
+import dev.hyein.article.elasticsearch.dao.ArticleDao;
+import dev.hyein.article.elasticsearch.validator.ArticleValidator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+/**
+ * 아티클 번호 비트맵 적재
+ * 기동 직후 전체 아티클 번호를 읽어 ArticleValidator 의 비트맵을 만들고, 이후 주기적으로 다시 만들어 다른 인스턴스의 쓰기를 반영한다.
+ * 실패하면 기존 비트맵(없으면 원격 확인)을 그대로 쓰고 다음 주기에 다시 시도한다.
+ */
+@Component
+@ConditionalOnProperty(prefix = "article.existence-bitmap", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class ArticleNumberReconciler {
+    private final ArticleDao articleDao;
+    private final ArticleValidator articleValidator;
+    private final ExistenceBitmapProperties existenceBitmapProperties;
+
+    @Scheduled(fixedDelayString = "${article.existence-bitmap.reconcile-interval-ms:300000}")
+    public void scheduledReconcile() {
+        try {
+            reconcile();
+        } catch (IOException | RuntimeException e) {
+            log.warn("[ArticleNumberReconciler] Reconcile failed, retry next time: {}", e.toString());
+        }
+    }
+
+    /**
+     * 전체 아티클 번호로 비트맵 교체
+     * @return 적재한 아티클 수
+     * @throws IOException
+     */
+    public long reconcile() throws IOException {
+        return articleValidator.reloadArticleNumbers(consumer -> articleDao.scanArticleNumbers(existenceBitmapProperties.getScanBatchSize(), consumer));
+    }
+}
@@ -0,0 +1,87 @@
+package dev.hyein.article.app.bootstrap;
+
+import dev.hyein.article.elasticsearch.dao.ArticleDao;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+/**
+ * 아티클 인덱스에 앱이 필요로 하는 stored script, 매핑 등록
+ * 기동 직후 스케줄러 스레드에서 등록하고 실패한 항목(인덱스 미생성 등)은 주기적으로 다시 시도한다.
+ * 검색 요청은 등록 여부를 기다리지 않고, 등록 전에는 조회순 정렬 스크립트를 인라인으로 보낸다.
+ * 지연 초기화 프로파일에서도 기동 중에 엘라스틱서치 클라이언트를 만들지 않도록 ArticleDao 는 등록할 때 가져온다.
+ */
+@Component
+@Lazy(false) // 지연 초기화 프로파일에서도 등록 스케줄이 돌아야 한다.
+@Slf4j
+public class IndexBootstrap {
+    private final ObjectProvider<ArticleDao> articleDao;
+    private volatile boolean storedScriptsRegistered = false;
+    private volatile boolean suggestMappingRegistered = false;
+
+    public IndexBootstrap(ObjectProvider<ArticleDao> articleDao) {
+        this.articleDao = articleDao;
+    }
+
+    /**
+     * 등록되지 않은 항목 등록, 기동 직후 한 번 실행된 뒤 주기적으로 재시도
+     */
+    @Scheduled(initialDelayString = "${article.bootstrap.initial-delay-ms:0}", fixedDelayString = "${article.bootstrap.retry-interval-ms:10000}")
+    public void retryRegistration() {
+        if(isInitialized())
+            return;
+        try {
+            ensureStoredScripts();
+            ensureSuggestMapping();
+        } catch (IOException | RuntimeException e) {
+            log.warn("[IndexBootstrap] Initialize failed, retry in background: {}", e.toString());
+        }
+    }
+
+    public boolean isInitialized() {
+        return storedScriptsRegistered && suggestMappingRegistered;
+    }
+
+    public boolean isStoredScriptsRegistered() {
+        return storedScriptsRegistered;
+    }
+
+    /**
+     * stored script 가 등록되지 않았으면 등록
+     * 클러스터 단위로 저장되므로 인덱스가 없어도 등록된다.
+     * @throws IOException
+     */
+    public void ensureStoredScripts() throws IOException {
+        if(storedScriptsRegistered)
+            return;
+
+        synchronized (this) {
+            if(storedScriptsRegistered)
+                return;
+            articleDao.getObject().putStoredScripts();
+            storedScriptsRegistered = true;
+            log.info("[IndexBootstrap] Stored scripts registered");
+        }
+    }
+
+    /**
+     * 자동 완성 매핑이 등록되지 않았으면 등록
+     * @throws IOException
+     */
+    public void ensureSuggestMapping() throws IOException {
+        if(suggestMappingRegistered)
+            return;
+
+        synchronized (this) {
+            if(suggestMappingRegistered)
+                return;
+            articleDao.getObject().putSuggestMapping();
+            suggestMappingRegistered = true;
+            log.info("[IndexBootstrap] Suggest mapping registered");
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package dev.hyein.article.app.bulkhead;
+
+import java.io.IOException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 격벽 (요청 종류별 동시 실행 제한)
+ * 요청 스레드에서 그대로 실행하고, 한 종류의 요청이 동시에 실행될 수 있는 수만 세마포어로 제한한다.
+ * 자리가 없으면 maxWaitMs 까지만 기다린 뒤 BulkheadFullException 으로 거절해, 한 종류의 요청이 서블릿 스레드를 모두 잡지 않게 한다.
+ * 스레드를 옮기지 않으므로 요청 스레드의 ThreadLocal(ReadConsistency 등)이 그대로 유지된다.
+ * 이벤트 루프처럼 기다릴 수 없는 호출자는 acquireNow, release 로 대기 없이 자리를 잡고 돌려준다.
+ */
+public class Bulkhead {
+    private final String name;
+    private final int maxConcurrent;
+    private final long maxWaitMs;
+    private final Semaphore permits;
+    private final LongAdder completedCount = new LongAdder();
+    private final LongAdder rejectedCount = new LongAdder();
+
+    public Bulkhead(String name, int maxConcurrent, long maxWaitMs) {
+        this.name = name;
+        this.maxConcurrent = Math.max(1, maxConcurrent);
+        this.maxWaitMs = Math.max(0, maxWaitMs);
+        this.permits = new Semaphore(this.maxConcurrent, true);
+    }
+
+    /**
+     * 자리가 나면 요청 스레드에서 실행
+     * @param call
+     * @return 결과
+     * @throws IOException call 이 던진 예외를 그대로 던진다.
+     * @throws BulkheadFullException maxWaitMs 안에 자리가 나지 않았을 때
+     */
+    public <T> T call(BulkheadCall<T> call) throws IOException {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(maxWaitMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for " + name + " bulkhead", e);
+        }
+        if(!acquired) {
+            rejectedCount.increment();
+            throw new BulkheadFullException(name);
+        }
+
+        try {
+            return call.call();
+        } finally {
+            permits.release();
+            completedCount.increment();
+        }
+    }
+
+    /**
+     * 기다리지 않고 자리 확보, 다 쓰면 release 로 돌려준다.
+     * @throws BulkheadFullException 자리가 없을 때
+     */
+    public void acquireNow() {
+        if(!permits.tryAcquire()) {
+            rejectedCount.increment();
+            throw new BulkheadFullException(name);
+        }
+    }
+
+    /**
+     * acquireNow 로 잡은 자리 반환
+     */
+    public void release() {
+        permits.release();
+        completedCount.increment();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getMaxConcurrent() {
+        return maxConcurrent;
+    }
+
+    public long getMaxWaitMs() {
+        return maxWaitMs;
+    }
+
+    public int getActiveCount() {
+        return maxConcurrent - permits.availablePermits();
+    }
+
+    public int getWaitingCount() {
+        return permits.getQueueLength();
+    }
+
+    public long getCompletedCount() {
+        return completedCount.sum();
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount.sum();
+    }
+
+    @FunctionalInterface
+    public interface BulkheadCall<T> {
+        T call() throws IOException;
+    }
+}
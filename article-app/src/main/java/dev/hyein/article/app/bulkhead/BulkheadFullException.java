@@ -0,0 +1,11 @@
+package dev.hyein.article.app.bulkhead;
+
+/**
+ * 격벽의 동시 실행 수가 찼고 최대 대기 시간 안에 자리가 나지 않았음
+ * 과부하 중에는 자주 발생하므로 스택 트레이스를 만들지 않는다.
+ */
+public class BulkheadFullException extends RuntimeException {
+    public BulkheadFullException(String name) {
+        super("Too many concurrent " + name + " requests, try again later.", null, false, false);
+    }
+}
@@ -0,0 +1,24 @@
+package dev.hyein.article.app.bulkhead;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 격벽 현황
+ */
+@Getter @AllArgsConstructor @ToString
+public class BulkheadStats {
+    private final String name;
+    private final int maxConcurrent;
+    private final long maxWaitMs;
+    private final int active;
+    private final int waiting;
+    private final long completed;
+    private final long rejected;
+
+    static BulkheadStats of(Bulkhead bulkhead) {
+        return new BulkheadStats(bulkhead.getName(), bulkhead.getMaxConcurrent(), bulkhead.getMaxWaitMs(), bulkhead.getActiveCount(),
+                bulkhead.getWaitingCount(), bulkhead.getCompletedCount(), bulkhead.getRejectedCount());
+    }
+}
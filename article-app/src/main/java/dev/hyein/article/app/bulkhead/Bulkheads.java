@@ -0,0 +1,123 @@
+package dev.hyein.article.app.bulkhead;
+
+import dev.hyein.article.app.properties.BulkheadProperties;
+import dev.hyein.article.elasticsearch.properties.ConnectionBudgetProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 검색, 단건 조회, 쓰기 격벽
+ * 요청 종류마다 동시 실행 수를 따로 제한해 쓰기 폭주나 느린 스크립트 정렬 검색이 단건 조회가 쓸 서블릿 스레드를 빼앗지 않게 한다.
+ * 종류별 max-concurrent 합은 server.tomcat.max-threads 보다 작아야 하고, 각각은 그 종류의 엘라스틱서치 커넥션 수보다 크지 않아야 한다.
+ * 엘라스틱서치 커넥션 풀도 종류별로 나뉜다(ConnectionBudgetProperties).
+ * /v2 리액티브 요청은 Mono, Flux 를 받는 메서드로 같은 격벽을 쓰며, 이벤트 루프를 막지 않도록 기다리지 않고 바로 거절한다.
+ */
+@Component
+@Slf4j
+public class Bulkheads {
+    private final boolean enabled;
+    private final Bulkhead search;
+    private final Bulkhead get;
+    private final Bulkhead write;
+
+    public Bulkheads(BulkheadProperties bulkheadProperties, ConnectionBudgetProperties connectionBudgetProperties) {
+        this.enabled = bulkheadProperties.isEnabled();
+        this.search = create("search", bulkheadProperties.getSearch(), connectionBudgetProperties.getSearch());
+        this.get = create("get", bulkheadProperties.getGet(), connectionBudgetProperties.getGet());
+        this.write = create("write", bulkheadProperties.getWrite(), connectionBudgetProperties.getWrite());
+    }
+
+    /**
+     * 검색, 건수, 집계 등 목록 읽기
+     */
+    public <T> T search(Bulkhead.BulkheadCall<T> call) throws IOException {
+        return call(search, call);
+    }
+
+    /**
+     * 단건 조회
+     */
+    public <T> T get(Bulkhead.BulkheadCall<T> call) throws IOException {
+        return call(get, call);
+    }
+
+    /**
+     * 등록, 수정, 삭제
+     */
+    public <T> T write(Bulkhead.BulkheadCall<T> call) throws IOException {
+        return call(write, call);
+    }
+
+    /**
+     * 리액티브 목록 읽기, 구독할 때 자리를 잡고 완료, 오류, 취소 시 돌려준다.
+     */
+    public <T> Flux<T> search(Flux<T> flux) {
+        return guard(search, flux);
+    }
+
+    public <T> Mono<T> search(Mono<T> mono) {
+        return guard(search, mono);
+    }
+
+    /**
+     * 리액티브 단건 조회
+     */
+    public <T> Mono<T> get(Mono<T> mono) {
+        return guard(get, mono);
+    }
+
+    /**
+     * 리액티브 등록, 수정, 삭제
+     */
+    public <T> Mono<T> write(Mono<T> mono) {
+        return guard(write, mono);
+    }
+
+    /**
+     * 격벽별 현황
+     * @return
+     */
+    public List<BulkheadStats> getStats() {
+        List<BulkheadStats> bulkheadStatsList = new ArrayList<>(3);
+        bulkheadStatsList.add(BulkheadStats.of(search));
+        bulkheadStatsList.add(BulkheadStats.of(get));
+        bulkheadStatsList.add(BulkheadStats.of(write));
+        return bulkheadStatsList;
+    }
+
+    private <T> T call(Bulkhead bulkhead, Bulkhead.BulkheadCall<T> call) throws IOException {
+        if(!enabled)
+            return call.call();
+        return bulkhead.call(call);
+    }
+
+    private <T> Flux<T> guard(Bulkhead bulkhead, Flux<T> flux) {
+        if(!enabled)
+            return flux;
+        return Flux.using(() -> acquireNow(bulkhead), acquired -> flux, Bulkhead::release);
+    }
+
+    private <T> Mono<T> guard(Bulkhead bulkhead, Mono<T> mono) {
+        if(!enabled)
+            return mono;
+        return Mono.using(() -> acquireNow(bulkhead), acquired -> mono, Bulkhead::release);
+    }
+
+    private static Bulkhead acquireNow(Bulkhead bulkhead) {
+        bulkhead.acquireNow();
+        return bulkhead;
+    }
+
+    private static Bulkhead create(String name, BulkheadProperties.Pool pool, ConnectionBudgetProperties.Budget connectionBudget) {
+        if(pool.getMaxConcurrent() > connectionBudget.getMaxConnections())
+            log.warn("[Bulkhead] {} max-concurrent {} exceeds {} connections, requests over it wait for a connection",
+                    name, pool.getMaxConcurrent(), connectionBudget.getMaxConnections());
+        return new Bulkhead(name, pool.getMaxConcurrent(), pool.getMaxWaitMs());
+    }
+}
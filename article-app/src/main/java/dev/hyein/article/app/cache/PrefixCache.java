@@ -0,0 +1,81 @@
+package dev.hyein.article.app.cache;
+
+import lombok.AllArgsConstructor;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 짧은 검색어 결과 캐시
+ * 키 입력마다 들어오는 요청 중 가장 많이 겹치는 짧은 접두어만 TTL 동안 보관한다.
+ * @param <V>
+ */
+public class PrefixCache<V> {
+    private final int maxPrefixLength;
+    private final int maxEntries;
+    private final long ttlMs;
+    private final ConcurrentHashMap<String, Entry<V>> entries = new ConcurrentHashMap<>();
+
+    public PrefixCache(int maxPrefixLength, int maxEntries, long ttlMs) {
+        this.maxPrefixLength = maxPrefixLength;
+        this.maxEntries = maxEntries;
+        this.ttlMs = ttlMs;
+    }
+
+    /**
+     * 캐시 대상 접두어 여부
+     * @param prefix
+     * @return 대상이면 true
+     */
+    public boolean isCacheable(String prefix) {
+        return prefix.length() <= maxPrefixLength;
+    }
+
+    /**
+     * 캐시 조회
+     * @param prefix
+     * @return 캐시된 값, 없거나 만료되었으면 null
+     */
+    public V get(String prefix) {
+        Entry<V> entry = entries.get(prefix);
+        if(entry == null)
+            return null;
+        if(entry.isExpired(System.currentTimeMillis())) {
+            entries.remove(prefix, entry);
+            return null;
+        }
+        return entry.value;
+    }
+
+    /**
+     * 캐시 저장
+     * 가득 찬 경우 만료된 항목을 정리하고, 그래도 가득 차 있으면 저장하지 않는다.
+     * @param prefix
+     * @param value
+     */
+    public void put(String prefix, V value) {
+        if(!isCacheable(prefix))
+            return;
+
+        long now = System.currentTimeMillis();
+        if(entries.size() >= maxEntries) {
+            entries.values().removeIf(entry -> entry.isExpired(now));
+            if(entries.size() >= maxEntries)
+                return;
+        }
+        entries.put(prefix, new Entry<>(value, now + ttlMs));
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    @AllArgsConstructor
+    private static class Entry<V> {
+        private final V value;
+        private final long expireAt;
+
+        private boolean isExpired(long now) {
+            return now >= expireAt;
+        }
+    }
+}
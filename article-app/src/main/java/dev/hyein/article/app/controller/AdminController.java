@@ -0,0 +1,87 @@
+package dev.hyein.article.app.controller;
+
+import dev.hyein.article.app.bulkhead.Bulkheads;
+import dev.hyein.article.app.querystats.QueryStats;
+import dev.hyein.article.app.request.SearchRequest;
+import dev.hyein.article.app.response.ReadyResponse;
+import dev.hyein.article.app.response.WriteBehindResponse;
+import dev.hyein.article.app.service.ArticleService;
+import dev.hyein.article.app.warmup.WarmupRunner;
+import dev.hyein.article.app.writebehind.WriteBehindService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.util.Optional;
+
+@Controller
+@RequestMapping("/admin")
+@RequiredArgsConstructor
+public class AdminController {
+    private final ArticleService articleService;
+    private final QueryStats queryStats;
+    private final Bulkheads bulkheads;
+    private final Optional<WarmupRunner> warmupRunner; // article.warmup.enabled 일 때만 존재
+    private final Optional<WriteBehindService> writeBehindService; // article.write-behind.enabled 일 때만 존재
+
+    /**
+     * 아티클 검색 프로파일
+     * GET /articles 와 같은 파라미터로 만든 검색을 profile 로 실행해 샤드별 쿼리, 수집기, 정렬 시간과 DSL 을 돌려준다.
+     * @param searchRequest
+     * @return
+     * @throws IOException
+     */
+    @GetMapping("/profile")
+    public ResponseEntity profileArticles(@ModelAttribute SearchRequest searchRequest) throws IOException {
+        return ResponseEntity.ok(bulkheads.search(() -> articleService.profileArticles(searchRequest)));
+    }
+
+    /**
+     * 소요 시간 상위 검색 형태
+     * 검색 형태는 검색어 값을 지운 검색 조건이다.
+     * @param orderBy total(전체 소요 시간) 또는 p99
+     * @param size
+     * @return
+     */
+    @GetMapping("/query-stats")
+    public ResponseEntity getTopQueryShapes(@RequestParam(defaultValue = "total") String orderBy, @RequestParam(defaultValue = "10") int size) {
+        return ResponseEntity.ok(queryStats.top(orderBy, size));
+    }
+
+    /**
+     * 트래픽을 받을 준비가 되었는지
+     * 워밍업을 켰으면 워밍업이 끝날 때까지 503 으로 응답한다. 로드밸런서 readiness 확인에 쓴다.
+     * @return
+     */
+    @GetMapping("/ready")
+    public ResponseEntity ready() {
+        ReadyResponse readyResponse = warmupRunner
+                .map(runner -> new ReadyResponse(runner.isReady(), runner.getReplayedRequests(), runner.getFailedRequests()))
+                .orElseGet(() -> new ReadyResponse(true, 0, 0));
+        return ResponseEntity.status(readyResponse.isReady() ? HttpStatus.OK : HttpStatus.SERVICE_UNAVAILABLE).body(readyResponse);
+    }
+
+    /**
+     * 격벽(검색, 단건 조회, 쓰기)별 실행 중, 대기 중 요청 수와 거절 수
+     * @return
+     */
+    @GetMapping("/bulkheads")
+    public ResponseEntity getBulkheads() {
+        return ResponseEntity.ok(bulkheads.getStats());
+    }
+
+    /**
+     * 쓰기 지연 반영 현황
+     * 반영되지 않은 변경이 남았는지와 기동 후 dead-letter 파일에 남긴 변경 수
+     * @return
+     */
+    @GetMapping("/write-behind")
+    public ResponseEntity getWriteBehind() {
+        return ResponseEntity.ok(writeBehindService
+                .map(service -> new WriteBehindResponse(true, service.hasPending(), service.getDeadLetterCount()))
+                .orElseGet(() -> new WriteBehindResponse(false, false, 0)));
+    }
+}
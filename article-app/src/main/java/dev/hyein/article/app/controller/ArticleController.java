@@ -1,15 +1,24 @@
 package dev.hyein.article.app.controller;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.hyein.article.app.accesslog.AccessLogFilter;
+import dev.hyein.article.app.bulkhead.Bulkheads;
 import dev.hyein.article.app.request.SearchRequest;
+import dev.hyein.article.app.request.ArticlePatchRequest;
 import dev.hyein.article.app.request.ArticleRequest;
-import dev.hyein.article.app.response.ErrorResponse;
+import dev.hyein.article.app.response.CountResponse;
 import dev.hyein.article.app.service.ArticleService;
-import dev.hyein.article.app.utils.ErrorHandlingUtils;
-import dev.hyein.article.elasticsearch.vo.ArticleVo;
+import dev.hyein.article.app.service.SuggestService;
+import dev.hyein.article.app.utils.ETagUtils;
+import dev.hyein.article.app.warmup.WarmupRecorder;
+import dev.hyein.article.elasticsearch.vo.ArticlePatchVo;
+import dev.hyein.article.elasticsearch.vo.ArticleSearchResultVo;
+import dev.hyein.article.elasticsearch.vo.ArticleSuggestVo;
+import dev.hyein.article.elasticsearch.vo.ArticleVersion;
+import dev.hyein.article.elasticsearch.vo.FederatedSearchVo;
+import dev.hyein.article.elasticsearch.vo.VersionedArticleVo;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.*;
@@ -17,28 +26,95 @@ import org.springframework.web.bind.annotation.*;
 import javax.validation.Valid;
 import java.io.IOException;
 import java.util.List;
-import java.util.Map;
+import java.util.Optional;
 
 @Controller
 @RequestMapping("/articles")
 @RequiredArgsConstructor
 @Slf4j
 public class ArticleController {
+    static final String TIMED_OUT_HEADER = "X-Timed-Out";
+    static final String TERMINATED_EARLY_HEADER = "X-Terminated-Early";
+    static final String SHARDS_TOTAL_HEADER = "X-Shards-Total";
+    static final String SHARDS_SUCCESSFUL_HEADER = "X-Shards-Successful";
+    static final String SHARDS_SKIPPED_HEADER = "X-Shards-Skipped";
+    static final String SHARDS_FAILED_HEADER = "X-Shards-Failed";
+
     private final ArticleService articleService;
-    private final ObjectMapper objectMapper;
+    private final SuggestService suggestService;
+    private final Bulkheads bulkheads;
+    private final Optional<WarmupRecorder> warmupRecorder; // article.warmup.enabled 일 때만 존재
 
     /**
      * 아티클 검색
+     * 시간 예산(timeoutMs) 안에 응답하지 않은 샤드가 있으면 응답한 샤드 결과만 200 으로 돌려주고 X-Timed-Out 헤더로 알린다.
+     * 클라이언트 마감 시간까지 클러스터가 아예 응답하지 않으면 504 로 응답한다.
      * @param searchRequest
-     * @return
+     * @return 아티클 목록, 샤드 응답 현황 헤더
      * @throws IOException
      */
     @GetMapping
     public ResponseEntity getArticles(@ModelAttribute SearchRequest searchRequest) throws IOException {
-        log.info("[Request] Search articles: {}", searchRequest.toString());
-        List<ArticleVo> articleVoList = articleService.getArticles(searchRequest);
-        log.info("[Response] Articles count: {}", articleVoList.size());
-        return ResponseEntity.ok(articleVoList);
+        warmupRecorder.ifPresent(recorder -> recorder.recordSearch(searchRequest));
+        ArticleSearchResultVo articleSearchResultVo = bulkheads.search(() -> articleService.getArticles(searchRequest));
+        AccessLogFilter.resultSize(articleSearchResultVo.getArticles().size());
+        return ResponseEntity.ok()
+                .header(TIMED_OUT_HEADER, String.valueOf(articleSearchResultVo.isTimedOut()))
+                .header(TERMINATED_EARLY_HEADER, String.valueOf(articleSearchResultVo.isTerminatedEarly()))
+                .header(SHARDS_TOTAL_HEADER, String.valueOf(articleSearchResultVo.getTotalShards()))
+                .header(SHARDS_SUCCESSFUL_HEADER, String.valueOf(articleSearchResultVo.getSuccessfulShards()))
+                .header(SHARDS_SKIPPED_HEADER, String.valueOf(articleSearchResultVo.getSkippedShards()))
+                .header(SHARDS_FAILED_HEADER, String.valueOf(articleSearchResultVo.getFailedShards()))
+                .body(articleSearchResultVo.getArticles());
+    }
+
+    /**
+     * 아티클 연합 검색
+     * 설정된 모든 클러스터를 동시에 검색해 정렬 순서대로 병합한다. 마감 시간 안에 응답하지 않은 클러스터는 timedOutClusters 에 남는다.
+     * @param searchRequest
+     * @return
+     * @throws IOException
+     */
+    @GetMapping("/_federated")
+    public ResponseEntity federatedSearchArticles(@ModelAttribute SearchRequest searchRequest) throws IOException {
+        FederatedSearchVo federatedSearchVo = bulkheads.search(() -> articleService.federatedSearchArticles(searchRequest));
+        AccessLogFilter.resultSize(federatedSearchVo.getArticles().size());
+        return ResponseEntity.ok(federatedSearchVo);
+    }
+
+    /**
+     * 아티클 건수 조회
+     * @param searchRequest 정렬은 무시된다.
+     * @return
+     * @throws IOException
+     */
+    @GetMapping("/_count")
+    public ResponseEntity countArticles(@ModelAttribute SearchRequest searchRequest) throws IOException {
+        return ResponseEntity.ok(new CountResponse(bulkheads.search(() -> articleService.countArticles(searchRequest))));
+    }
+
+    /**
+     * 아티클 패싯(오픈 여부별, 조회수 구간별 건수) 조회
+     * @param searchRequest 정렬은 무시된다.
+     * @return
+     * @throws IOException
+     */
+    @GetMapping("/_facets")
+    public ResponseEntity getArticleFacets(@ModelAttribute SearchRequest searchRequest) throws IOException {
+        return ResponseEntity.ok(bulkheads.search(() -> articleService.getArticleFacets(searchRequest)));
+    }
+
+    /**
+     * 아티클 제목 자동완성
+     * @param prefix
+     * @return
+     * @throws IOException
+     */
+    @GetMapping("/_suggest")
+    public ResponseEntity suggestArticles(@RequestParam String prefix) throws IOException {
+        List<ArticleSuggestVo> articleSuggestVoList = bulkheads.search(() -> suggestService.suggestArticles(prefix));
+        AccessLogFilter.resultSize(articleSuggestVoList.size());
+        return ResponseEntity.ok(articleSuggestVoList);
     }
 
     /**
@@ -48,11 +124,10 @@ public class ArticleController {
      * @throws IOException
      */
     @GetMapping("/{articleNumber}")
-    public ResponseEntity getArticle(@PathVariable String articleNumber) throws IOException {
-        log.info("[Request] Search article [{}]", articleNumber);
-        ArticleVo articleVo = articleService.getArticle(Integer.parseInt(articleNumber));
-        log.info("[Response] article: {}", articleVo.toString());
-        return ResponseEntity.ok(articleVo);
+    public ResponseEntity getArticle(@PathVariable Integer articleNumber) throws IOException {
+        warmupRecorder.ifPresent(recorder -> recorder.recordArticle(articleNumber));
+        VersionedArticleVo versionedArticleVo = bulkheads.get(() -> articleService.getArticle(articleNumber));
+        return ResponseEntity.ok().eTag(ETagUtils.toETag(versionedArticleVo.getVersion())).body(versionedArticleVo.getArticle());
     }
 
     /**
@@ -63,9 +138,10 @@ public class ArticleController {
      */
     @PostMapping
     public ResponseEntity writeArticle(@RequestBody @Valid ArticleRequest articleRequest) throws IOException {
-        log.info("[Request] Write article [{}]", articleRequest.toString());
-        ArticleVo articleVo = objectMapper.convertValue(articleRequest, ArticleVo.class);
-        articleService.writeArticle(articleVo);
+        bulkheads.write(() -> {
+            articleService.writeArticle(articleRequest.toArticleVo());
+            return null;
+        });
         return ResponseEntity.ok("");
     }
 
@@ -78,9 +154,43 @@ public class ArticleController {
      */
     @PutMapping("/{articleNumber}")
     public ResponseEntity updateArticle(@PathVariable Integer articleNumber, @RequestBody @Valid ArticleRequest articleRequest) throws IOException {
-        log.info("[Request] Update article [{}] to {}", articleNumber, articleRequest.toString());
-        ArticleVo articleVo = objectMapper.convertValue(articleRequest, ArticleVo.class);
-        articleService.updateArticle(articleNumber, articleVo);
+        bulkheads.write(() -> {
+            articleService.updateArticle(articleNumber, articleRequest.toArticleVo());
+            return null;
+        });
+        return ResponseEntity.ok("");
+    }
+
+    /**
+     * 아티클 부분 수정
+     * If-Match 에 조회 응답의 ETag 를 보내면 그 사이 다른 수정이 있었을 때 412 로 실패한다.
+     * 쓰기 지연 중이면 저널에 기록한 뒤 202 로 응답하고, If-Match 는 400 으로 거절한다.
+     * @param articleNumber
+     * @param ifMatch 없으면 조건 없이 수정
+     * @param articlePatchRequest 수정할 필드만
+     * @return 수정된 아티클, ETag
+     * @throws IOException
+     */
+    @PatchMapping("/{articleNumber}")
+    public ResponseEntity patchArticle(@PathVariable Integer articleNumber, @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                       @RequestBody @Valid ArticlePatchRequest articlePatchRequest) throws IOException {
+        ArticlePatchVo articlePatchVo = articlePatchRequest.toArticlePatchVo();
+        ArticleVersion expectedVersion = ETagUtils.parseIfMatch(ifMatch);
+        VersionedArticleVo versionedArticleVo = bulkheads.write(() -> articleService.patchArticle(articleNumber, articlePatchVo, expectedVersion));
+        if(versionedArticleVo == null) // 쓰기 지연, 반영 전이라 버전이 없다.
+            return ResponseEntity.accepted().build();
+        return ResponseEntity.ok().eTag(ETagUtils.toETag(versionedArticleVo.getVersion())).body(versionedArticleVo.getArticle());
+    }
+
+    /**
+     * 아티클 조회수 증가
+     * 조회수는 버퍼에 누적되었다가 주기적으로 반영된다.
+     * @param articleNumber
+     * @return
+     */
+    @PostMapping("/{articleNumber}/read")
+    public ResponseEntity readArticle(@PathVariable Integer articleNumber) {
+        articleService.readArticle(articleNumber);
         return ResponseEntity.ok("");
     }
 
@@ -92,14 +202,10 @@ public class ArticleController {
      */
     @DeleteMapping("/{articleNumber}")
     public ResponseEntity deleteArticle(@PathVariable Integer articleNumber) throws IOException {
-        log.info("[Request] Delete article [{}]", articleNumber);
-        articleService.deleteArticle(articleNumber);
+        bulkheads.write(() -> {
+            articleService.deleteArticle(articleNumber);
+            return null;
+        });
         return ResponseEntity.ok("");
     }
-
-    @ExceptionHandler(Exception.class)
-    public Object handleException(Exception e) {
-        log.error("[Api Exception] {}", ErrorHandlingUtils.getErrorStackTrace(e, 3));
-        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(objectMapper.convertValue(new ErrorResponse(e.toString()), Map.class));
-    }
 }
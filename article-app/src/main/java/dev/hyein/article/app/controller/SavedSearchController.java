@@ -0,0 +1,68 @@
+package dev.hyein.article.app.controller;
+
+import dev.hyein.article.app.request.SavedSearchRequest;
+import dev.hyein.article.app.response.SavedSearchMatchesResponse;
+import dev.hyein.article.app.savedsearch.SavedSearchService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.*;
+
+import javax.validation.Valid;
+import java.io.IOException;
+
+@Controller
+@RequestMapping("/saved-searches")
+@ConditionalOnProperty(prefix = "article.saved-search", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class SavedSearchController {
+    private final SavedSearchService savedSearchService;
+
+    /**
+     * 검색 조건 저장
+     * @param savedSearchRequest
+     * @return id 가 채워진 검색 조건
+     * @throws IOException
+     */
+    @PostMapping
+    public ResponseEntity saveSearch(@RequestBody @Valid SavedSearchRequest savedSearchRequest) throws IOException {
+        return ResponseEntity.ok(savedSearchService.saveSearch(savedSearchRequest));
+    }
+
+    /**
+     * 구독자의 검색 조건 목록
+     * @param subscriber
+     * @return
+     * @throws IOException
+     */
+    @GetMapping
+    public ResponseEntity getSavedSearches(@RequestParam String subscriber) throws IOException {
+        return ResponseEntity.ok(savedSearchService.getSavedSearches(subscriber));
+    }
+
+    /**
+     * 검색 조건 삭제
+     * @param id
+     * @return
+     * @throws IOException
+     */
+    @DeleteMapping("/{id}")
+    public ResponseEntity deleteSavedSearch(@PathVariable String id) throws IOException {
+        savedSearchService.deleteSavedSearch(id);
+        return ResponseEntity.ok("");
+    }
+
+    /**
+     * 검색 조건에 새로 일치한 아티클
+     * 응답의 next 를 다음 요청의 after 로 보내면 이후 일치한 것만 받는다.
+     * @param id
+     * @param after
+     * @param size
+     * @return
+     */
+    @GetMapping("/{id}/matches")
+    public ResponseEntity getMatches(@PathVariable String id, @RequestParam(defaultValue = "0") long after, @RequestParam(defaultValue = "100") int size) {
+        return ResponseEntity.ok(SavedSearchMatchesResponse.of(savedSearchService.getMatches(id, after, size), after));
+    }
+}
@@ -0,0 +1,147 @@
+package dev.hyein.article.app.counter;
+
+import dev.hyein.article.app.bootstrap.IndexBootstrap;
+import dev.hyein.article.elasticsearch.dao.ArticleDao;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.elasticsearch.action.bulk.BulkItemResponse;
+import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.rest.RestStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 아티클 조회수 버퍼
+ * 조회마다 도큐먼트를 수정하지 않고 메모리에 누적한 뒤 주기적으로 한 번의 벌크 요청으로 반영한다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ReadCountBuffer {
+    private static final int SHUTDOWN_FLUSH_ATTEMPTS = 3;
+    private static final long SHUTDOWN_FLUSH_BACKOFF_MS = 500;
+
+    private final ArticleDao articleDao;
+    private final IndexBootstrap indexBootstrap;
+    private final ConcurrentHashMap<Integer, Long> readCounts = new ConcurrentHashMap<>();
+
+    /**
+     * 조회수 1 증가
+     * @param articleNumber
+     */
+    public void increase(Integer articleNumber) {
+        readCounts.merge(articleNumber, 1L, Long::sum);
+    }
+
+    /**
+     * 반영되지 않은 조회수 합계
+     * @return
+     */
+    public long getPendingCount() {
+        return readCounts.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    /**
+     * 주기적으로 누적된 조회수 반영
+     */
+    @Scheduled(fixedDelayString = "${article.read-count.flush-interval-ms:1000}")
+    public void scheduledFlush() {
+        try {
+            flush();
+        } catch (IOException | RuntimeException e) {
+            log.warn("[ReadCount] Flush failed, retry next time: {}", e.toString());
+        }
+    }
+
+    /**
+     * 누적된 조회수를 벌크 업데이트로 반영
+     * 실패한 조회수는 버퍼에 되돌려 다음 반영 때 재시도한다.
+     * @throws IOException
+     */
+    public synchronized void flush() throws IOException {
+        Map<Integer, Long> drainedReadCounts = drain();
+        if(drainedReadCounts.isEmpty())
+            return;
+
+        BulkResponse bulkResponse;
+        try {
+            indexBootstrap.ensureStoredScripts(); // 조회수 증가 stored script
+            bulkResponse = articleDao.increaseReads(drainedReadCounts);
+        } catch (IOException | RuntimeException e) {
+            drainedReadCounts.forEach(this::restore);
+            throw e;
+        }
+
+        if(bulkResponse.hasFailures()) {
+            for (BulkItemResponse item : bulkResponse.getItems()) {
+                if(!item.isFailed() || item.status() == RestStatus.NOT_FOUND) // 삭제된 아티클의 조회수는 버림
+                    continue;
+                Integer articleNumber = Integer.valueOf(item.getId());
+                restore(articleNumber, drainedReadCounts.get(articleNumber));
+            }
+        }
+    }
+
+    /**
+     * 종료 시 남은 조회수 반영
+     * 일시적인 실패(429, 503, 연결 실패 등)로 잃지 않도록 백오프하며 SHUTDOWN_FLUSH_ATTEMPTS 번까지 시도한다.
+     */
+    @PreDestroy
+    public void close() {
+        long backoffMs = SHUTDOWN_FLUSH_BACKOFF_MS;
+        for (int attempt = 1; attempt <= SHUTDOWN_FLUSH_ATTEMPTS; attempt++) {
+            try {
+                flush();
+                if(readCounts.isEmpty())
+                    return;
+                log.warn("[ReadCount] Flush on shutdown partially failed ({}/{}), pending read count: {}", attempt, SHUTDOWN_FLUSH_ATTEMPTS, getPendingCount());
+            } catch (IOException | RuntimeException e) {
+                log.warn("[ReadCount] Flush on shutdown failed ({}/{}): {}", attempt, SHUTDOWN_FLUSH_ATTEMPTS, e.toString());
+            }
+            if(attempt == SHUTDOWN_FLUSH_ATTEMPTS)
+                break;
+            try {
+                Thread.sleep(backoffMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            backoffMs *= 2;
+        }
+        log.error("[ReadCount] Flush on shutdown failed, lost read count: {}", getPendingCount());
+    }
+
+    /**
+     * 누적된 조회수를 꺼내고 엔트리 제거
+     * 키 단위로 원자적으로 제거하므로 꺼내는 동안 들어온 증가분은 새 엔트리로 남는다.
+     * 한 번 조회된 아티클의 엔트리가 계속 남지 않도록 꺼낼 때마다 제거한다.
+     * @return 아티클 번호별 조회수
+     */
+    private Map<Integer, Long> drain() {
+        Map<Integer, Long> drainedReadCounts = new HashMap<>();
+        for (Integer articleNumber : readCounts.keySet()) {
+            Long count = readCounts.remove(articleNumber);
+            if(count != null && count > 0)
+                drainedReadCounts.put(articleNumber, count);
+        }
+        return drainedReadCounts;
+    }
+
+    private void restore(Integer articleNumber, Long count) {
+        readCounts.merge(articleNumber, count, Long::sum);
+    }
+
+    /**
+     * 버퍼에 남아 있는 아티클 수
+     * @return
+     */
+    public int getPendingArticleCount() {
+        return readCounts.size();
+    }
+}
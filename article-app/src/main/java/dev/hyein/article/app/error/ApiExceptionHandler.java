@@ -0,0 +1,46 @@
+package dev.hyein.article.app.error;
+
+import dev.hyein.article.app.utils.ErrorHandlingUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.HttpMediaTypeNotSupportedException;
+import org.springframework.web.HttpRequestMethodNotSupportedException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * API 오류 응답
+ * 없는 아티클, 중복 등록 같은 예상된 오류는 스택 없이 debug 로만 남기고, 알 수 없는 오류만 error 로 남긴다.
+ * 405, 415 는 지원하는 메서드, 미디어 타입을 Allow, Accept 헤더로 알리고, 406 은 클라이언트가 받을 수 있는 형식이 없으므로 본문 없이 응답한다.
+ */
+@RestControllerAdvice
+@Slf4j
+public class ApiExceptionHandler {
+
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<byte[]> handleException(Exception e) {
+        ErrorCode errorCode = ErrorResolver.resolve(e);
+        if(errorCode == ErrorCode.INTERNAL_ERROR)
+            log.error("[Api Exception] {}", ErrorHandlingUtils.getErrorStackTrace(e, 3));
+        else if(errorCode == ErrorCode.UNAVAILABLE || errorCode == ErrorCode.TIMEOUT)
+            log.warn("[Api Exception] {}", e.getMessage());
+        else
+            log.debug("[Api Exception] {}: {}", errorCode, e.getMessage());
+
+        if(errorCode == ErrorCode.NOT_ACCEPTABLE)
+            return ResponseEntity.status(errorCode.getStatus()).build();
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(errorCode.getStatus()).contentType(MediaType.APPLICATION_JSON);
+        long retryAfterSeconds = ErrorResolver.retryAfterSeconds(e);
+        if(retryAfterSeconds > 0)
+            response.header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        if(e instanceof HttpRequestMethodNotSupportedException && ((HttpRequestMethodNotSupportedException) e).getSupportedHttpMethods() != null)
+            response.allow(((HttpRequestMethodNotSupportedException) e).getSupportedHttpMethods().toArray(new HttpMethod[0]));
+        if(e instanceof HttpMediaTypeNotSupportedException && !((HttpMediaTypeNotSupportedException) e).getSupportedMediaTypes().isEmpty())
+            response.header(HttpHeaders.ACCEPT, MediaType.toString(((HttpMediaTypeNotSupportedException) e).getSupportedMediaTypes()));
+        return response.body(ErrorBody.of(errorCode, ErrorResolver.message(e)));
+    }
+}
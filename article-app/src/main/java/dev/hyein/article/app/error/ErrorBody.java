@@ -0,0 +1,33 @@
+package dev.hyein.article.app.error;
+
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 오류 응답 본문 생성
+ * {"error":{"code":"NOT_FOUND","message":"..."}} 형태로, ObjectMapper 를 거치지 않고 바이트를 바로 만든다.
+ */
+public class ErrorBody {
+    private static final byte[] SUFFIX = "\"}}".getBytes(StandardCharsets.UTF_8);
+
+    private ErrorBody() {
+    }
+
+    /**
+     * 오류 응답 본문
+     * @param errorCode
+     * @param message null 이면 빈 메시지
+     * @return JSON UTF-8 바이트
+     */
+    public static byte[] of(ErrorCode errorCode, String message) {
+        byte[] prefix = errorCode.getBodyPrefix();
+        byte[] quotedMessage = message == null ? new byte[0] : JsonStringEncoder.getInstance().quoteAsUTF8(message);
+
+        byte[] body = new byte[prefix.length + quotedMessage.length + SUFFIX.length];
+        System.arraycopy(prefix, 0, body, 0, prefix.length);
+        System.arraycopy(quotedMessage, 0, body, prefix.length, quotedMessage.length);
+        System.arraycopy(SUFFIX, 0, body, prefix.length + quotedMessage.length, SUFFIX.length);
+        return body;
+    }
+}
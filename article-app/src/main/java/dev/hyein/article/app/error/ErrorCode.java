@@ -0,0 +1,32 @@
+package dev.hyein.article.app.error;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * API 오류 코드
+ * 응답 본문의 고정된 앞부분을 미리 직렬화해 두고 메시지만 이어 붙인다.
+ */
+@Getter
+public enum ErrorCode {
+    INVALID_REQUEST(HttpStatus.BAD_REQUEST),
+    NOT_FOUND(HttpStatus.NOT_FOUND),
+    METHOD_NOT_ALLOWED(HttpStatus.METHOD_NOT_ALLOWED),
+    NOT_ACCEPTABLE(HttpStatus.NOT_ACCEPTABLE),
+    UNSUPPORTED_MEDIA_TYPE(HttpStatus.UNSUPPORTED_MEDIA_TYPE),
+    ALREADY_EXISTS(HttpStatus.CONFLICT),
+    PRECONDITION_FAILED(HttpStatus.PRECONDITION_FAILED),
+    UNAVAILABLE(HttpStatus.SERVICE_UNAVAILABLE),
+    TIMEOUT(HttpStatus.GATEWAY_TIMEOUT),
+    INTERNAL_ERROR(HttpStatus.INTERNAL_SERVER_ERROR);
+
+    private final HttpStatus status;
+    private final byte[] bodyPrefix;
+
+    ErrorCode(HttpStatus status) {
+        this.status = status;
+        this.bodyPrefix = ("{\"error\":{\"code\":\"" + name() + "\",\"message\":\"").getBytes(StandardCharsets.UTF_8);
+    }
+}
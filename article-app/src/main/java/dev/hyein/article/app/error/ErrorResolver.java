@@ -0,0 +1,103 @@
+package dev.hyein.article.app.error;
+
+import dev.hyein.article.app.bulkhead.BulkheadFullException;
+import dev.hyein.article.elasticsearch.exception.DocumentAlreadyExistException;
+import dev.hyein.article.elasticsearch.exception.DocumentNotFoundException;
+import dev.hyein.article.elasticsearch.exception.InvalidArticleException;
+import dev.hyein.article.elasticsearch.exception.VersionConflictException;
+import dev.hyein.article.elasticsearch.resilience.CircuitOpenException;
+import org.elasticsearch.ElasticsearchStatusException;
+import org.elasticsearch.rest.RestStatus;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.validation.BindException;
+import org.springframework.validation.BindingResult;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+import org.springframework.web.HttpMediaTypeNotSupportedException;
+import org.springframework.web.HttpRequestMethodNotSupportedException;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.ServletRequestBindingException;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
+import org.springframework.web.server.MethodNotAllowedException;
+import org.springframework.web.server.NotAcceptableStatusException;
+import org.springframework.web.server.ServerWebInputException;
+import org.springframework.web.server.UnsupportedMediaTypeStatusException;
+
+import java.net.SocketTimeoutException;
+
+/**
+ * Exception -> 오류 코드 변환
+ */
+public class ErrorResolver {
+
+    private ErrorResolver() {
+    }
+
+    /**
+     * 오류 코드
+     * @param e
+     * @return 알 수 없는 오류는 INTERNAL_ERROR
+     */
+    public static ErrorCode resolve(Throwable e) {
+        if(e instanceof DocumentNotFoundException)
+            return ErrorCode.NOT_FOUND;
+        if(e instanceof DocumentAlreadyExistException)
+            return ErrorCode.ALREADY_EXISTS;
+        if(e instanceof VersionConflictException)
+            return ErrorCode.PRECONDITION_FAILED;
+        if(e instanceof CircuitOpenException || e instanceof BulkheadFullException)
+            return ErrorCode.UNAVAILABLE;
+        if(e instanceof SocketTimeoutException) // 클라이언트 마감 시간까지 클러스터가 응답하지 않음
+            return ErrorCode.TIMEOUT;
+        if(e instanceof ElasticsearchStatusException && ((ElasticsearchStatusException) e).status() == RestStatus.CONFLICT)
+            return ErrorCode.ALREADY_EXISTS;
+        if(e instanceof HttpRequestMethodNotSupportedException || e instanceof MethodNotAllowedException)
+            return ErrorCode.METHOD_NOT_ALLOWED;
+        if(e instanceof HttpMediaTypeNotAcceptableException || e instanceof NotAcceptableStatusException)
+            return ErrorCode.NOT_ACCEPTABLE;
+        if(e instanceof HttpMediaTypeNotSupportedException || e instanceof UnsupportedMediaTypeStatusException)
+            return ErrorCode.UNSUPPORTED_MEDIA_TYPE;
+        // 요청 해석 실패만 400, 그 밖의 IllegalArgumentException 은 서버 코드 오류로 본다.
+        if(e instanceof MethodArgumentNotValidException || e instanceof BindException
+                || e instanceof ServletRequestBindingException || e instanceof HttpMessageNotReadableException // 파라미터, 헤더 누락 포함
+                || e instanceof MethodArgumentTypeMismatchException || e instanceof ServerWebInputException // 경로 변수 숫자 변환 실패 포함
+                || e instanceof InvalidRequestException || e instanceof InvalidArticleException)
+            return ErrorCode.INVALID_REQUEST;
+        return ErrorCode.INTERNAL_ERROR;
+    }
+
+    /**
+     * 응답 메시지, 요청 검증 오류는 필드 메시지만 노출한다.
+     * @param e
+     * @return
+     */
+    public static String message(Throwable e) {
+        if(e instanceof MethodArgumentNotValidException)
+            return fieldErrorMessage(((MethodArgumentNotValidException) e).getBindingResult());
+        if(e instanceof BindException)
+            return fieldErrorMessage((BindException) e);
+        return e.getMessage();
+    }
+
+    /**
+     * Retry-After 초, 다시 요청할 시간을 알 수 없으면 -1
+     * @param e
+     * @return
+     */
+    public static long retryAfterSeconds(Throwable e) {
+        if(e instanceof CircuitOpenException)
+            return Math.max(1, (((CircuitOpenException) e).getRetryAfterMs() + 999) / 1000);
+        if(e instanceof BulkheadFullException)
+            return 1;
+        return -1;
+    }
+
+    private static String fieldErrorMessage(BindingResult bindingResult) {
+        StringBuilder sb = new StringBuilder();
+        bindingResult.getFieldErrors().forEach(fieldError -> {
+            if(sb.length() > 0)
+                sb.append(", ");
+            sb.append(fieldError.getField()).append(": ").append(fieldError.getDefaultMessage());
+        });
+        return sb.length() > 0 ? sb.toString() : "Invalid request.";
+    }
+}
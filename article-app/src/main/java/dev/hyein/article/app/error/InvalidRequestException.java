@@ -0,0 +1,12 @@
+package dev.hyein.article.app.error;
+
+/**
+ * 요청 파라미터, 헤더, 본문 해석 실패 시 발생하는 Exception
+ * 400 으로 응답하며, 그 밖의 IllegalArgumentException 은 서버 오류로 본다.
+ */
+public class InvalidRequestException extends IllegalArgumentException {
+
+    public InvalidRequestException(String message) {
+        super(message);
+    }
+}
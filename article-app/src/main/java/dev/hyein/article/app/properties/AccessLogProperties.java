@@ -0,0 +1,19 @@
+package dev.hyein.article.app.properties;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "article.access-log")
+@Getter @Setter @AllArgsConstructor @NoArgsConstructor
+public class AccessLogProperties {
+    private boolean enabled = true;
+    private double sampleRate = 0.1; // 정상 요청 중 기록할 비율 (0 ~ 1)
+    private long slowThresholdMs = 500; // 이 시간 이상 걸린 요청은 항상 기록
+    private int maxQueryLength = 256;
+    private int queueSize = 8192; // 비동기 appender 링 버퍼 크기, logback-spring.xml 에서 읽는다.
+}
@@ -0,0 +1,25 @@
+package dev.hyein.article.app.properties;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "article.bulkhead")
+@Getter @Setter @AllArgsConstructor @NoArgsConstructor
+public class BulkheadProperties {
+    private boolean enabled = true; // false 면 동시 실행 수를 제한하지 않음
+    // 종류별 엘라스틱서치 커넥션 수(elasticsearch.article.connections.*.max-connections)를 넘으면 넘는 요청은 커넥션을 기다리므로 같게 둔다.
+    private Pool search = new Pool(20, 0);
+    private Pool get = new Pool(10, 0);
+    private Pool write = new Pool(8, 0); // 쓰기 커넥션은 조회수, 쓰기 지연 벌크 반영도 쓰므로 2개 남긴다.
+
+    @Getter @Setter @AllArgsConstructor @NoArgsConstructor
+    public static class Pool {
+        private int maxConcurrent = 32; // 동시에 실행할 수 있는 요청 수
+        private long maxWaitMs = 0; // 자리가 없을 때 요청 스레드가 기다리는 시간, 넘으면 503
+    }
+}
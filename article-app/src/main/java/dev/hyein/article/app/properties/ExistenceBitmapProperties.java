@@ -0,0 +1,17 @@
+package dev.hyein.article.app.properties;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "article.existence-bitmap")
+@Getter @Setter @AllArgsConstructor @NoArgsConstructor
+public class ExistenceBitmapProperties {
+    private boolean enabled = false; // 인스턴스마다 전체 아티클 번호를 메모리에 두고 주기적으로 전체를 스캔한다.
+    private long reconcileIntervalMs = 5 * 60 * 1000; // 다른 인스턴스의 쓰기를 반영하기 위해 전체 번호를 다시 읽는 주기
+    private int scanBatchSize = 10000;
+}
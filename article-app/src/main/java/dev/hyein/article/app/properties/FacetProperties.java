@@ -0,0 +1,23 @@
+package dev.hyein.article.app.properties;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+import javax.validation.constraints.Positive;
+
+@Component
+@ConfigurationProperties(prefix = "article.facet")
+@Validated
+@Getter @Setter @AllArgsConstructor @NoArgsConstructor
+public class FacetProperties {
+    /**
+     * 조회수 히스토그램 구간 크기, 0 이하면 기동 실패
+     */
+    @Positive
+    private int readInterval = 100;
+}
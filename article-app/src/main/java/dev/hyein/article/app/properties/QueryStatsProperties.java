@@ -0,0 +1,16 @@
+package dev.hyein.article.app.properties;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "article.query-stats")
+@Getter @Setter @AllArgsConstructor @NoArgsConstructor
+public class QueryStatsProperties {
+    private long slowThresholdMs = 300; // 이 시간 이상 걸린 검색은 DSL 과 함께 느린 검색 로그에 남긴다.
+    private long maxTrackableMs = 60000; // 히스토그램 최대값, 넘는 값은 이 값으로 센다.
+}
@@ -0,0 +1,16 @@
+package dev.hyein.article.app.properties;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "article.reactive")
+@Getter @Setter @AllArgsConstructor @NoArgsConstructor
+public class ReactiveProperties {
+    private boolean enabled = false; // /v2/articles 서버 기동 여부
+    private int port = 8081;
+}
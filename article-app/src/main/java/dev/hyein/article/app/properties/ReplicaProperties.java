@@ -0,0 +1,22 @@
+package dev.hyein.article.app.properties;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "article.replica")
+@Getter @Setter @AllArgsConstructor @NoArgsConstructor
+public class ReplicaProperties {
+    private boolean enabled = false;
+    private int initialCapacity = 1 << 20;
+    private int scanBatchSize = 5000;
+    private long pollIntervalMs = 1000;
+    private int pollBatchSize = 1000; // 샤드별로 한 번에 가져올 변경 건수
+    private long refreshIntervalMs = 1000; // 인덱스 refresh_interval, global checkpoint 이하의 작업이 검색에 보일 때까지 기다린다.
+    private long resyncIntervalMs = 10 * 60 * 1000; // 다른 인스턴스의 삭제를 반영하기 위해 전체를 다시 읽는 주기
+    private int listSize = 10; // 목록 검색 건수, 엘라스틱서치 기본 size 와 같다.
+}
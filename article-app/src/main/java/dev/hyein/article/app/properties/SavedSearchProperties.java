@@ -0,0 +1,22 @@
+package dev.hyein.article.app.properties;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "article.saved-search")
+@Getter @Setter @AllArgsConstructor @NoArgsConstructor
+public class SavedSearchProperties {
+    private boolean enabled = false;
+    private int batchSize = 100; // percolate 한 번에 보낼 아티클 수
+    private long flushIntervalMs = 500;
+    private long maxRetryBackoffMs = 30000; // 실패한 묶음을 다시 보낼 때까지 기다리는 최대 시간
+    private int queueCapacity = 10000; // 넘치면 percolate 하지 않고 버림
+    private int matchPageSize = 1000; // percolate 결과를 나눠 가져올 때 한 번에 가져올 검색 조건 수
+    private int historySize = 1000; // 검색 조건별로 보관할 최근 일치 아티클 수
+    private int maxListSize = 100;
+}
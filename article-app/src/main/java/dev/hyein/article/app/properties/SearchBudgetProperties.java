@@ -0,0 +1,18 @@
+package dev.hyein.article.app.properties;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "article.search-budget")
+@Getter @Setter @AllArgsConstructor @NoArgsConstructor
+public class SearchBudgetProperties {
+    private long defaultTimeoutMs = 1000; // 요청에 시간 예산이 없을 때
+    private long maxTimeoutMs = 2500; // 요청 시간 예산 상한, 클라이언트 socket timeout 보다 짧아야 한다.
+    private int maxTerminateAfter = 100000; // 요청 terminateAfter 상한
+    private long clientMarginMs = 200; // 검색 timeout 이후 응답을 기다리는 추가 시간
+}
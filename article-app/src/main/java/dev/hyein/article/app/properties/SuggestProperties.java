@@ -0,0 +1,18 @@
+package dev.hyein.article.app.properties;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "article.suggest")
+@Getter @Setter @AllArgsConstructor @NoArgsConstructor
+public class SuggestProperties {
+    private int size = 10;
+    private int cacheMaxPrefixLength = 3;
+    private int cacheMaxEntries = 10000;
+    private long cacheTtlMs = 5000;
+}
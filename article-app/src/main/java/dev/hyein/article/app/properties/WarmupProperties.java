@@ -0,0 +1,21 @@
+package dev.hyein.article.app.properties;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "article.warmup")
+@Getter @Setter @AllArgsConstructor @NoArgsConstructor
+public class WarmupProperties {
+    private boolean enabled = false;
+    private String file = "warmup/recorded-requests.json"; // 최근 요청 표본 저장 위치, 다음 기동 때 재생한다.
+    private int searchSampleSize = 1000; // 보관할 최근 검색 요청 수
+    private int articleSampleSize = 1000; // 보관할 최근 단건 조회 아티클 번호 수
+    private long persistIntervalMs = 60000;
+    private long durationMs = 30000; // 재생 최대 시간
+    private int maxRequests = 5000; // 재생 최대 요청 수, 표본을 반복해서 재생한다.
+}
@@ -0,0 +1,21 @@
+package dev.hyein.article.app.properties;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "article.write-behind")
+@Getter @Setter @AllArgsConstructor @NoArgsConstructor
+public class WriteBehindProperties {
+    private boolean enabled = false;
+    private String directory = "journal";
+    private int segmentSize = 64 * 1024 * 1024;
+    private int batchSize = 500;
+    private long drainIntervalMs = 100;
+    private long maxBackoffMs = 10000;
+    private long shutdownTimeoutMs = 10000;
+}
@@ -1,10 +1,18 @@
 package dev.hyein.article.app.query;
 
+import dev.hyein.article.app.error.InvalidRequestException;
+import dev.hyein.article.app.properties.SearchBudgetProperties;
 import dev.hyein.article.app.request.SearchRequest;
+import dev.hyein.article.elasticsearch.script.ArticleScript;
+import dev.hyein.article.elasticsearch.vo.SearchBudget;
 import lombok.extern.slf4j.Slf4j;
 import org.elasticsearch.index.query.BoolQueryBuilder;
+import org.elasticsearch.index.query.MultiMatchQueryBuilder;
+import org.elasticsearch.index.query.QueryBuilder;
 import org.elasticsearch.index.query.QueryBuilders;
 import org.elasticsearch.script.Script;
+import org.elasticsearch.script.ScriptType;
+import org.elasticsearch.search.aggregations.AggregationBuilders;
 import org.elasticsearch.search.builder.SearchSourceBuilder;
 import org.elasticsearch.search.sort.ScriptSortBuilder;
 import org.elasticsearch.search.sort.SortBuilder;
@@ -12,41 +20,163 @@ import org.elasticsearch.search.sort.SortBuilders;
 import org.elasticsearch.search.sort.SortOrder;
 import org.springframework.util.StringUtils;
 
+import java.util.Collections;
+
 @Slf4j
 public class ArticleQuery {
+    public static final String IS_OPEN_FACET = "isOpen";
+    public static final String READ_FACET = "read";
+    private static final String[] SUGGEST_FIELDS = {"articleTitle.suggest", "articleTitle.suggest._2gram", "articleTitle.suggest._3gram"};
+    private static final String[] SUGGEST_SOURCE_FIELDS = {"articleNumber", "articleTitle"};
+    private static final Script READ_SORT_SCRIPT = new Script(ScriptType.STORED, null, ArticleScript.READ_SORT.getId(), Collections.emptyMap());
+    private static final Script INLINE_READ_SORT_SCRIPT = new Script(ScriptType.INLINE, ArticleScript.READ_SORT.getLang(), ArticleScript.READ_SORT.getSource(), Collections.emptyMap());
+
+    /**
+     * 아티클 목록 검색 계획 생성
+     * - 점수와 무관한 조건은 캐시되도록 filter context 에 넣는다. 정렬이 지정되면 검색어도 점수에 쓰이지 않으므로 filter 로 넣는다.
+     * - 목록 조회는 전체 건수를 쓰지 않으므로 total hits 를 세지 않는다.
+     * - 검색어 없는 목록은 경우의 수가 적어 shard request cache 를 사용하고, 검색어가 있으면 캐시를 채우지 않는다.
+     * @param searchRequest
+     * @return
+     */
+    public static ArticleSearchPlan planSearchArticles(SearchRequest searchRequest) {
+        return planSearchArticles(searchRequest, true);
+    }
+
     /**
-     * 아티클 목록 검색 쿼리 생성
+     * 아티클 목록 검색 계획 생성
      * @param searchRequest
+     * @param storedScripts stored script 등록 여부. 등록 전이면 조회순 정렬 스크립트를 인라인으로 보낸다.
      * @return
      */
-    public static SearchSourceBuilder getSearchArticlesQuery(SearchRequest searchRequest) {
+    public static ArticleSearchPlan planSearchArticles(SearchRequest searchRequest, boolean storedScripts) {
+        SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder()
+                .trackTotalHits(false)
+                .trackScores(false)
+                ;
+        boolean sorted = appendSortIfValid(searchSourceBuilder, searchRequest.getSort(), storedScripts);
+
         BoolQueryBuilder query = QueryBuilders.boolQuery();
-        appendArticleTitleQueryIfValid(query, searchRequest.getArticleTitle());
+        appendArticleTitleQueryIfValid(query, searchRequest.getArticleTitle(), sorted);
         appendFilterQueryIfValid(query, searchRequest.getFilter());
+        searchSourceBuilder.query(query);
+
+        boolean requestCache = !StringUtils.hasText(searchRequest.getArticleTitle());
+        return new ArticleSearchPlan(searchSourceBuilder, requestCache);
+    }
+
+    /**
+     * 검색 시간 예산 생성
+     * 요청 값이 없으면 기본값을 쓰고, 상한을 넘으면 상한으로 줄인다.
+     * @param searchRequest
+     * @param searchBudgetProperties
+     * @return
+     * @throws InvalidRequestException 시간 예산이나 terminateAfter 가 0 이하일 때
+     */
+    public static SearchBudget planSearchBudget(SearchRequest searchRequest, SearchBudgetProperties searchBudgetProperties) {
+        Long requestTimeoutMs = searchRequest.getTimeoutMs();
+        if(requestTimeoutMs != null && requestTimeoutMs <= 0)
+            throw new InvalidRequestException("timeoutMs must be positive: " + requestTimeoutMs);
+        Integer requestTerminateAfter = searchRequest.getTerminateAfter();
+        if(requestTerminateAfter != null && requestTerminateAfter <= 0)
+            throw new InvalidRequestException("terminateAfter must be positive: " + requestTerminateAfter);
+
+        long timeoutMs = Math.min(requestTimeoutMs == null ? searchBudgetProperties.getDefaultTimeoutMs() : requestTimeoutMs, searchBudgetProperties.getMaxTimeoutMs());
+        Integer terminateAfter = requestTerminateAfter == null ? null : Math.min(requestTerminateAfter, searchBudgetProperties.getMaxTerminateAfter());
+        return new SearchBudget(timeoutMs, terminateAfter, timeoutMs + searchBudgetProperties.getClientMarginMs());
+    }
+
+    /**
+     * 아티클 건수 조회 계획 생성
+     * 문서는 가져오지 않고(size=0) shard request cache 를 사용한다.
+     * @param searchRequest
+     * @return
+     */
+    public static ArticleSearchPlan planCountArticles(SearchRequest searchRequest) {
+        SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder()
+                .query(getArticlesFilterQuery(searchRequest))
+                .size(0)
+                .trackTotalHits(true)
+                ;
+        return new ArticleSearchPlan(searchSourceBuilder, true);
+    }
 
+    /**
+     * 아티클 패싯 조회 계획 생성
+     * 오픈 여부별 건수와 조회수 구간별 건수를 집계한다. 문서는 가져오지 않고(size=0) shard request cache 를 사용한다.
+     * @param searchRequest
+     * @param readInterval 조회수 구간 크기
+     * @return
+     */
+    public static ArticleSearchPlan planFacetArticles(SearchRequest searchRequest, int readInterval) {
         SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder()
-                .query(query)
+                .query(getArticlesFilterQuery(searchRequest))
+                .size(0)
+                .trackTotalHits(true)
+                .aggregation(AggregationBuilders.terms(IS_OPEN_FACET).field("isOpen"))
+                .aggregation(AggregationBuilders.histogram(READ_FACET).field("read").interval(readInterval))
                 ;
-        appendSortIfValid(searchSourceBuilder, searchRequest.getSort());
+        return new ArticleSearchPlan(searchSourceBuilder, true);
+    }
 
-        return searchSourceBuilder;
+    /**
+     * 저장된 검색 조건(percolator) 쿼리 생성
+     * 새 아티클의 일치 여부만 보므로 점수, 정렬 없이 목록 검색과 같은 조건을 filter context 로 담는다.
+     * @param searchRequest 정렬은 무시된다.
+     * @return
+     */
+    public static QueryBuilder getSavedSearchQuery(SearchRequest searchRequest) {
+        return getArticlesFilterQuery(searchRequest);
+    }
+
+    /**
+     * 아티클 목록 검색 조건을 모두 filter context 로 담은 쿼리 생성
+     * 점수가 필요 없는 건수, 집계 조회에 사용한다.
+     * @param searchRequest
+     * @return
+     */
+    private static BoolQueryBuilder getArticlesFilterQuery(SearchRequest searchRequest) {
+        BoolQueryBuilder query = QueryBuilders.boolQuery();
+        appendArticleTitleQueryIfValid(query, searchRequest.getArticleTitle(), true);
+        appendFilterQueryIfValid(query, searchRequest.getFilter());
+        return query;
+    }
+
+    /**
+     * 아티클 제목 자동완성 쿼리 생성
+     * 마지막 단어는 접두어로, 앞의 단어들은 shingle 필드로 매칭한다.
+     * @param prefix
+     * @param size
+     * @return
+     */
+    public static SearchSourceBuilder getSuggestArticlesQuery(String prefix, int size) {
+        return new SearchSourceBuilder()
+                .query(QueryBuilders.multiMatchQuery(prefix, SUGGEST_FIELDS).type(MultiMatchQueryBuilder.Type.BOOL_PREFIX))
+                .fetchSource(SUGGEST_SOURCE_FIELDS, null)
+                .size(size)
+                .trackTotalHits(false)
+                ;
     }
 
     /**
      * 검색 쿼리 생성
      * @param queryBuilder
      * @param articleTitle
+     * @param sorted 정렬 지정 여부. 지정되었으면 점수를 계산하지 않도록 filter context 에 넣는다.
      */
-    private static void appendArticleTitleQueryIfValid(BoolQueryBuilder queryBuilder, String articleTitle) {
+    private static void appendArticleTitleQueryIfValid(BoolQueryBuilder queryBuilder, String articleTitle, boolean sorted) {
         if(!StringUtils.hasText(articleTitle))
             return;
 
-        queryBuilder
-                .must(QueryBuilders.boolQuery()
-                        .should(QueryBuilders.termQuery("articleTitle.standard", articleTitle)) // 기본 노리 형태소 분석 필드
-                        .should(QueryBuilders.termQuery("articleTitle.dic", articleTitle)) // 사용자 사전 반영 필드
-                )
-        ;
+        BoolQueryBuilder articleTitleQuery = QueryBuilders.boolQuery()
+                .should(QueryBuilders.termQuery("articleTitle.standard", articleTitle)) // 기본 노리 형태소 분석 필드
+                .should(QueryBuilders.termQuery("articleTitle.dic", articleTitle)) // 사용자 사전 반영 필드
+                ;
+        if(sorted) {
+            queryBuilder.filter(articleTitleQuery);
+        } else {
+            queryBuilder.must(articleTitleQuery);
+        }
     }
 
     /**
@@ -60,7 +190,7 @@ public class ArticleQuery {
 
         switch (filter.toUpperCase()) {
             case "OPEN":
-                queryBuilder.must(QueryBuilders.termQuery("isOpen", true));
+                queryBuilder.filter(QueryBuilders.termQuery("isOpen", true));
                 break;
             default:
                 log.warn("Invalid filter: {}", filter);
@@ -71,27 +201,31 @@ public class ArticleQuery {
      * 정렬 쿼리 생성
      * @param searchSourceBuilder
      * @param sort
+     * @param storedScripts
+     * @return 정렬을 추가했으면 true
      */
-    private static void appendSortIfValid(SearchSourceBuilder searchSourceBuilder, String sort) {
+    private static boolean appendSortIfValid(SearchSourceBuilder searchSourceBuilder, String sort, boolean storedScripts) {
         if(!StringUtils.hasText(sort))
-            return;
+            return false;
 
         switch (sort.toUpperCase()) {
             case "READ":
-                searchSourceBuilder.sort(getReadSortBuilder());
-                break;
+                searchSourceBuilder.sort(getReadSortBuilder(storedScripts));
+                return true;
             default:
                 log.warn("Invalid sort: {}", sort);
+                return false;
         }
     }
 
     /**
      * 조회순 정렬 스크립트 쿼리 생성
+     * 스크립트는 stored script 로 등록된 것을 id 로 참조하고, 등록 전에는 같은 소스를 인라인으로 보낸다.
+     * @param storedScripts
      * @return
      */
-    private static SortBuilder<ScriptSortBuilder> getReadSortBuilder() {
-        Script script = new Script("doc['read'].value + doc['articleTitle'].value.length()"); // read 점수 + 아티클 제목의 길이
-        return SortBuilders.scriptSort(script, ScriptSortBuilder.ScriptSortType.NUMBER).order(SortOrder.DESC);
+    private static SortBuilder<ScriptSortBuilder> getReadSortBuilder(boolean storedScripts) {
+        return SortBuilders.scriptSort(storedScripts ? READ_SORT_SCRIPT : INLINE_READ_SORT_SCRIPT, ScriptSortBuilder.ScriptSortType.NUMBER).order(SortOrder.DESC);
     }
 
 }
@@ -0,0 +1,16 @@
+package dev.hyein.article.app.query;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+import org.elasticsearch.search.builder.SearchSourceBuilder;
+
+/**
+ * 아티클 검색 계획
+ * 검색 쿼리와 함께 요청 단위로 정해지는 옵션을 담는다.
+ */
+@Getter @AllArgsConstructor @ToString
+public class ArticleSearchPlan {
+    private final SearchSourceBuilder searchSourceBuilder;
+    private final boolean requestCache;
+}
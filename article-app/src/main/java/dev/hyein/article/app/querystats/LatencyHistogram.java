@@ -0,0 +1,98 @@
+package dev.hyein.article.app.querystats;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 소요 시간 히스토그램 (HdrHistogram 방식)
+ * 마이크로초 값을 2의 거듭제곱 구간마다 32개 하위 구간으로 나눈 고정 버킷에 센다. 64us 미만은 1us 단위로 정확하고, 그 이상은 상대 오차 약 3% 이내다.
+ * 기록은 버킷 카운터 증가와 CAS 만 하고 락을 잡지 않는다. 백분위는 기록 중에 읽어도 되며 그 순간의 근사값이다.
+ */
+public class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS; // 구간별 하위 버킷 수
+    private static final int LINEAR_MAX = SUB_BUCKET_COUNT * 2; // 이 값 미만은 값 그대로 버킷
+
+    private final long maxTrackableMicros;
+    private final AtomicLongArray counts;
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalMicros = new LongAdder();
+    private final AtomicLong maxMicros = new AtomicLong();
+
+    /**
+     * @param maxTrackableMicros 이보다 큰 값은 이 값으로 센다.
+     */
+    public LatencyHistogram(long maxTrackableMicros) {
+        this.maxTrackableMicros = Math.max(LINEAR_MAX, maxTrackableMicros);
+        this.counts = new AtomicLongArray(bucketIndex(this.maxTrackableMicros) + 1);
+    }
+
+    /**
+     * 소요 시간 기록
+     * @param durationNanos
+     */
+    public void record(long durationNanos) {
+        long micros = Math.min(Math.max(0, TimeUnit.NANOSECONDS.toMicros(durationNanos)), maxTrackableMicros);
+        counts.incrementAndGet(bucketIndex(micros));
+        count.increment();
+        totalMicros.add(micros);
+        long max = maxMicros.get();
+        while (micros > max && !maxMicros.compareAndSet(max, micros)) {
+            max = maxMicros.get();
+        }
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getTotalMicros() {
+        return totalMicros.sum();
+    }
+
+    public long getMaxMicros() {
+        return maxMicros.get();
+    }
+
+    /**
+     * 백분위 값
+     * @param percentile 0 ~ 100
+     * @return 해당 순위 값이 속한 버킷의 상한 (최대값을 넘지 않음), 기록이 없으면 0
+     */
+    public long getValueAtPercentile(double percentile) {
+        long[] snapshot = new long[counts.length()];
+        long total = 0;
+        for (int i = 0; i < snapshot.length; i++) {
+            snapshot[i] = counts.get(i);
+            total += snapshot[i];
+        }
+        if(total == 0)
+            return 0;
+
+        long rank = Math.max(1, (long) Math.ceil(Math.min(100, Math.max(0, percentile)) / 100 * total));
+        long seen = 0;
+        for (int i = 0; i < snapshot.length; i++) {
+            seen += snapshot[i];
+            if(seen >= rank)
+                return Math.min(highestEquivalentValue(i), getMaxMicros());
+        }
+        return getMaxMicros();
+    }
+
+    static int bucketIndex(long micros) {
+        if(micros < LINEAR_MAX)
+            return (int) micros;
+        int shift = 63 - Long.numberOfLeadingZeros(micros) - SUB_BUCKET_BITS;
+        return shift * SUB_BUCKET_COUNT + (int) (micros >>> shift);
+    }
+
+    static long highestEquivalentValue(int index) {
+        if(index < LINEAR_MAX)
+            return index;
+        int shift = index / SUB_BUCKET_COUNT - 1;
+        long lowest = (long) (index - shift * SUB_BUCKET_COUNT) << shift;
+        return lowest + (1L << shift) - 1;
+    }
+}
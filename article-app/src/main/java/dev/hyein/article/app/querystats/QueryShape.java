@@ -0,0 +1,29 @@
+package dev.hyein.article.app.querystats;
+
+import dev.hyein.article.app.request.SearchRequest;
+import org.springframework.util.StringUtils;
+
+/**
+ * 검색 형태
+ * 검색어 값은 지우고 있는지만 남기며, 정렬과 필터는 ArticleQuery 가 쓰는 값만 남겨 형태 수가 요청 값에 따라 늘지 않는다.
+ */
+public class QueryShape {
+    private QueryShape() {
+    }
+
+    /**
+     * 검색 요청을 형태로 정규화
+     * @param searchRequest
+     * @return 예) articleTitle=? sort=READ filter=- terminateAfter=-
+     */
+    public static String of(SearchRequest searchRequest) {
+        return "articleTitle=" + (StringUtils.hasText(searchRequest.getArticleTitle()) ? "?" : "-")
+                + " sort=" + normalize(searchRequest.getSort(), "READ")
+                + " filter=" + normalize(searchRequest.getFilter(), "OPEN")
+                + " terminateAfter=" + (searchRequest.getTerminateAfter() != null ? "?" : "-");
+    }
+
+    private static String normalize(String value, String validValue) {
+        return validValue.equalsIgnoreCase(value) ? validValue : "-";
+    }
+}
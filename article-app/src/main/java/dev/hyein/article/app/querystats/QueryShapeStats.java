@@ -0,0 +1,30 @@
+package dev.hyein.article.app.querystats;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 검색 형태별 소요 시간 통계
+ */
+@Getter @AllArgsConstructor @ToString
+public class QueryShapeStats {
+    private final String shape;
+    private final long count;
+    private final double totalMs;
+    private final double meanMs;
+    private final double p50Ms;
+    private final double p99Ms;
+    private final double maxMs;
+
+    static QueryShapeStats of(String shape, LatencyHistogram histogram) {
+        long count = histogram.getCount();
+        long totalMicros = histogram.getTotalMicros();
+        return new QueryShapeStats(shape, count, toMs(totalMicros), count == 0 ? 0 : toMs(totalMicros) / count,
+                toMs(histogram.getValueAtPercentile(50)), toMs(histogram.getValueAtPercentile(99)), toMs(histogram.getMaxMicros()));
+    }
+
+    private static double toMs(long micros) {
+        return micros / 1000.0;
+    }
+}
@@ -0,0 +1,83 @@
+package dev.hyein.article.app.querystats;
+
+import dev.hyein.article.app.error.InvalidRequestException;
+import dev.hyein.article.app.properties.QueryStatsProperties;
+import dev.hyein.article.app.request.SearchRequest;
+import org.elasticsearch.search.builder.SearchSourceBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * 검색 형태별 소요 시간 집계, 느린 검색 로그
+ * 검색마다 형태별 히스토그램에 기록하고, slowThresholdMs 이상 걸린 검색은 DSL 과 함께 SLOW_QUERY 로거에 남긴다.
+ * SLOW_QUERY 로거는 logback-spring.xml 에서 비동기 appender 로 연결된다.
+ */
+@Component
+public class QueryStats {
+    public static final String LOGGER_NAME = "SLOW_QUERY";
+    private static final Logger SLOW_QUERY_LOG = LoggerFactory.getLogger(LOGGER_NAME);
+
+    private final QueryStatsProperties queryStatsProperties;
+    private final ConcurrentHashMap<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+
+    public QueryStats(QueryStatsProperties queryStatsProperties) {
+        this.queryStatsProperties = queryStatsProperties;
+    }
+
+    /**
+     * 검색 소요 시간 기록
+     * @param searchRequest
+     * @param durationNanos
+     * @param searchSourceBuilder 실행한 검색
+     */
+    public void record(SearchRequest searchRequest, long durationNanos, SearchSourceBuilder searchSourceBuilder) {
+        String shape = QueryShape.of(searchRequest);
+        LatencyHistogram histogram = histograms.get(shape);
+        if(histogram == null) // 형태 수는 정해져 있어 처음 한 번만 만든다.
+            histogram = histograms.computeIfAbsent(shape, key -> new LatencyHistogram(TimeUnit.MILLISECONDS.toMicros(queryStatsProperties.getMaxTrackableMs())));
+        histogram.record(durationNanos);
+
+        long durationMs = TimeUnit.NANOSECONDS.toMillis(durationNanos);
+        if(durationMs >= queryStatsProperties.getSlowThresholdMs() && SLOW_QUERY_LOG.isWarnEnabled())
+            SLOW_QUERY_LOG.warn("shape=\"{}\" durationMs={} dsl={}", shape, durationMs, searchSourceBuilder == null ? "-" : searchSourceBuilder);
+    }
+
+    /**
+     * 소요 시간 상위 검색 형태
+     * @param orderBy total 이면 전체 소요 시간, p99 면 99 백분위 순
+     * @param size
+     * @return
+     * @throws InvalidRequestException orderBy 가 total, p99 가 아닐 때
+     */
+    public List<QueryShapeStats> top(String orderBy, int size) {
+        Comparator<QueryShapeStats> comparator;
+        switch (orderBy.toLowerCase()) {
+            case "total":
+                comparator = Comparator.comparingDouble(QueryShapeStats::getTotalMs);
+                break;
+            case "p99":
+                comparator = Comparator.comparingDouble(QueryShapeStats::getP99Ms);
+                break;
+            default:
+                throw new InvalidRequestException("orderBy must be total or p99: " + orderBy);
+        }
+
+        List<QueryShapeStats> queryShapeStatsList = new ArrayList<>(histograms.size());
+        for (Map.Entry<String, LatencyHistogram> entry : histograms.entrySet()) {
+            queryShapeStatsList.add(QueryShapeStats.of(entry.getKey(), entry.getValue()));
+        }
+        return queryShapeStatsList.stream()
+                .sorted(comparator.reversed())
+                .limit(Math.max(0, size))
+                .collect(Collectors.toList());
+    }
+}
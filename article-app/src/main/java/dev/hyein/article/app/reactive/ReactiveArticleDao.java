@@ -0,0 +1,244 @@
+package dev.hyein.article.app.reactive;
+
+import dev.hyein.article.elasticsearch.codec.ArticleCodec;
+import dev.hyein.article.elasticsearch.dao.ArticleDao;
+import dev.hyein.article.elasticsearch.dao.CommonEsDao;
+import dev.hyein.article.elasticsearch.exception.DocumentAlreadyExistException;
+import dev.hyein.article.elasticsearch.exception.DocumentNotFoundException;
+import dev.hyein.article.elasticsearch.properties.ArticleProperties;
+import dev.hyein.article.elasticsearch.routing.ReadRouter;
+import dev.hyein.article.elasticsearch.routing.ReadTarget;
+import dev.hyein.article.elasticsearch.validator.ArticleValidator;
+import dev.hyein.article.elasticsearch.vo.ArticleVo;
+import dev.hyein.article.elasticsearch.vo.SearchBudget;
+import org.elasticsearch.ElasticsearchStatusException;
+import org.elasticsearch.action.ActionListener;
+import org.elasticsearch.action.DocWriteResponse;
+import org.elasticsearch.action.delete.DeleteResponse;
+import org.elasticsearch.action.get.GetResponse;
+import org.elasticsearch.action.index.IndexResponse;
+import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.action.update.UpdateResponse;
+import org.elasticsearch.client.Cancellable;
+import org.elasticsearch.client.RestHighLevelClient;
+import org.elasticsearch.common.bytes.BytesReference;
+import org.elasticsearch.rest.RestStatus;
+import org.elasticsearch.search.aggregations.Aggregations;
+import org.elasticsearch.search.builder.SearchSourceBuilder;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.SocketTimeoutException;
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * 아티클 논블로킹 DAO
+ * 클라이언트의 *Async 호출을 Mono 로 감싸며, 구독을 취소하면 요청도 취소한다.
+ * 검증과 예외는 ArticleDao 와 같고, 쓰기 결과는 ArticleValidator 의 아티클 번호 비트맵에 반영한다.
+ */
+@Component
+public class ReactiveArticleDao {
+    private final ArticleCodec articleCodec;
+    private final RestHighLevelClient client;
+    private final ArticleValidator articleValidator;
+    private final ReadRouter readRouter;
+    private final String alias;
+
+    public ReactiveArticleDao(ArticleCodec articleCodec, @Qualifier("articleClient") RestHighLevelClient articleClient, ArticleValidator articleValidator,
+                              ReadRouter readRouter, ArticleProperties articleProperties) {
+        this.articleCodec = articleCodec;
+        this.client = articleClient;
+        this.articleValidator = articleValidator;
+        this.readRouter = readRouter;
+        this.alias = articleProperties.getAlias();
+    }
+
+    /**
+     * 시간 예산 안에서 아티클 검색, 검색 결과를 하나씩 변환하며 내보낸다.
+     * 검색 timeout 이 지나면 응답한 샤드 결과만 받고, 클라이언트 마감 시간까지 응답이 없으면 요청을 취소하고 SocketTimeoutException 으로 끝낸다.
+     * @param searchSourceBuilder
+     * @param requestCache shard request cache 사용 여부, null 이면 인덱스 설정을 따른다.
+     * @param searchBudget 시간 예산
+     * @param readYourWrites true 면 읽기 클러스터 대신 리더에서 읽는다.
+     * @return
+     */
+    public Flux<ArticleVo> searchArticles(SearchSourceBuilder searchSourceBuilder, Boolean requestCache, SearchBudget searchBudget, boolean readYourWrites) {
+        SearchSourceBuilder budgetedSearchSourceBuilder = ArticleDao.withSearchBudget(searchSourceBuilder, searchBudget);
+        ReadTarget readTarget = readRouter.route("search", readYourWrites);
+        return toMono((ActionListener<SearchResponse> listener) -> CommonEsDao.searchDocumentAsync(readTarget.getClient(), readTarget.getAlias(), budgetedSearchSourceBuilder, requestCache, listener))
+                .timeout(Duration.ofMillis(searchBudget.getClientTimeoutMs()),
+                        Mono.defer(() -> Mono.error(new SocketTimeoutException("Search did not respond within " + searchBudget.getClientTimeoutMs() + " ms"))))
+                .flatMapIterable(SearchResponse::getHits)
+                .map(hit -> readArticleVo(hit.getSourceRef()));
+    }
+
+    /**
+     * 아티클 건수 조회
+     * @param searchSourceBuilder
+     * @param requestCache
+     * @param readYourWrites
+     * @return
+     */
+    public Mono<Long> countArticles(SearchSourceBuilder searchSourceBuilder, Boolean requestCache, boolean readYourWrites) {
+        ReadTarget readTarget = readRouter.route("count", readYourWrites);
+        return toMono((ActionListener<SearchResponse> listener) -> CommonEsDao.searchDocumentAsync(readTarget.getClient(), readTarget.getAlias(), searchSourceBuilder, requestCache, listener))
+                .map(searchResponse -> searchResponse.getHits().getTotalHits().value);
+    }
+
+    /**
+     * 아티클 집계
+     * @param searchSourceBuilder
+     * @param requestCache
+     * @param readYourWrites
+     * @return
+     */
+    public Mono<Aggregations> aggregateArticles(SearchSourceBuilder searchSourceBuilder, Boolean requestCache, boolean readYourWrites) {
+        ReadTarget readTarget = readRouter.route("aggregate", readYourWrites);
+        return toMono((ActionListener<SearchResponse> listener) -> CommonEsDao.searchDocumentAsync(readTarget.getClient(), readTarget.getAlias(), searchSourceBuilder, requestCache, listener))
+                .map(SearchResponse::getAggregations);
+    }
+
+    /**
+     * 아티클 번호가 일치하는 아티클 반환
+     * @param docId
+     * @param readYourWrites
+     * @return 없으면 DocumentNotFoundException
+     */
+    public Mono<ArticleVo> findArticleById(Integer docId, boolean readYourWrites) {
+        String id = String.valueOf(docId);
+        ReadTarget readTarget = readRouter.route("get", readYourWrites);
+        return toMono((ActionListener<GetResponse> listener) -> CommonEsDao.findDocumentByIdAsync(readTarget.getClient(), readTarget.getAlias(), id, listener))
+                .flatMap(getResponse -> getResponse.isExists()
+                        ? Mono.just(readArticleVo(getResponse.getSourceAsBytesRef()))
+                        : Mono.<ArticleVo>error(new DocumentNotFoundException(id, alias)));
+    }
+
+    /**
+     * 아티클 정보 색인
+     * @param articleVo
+     * @return
+     */
+    public Mono<Void> index(ArticleVo articleVo) {
+        return Mono.fromRunnable(() -> articleValidator.validateArticleVo(articleVo))
+                .then(validateIsDocIdNotExist(String.valueOf(articleVo.getArticleNumber())))
+                .then(create(articleVo));
+    }
+
+    /**
+     * 아티클 정보 업데이트
+     * @param docId
+     * @param articleVo
+     * @return
+     */
+    public Mono<Void> update(Integer docId, ArticleVo articleVo) {
+        String currentDocId = String.valueOf(docId);
+        return Mono.fromRunnable(() -> articleValidator.validateArticleVo(articleVo))
+                .then(validateIsDocIdExist(currentDocId))
+                .then(Mono.defer(() -> {
+                    String futureDocId = String.valueOf(articleVo.getArticleNumber());
+                    if(currentDocId.equals(futureDocId)) {
+                        return toMono((ActionListener<UpdateResponse> listener) -> CommonEsDao.updateDocumentAsync(client, alias, currentDocId, writeArticleSource(articleVo), listener))
+                                .doOnSuccess(updateResponse -> articleValidator.onArticleWritten(docId))
+                                .then();
+                    }
+                    // 아티클번호를 수정할 경우, _id는 수정이 안돼서 index & delete
+                    // 새 번호가 이미 있으면 색인이 409 로 실패하므로 기존 아티클은 지워지지 않는다.
+                    return validateIsDocIdNotExist(futureDocId)
+                            .then(create(articleVo))
+                            .then(toMono((ActionListener<DeleteResponse> listener) -> CommonEsDao.deleteDocumentAsync(client, alias, currentDocId, listener)))
+                            .doOnSuccess(deleteResponse -> articleValidator.onArticleDeleted(docId))
+                            .then();
+                }));
+    }
+
+    /**
+     * 아티클 삭제
+     * @param docId
+     * @return
+     */
+    public Mono<Void> delete(Integer docId) {
+        String id = String.valueOf(docId);
+        return validateIsDocIdExist(id)
+                .then(toMono((ActionListener<DeleteResponse> listener) -> CommonEsDao.deleteDocumentAsync(client, alias, id, listener)))
+                .flatMap(deleteResponse -> {
+                    articleValidator.onArticleDeleted(docId);
+                    return deleteResponse.getResult() == DocWriteResponse.Result.NOT_FOUND // 검증 이후 삭제됨
+                            ? Mono.<Void>error(new DocumentNotFoundException(id, alias))
+                            : Mono.<Void>empty();
+                });
+    }
+
+    /**
+     * op_type create 로 색인, 이미 있으면 DocumentAlreadyExistException
+     * @param articleVo
+     * @return
+     */
+    private Mono<Void> create(ArticleVo articleVo) {
+        String docId = String.valueOf(articleVo.getArticleNumber());
+        return toMono((ActionListener<IndexResponse> listener) -> CommonEsDao.createDocumentAsync(client, alias, docId, writeArticleSource(articleVo), listener))
+                .onErrorMap(e -> e instanceof ElasticsearchStatusException && ((ElasticsearchStatusException) e).status() == RestStatus.CONFLICT,
+                        e -> {
+                            articleValidator.onArticleWritten(articleVo.getArticleNumber()); // 검증 이후 다른 곳에서 색인됨
+                            return new DocumentAlreadyExistException(docId, alias);
+                        })
+                .doOnSuccess(indexResponse -> articleValidator.onArticleWritten(articleVo.getArticleNumber()))
+                .then();
+    }
+
+    /**
+     * 비트맵이 없다고 하면 원격 확인 없이 통과, 실제 색인(op_type create)이 최종 확인한다.
+     * @param docId
+     * @return
+     */
+    private Mono<Void> validateIsDocIdNotExist(String docId) {
+        if(Boolean.FALSE.equals(articleValidator.getLocalExistence(docId)))
+            return Mono.empty();
+        return toMono((ActionListener<Boolean> listener) -> CommonEsDao.isDocIdExistAsync(client, alias, docId, listener))
+                .flatMap(exists -> exists ? Mono.<Void>error(new DocumentAlreadyExistException(docId, alias)) : Mono.<Void>empty());
+    }
+
+    /**
+     * 비트맵이 있다고 하면 원격 확인 없이 통과, 실제 수정/삭제가 최종 확인한다.
+     * @param docId
+     * @return
+     */
+    private Mono<Void> validateIsDocIdExist(String docId) {
+        if(Boolean.TRUE.equals(articleValidator.getLocalExistence(docId)))
+            return Mono.empty();
+        return toMono((ActionListener<Boolean> listener) -> CommonEsDao.isDocIdExistAsync(client, alias, docId, listener))
+                .flatMap(exists -> exists ? Mono.<Void>empty() : Mono.<Void>error(new DocumentNotFoundException(docId, alias)));
+    }
+
+    private ArticleVo readArticleVo(BytesReference source) {
+        try {
+            return articleCodec.readArticleVo(source);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private byte[] writeArticleSource(ArticleVo articleVo) {
+        try {
+            return articleCodec.writeArticleSource(articleVo);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 비동기 호출을 Mono 로 감싼다. 구독할 때 요청하고, 구독 취소 시 요청을 취소한다.
+     * @param call 리스너를 받아 요청을 보내는 호출
+     * @return
+     */
+    private static <T> Mono<T> toMono(Function<ActionListener<T>, Cancellable> call) {
+        return Mono.create(sink -> {
+            Cancellable cancellable = call.apply(ActionListener.wrap(sink::success, sink::error));
+            sink.onCancel(cancellable::cancel);
+        });
+    }
+}
@@ -0,0 +1,284 @@
+package dev.hyein.article.app.reactive;
+
+import dev.hyein.article.app.bootstrap.IndexBootstrap;
+import dev.hyein.article.app.bulkhead.Bulkheads;
+import dev.hyein.article.app.error.ErrorBody;
+import dev.hyein.article.app.error.ErrorCode;
+import dev.hyein.article.app.error.ErrorResolver;
+import dev.hyein.article.app.error.InvalidRequestException;
+import dev.hyein.article.app.properties.FacetProperties;
+import dev.hyein.article.app.properties.SearchBudgetProperties;
+import dev.hyein.article.app.query.ArticleQuery;
+import dev.hyein.article.app.query.ArticleSearchPlan;
+import dev.hyein.article.app.querystats.QueryStats;
+import dev.hyein.article.app.replica.ArticleReplica;
+import dev.hyein.article.app.request.ArticleRequest;
+import dev.hyein.article.app.request.SearchRequest;
+import dev.hyein.article.app.routing.ReadConsistencyFilter;
+import dev.hyein.article.app.response.CountResponse;
+import dev.hyein.article.app.response.FacetResponse;
+import dev.hyein.article.app.savedsearch.SavedSearchMatcher;
+import dev.hyein.article.app.service.ArticleService;
+import dev.hyein.article.app.service.SuggestService;
+import dev.hyein.article.app.utils.ErrorHandlingUtils;
+import dev.hyein.article.app.writebehind.WriteBehindService;
+import dev.hyein.article.elasticsearch.vo.ArticleVo;
+import dev.hyein.article.elasticsearch.vo.SearchBudget;
+import org.elasticsearch.search.builder.SearchSourceBuilder;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * /v2/articles 핸들러
+ * ArticleController 와 같은 요청, 응답, 오류 형식을 이벤트 루프에서 처리한다.
+ * 엘라스틱서치 호출은 논블로킹이며, 블로킹이 필요한 작업(쓰기 지연 저널 fsync, 자동완성 캐시)만 별도 스케줄러로 넘긴다.
+ * 격벽, 검색 시간 예산, 검색 형태별 집계도 /articles 와 같이 적용한다. 격벽은 기다리지 않고 바로 거절하고, 검색은 스트리밍하므로 샤드 응답 현황 헤더는 없다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveArticleHandler {
+    private final ReactiveArticleDao reactiveArticleDao;
+    private final ArticleService articleService;
+    private final SuggestService suggestService;
+    private final IndexBootstrap indexBootstrap;
+    private final Bulkheads bulkheads;
+    private final QueryStats queryStats;
+    private final FacetProperties facetProperties;
+    private final SearchBudgetProperties searchBudgetProperties;
+    private final Optional<WriteBehindService> writeBehindService;
+    private final Optional<SavedSearchMatcher> savedSearchMatcher;
+    private final Optional<ArticleReplica> articleReplica;
+    private final Validator validator;
+
+    /**
+     * 아티클 검색
+     * Accept 가 application/stream+json 이면 검색 결과를 변환하는 대로 한 건씩 내보내고, 아니면 JSON 배열로 응답한다.
+     * @param request
+     * @return
+     */
+    public Mono<ServerResponse> getArticles(ServerRequest request) {
+        SearchRequest searchRequest = toSearchRequest(request);
+        SearchBudget searchBudget = ArticleQuery.planSearchBudget(searchRequest, searchBudgetProperties);
+        Optional<List<ArticleVo>> replicaArticles = articleReplica.flatMap(replica -> replica.getArticles(searchRequest));
+        if(replicaArticles.isPresent())
+            return ok(replicaArticles.get());
+
+        long startedAt = System.nanoTime();
+        ArticleSearchPlan articleSearchPlan = ArticleQuery.planSearchArticles(searchRequest, indexBootstrap.isStoredScriptsRegistered());
+        SearchSourceBuilder searchSourceBuilder = articleSearchPlan.getSearchSourceBuilder();
+        MediaType contentType = request.headers().accept().contains(MediaType.APPLICATION_STREAM_JSON)
+                ? MediaType.APPLICATION_STREAM_JSON
+                : MediaType.APPLICATION_JSON;
+
+        Flux<ArticleVo> articles = bulkheads.search(reactiveArticleDao.searchArticles(searchSourceBuilder, articleSearchPlan.isRequestCache(), searchBudget, isReadYourWrites(request)))
+                .doFinally(signal -> queryStats.record(searchRequest, System.nanoTime() - startedAt, searchSourceBuilder));
+        return ServerResponse.ok().contentType(contentType).body(articles, ArticleVo.class);
+    }
+
+    /**
+     * 아티클 건수 조회
+     * @param request
+     * @return
+     */
+    public Mono<ServerResponse> countArticles(ServerRequest request) {
+        ArticleSearchPlan articleSearchPlan = ArticleQuery.planCountArticles(toSearchRequest(request));
+        return bulkheads.search(reactiveArticleDao.countArticles(articleSearchPlan.getSearchSourceBuilder(), articleSearchPlan.isRequestCache(), isReadYourWrites(request)))
+                .flatMap(count -> ok(new CountResponse(count)));
+    }
+
+    /**
+     * 아티클 패싯 조회
+     * @param request
+     * @return
+     */
+    public Mono<ServerResponse> getArticleFacets(ServerRequest request) {
+        ArticleSearchPlan articleSearchPlan = ArticleQuery.planFacetArticles(toSearchRequest(request), facetProperties.getReadInterval());
+        return bulkheads.search(reactiveArticleDao.aggregateArticles(articleSearchPlan.getSearchSourceBuilder(), articleSearchPlan.isRequestCache(), isReadYourWrites(request)))
+                .map(aggregations -> FacetResponse.of(aggregations,
+                        Collections.singletonList(ArticleQuery.IS_OPEN_FACET), Collections.singletonList(ArticleQuery.READ_FACET)))
+                .flatMap(this::ok);
+    }
+
+    /**
+     * 아티클 제목 자동완성, 짧은 접두어 캐시를 공유하기 위해 SuggestService 를 별도 스케줄러에서 호출한다.
+     * @param request
+     * @return
+     */
+    public Mono<ServerResponse> suggestArticles(ServerRequest request) {
+        String prefix = request.queryParam("prefix").orElseThrow(() -> new InvalidRequestException("Required parameter 'prefix' is not present."));
+        return bulkheads.search(Mono.fromCallable(() -> suggestService.suggestArticles(prefix)).subscribeOn(Schedulers.boundedElastic()))
+                .flatMap(this::ok);
+    }
+
+    /**
+     * 아티클 단건 조회
+     * @param request
+     * @return
+     */
+    public Mono<ServerResponse> getArticle(ServerRequest request) {
+        Integer articleNumber = getArticleNumber(request);
+        boolean readYourWrites = isReadYourWrites(request);
+        ArticleVo replicaArticle = readYourWrites ? null : articleReplica.map(replica -> replica.getArticle(articleNumber)).orElse(null);
+        if(replicaArticle != null)
+            return ok(replicaArticle);
+
+        return bulkheads.get(reactiveArticleDao.findArticleById(articleNumber, readYourWrites))
+                .flatMap(this::ok);
+    }
+
+    /**
+     * 아티클 등록
+     * @param request
+     * @return
+     */
+    public Mono<ServerResponse> writeArticle(ServerRequest request) {
+        return toArticleVo(request)
+                .flatMap(articleVo -> bulkheads.write(writeBehindService.isPresent()
+                        ? Mono.fromCallable(() -> { articleService.writeArticle(articleVo); return articleVo; }).subscribeOn(Schedulers.boundedElastic()).then()
+                        : reactiveArticleDao.index(articleVo).doOnSuccess(done -> onWritten(null, articleVo))))
+                .then(ok(""));
+    }
+
+    /**
+     * 아티클 수정
+     * @param request
+     * @return
+     */
+    public Mono<ServerResponse> updateArticle(ServerRequest request) {
+        Integer articleNumber = getArticleNumber(request);
+        return toArticleVo(request)
+                .flatMap(articleVo -> bulkheads.write(writeBehindService.isPresent()
+                        ? Mono.fromCallable(() -> { articleService.updateArticle(articleNumber, articleVo); return articleVo; }).subscribeOn(Schedulers.boundedElastic()).then()
+                        : reactiveArticleDao.update(articleNumber, articleVo).doOnSuccess(done -> onWritten(articleNumber, articleVo))))
+                .then(ok(""));
+    }
+
+    /**
+     * 아티클 조회수 증가
+     * 메모리 버퍼에 더하기만 하고 엘라스틱서치 반영은 스케줄러 스레드가 하므로 이벤트 루프에서 바로 호출한다.
+     * @param request
+     * @return
+     */
+    public Mono<ServerResponse> readArticle(ServerRequest request) {
+        articleService.readArticle(getArticleNumber(request));
+        return ok("");
+    }
+
+    /**
+     * 아티클 삭제
+     * @param request
+     * @return
+     */
+    public Mono<ServerResponse> deleteArticle(ServerRequest request) {
+        Integer articleNumber = getArticleNumber(request);
+        Mono<Void> delete = writeBehindService.isPresent()
+                ? Mono.fromCallable(() -> { articleService.deleteArticle(articleNumber); return articleNumber; }).subscribeOn(Schedulers.boundedElastic()).then()
+                : reactiveArticleDao.delete(articleNumber).doOnSuccess(done -> articleReplica.ifPresent(replica -> replica.onDeleted(articleNumber)));
+        return bulkheads.write(delete).then(ok(""));
+    }
+
+    /**
+     * ApiExceptionHandler 와 같은 오류 응답
+     * @param e
+     * @return
+     */
+    public Mono<ServerResponse> handleException(Throwable e) {
+        ErrorCode errorCode = ErrorResolver.resolve(e);
+        if(errorCode == ErrorCode.INTERNAL_ERROR)
+            log.error("[Api Exception] {}", ErrorHandlingUtils.getErrorStackTrace(e, 3));
+        else if(errorCode == ErrorCode.UNAVAILABLE || errorCode == ErrorCode.TIMEOUT)
+            log.warn("[Api Exception] {}", e.getMessage());
+        else
+            log.debug("[Api Exception] {}: {}", errorCode, e.getMessage());
+
+        ServerResponse.BodyBuilder response = ServerResponse.status(errorCode.getStatus()).contentType(MediaType.APPLICATION_JSON);
+        long retryAfterSeconds = ErrorResolver.retryAfterSeconds(e);
+        if(retryAfterSeconds > 0)
+            response.header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        return response.bodyValue(ErrorBody.of(errorCode, ErrorResolver.message(e)));
+    }
+
+    /**
+     * 반영된 아티클을 복제본에 적용하고 저장된 검색 조건 대조 대상으로 추가, 쓰기 지연 중이면 반영 시점에 처리된다.
+     * @param articleNumber 수정 전 아티클 번호, 등록이면 null
+     * @param articleVo
+     */
+    private void onWritten(Integer articleNumber, ArticleVo articleVo) {
+        articleReplica.ifPresent(replica -> {
+            if(articleNumber != null && !articleNumber.equals(articleVo.getArticleNumber()))
+                replica.onDeleted(articleNumber);
+            replica.onWritten(articleVo);
+        });
+        savedSearchMatcher.ifPresent(matcher -> matcher.enqueue(articleVo));
+    }
+
+    /**
+     * 요청 본문을 검증 후 ArticleVo 로 변환
+     * @param request
+     * @return
+     */
+    private Mono<ArticleVo> toArticleVo(ServerRequest request) {
+        return request.bodyToMono(ArticleRequest.class)
+                .switchIfEmpty(Mono.error(new InvalidRequestException("Required request body is missing.")))
+                .map(articleRequest -> {
+                    Set<ConstraintViolation<ArticleRequest>> violations = validator.validate(articleRequest);
+                    if(!violations.isEmpty()) {
+                        throw new InvalidRequestException(violations.stream().map(ConstraintViolation::getMessage).collect(Collectors.joining(", ")));
+                    }
+                    return articleRequest.toArticleVo();
+                });
+    }
+
+    private static SearchRequest toSearchRequest(ServerRequest request) {
+        return new SearchRequest(
+                request.queryParam("articleTitle").orElse(""),
+                request.queryParam("sort").orElse(""),
+                request.queryParam("filter").orElse(""),
+                request.queryParam("timeoutMs").map(timeoutMs -> parseNumber("timeoutMs", timeoutMs, Long::valueOf)).orElse(null),
+                request.queryParam("terminateAfter").map(terminateAfter -> parseNumber("terminateAfter", terminateAfter, Integer::valueOf)).orElse(null)
+        );
+    }
+
+    private static <T> T parseNumber(String name, String value, Function<String, T> parser) {
+        try {
+            return parser.apply(value);
+        } catch (NumberFormatException e) {
+            throw new InvalidRequestException(name + " must be a number: " + value);
+        }
+    }
+
+    private static boolean isReadYourWrites(ServerRequest request) {
+        return ReadConsistencyFilter.isReadYourWrites(request.headers().firstHeader(ReadConsistencyFilter.READ_YOUR_WRITES_HEADER));
+    }
+
+    private static Integer getArticleNumber(ServerRequest request) {
+        String articleNumber = request.pathVariable("articleNumber");
+        try {
+            return Integer.valueOf(articleNumber);
+        } catch (NumberFormatException e) {
+            throw new InvalidRequestException("articleNumber must be a number: " + articleNumber);
+        }
+    }
+
+    private Mono<ServerResponse> ok(Object body) {
+        return ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(body);
+    }
+}
@@ -0,0 +1,105 @@
+package dev.hyein.article.app.reactive;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.hyein.article.app.accesslog.AccessLogger;
+import dev.hyein.article.app.properties.ReactiveProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.server.reactive.HttpHandler;
+import org.springframework.http.server.reactive.ReactorHttpHandlerAdapter;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import static org.springframework.web.reactive.function.server.RequestPredicates.contentType;
+
+/**
+ * /v2/articles 리액티브 API 서버
+ * 기존 서블릿(MVC) 서버와 같은 프로세스에서 별도 포트(article.reactive.port)의 Reactor Netty 이벤트 루프로 동작한다.
+ * 두 API 의 처리량을 나란히 비교하기 위한 용도로, article.reactive.enabled 일 때만 기동한다.
+ */
+@Component
+@ConditionalOnProperty(prefix = "article.reactive", name = "enabled", havingValue = "true")
+@Slf4j
+public class ReactiveServer implements SmartLifecycle {
+    private static final String PATH = "/v2/articles";
+
+    private final ReactiveArticleHandler reactiveArticleHandler;
+    private final AccessLogger accessLogger;
+    private final ObjectMapper objectMapper;
+    private final int port;
+    private volatile DisposableServer disposableServer;
+
+    public ReactiveServer(ReactiveArticleHandler reactiveArticleHandler, AccessLogger accessLogger, ObjectMapper objectMapper, ReactiveProperties reactiveProperties) {
+        this.reactiveArticleHandler = reactiveArticleHandler;
+        this.accessLogger = accessLogger;
+        this.objectMapper = objectMapper;
+        this.port = reactiveProperties.getPort();
+    }
+
+    /**
+     * 라우팅, 오류는 모두 ArticleController 와 같은 형식으로 응답하고 접근 로그를 남긴다.
+     * @return
+     */
+    RouterFunction<ServerResponse> routes() {
+        return RouterFunctions.route()
+                .GET(PATH, reactiveArticleHandler::getArticles)
+                .GET(PATH + "/_count", reactiveArticleHandler::countArticles)
+                .GET(PATH + "/_facets", reactiveArticleHandler::getArticleFacets)
+                .GET(PATH + "/_suggest", reactiveArticleHandler::suggestArticles)
+                .GET(PATH + "/{articleNumber}", reactiveArticleHandler::getArticle)
+                .POST(PATH, contentType(MediaType.APPLICATION_JSON), reactiveArticleHandler::writeArticle)
+                .PUT(PATH + "/{articleNumber}", contentType(MediaType.APPLICATION_JSON), reactiveArticleHandler::updateArticle)
+                .POST(PATH + "/{articleNumber}/read", reactiveArticleHandler::readArticle)
+                .DELETE(PATH + "/{articleNumber}", reactiveArticleHandler::deleteArticle)
+                .filter((request, next) -> {
+                    long startedAt = System.nanoTime();
+                    return Mono.defer(() -> next.handle(request)) // 핸들러에서 바로 던진 예외도 오류 응답으로
+                            .onErrorResume(reactiveArticleHandler::handleException)
+                            .doOnNext(response -> accessLogger.log(request.methodName(), request.path(), request.uri().getRawQuery(),
+                                    response.rawStatusCode(), System.nanoTime() - startedAt, -1, null)); // 스트리밍 응답은 본문 전송 전 시점
+                })
+                .build();
+    }
+
+    @Override
+    public void start() {
+        HandlerStrategies handlerStrategies = HandlerStrategies.builder()
+                .codecs(configurer -> {
+                    configurer.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(objectMapper));
+                    configurer.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper));
+                })
+                .build();
+        HttpHandler httpHandler = RouterFunctions.toHttpHandler(routes(), handlerStrategies);
+
+        disposableServer = HttpServer.create()
+                .port(port)
+                .handle(new ReactorHttpHandlerAdapter(httpHandler))
+                .bindNow();
+        log.info("[ReactiveServer] Started on port {}", disposableServer.port());
+    }
+
+    @Override
+    public void stop() {
+        DisposableServer server = disposableServer;
+        if(server != null) {
+            server.disposeNow();
+            disposableServer = null;
+            log.info("[ReactiveServer] Stopped");
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return disposableServer != null;
+    }
+}
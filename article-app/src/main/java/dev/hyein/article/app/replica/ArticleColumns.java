@@ -0,0 +1,242 @@
+package dev.hyein.article.app.replica;
+
+import dev.hyein.article.elasticsearch.vo.ArticleVo;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * 아티클 컬럼 저장소
+ * 아티클을 객체로 두지 않고 필드별 기본형 배열에 행 단위로 저장한다.
+ * - 번호, 조회수, 제목 길이: int[]
+ * - 오픈 여부, 삭제 여부: BitSet
+ * - 제목: UTF-8 바이트를 하나의 byte[] 에 이어 붙이고 행별 시작 위치와 길이를 둔다.
+ * 아티클 번호 -> 행은 기본형 해시 인덱스로 찾는다. 삭제된 아티클의 행은 다시 색인되면 재사용된다.
+ * 쓰기는 한 스레드에서 하며, 읽기와 쓰기는 StampedLock 으로 나눈다.
+ */
+public class ArticleColumns {
+    private static final int COMPACT_MIN_GARBAGE_BYTES = 1024 * 1024;
+
+    private final StampedLock lock = new StampedLock();
+    private final IntIndex rowIndex;
+    private int rows = 0;
+    private int liveRows = 0;
+    private int[] numbers;
+    private int[] reads;
+    private int[] titleOffsets;
+    private int[] titleLengths; // UTF-8 바이트 길이
+    private int[] titleCharLengths; // 조회순 정렬 스크립트가 쓰는 String.length()
+    private final BitSet open = new BitSet();
+    private final BitSet live = new BitSet();
+    private byte[] titleBytes;
+    private int titleBytesSize = 0;
+    private int garbageBytes = 0;
+    private volatile long version = 0;
+
+    public ArticleColumns(int initialCapacity) {
+        int capacity = Math.max(16, initialCapacity);
+        this.rowIndex = new IntIndex(capacity);
+        this.numbers = new int[capacity];
+        this.reads = new int[capacity];
+        this.titleOffsets = new int[capacity];
+        this.titleLengths = new int[capacity];
+        this.titleCharLengths = new int[capacity];
+        this.titleBytes = new byte[capacity * 32];
+    }
+
+    /**
+     * 아티클 추가 또는 덮어쓰기
+     * @param articleVo
+     */
+    public void upsert(ArticleVo articleVo) {
+        byte[] title = articleVo.getArticleTitle() == null ? new byte[0] : articleVo.getArticleTitle().getBytes(StandardCharsets.UTF_8);
+        int charLength = articleVo.getArticleTitle() == null ? 0 : articleVo.getArticleTitle().length();
+
+        long stamp = lock.writeLock();
+        try {
+            int number = articleVo.getArticleNumber();
+            int row = rowIndex.get(number);
+            if(row < 0) {
+                row = rows++;
+                ensureRowCapacity(rows);
+                rowIndex.put(number, row);
+                numbers[row] = number;
+            } else {
+                garbageBytes += titleLengths[row];
+            }
+            if(!live.get(row)) {
+                live.set(row);
+                liveRows++;
+            }
+
+            reads[row] = articleVo.getRead();
+            open.set(row, Boolean.TRUE.equals(articleVo.getIsOpen()));
+            titleOffsets[row] = appendTitle(title);
+            titleLengths[row] = title.length;
+            titleCharLengths[row] = charLength;
+            compactIfNeeded();
+            version++;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * 아티클 삭제
+     * @param articleNumber
+     */
+    public void remove(int articleNumber) {
+        long stamp = lock.writeLock();
+        try {
+            int row = rowIndex.get(articleNumber);
+            if(row < 0 || !live.get(row))
+                return;
+            live.clear(row);
+            liveRows--;
+            garbageBytes += titleLengths[row];
+            titleLengths[row] = 0;
+            version++;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * 아티클 조회
+     * @param articleNumber
+     * @return 없으면 null
+     */
+    public ArticleVo get(int articleNumber) {
+        long stamp = lock.readLock();
+        try {
+            int row = rowIndex.get(articleNumber);
+            if(row < 0 || !live.get(row))
+                return null;
+            return toArticleVo(row);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * 조회순(조회수 + 제목 길이) 상위 아티클
+     * 같은 값이면 아티클 번호 순
+     * @param openOnly 오픈된 아티클만
+     * @param size
+     * @return 조회순
+     */
+    public List<ArticleVo> topByReadSort(boolean openOnly, int size) {
+        if(size <= 0)
+            return Collections.emptyList();
+
+        long stamp = lock.readLock();
+        try {
+            BitSet candidates = live;
+            if(openOnly) {
+                candidates = (BitSet) live.clone();
+                candidates.and(open);
+            }
+
+            // 상위 size 개 행을 정렬 키 내림차순으로 유지
+            int[] topRows = new int[size];
+            long[] topKeys = new long[size];
+            int count = 0;
+            for (int row = candidates.nextSetBit(0); row >= 0; row = candidates.nextSetBit(row + 1)) {
+                long key = (long) reads[row] + titleCharLengths[row];
+                if(count == size && !isBefore(key, numbers[row], topKeys[size - 1], numbers[topRows[size - 1]]))
+                    continue;
+
+                int position = count < size ? count++ : size - 1;
+                while (position > 0 && isBefore(key, numbers[row], topKeys[position - 1], numbers[topRows[position - 1]])) {
+                    topKeys[position] = topKeys[position - 1];
+                    topRows[position] = topRows[position - 1];
+                    position--;
+                }
+                topKeys[position] = key;
+                topRows[position] = row;
+            }
+
+            List<ArticleVo> articleVoList = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                articleVoList.add(toArticleVo(topRows[i]));
+            }
+            return articleVoList;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * 저장된 아티클 수
+     * @return
+     */
+    public int size() {
+        long stamp = lock.readLock();
+        try {
+            return liveRows;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * 변경될 때마다 증가하는 버전, 조회 결과 캐시 무효화에 쓴다.
+     * @return
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    private static boolean isBefore(long key, int number, long otherKey, int otherNumber) {
+        return key > otherKey || (key == otherKey && number < otherNumber);
+    }
+
+    private ArticleVo toArticleVo(int row) {
+        String title = new String(titleBytes, titleOffsets[row], titleLengths[row], StandardCharsets.UTF_8);
+        return new ArticleVo(numbers[row], title, reads[row], open.get(row));
+    }
+
+    private int appendTitle(byte[] title) {
+        if(titleBytesSize + title.length > titleBytes.length)
+            titleBytes = Arrays.copyOf(titleBytes, Math.max(titleBytes.length * 2, titleBytesSize + title.length));
+        int offset = titleBytesSize;
+        System.arraycopy(title, 0, titleBytes, offset, title.length);
+        titleBytesSize += title.length;
+        return offset;
+    }
+
+    /**
+     * 수정, 삭제로 버려진 제목 바이트가 절반을 넘으면 살아 있는 행의 제목만 다시 이어 붙인다.
+     */
+    private void compactIfNeeded() {
+        if(garbageBytes < COMPACT_MIN_GARBAGE_BYTES || garbageBytes * 2 < titleBytesSize)
+            return;
+
+        byte[] compacted = new byte[Math.max(titleBytesSize - garbageBytes, 16) * 2];
+        int size = 0;
+        for (int row = live.nextSetBit(0); row >= 0; row = live.nextSetBit(row + 1)) {
+            System.arraycopy(titleBytes, titleOffsets[row], compacted, size, titleLengths[row]);
+            titleOffsets[row] = size;
+            size += titleLengths[row];
+        }
+        titleBytes = compacted;
+        titleBytesSize = size;
+        garbageBytes = 0;
+    }
+
+    private void ensureRowCapacity(int capacity) {
+        if(capacity <= numbers.length)
+            return;
+        int newCapacity = Math.max(capacity, numbers.length * 2);
+        numbers = Arrays.copyOf(numbers, newCapacity);
+        reads = Arrays.copyOf(reads, newCapacity);
+        titleOffsets = Arrays.copyOf(titleOffsets, newCapacity);
+        titleLengths = Arrays.copyOf(titleLengths, newCapacity);
+        titleCharLengths = Arrays.copyOf(titleCharLengths, newCapacity);
+    }
+}
@@ -0,0 +1,230 @@
+package dev.hyein.article.app.replica;
+
+import dev.hyein.article.app.properties.ReplicaProperties;
+import dev.hyein.article.app.request.SearchRequest;
+import dev.hyein.article.elasticsearch.dao.ArticleDao;
+import dev.hyein.article.elasticsearch.vo.ArticleChange;
+import dev.hyein.article.elasticsearch.vo.ArticleMutation;
+import dev.hyein.article.elasticsearch.vo.ArticleVo;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 아티클 인메모리 복제본
+ * 기동 시 샤드별 스크롤로 전체를 읽어 컬럼 저장소에 담고, 이후 샤드별 마지막 _seq_no 부터 global checkpoint 까지의 변경을 주기적으로 가져온다.
+ * 단건 조회와 검색어 없는 조회순 목록(전체, 오픈만)을 네트워크 호출 없이 응답한다.
+ * 삭제는 _seq_no 로 조회되지 않으므로 이 인스턴스의 삭제는 바로 반영하고, 다른 인스턴스의 삭제는 주기적인 전체 재동기화 때 반영된다.
+ */
+@Component
+@ConditionalOnProperty(prefix = "article.replica", name = "enabled", havingValue = "true")
+@Slf4j
+public class ArticleReplica {
+    private final ArticleDao articleDao;
+    private final ReplicaProperties replicaProperties;
+    private volatile ArticleColumns articleColumns; // 첫 동기화 전에는 null
+    private volatile TopList openTopList;
+    private volatile TopList allTopList;
+    private final List<Integer> deletedDuringResync = new ArrayList<>();
+    private boolean resyncing = false;
+    private String index;
+    private long[] seqNos;
+    private long[] pendingCheckpoints; // 아직 검색에 보인다고 확인되지 않은 global checkpoint
+    private long pendingCheckpointsAt;
+    private long lastResyncAt;
+
+    public ArticleReplica(ArticleDao articleDao, ReplicaProperties replicaProperties) {
+        this.articleDao = articleDao;
+        this.replicaProperties = replicaProperties;
+    }
+
+    /**
+     * 첫 동기화 완료 여부
+     * @return
+     */
+    public boolean isReady() {
+        return articleColumns != null;
+    }
+
+    /**
+     * 아티클 조회
+     * @param articleNumber
+     * @return 복제본에 없으면 null, 아직 반영되지 않은 새 아티클일 수 있으므로 호출자가 엘라스틱서치에서 다시 조회한다.
+     */
+    public ArticleVo getArticle(Integer articleNumber) {
+        ArticleColumns columns = articleColumns;
+        if(columns == null || articleNumber == null)
+            return null;
+        return columns.get(articleNumber);
+    }
+
+    /**
+     * 복제본으로 응답할 수 있는 목록 검색이면 결과 반환
+     * 검색어 없이 조회순으로 정렬한 목록만 응답한다. 검색어는 형태소 분석이 필요하고, 정렬 없는 목록은 순서가 샤드에 따라 달라진다.
+     * 결과는 복제본이 바뀌기 전까지 재사용한다.
+     * @param searchRequest
+     * @return 응답할 수 없으면 empty
+     */
+    public Optional<List<ArticleVo>> getArticles(SearchRequest searchRequest) {
+        ArticleColumns columns = articleColumns;
+        if(columns == null || StringUtils.hasText(searchRequest.getArticleTitle()) || !"READ".equalsIgnoreCase(searchRequest.getSort()))
+            return Optional.empty();
+
+        boolean openOnly = "OPEN".equalsIgnoreCase(searchRequest.getFilter());
+        TopList topList = openOnly ? openTopList : allTopList;
+        long version = columns.getVersion();
+        if(topList == null || topList.columns != columns || topList.version != version) {
+            topList = new TopList(columns, version, Collections.unmodifiableList(columns.topByReadSort(openOnly, replicaProperties.getListSize())));
+            if(openOnly) {
+                openTopList = topList;
+            } else {
+                allTopList = topList;
+            }
+        }
+        return Optional.of(topList.articleVoList);
+    }
+
+    /**
+     * 이 인스턴스에서 반영한 변경을 바로 적용
+     * @param articleMutation
+     */
+    public void apply(ArticleMutation articleMutation) {
+        if(articleMutation.getType() == ArticleMutation.Type.DELETE) {
+            onDeleted(articleMutation.getArticleNumber());
+        } else {
+            onWritten(articleMutation.getArticle());
+        }
+    }
+
+    public void onWritten(ArticleVo articleVo) {
+        ArticleColumns columns = articleColumns;
+        if(columns != null)
+            columns.upsert(articleVo);
+    }
+
+    public void onDeleted(Integer articleNumber) {
+        synchronized (deletedDuringResync) {
+            if(resyncing)
+                deletedDuringResync.add(articleNumber);
+        }
+        ArticleColumns columns = articleColumns;
+        if(columns != null)
+            columns.remove(articleNumber);
+    }
+
+    /**
+     * 주기적으로 변경 반영, 재동기화 주기가 지났거나 아직 동기화 전이면 전체를 다시 읽는다.
+     */
+    @Scheduled(fixedDelayString = "${article.replica.poll-interval-ms:1000}")
+    public void scheduledSync() {
+        try {
+            sync();
+        } catch (IOException | RuntimeException e) {
+            log.warn("[Replica] Sync failed, retry next time: {}", e.toString());
+        }
+    }
+
+    public synchronized void sync() throws IOException {
+        if(articleColumns == null || System.currentTimeMillis() - lastResyncAt >= replicaProperties.getResyncIntervalMs()) {
+            resync();
+        } else {
+            poll();
+        }
+    }
+
+    /**
+     * 스크롤로 전체를 읽어 새 컬럼 저장소를 만든 뒤 교체
+     * 읽기 전에 global checkpoint 를 구하고 refresh 해서, checkpoint 이하의 작업은 모두 스크롤에 포함되게 한다.
+     * @throws IOException
+     */
+    private void resync() throws IOException {
+        long startedAt = System.currentTimeMillis();
+        Map.Entry<String, Integer> indexShards = articleDao.getIndexShards();
+        String scannedIndex = indexShards.getKey();
+        ArticleColumns columns = new ArticleColumns(replicaProperties.getInitialCapacity());
+        long[] scannedSeqNos = articleDao.getGlobalCheckpoints(scannedIndex, indexShards.getValue());
+        articleDao.refreshIndex(scannedIndex);
+
+        synchronized (deletedDuringResync) {
+            resyncing = true;
+            deletedDuringResync.clear();
+        }
+        try {
+            for (int shard = 0; shard < scannedSeqNos.length; shard++) {
+                articleDao.scanArticles(scannedIndex, shard, replicaProperties.getScanBatchSize(), articleChange -> columns.upsert(articleChange.getArticle()));
+            }
+        } finally {
+            synchronized (deletedDuringResync) {
+                resyncing = false;
+                deletedDuringResync.forEach(columns::remove); // 스크롤 시점 이후 이 인스턴스에서 삭제된 아티클
+                deletedDuringResync.clear();
+            }
+        }
+
+        index = scannedIndex;
+        seqNos = scannedSeqNos;
+        pendingCheckpoints = null;
+        articleColumns = columns;
+        lastResyncAt = System.currentTimeMillis();
+        log.info("[Replica] Resynced {} articles from [{}] in {} ms", columns.size(), index, lastResyncAt - startedAt);
+        poll(); // 스크롤 중에 들어온 변경
+    }
+
+    /**
+     * 샤드별로 마지막 _seq_no 이후 변경 반영
+     * 작업은 _seq_no 순서와 다르게 검색에 보일 수 있으므로, 지난 poll 에서 구한 global checkpoint 가 refresh-interval-ms 이상 지나
+     * 검색에 보이게 된 뒤에 그 값까지만 읽는다. 변경은 그만큼 늦게 반영되지만 앞선 작업을 건너뛰지 않는다.
+     * @throws IOException
+     */
+    private void poll() throws IOException {
+        long now = System.currentTimeMillis();
+        long[] checkpoints = articleDao.getGlobalCheckpoints(index, seqNos.length);
+        long[] visibleCheckpoints = null;
+        if(pendingCheckpoints != null && now - pendingCheckpointsAt >= replicaProperties.getRefreshIntervalMs())
+            visibleCheckpoints = pendingCheckpoints;
+        if(pendingCheckpoints == null || visibleCheckpoints != null) {
+            pendingCheckpoints = checkpoints;
+            pendingCheckpointsAt = now;
+        }
+        if(visibleCheckpoints == null)
+            return;
+
+        ArticleColumns columns = articleColumns;
+        for (int shard = 0; shard < seqNos.length; shard++) {
+            long maxSeqNo = visibleCheckpoints[shard];
+            long seqNo = seqNos[shard];
+            if(maxSeqNo <= seqNo)
+                continue;
+
+            List<ArticleChange> articleChangeList;
+            do {
+                articleChangeList = articleDao.findChangesSince(index, shard, seqNo, maxSeqNo, replicaProperties.getPollBatchSize());
+                for (ArticleChange articleChange : articleChangeList) {
+                    columns.upsert(articleChange.getArticle());
+                    seqNo = Math.max(seqNo, articleChange.getSeqNo());
+                }
+            } while (articleChangeList.size() >= replicaProperties.getPollBatchSize());
+            seqNos[shard] = maxSeqNo; // 삭제나 같은 도큐먼트의 이전 작업은 조회되지 않으므로 checkpoint 까지 읽은 것으로 한다.
+        }
+    }
+
+    /**
+     * 컬럼 저장소 버전별 조회순 목록
+     */
+    @AllArgsConstructor
+    private static class TopList {
+        private final ArticleColumns columns;
+        private final long version;
+        private final List<ArticleVo> articleVoList;
+    }
+}
@@ -0,0 +1,94 @@
+package dev.hyein.article.app.replica;
+
+import java.util.Arrays;
+
+/**
+ * int -> int 해시 인덱스 (open addressing, linear probing)
+ * Integer 박싱 없이 아티클 번호로 행을 찾는다. 키 삭제는 지원하지 않는다.
+ * 동기화는 호출자가 한다.
+ */
+class IntIndex {
+    private static final int EMPTY = -1;
+    private static final float LOAD_FACTOR = 0.5f;
+
+    private int[] keys;
+    private int[] values;
+    private int size = 0;
+
+    IntIndex(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(16, (int) (expectedSize / LOAD_FACTOR)) - 1) << 1;
+        allocate(capacity);
+    }
+
+    /**
+     * 값 조회
+     * @param key
+     * @return 없으면 -1
+     */
+    int get(int key) {
+        int mask = keys.length - 1;
+        for (int slot = hash(key) & mask; ; slot = (slot + 1) & mask) {
+            if(values[slot] == EMPTY)
+                return EMPTY;
+            if(keys[slot] == key)
+                return values[slot];
+        }
+    }
+
+    /**
+     * 값 저장
+     * @param key
+     * @param value 0 이상
+     */
+    void put(int key, int value) {
+        if(value < 0)
+            throw new IllegalArgumentException("Value must not be negative: " + value);
+        if(size + 1 > keys.length * LOAD_FACTOR)
+            resize();
+        if(insert(keys, values, key, value))
+            size++;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private void resize() {
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(oldKeys.length * 2);
+        for (int slot = 0; slot < oldKeys.length; slot++) {
+            if(oldValues[slot] != EMPTY)
+                insert(keys, values, oldKeys[slot], oldValues[slot]);
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new int[capacity];
+        Arrays.fill(values, EMPTY);
+    }
+
+    /**
+     * @return 새 키면 true
+     */
+    private static boolean insert(int[] keys, int[] values, int key, int value) {
+        int mask = keys.length - 1;
+        for (int slot = hash(key) & mask; ; slot = (slot + 1) & mask) {
+            if(values[slot] == EMPTY) {
+                keys[slot] = key;
+                values[slot] = value;
+                return true;
+            }
+            if(keys[slot] == key) {
+                values[slot] = value;
+                return false;
+            }
+        }
+    }
+
+    private static int hash(int key) {
+        int h = key * 0x9E3779B9; // 연속된 아티클 번호가 한 곳에 몰리지 않도록 섞는다.
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,22 @@
+package dev.hyein.article.app.request;
+
+import dev.hyein.article.elasticsearch.vo.ArticlePatchVo;
+import lombok.*;
+
+import javax.validation.constraints.Min;
+
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @ToString
+public class ArticlePatchRequest {
+    private String articleTitle;
+    @Min(value = 0, message = "조회수는 0 이상이어야 합니다.")
+    private Integer read;
+    private Boolean isOpen;
+
+    /**
+     * ArticlePatchVo 로 변환, 보내지 않은 필드는 null 로 남아 수정되지 않는다.
+     * @return
+     */
+    public ArticlePatchVo toArticlePatchVo() {
+        return new ArticlePatchVo(articleTitle, read, isOpen);
+    }
+}
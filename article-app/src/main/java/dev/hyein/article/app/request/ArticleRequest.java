@@ -1,5 +1,6 @@
 package dev.hyein.article.app.request;
 
+import dev.hyein.article.elasticsearch.vo.ArticleVo;
 import lombok.*;
 
 import javax.validation.constraints.NotEmpty;
@@ -14,4 +15,12 @@ public class ArticleRequest {
     private int read;
     @NotNull(message = "오픈여부 입력은 필수입니다.")
     private Boolean isOpen;
+
+    /**
+     * ArticleVo 로 변환, 필드가 같아 직접 복사한다.
+     * @return
+     */
+    public ArticleVo toArticleVo() {
+        return new ArticleVo(articleNumber, articleTitle, read, isOpen);
+    }
 }
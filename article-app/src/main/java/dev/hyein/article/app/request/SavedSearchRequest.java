@@ -0,0 +1,22 @@
+package dev.hyein.article.app.request;
+
+import lombok.*;
+
+import javax.validation.constraints.NotEmpty;
+
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @ToString
+public class SavedSearchRequest {
+    @NotEmpty(message = "구독자 입력은 필수입니다.")
+    private String subscriber;
+    private String name;
+    private String articleTitle = "";
+    private String filter = "";
+
+    /**
+     * 아티클 검색 요청으로 변환, 정렬은 쓰지 않는다.
+     * @return
+     */
+    public SearchRequest toSearchRequest() {
+        return new SearchRequest(articleTitle, "", filter);
+    }
+}
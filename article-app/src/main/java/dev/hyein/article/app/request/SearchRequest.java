@@ -7,4 +7,10 @@ public class SearchRequest {
     private String articleTitle = "";
     private String sort = "";
     private String filter = "";
+    private Long timeoutMs; // 시간 예산, 없으면 서버 기본값
+    private Integer terminateAfter; // 샤드별 최대 수집 문서 수, 없으면 제한 없음
+
+    public SearchRequest(String articleTitle, String sort, String filter) {
+        this(articleTitle, sort, filter, null, null);
+    }
 }
@@ -0,0 +1,10 @@
+package dev.hyein.article.app.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+@Getter @AllArgsConstructor @ToString
+public class CountResponse {
+    private final long count;
+}
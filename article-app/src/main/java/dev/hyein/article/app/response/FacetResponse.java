@@ -0,0 +1,52 @@
+package dev.hyein.article.app.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+import org.elasticsearch.search.aggregations.Aggregations;
+import org.elasticsearch.search.aggregations.bucket.histogram.Histogram;
+import org.elasticsearch.search.aggregations.bucket.terms.Terms;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Getter @AllArgsConstructor @ToString
+public class FacetResponse {
+    private final Map<String, List<Bucket>> facets;
+
+    /**
+     * 집계 결과를 패싯별 버킷 목록으로 변환
+     * @param aggregations
+     * @param termsNames terms 집계 이름
+     * @param histogramNames histogram 집계 이름
+     * @return
+     */
+    public static FacetResponse of(Aggregations aggregations, List<String> termsNames, List<String> histogramNames) {
+        Map<String, List<Bucket>> facets = new LinkedHashMap<>();
+        for (String termsName : termsNames) {
+            List<Bucket> buckets = new ArrayList<>();
+            Terms terms = aggregations.get(termsName);
+            for (Terms.Bucket bucket : terms.getBuckets()) {
+                buckets.add(new Bucket(bucket.getKeyAsString(), bucket.getDocCount()));
+            }
+            facets.put(termsName, buckets);
+        }
+        for (String histogramName : histogramNames) {
+            List<Bucket> buckets = new ArrayList<>();
+            Histogram histogram = aggregations.get(histogramName);
+            for (Histogram.Bucket bucket : histogram.getBuckets()) {
+                buckets.add(new Bucket(String.valueOf(((Number) bucket.getKey()).longValue()), bucket.getDocCount()));
+            }
+            facets.put(histogramName, buckets);
+        }
+        return new FacetResponse(facets);
+    }
+
+    @Getter @AllArgsConstructor @ToString
+    public static class Bucket {
+        private final String key;
+        private final long count;
+    }
+}
@@ -0,0 +1,114 @@
+package dev.hyein.article.app.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+import org.elasticsearch.common.xcontent.XContentHelper;
+import org.elasticsearch.common.xcontent.XContentType;
+import org.elasticsearch.search.builder.SearchSourceBuilder;
+import org.elasticsearch.search.profile.ProfileResult;
+import org.elasticsearch.search.profile.ProfileShardResult;
+import org.elasticsearch.search.profile.query.CollectorResult;
+import org.elasticsearch.search.profile.query.QueryProfileShardResult;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 검색 프로파일 요약
+ * 샤드별 쿼리 트리, 수집기 트리 시간(나노초)과 실행한 DSL 을 담는다.
+ * 정렬, 스크립트 정렬 시간은 search_top_hits 수집기 시간에 포함되므로 topHitsNanos 로 따로 보여준다.
+ */
+@Getter @AllArgsConstructor @ToString
+public class QueryProfileResponse {
+    private static final String TOP_HITS_REASON = "search_top_hits";
+
+    private final Map<String, Object> dsl;
+    private final List<Shard> shards;
+
+    /**
+     * 프로파일 결과를 샤드별 요약으로 변환
+     * @param searchSourceBuilder 실행한 검색
+     * @param profileResults 샤드 id 별 프로파일 결과
+     * @return 샤드 id 순
+     */
+    public static QueryProfileResponse of(SearchSourceBuilder searchSourceBuilder, Map<String, ProfileShardResult> profileResults) {
+        List<Shard> shards = new ArrayList<>(profileResults.size());
+        for (Map.Entry<String, ProfileShardResult> entry : new TreeMap<>(profileResults).entrySet()) {
+            for (QueryProfileShardResult queryProfileShardResult : entry.getValue().getQueryProfileResults()) {
+                shards.add(toShard(entry.getKey(), queryProfileShardResult));
+            }
+        }
+        return new QueryProfileResponse(XContentHelper.convertToMap(XContentType.JSON.xContent(), searchSourceBuilder.toString(), true), shards);
+    }
+
+    private static Shard toShard(String shardId, QueryProfileShardResult queryProfileShardResult) {
+        List<Node> queries = new ArrayList<>();
+        long queryNanos = 0;
+        for (ProfileResult profileResult : queryProfileShardResult.getQueryResults()) {
+            queries.add(toNode(profileResult));
+            queryNanos += profileResult.getTime();
+        }
+        CollectorResult collectorResult = queryProfileShardResult.getCollectorResult();
+        return new Shard(shardId, queryProfileShardResult.getRewriteTime(), queryNanos, collectorResult.getTime(),
+                findTopHitsNanos(collectorResult), queries, toNode(collectorResult));
+    }
+
+    private static Node toNode(ProfileResult profileResult) {
+        Map<String, Long> breakdown = new LinkedHashMap<>();
+        profileResult.getTimeBreakdown().forEach((name, nanos) -> {
+            if(!name.endsWith("_count") && nanos > 0) // 호출 횟수와 쓰지 않은 단계는 뺀다.
+                breakdown.put(name, nanos);
+        });
+        List<Node> children = new ArrayList<>(profileResult.getProfiledChildren().size());
+        for (ProfileResult child : profileResult.getProfiledChildren()) {
+            children.add(toNode(child));
+        }
+        return new Node(profileResult.getQueryName(), profileResult.getLuceneDescription(), profileResult.getTime(), breakdown, children);
+    }
+
+    private static Node toNode(CollectorResult collectorResult) {
+        List<Node> children = new ArrayList<>(collectorResult.getProfiledChildren().size());
+        for (CollectorResult child : collectorResult.getProfiledChildren()) {
+            children.add(toNode(child));
+        }
+        return new Node(collectorResult.getName(), collectorResult.getReason(), collectorResult.getTime(), null, children);
+    }
+
+    /**
+     * @return search_top_hits 수집기가 없으면 0
+     */
+    private static long findTopHitsNanos(CollectorResult collectorResult) {
+        if(TOP_HITS_REASON.equals(collectorResult.getReason()))
+            return collectorResult.getTime();
+        for (CollectorResult child : collectorResult.getProfiledChildren()) {
+            long nanos = findTopHitsNanos(child);
+            if(nanos > 0)
+                return nanos;
+        }
+        return 0;
+    }
+
+    @Getter @AllArgsConstructor @ToString
+    public static class Shard {
+        private final String shardId; // [노드][인덱스][샤드]
+        private final long rewriteNanos;
+        private final long queryNanos;
+        private final long collectorNanos;
+        private final long topHitsNanos; // 정렬, 스크립트 정렬 포함
+        private final List<Node> queries;
+        private final Node collector;
+    }
+
+    @Getter @AllArgsConstructor @ToString
+    public static class Node {
+        private final String type;
+        private final String description;
+        private final long timeNanos;
+        private final Map<String, Long> breakdown; // 0 이 아닌 단계별 시간, 수집기는 null
+        private final List<Node> children;
+    }
+}
@@ -0,0 +1,12 @@
+package dev.hyein.article.app.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+@Getter @AllArgsConstructor @ToString
+public class ReadyResponse {
+    private final boolean ready;
+    private final int warmupReplayedRequests;
+    private final int warmupFailedRequests;
+}
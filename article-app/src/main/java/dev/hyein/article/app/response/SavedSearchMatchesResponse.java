@@ -0,0 +1,25 @@
+package dev.hyein.article.app.response;
+
+import dev.hyein.article.app.savedsearch.SavedSearchMatch;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.List;
+
+@Getter @AllArgsConstructor @ToString
+public class SavedSearchMatchesResponse {
+    private final List<SavedSearchMatch> matches;
+    private final long next; // 다음 조회 시 after 로 보낼 값
+
+    /**
+     * 일치 목록 응답
+     * @param matches
+     * @param after 요청한 after, 일치한 아티클이 없으면 그대로 돌려준다.
+     * @return
+     */
+    public static SavedSearchMatchesResponse of(List<SavedSearchMatch> matches, long after) {
+        long next = matches.isEmpty() ? after : matches.get(matches.size() - 1).getSequence();
+        return new SavedSearchMatchesResponse(matches, next);
+    }
+}
@@ -0,0 +1,12 @@
+package dev.hyein.article.app.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+@Getter @AllArgsConstructor @ToString
+public class WriteBehindResponse {
+    private final boolean enabled;
+    private final boolean pending;
+    private final long deadLetters;
+}
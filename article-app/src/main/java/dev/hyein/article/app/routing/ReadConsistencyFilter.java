@@ -0,0 +1,34 @@
+package dev.hyein.article.app.routing;
+
+import dev.hyein.article.elasticsearch.routing.ReadConsistency;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * X-Read-Your-Writes: true 요청은 읽기 클러스터 대신 리더에서 읽는다.
+ * 방금 쓴 아티클을 바로 조회해야 하는 클라이언트가 보낸다.
+ */
+@Component
+public class ReadConsistencyFilter extends OncePerRequestFilter {
+    public static final String READ_YOUR_WRITES_HEADER = "X-Read-Your-Writes";
+
+    public static boolean isReadYourWrites(String headerValue) {
+        return "true".equalsIgnoreCase(headerValue);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        ReadConsistency.setReadYourWrites(isReadYourWrites(request.getHeader(READ_YOUR_WRITES_HEADER)));
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ReadConsistency.clear();
+        }
+    }
+}
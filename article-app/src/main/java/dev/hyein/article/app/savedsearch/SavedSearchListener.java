@@ -0,0 +1,14 @@
+package dev.hyein.article.app.savedsearch;
+
+import dev.hyein.article.elasticsearch.vo.SavedSearchMatchVo;
+
+import java.util.List;
+
+/**
+ * 검색 조건 일치 알림
+ * 빈으로 등록하면 percolate 묶음마다 일치 결과를 받는다. (웹훅, 메시지 발행 등)
+ * percolate 스레드에서 호출되므로 오래 걸리는 작업은 별도 스레드로 넘긴다.
+ */
+public interface SavedSearchListener {
+    void onMatch(List<SavedSearchMatchVo> savedSearchMatchVoList);
+}
@@ -0,0 +1,15 @@
+package dev.hyein.article.app.savedsearch;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 검색 조건에 일치한 아티클 기록
+ */
+@Getter @AllArgsConstructor @ToString
+public class SavedSearchMatch {
+    private final long sequence; // 이 값 이후부터 다시 조회한다.
+    private final Integer articleNumber;
+    private final long matchedAt;
+}
@@ -0,0 +1,85 @@
+package dev.hyein.article.app.savedsearch;
+
+import dev.hyein.article.app.properties.SavedSearchProperties;
+import dev.hyein.article.elasticsearch.vo.SavedSearchMatchVo;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 검색 조건별 최근 일치 아티클 기록
+ * 구독자는 마지막으로 받은 sequence 이후만 조회하므로 아티클 검색을 반복하지 않아도 된다.
+ * 검색 조건별로 최근 historySize 건만 메모리에 보관한다.
+ * 인스턴스마다 자기가 쓴 아티클만 percolate 하므로 기록은 인스턴스별이고 재시작하면 사라진다. 단일 인스턴스 배포에서만 조회 API 로 쓰고,
+ * 여러 인스턴스에서는 SavedSearchListener 로 외부에 전달해야 한다.
+ */
+@Component
+@ConditionalOnProperty(prefix = "article.saved-search", name = "enabled", havingValue = "true")
+public class SavedSearchMatchLog {
+    private final int historySize;
+    private final AtomicLong sequence = new AtomicLong();
+    private final Map<String, Deque<SavedSearchMatch>> histories = new ConcurrentHashMap<>();
+
+    public SavedSearchMatchLog(SavedSearchProperties savedSearchProperties) {
+        this.historySize = savedSearchProperties.getHistorySize();
+    }
+
+    /**
+     * 일치 결과 기록
+     * @param savedSearchMatchVoList
+     */
+    public void record(List<SavedSearchMatchVo> savedSearchMatchVoList) {
+        long matchedAt = System.currentTimeMillis();
+        for (SavedSearchMatchVo savedSearchMatchVo : savedSearchMatchVoList) {
+            Deque<SavedSearchMatch> history = histories.computeIfAbsent(savedSearchMatchVo.getSavedSearchId(), id -> new ArrayDeque<>());
+            synchronized (history) {
+                for (Integer articleNumber : savedSearchMatchVo.getArticleNumbers()) {
+                    history.addLast(new SavedSearchMatch(sequence.incrementAndGet(), articleNumber, matchedAt));
+                    if(history.size() > historySize)
+                        history.removeFirst();
+                }
+            }
+        }
+    }
+
+    /**
+     * after 이후 일치한 아티클
+     * @param savedSearchId
+     * @param after 마지막으로 받은 sequence, 처음이면 0
+     * @param size
+     * @return sequence 순
+     */
+    public List<SavedSearchMatch> getMatches(String savedSearchId, long after, int size) {
+        Deque<SavedSearchMatch> history = histories.get(savedSearchId);
+        if(history == null)
+            return Collections.emptyList();
+
+        List<SavedSearchMatch> matches = new ArrayList<>();
+        synchronized (history) {
+            for (SavedSearchMatch match : history) {
+                if(match.getSequence() <= after)
+                    continue;
+                matches.add(match);
+                if(matches.size() >= size)
+                    break;
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * 검색 조건 기록 삭제
+     * @param savedSearchId
+     */
+    public void remove(String savedSearchId) {
+        histories.remove(savedSearchId);
+    }
+}
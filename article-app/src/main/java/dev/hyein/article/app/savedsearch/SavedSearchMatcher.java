@@ -0,0 +1,140 @@
+package dev.hyein.article.app.savedsearch;
+
+import dev.hyein.article.app.properties.SavedSearchProperties;
+import dev.hyein.article.elasticsearch.dao.SavedSearchDao;
+import dev.hyein.article.elasticsearch.vo.ArticleVo;
+import dev.hyein.article.elasticsearch.vo.SavedSearchMatchVo;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * 새로 쓰인 아티클을 저장된 검색 조건과 대조
+ * 쓰기마다 percolate 하지 않고 큐에 모았다가 주기적으로 묶음 단위로 percolate 한다.
+ * 일치 결과는 SavedSearchMatchLog 에 기록하고 SavedSearchListener 빈에 알린다.
+ */
+@Component
+@ConditionalOnProperty(prefix = "article.saved-search", name = "enabled", havingValue = "true")
+@Slf4j
+public class SavedSearchMatcher {
+    private final SavedSearchDao savedSearchDao;
+    private final SavedSearchService savedSearchService;
+    private final SavedSearchMatchLog savedSearchMatchLog;
+    private final List<SavedSearchListener> savedSearchListeners;
+    private final SavedSearchProperties savedSearchProperties;
+    private final BlockingQueue<ArticleVo> pendingArticles;
+    private final LongAdder droppedCount = new LongAdder();
+    private volatile List<ArticleVo> failedBatch = Collections.emptyList(); // 실패해 다시 보낼 묶음, 큐에 되돌리지 않고 여기서 재시도한다.
+    private volatile long retryBackoffMs = 0;
+    private long retryAt = 0;
+
+    public SavedSearchMatcher(SavedSearchDao savedSearchDao, SavedSearchService savedSearchService, SavedSearchMatchLog savedSearchMatchLog,
+                              ObjectProvider<SavedSearchListener> savedSearchListeners, SavedSearchProperties savedSearchProperties) {
+        this.savedSearchDao = savedSearchDao;
+        this.savedSearchService = savedSearchService;
+        this.savedSearchMatchLog = savedSearchMatchLog;
+        this.savedSearchListeners = savedSearchListeners.orderedStream().collect(Collectors.toList());
+        this.savedSearchProperties = savedSearchProperties;
+        this.pendingArticles = new ArrayBlockingQueue<>(savedSearchProperties.getQueueCapacity());
+    }
+
+    /**
+     * 반영된 아티클을 대조 대상으로 추가, 쓰기 스레드를 막지 않는다.
+     * @param articleVo
+     */
+    public void enqueue(ArticleVo articleVo) {
+        if(!pendingArticles.offer(articleVo))
+            droppedCount.increment();
+    }
+
+    /**
+     * 대조 대기 중인 아티클 수
+     * @return
+     */
+    public int getPendingCount() {
+        return pendingArticles.size();
+    }
+
+    /**
+     * 주기적으로 모인 아티클 대조
+     */
+    @Scheduled(fixedDelayString = "${article.saved-search.flush-interval-ms:500}")
+    public void scheduledFlush() {
+        long dropped = droppedCount.sumThenReset();
+        if(dropped > 0)
+            log.warn("[SavedSearch] Queue full, {} articles dropped without percolating", dropped);
+        try {
+            flush();
+        } catch (IOException | RuntimeException e) {
+            log.warn("[SavedSearch] Percolate failed, retry {} articles after {} ms: {}", failedBatch.size(), retryBackoffMs, e.toString());
+        }
+    }
+
+    /**
+     * 큐가 빌 때까지 batchSize 씩 percolate
+     * 실패한 묶음은 큐 뒤에 되돌리지 않고 그대로 두었다가, 백오프(flush-interval-ms 부터 두 배씩, max-retry-backoff-ms 까지) 후 큐보다 먼저 다시 대조한다.
+     * 재시도를 기다리는 동안 쓰기는 큐에 계속 쌓이고, 큐가 차면 버린 수를 센다.
+     * @throws IOException
+     */
+    public synchronized void flush() throws IOException {
+        if(!failedBatch.isEmpty()) {
+            if(System.currentTimeMillis() < retryAt)
+                return;
+            percolate(failedBatch);
+        }
+
+        List<ArticleVo> batch = new ArrayList<>(savedSearchProperties.getBatchSize());
+        while (pendingArticles.drainTo(batch, savedSearchProperties.getBatchSize()) > 0) {
+            percolate(batch);
+            batch = new ArrayList<>(savedSearchProperties.getBatchSize());
+        }
+    }
+
+    /**
+     * 한 묶음 percolate 후 기록, 알림
+     * @param batch
+     * @throws IOException 실패하면 묶음을 failedBatch 로 남긴다.
+     */
+    private void percolate(List<ArticleVo> batch) throws IOException {
+        List<SavedSearchMatchVo> savedSearchMatchVoList;
+        try {
+            savedSearchService.ensureIndex();
+            savedSearchMatchVoList = savedSearchDao.percolate(batch, savedSearchProperties.getMatchPageSize());
+        } catch (IOException | RuntimeException e) {
+            failedBatch = batch;
+            retryBackoffMs = retryBackoffMs == 0
+                    ? savedSearchProperties.getFlushIntervalMs()
+                    : Math.min(retryBackoffMs * 2, savedSearchProperties.getMaxRetryBackoffMs());
+            retryAt = System.currentTimeMillis() + retryBackoffMs;
+            throw e;
+        }
+        failedBatch = Collections.emptyList();
+        retryBackoffMs = 0;
+
+        if(!savedSearchMatchVoList.isEmpty()) {
+            savedSearchMatchLog.record(savedSearchMatchVoList);
+            notifyListeners(savedSearchMatchVoList);
+        }
+    }
+
+    private void notifyListeners(List<SavedSearchMatchVo> savedSearchMatchVoList) {
+        for (SavedSearchListener savedSearchListener : savedSearchListeners) {
+            try {
+                savedSearchListener.onMatch(savedSearchMatchVoList);
+            } catch (RuntimeException e) {
+                log.error("[SavedSearch] Listener failed: {}", savedSearchListener.getClass().getName(), e);
+            }
+        }
+    }
+}
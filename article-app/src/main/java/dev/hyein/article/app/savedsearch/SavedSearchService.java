@@ -0,0 +1,81 @@
+package dev.hyein.article.app.savedsearch;
+
+import dev.hyein.article.app.properties.SavedSearchProperties;
+import dev.hyein.article.app.query.ArticleQuery;
+import dev.hyein.article.app.request.SavedSearchRequest;
+import dev.hyein.article.elasticsearch.dao.SavedSearchDao;
+import dev.hyein.article.elasticsearch.vo.SavedSearchVo;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 저장된 검색 조건 관리
+ */
+@Service
+@ConditionalOnProperty(prefix = "article.saved-search", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class SavedSearchService {
+    private final SavedSearchDao savedSearchDao;
+    private final SavedSearchMatchLog savedSearchMatchLog;
+    private final SavedSearchProperties savedSearchProperties;
+    private volatile boolean indexReady = false;
+
+    /**
+     * 검색 조건 저장
+     * @param savedSearchRequest
+     * @return id 가 채워진 검색 조건
+     * @throws IOException
+     */
+    public SavedSearchVo saveSearch(SavedSearchRequest savedSearchRequest) throws IOException {
+        ensureIndex();
+        SavedSearchVo savedSearchVo = SavedSearchVo.builder()
+                .id(UUID.randomUUID().toString())
+                .subscriber(savedSearchRequest.getSubscriber())
+                .name(savedSearchRequest.getName())
+                .articleTitle(savedSearchRequest.getArticleTitle())
+                .filter(savedSearchRequest.getFilter())
+                .createdAt(System.currentTimeMillis())
+                .build();
+        savedSearchDao.saveSearch(savedSearchVo, ArticleQuery.getSavedSearchQuery(savedSearchRequest.toSearchRequest()));
+        return savedSearchVo;
+    }
+
+    public List<SavedSearchVo> getSavedSearches(String subscriber) throws IOException {
+        ensureIndex();
+        return savedSearchDao.findSavedSearches(subscriber, savedSearchProperties.getMaxListSize());
+    }
+
+    public void deleteSavedSearch(String id) throws IOException {
+        ensureIndex();
+        savedSearchDao.deleteSavedSearch(id);
+        savedSearchMatchLog.remove(id);
+    }
+
+    public List<SavedSearchMatch> getMatches(String id, long after, int size) {
+        return savedSearchMatchLog.getMatches(id, after, Math.min(size, savedSearchProperties.getHistorySize()));
+    }
+
+    /**
+     * 저장된 검색 조건 인덱스가 없으면 생성
+     * 아티클 인덱스에서 매핑을 복사하므로 아티클 인덱스가 생성된 뒤에 호출되어야 한다.
+     * @throws IOException
+     */
+    public void ensureIndex() throws IOException {
+        if(indexReady)
+            return;
+
+        synchronized (this) {
+            if(indexReady)
+                return;
+            savedSearchDao.createIndexIfNotExist();
+            indexReady = true;
+        }
+    }
+}
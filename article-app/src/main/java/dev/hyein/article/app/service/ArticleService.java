@@ -1,39 +1,203 @@
 package dev.hyein.article.app.service;
 
+import dev.hyein.article.app.bootstrap.IndexBootstrap;
+import dev.hyein.article.app.counter.ReadCountBuffer;
+import dev.hyein.article.app.error.InvalidRequestException;
+import dev.hyein.article.app.properties.FacetProperties;
+import dev.hyein.article.app.properties.SearchBudgetProperties;
 import dev.hyein.article.app.query.ArticleQuery;
+import dev.hyein.article.app.query.ArticleSearchPlan;
+import dev.hyein.article.app.querystats.QueryStats;
+import dev.hyein.article.app.replica.ArticleReplica;
 import dev.hyein.article.app.request.SearchRequest;
+import dev.hyein.article.app.response.FacetResponse;
+import dev.hyein.article.app.response.QueryProfileResponse;
+import dev.hyein.article.app.savedsearch.SavedSearchMatcher;
+import dev.hyein.article.app.writebehind.WriteBehindService;
 import dev.hyein.article.elasticsearch.dao.ArticleDao;
+import dev.hyein.article.elasticsearch.properties.FederationProperties;
+import dev.hyein.article.elasticsearch.routing.ReadConsistency;
+import dev.hyein.article.elasticsearch.vo.ArticlePatchVo;
+import dev.hyein.article.elasticsearch.vo.ArticleSearchResultVo;
+import dev.hyein.article.elasticsearch.vo.ArticleVersion;
 import dev.hyein.article.elasticsearch.vo.ArticleVo;
+import dev.hyein.article.elasticsearch.vo.FederatedSearchVo;
+import dev.hyein.article.elasticsearch.vo.SearchBudget;
+import dev.hyein.article.elasticsearch.vo.VersionedArticleVo;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.elasticsearch.search.builder.SearchSourceBuilder;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
+import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class ArticleService {
     private final ArticleDao articleDao;
+    private final ReadCountBuffer readCountBuffer;
+    private final IndexBootstrap indexBootstrap;
+    private final QueryStats queryStats;
+    private final FacetProperties facetProperties;
+    private final SearchBudgetProperties searchBudgetProperties;
+    private final FederationProperties federationProperties;
+    private final Optional<WriteBehindService> writeBehindService; // article.write-behind.enabled 일 때만 존재
+    private final Optional<SavedSearchMatcher> savedSearchMatcher; // article.saved-search.enabled 일 때만 존재
+    private final Optional<ArticleReplica> articleReplica; // article.replica.enabled 일 때만 존재
 
-    public List<ArticleVo> getArticles(SearchRequest searchRequest) throws IOException {
-        return articleDao.searchArticles(ArticleQuery.getSearchArticlesQuery(searchRequest));
+    /**
+     * 아티클 검색
+     * 시간 예산 안에 응답한 샤드 결과만으로 응답할 수 있다. 엘라스틱서치에 보낸 검색의 소요 시간은 검색 형태별로 집계한다.
+     * @param searchRequest
+     * @return 검색 결과, 샤드 응답 현황
+     * @throws IOException
+     */
+    public ArticleSearchResultVo getArticles(SearchRequest searchRequest) throws IOException {
+        return searchArticles(searchRequest, true);
     }
 
-    public ArticleVo getArticle(Integer articleNumber) throws IOException {
-        return articleDao.findArticleById(articleNumber);
+    /**
+     * 워밍업 재생용 아티클 검색
+     * 실제 요청이 아니므로 검색 형태별 집계와 느린 검색 로그에 남기지 않는다.
+     * @param searchRequest
+     * @return 검색 결과, 샤드 응답 현황
+     * @throws IOException
+     */
+    public ArticleSearchResultVo replayArticles(SearchRequest searchRequest) throws IOException {
+        return searchArticles(searchRequest, false);
+    }
+
+    private ArticleSearchResultVo searchArticles(SearchRequest searchRequest, boolean recordStats) throws IOException {
+        long startedAt = System.nanoTime();
+        SearchSourceBuilder searchSourceBuilder = null;
+        try {
+            SearchBudget searchBudget = ArticleQuery.planSearchBudget(searchRequest, searchBudgetProperties);
+            if(articleReplica.isPresent()) {
+                Optional<List<ArticleVo>> replicaArticles = articleReplica.get().getArticles(searchRequest);
+                if(replicaArticles.isPresent())
+                    return ArticleSearchResultVo.complete(replicaArticles.get());
+            }
+            ArticleSearchPlan articleSearchPlan = ArticleQuery.planSearchArticles(searchRequest, indexBootstrap.isStoredScriptsRegistered());
+            searchSourceBuilder = articleSearchPlan.getSearchSourceBuilder();
+            return articleDao.searchArticles(searchSourceBuilder, articleSearchPlan.isRequestCache(), searchBudget);
+        } finally {
+            if(recordStats && searchSourceBuilder != null) // 복제본 응답, 잘못된 요청은 엘라스틱서치 검색 시간이 아니므로 빼고 집계한다.
+                queryStats.record(searchRequest, System.nanoTime() - startedAt, searchSourceBuilder);
+        }
+    }
+
+    /**
+     * 연합 검색, 마감 시간 안에 응답하지 않은 클러스터는 빼고 응답한다.
+     * @param searchRequest
+     * @return
+     * @throws IOException
+     */
+    public FederatedSearchVo federatedSearchArticles(SearchRequest searchRequest) throws IOException {
+        ArticleSearchPlan articleSearchPlan = ArticleQuery.planSearchArticles(searchRequest, indexBootstrap.isStoredScriptsRegistered());
+        return articleDao.federatedSearchArticles(articleSearchPlan.getSearchSourceBuilder(), federationProperties.getTimeoutMs());
+    }
+
+    /**
+     * 아티클 검색 프로파일
+     * 검색과 같은 계획(정렬 스크립트, request cache, 시간 예산)으로 만든 검색을 프로파일한다.
+     * @param searchRequest
+     * @return 샤드별 프로파일 요약, 실행한 DSL
+     * @throws IOException
+     */
+    public QueryProfileResponse profileArticles(SearchRequest searchRequest) throws IOException {
+        SearchBudget searchBudget = ArticleQuery.planSearchBudget(searchRequest, searchBudgetProperties);
+        ArticleSearchPlan articleSearchPlan = ArticleQuery.planSearchArticles(searchRequest, indexBootstrap.isStoredScriptsRegistered());
+        SearchSourceBuilder searchSourceBuilder = ArticleDao.withSearchBudget(articleSearchPlan.getSearchSourceBuilder(), searchBudget);
+        return QueryProfileResponse.of(searchSourceBuilder,
+                articleDao.profileSearchArticles(searchSourceBuilder, articleSearchPlan.isRequestCache(), searchBudget.getClientTimeoutMs()));
+    }
+
+    public long countArticles(SearchRequest searchRequest) throws IOException {
+        ArticleSearchPlan articleSearchPlan = ArticleQuery.planCountArticles(searchRequest);
+        return articleDao.countArticles(articleSearchPlan.getSearchSourceBuilder(), articleSearchPlan.isRequestCache());
+    }
+
+    public FacetResponse getArticleFacets(SearchRequest searchRequest) throws IOException {
+        ArticleSearchPlan articleSearchPlan = ArticleQuery.planFacetArticles(searchRequest, facetProperties.getReadInterval());
+        return FacetResponse.of(articleDao.aggregateArticles(articleSearchPlan.getSearchSourceBuilder(), articleSearchPlan.isRequestCache()),
+                Collections.singletonList(ArticleQuery.IS_OPEN_FACET), Collections.singletonList(ArticleQuery.READ_FACET));
+    }
+
+    /**
+     * 아티클 단건 조회
+     * 복제본은 버전을 갖지 않으므로 read-your-writes 를 요구하면(조건부 수정용 ETag 조회 등) 복제본을 건너뛰고 리더에서 읽는다.
+     * @param articleNumber
+     * @return 복제본이나 읽기 클러스터에서 읽으면 버전 없음
+     * @throws IOException
+     */
+    public VersionedArticleVo getArticle(Integer articleNumber) throws IOException {
+        ArticleVo replicaArticle = ReadConsistency.isReadYourWrites() ? null : articleReplica.map(replica -> replica.getArticle(articleNumber)).orElse(null);
+        if(replicaArticle != null)
+            return new VersionedArticleVo(replicaArticle, null);
+        return articleDao.findVersionedArticleById(articleNumber);
     }
 
     public void writeArticle(ArticleVo articleVo) throws IOException {
+        if(writeBehindService.isPresent()) {
+            writeBehindService.get().writeArticle(articleVo);
+            return;
+        }
         articleDao.index(articleVo);
+        articleReplica.ifPresent(replica -> replica.onWritten(articleVo));
+        savedSearchMatcher.ifPresent(matcher -> matcher.enqueue(articleVo));
     }
 
     public void updateArticle(Integer articleNumber, ArticleVo articleVo) throws IOException {
+        if(writeBehindService.isPresent()) {
+            writeBehindService.get().updateArticle(articleNumber, articleVo);
+            return;
+        }
         articleDao.update(articleNumber, articleVo);
+        articleReplica.ifPresent(replica -> {
+            if(!articleNumber.equals(articleVo.getArticleNumber()))
+                replica.onDeleted(articleNumber);
+            replica.onWritten(articleVo);
+        });
+        savedSearchMatcher.ifPresent(matcher -> matcher.enqueue(articleVo));
+    }
+
+    /**
+     * 아티클 부분 수정
+     * 쓰기 지연 중이면 다른 변경과 순서를 지키도록 저널에 기록하고, 반영 전이라 현재 버전을 알 수 없으므로 조건부 수정은 거절한다.
+     * @param articleNumber
+     * @param articlePatchVo
+     * @param expectedVersion null 이면 조건 없이 수정
+     * @return 수정된 아티클과 새 버전, 쓰기 지연 중이면 null
+     * @throws IOException
+     * @throws InvalidRequestException 쓰기 지연 중 조건부 수정
+     */
+    public VersionedArticleVo patchArticle(Integer articleNumber, ArticlePatchVo articlePatchVo, ArticleVersion expectedVersion) throws IOException {
+        if(writeBehindService.isPresent()) {
+            if(expectedVersion != null)
+                throw new InvalidRequestException("If-Match is not supported while write-behind is enabled.");
+            writeBehindService.get().patchArticle(articleNumber, articlePatchVo);
+            return null;
+        }
+        VersionedArticleVo versionedArticleVo = articleDao.patch(articleNumber, articlePatchVo, expectedVersion);
+        articleReplica.ifPresent(replica -> replica.onWritten(versionedArticleVo.getArticle()));
+        savedSearchMatcher.ifPresent(matcher -> matcher.enqueue(versionedArticleVo.getArticle()));
+        return versionedArticleVo;
+    }
+
+    public void readArticle(Integer articleNumber) {
+        readCountBuffer.increase(articleNumber);
     }
 
     public void deleteArticle(Integer articleNumber) throws IOException {
+        if(writeBehindService.isPresent()) {
+            writeBehindService.get().deleteArticle(articleNumber);
+            return;
+        }
         articleDao.delete(articleNumber);
+        articleReplica.ifPresent(replica -> replica.onDeleted(articleNumber));
     }
 }
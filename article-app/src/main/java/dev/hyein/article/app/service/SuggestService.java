@@ -0,0 +1,58 @@
+package dev.hyein.article.app.service;
+
+import dev.hyein.article.app.bootstrap.IndexBootstrap;
+import dev.hyein.article.app.cache.PrefixCache;
+import dev.hyein.article.app.properties.SuggestProperties;
+import dev.hyein.article.app.query.ArticleQuery;
+import dev.hyein.article.elasticsearch.dao.ArticleDao;
+import dev.hyein.article.elasticsearch.vo.ArticleSuggestVo;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+
+@Service
+@Slf4j
+public class SuggestService {
+    private final ArticleDao articleDao;
+    private final IndexBootstrap indexBootstrap;
+    private final int size;
+    private final PrefixCache<List<ArticleSuggestVo>> prefixCache;
+
+    public SuggestService(ArticleDao articleDao, IndexBootstrap indexBootstrap, SuggestProperties suggestProperties) {
+        this.articleDao = articleDao;
+        this.indexBootstrap = indexBootstrap;
+        this.size = suggestProperties.getSize();
+        this.prefixCache = new PrefixCache<>(suggestProperties.getCacheMaxPrefixLength(), suggestProperties.getCacheMaxEntries(), suggestProperties.getCacheTtlMs());
+    }
+
+    /**
+     * 아티클 제목 자동완성
+     * @param prefix 입력 중인 검색어
+     * @return
+     * @throws IOException
+     */
+    public List<ArticleSuggestVo> suggestArticles(String prefix) throws IOException {
+        if(!StringUtils.hasText(prefix))
+            return Collections.emptyList();
+
+        String normalizedPrefix = prefix.trim().toLowerCase();
+        if(!prefixCache.isCacheable(normalizedPrefix))
+            return searchSuggestions(normalizedPrefix);
+
+        List<ArticleSuggestVo> suggestions = prefixCache.get(normalizedPrefix);
+        if(suggestions == null) {
+            suggestions = Collections.unmodifiableList(searchSuggestions(normalizedPrefix));
+            prefixCache.put(normalizedPrefix, suggestions);
+        }
+        return suggestions;
+    }
+
+    private List<ArticleSuggestVo> searchSuggestions(String prefix) throws IOException {
+        indexBootstrap.ensureSuggestMapping();
+        return articleDao.suggestArticles(ArticleQuery.getSuggestArticlesQuery(prefix, size));
+    }
+}
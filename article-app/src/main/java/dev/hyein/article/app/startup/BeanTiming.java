@@ -0,0 +1,14 @@
+package dev.hyein.article.app.startup;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 빈 하나의 생성 소요 시간
+ */
+@Getter @AllArgsConstructor
+public class BeanTiming {
+    private final String beanName;
+    private final long totalNanos; // 의존 빈 생성 포함
+    private final long selfNanos; // 의존 빈 생성 제외
+}
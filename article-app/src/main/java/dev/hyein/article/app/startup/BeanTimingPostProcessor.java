@@ -0,0 +1,25 @@
+package dev.hyein.article.app.startup;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.config.InstantiationAwareBeanPostProcessor;
+
+/**
+ * 빈 생성(인스턴스화 직전 ~ 초기화 후) 시간 측정
+ */
+@RequiredArgsConstructor
+public class BeanTimingPostProcessor implements InstantiationAwareBeanPostProcessor {
+    private final StartupTimings startupTimings;
+
+    @Override
+    public Object postProcessBeforeInstantiation(Class<?> beanClass, String beanName) throws BeansException {
+        startupTimings.beanStarted(beanName);
+        return null;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+        startupTimings.beanFinished(beanName);
+        return bean;
+    }
+}
@@ -0,0 +1,104 @@
+package dev.hyein.article.app.startup;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.SpringApplicationRunListener;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+
+/**
+ * 기동 시간 리포트
+ * article.startup.report 가 true 이면 기동 단계별 시간과 생성이 오래 걸린 빈을 로그로 출력한다.
+ * article.startup.report-file 을 지정하면 단계별 시간을 한 줄씩 추가해 스케일 아웃 시간 추이를 볼 수 있다.
+ * 빈 생성 전에 등록되어야 하므로 spring.factories 로 등록한다.
+ */
+@Slf4j
+public class StartupTimingRunListener implements SpringApplicationRunListener, Ordered {
+    private static final String REPORT_PROPERTY = "article.startup.report";
+    private static final String TOP_BEANS_PROPERTY = "article.startup.report-top-beans";
+    private static final String REPORT_FILE_PROPERTY = "article.startup.report-file";
+    private static final int DEFAULT_TOP_BEANS = 20;
+
+    private final StartupTimings startupTimings = new StartupTimings();
+    private boolean enabled = false;
+    private int topBeans = DEFAULT_TOP_BEANS;
+    private String reportFile;
+
+    public StartupTimingRunListener(SpringApplication application, String[] args) {
+    }
+
+    @Override
+    public void starting() {
+        startupTimings.phase("starting");
+    }
+
+    @Override
+    public void environmentPrepared(ConfigurableEnvironment environment) {
+        enabled = environment.getProperty(REPORT_PROPERTY, Boolean.class, false);
+        topBeans = environment.getProperty(TOP_BEANS_PROPERTY, Integer.class, DEFAULT_TOP_BEANS);
+        reportFile = environment.getProperty(REPORT_FILE_PROPERTY);
+        startupTimings.phase("environmentPrepared");
+    }
+
+    @Override
+    public void contextPrepared(ConfigurableApplicationContext context) {
+        if(enabled)
+            context.getBeanFactory().addBeanPostProcessor(new BeanTimingPostProcessor(startupTimings));
+        startupTimings.phase("contextPrepared");
+    }
+
+    @Override
+    public void contextLoaded(ConfigurableApplicationContext context) {
+        startupTimings.phase("contextLoaded");
+    }
+
+    @Override
+    public void started(ConfigurableApplicationContext context) {
+        startupTimings.phase("contextRefreshed");
+    }
+
+    @Override
+    public void running(ConfigurableApplicationContext context) {
+        startupTimings.phase("ready");
+        if(!enabled)
+            return;
+
+        log.info("[Startup] {}", startupTimings.getReport(topBeans));
+        if(StringUtils.hasText(reportFile))
+            appendReportFile();
+    }
+
+    @Override
+    public void failed(ConfigurableApplicationContext context, Throwable exception) {
+        startupTimings.phase("failed");
+        if(enabled)
+            log.info("[Startup] {}", startupTimings.getReport(topBeans));
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    /**
+     * 단계별 누적 시간(ms)을 한 줄로 추가
+     */
+    private void appendReportFile() {
+        String line = System.currentTimeMillis() + " " + startupTimings.getPhaseMillis();
+        try {
+            Files.write(Paths.get(reportFile), Collections.singletonList(line), StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            log.warn("[Startup] Write report file [{}] failed: {}", reportFile, e.toString());
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package dev.hyein.article.app.startup;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 기동 단계별, 빈별 소요 시간 기록
+ * 빈 생성은 중첩되므로(의존 빈을 먼저 만든다) 전체 시간과 의존 빈을 뺀 자체 시간을 따로 기록한다.
+ */
+public class StartupTimings {
+    private final long startedAt = System.nanoTime();
+    private final Map<String, Long> phases = new LinkedHashMap<>(); // 단계 이름, 시작부터 단계 끝까지 걸린 시간(ns)
+    private final List<BeanTiming> beanTimings = new ArrayList<>();
+    private final ThreadLocal<Deque<Frame>> frames = ThreadLocal.withInitial(ArrayDeque::new);
+
+    /**
+     * 단계 끝 기록
+     * @param phase
+     */
+    public synchronized void phase(String phase) {
+        phases.put(phase, System.nanoTime() - startedAt);
+    }
+
+    /**
+     * 빈 생성 시작
+     * @param beanName
+     */
+    public void beanStarted(String beanName) {
+        frames.get().push(new Frame(beanName, System.nanoTime()));
+    }
+
+    /**
+     * 빈 초기화 끝
+     * 시작 기록이 없는 경우(FactoryBean 이 만든 객체 등) 무시한다.
+     * 위에 끝나지 않은 빈(생성 실패, 초기화 후처리를 거치지 않은 빈 등)이 남아 있으면 버리고, 그 시간은 이 빈의 자체 시간으로 센다.
+     * @param beanName
+     */
+    public void beanFinished(String beanName) {
+        Deque<Frame> stack = frames.get();
+        if(stack.stream().noneMatch(started -> started.beanName.equals(beanName)))
+            return;
+        Frame frame = stack.pop();
+        while (!frame.beanName.equals(beanName)) {
+            frame = stack.pop();
+        }
+
+        long totalNanos = System.nanoTime() - frame.startedAt;
+        Frame parent = stack.peek();
+        if(parent != null)
+            parent.childNanos += totalNanos;
+
+        synchronized (this) {
+            beanTimings.add(new BeanTiming(beanName, totalNanos, totalNanos - frame.childNanos));
+        }
+    }
+
+    /**
+     * 기동 리포트
+     * @param topBeans 자체 시간이 긴 순서로 출력할 빈 개수
+     * @return
+     */
+    public synchronized String getReport(int topBeans) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("Startup timings").append(System.lineSeparator());
+
+        long previous = 0;
+        for (Map.Entry<String, Long> phase : phases.entrySet()) {
+            sb.append(String.format("  phase %-22s %7d ms (+%d ms)", phase.getKey(), toMillis(phase.getValue()), toMillis(phase.getValue() - previous)))
+                    .append(System.lineSeparator());
+            previous = phase.getValue();
+        }
+
+        List<BeanTiming> sorted = new ArrayList<>(beanTimings);
+        sorted.sort(Comparator.comparingLong(BeanTiming::getSelfNanos).reversed());
+        sb.append(String.format("  beans created: %d, top %d by self time", sorted.size(), Math.min(topBeans, sorted.size())))
+                .append(System.lineSeparator());
+        for (BeanTiming beanTiming : sorted.subList(0, Math.min(topBeans, sorted.size()))) {
+            sb.append(String.format("  bean  %-50s self %5d ms, total %5d ms", beanTiming.getBeanName(), toMillis(beanTiming.getSelfNanos()), toMillis(beanTiming.getTotalNanos())))
+                    .append(System.lineSeparator());
+        }
+        return sb.toString();
+    }
+
+    public synchronized Map<String, Long> getPhaseMillis() {
+        Map<String, Long> phaseMillis = new LinkedHashMap<>();
+        phases.forEach((phase, nanos) -> phaseMillis.put(phase, toMillis(nanos)));
+        return phaseMillis;
+    }
+
+    public synchronized List<BeanTiming> getBeanTimings() {
+        return new ArrayList<>(beanTimings);
+    }
+
+    private static long toMillis(long nanos) {
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+
+    private static class Frame {
+        private final String beanName;
+        private final long startedAt;
+        private long childNanos = 0;
+
+        private Frame(String beanName, long startedAt) {
+            this.beanName = beanName;
+            this.startedAt = startedAt;
+        }
+    }
+}
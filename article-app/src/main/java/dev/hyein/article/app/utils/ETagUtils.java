@@ -0,0 +1,48 @@
+package dev.hyein.article.app.utils;
+
+import dev.hyein.article.app.error.InvalidRequestException;
+import dev.hyein.article.elasticsearch.vo.ArticleVersion;
+
+/**
+ * 아티클 버전 <-> ETag 변환
+ * ETag 는 "{_seq_no}-{_primary_term}" 형식의 strong ETag 이다.
+ */
+public class ETagUtils {
+
+    private ETagUtils() {
+    }
+
+    /**
+     * 아티클 버전을 ETag 로 변환
+     * @param articleVersion
+     * @return 버전이 없으면 null
+     */
+    public static String toETag(ArticleVersion articleVersion) {
+        if(articleVersion == null)
+            return null;
+        return "\"" + articleVersion.getSeqNo() + "-" + articleVersion.getPrimaryTerm() + "\"";
+    }
+
+    /**
+     * If-Match 헤더를 아티클 버전으로 변환
+     * @param ifMatch
+     * @return 헤더가 없거나 * 이면 null (조건 없음)
+     * @throws InvalidRequestException 이 API 가 발급한 ETag 형식이 아닐 때
+     */
+    public static ArticleVersion parseIfMatch(String ifMatch) {
+        if(ifMatch == null || ifMatch.trim().isEmpty() || "*".equals(ifMatch.trim()))
+            return null;
+
+        String eTag = ifMatch.trim();
+        if(eTag.length() < 2 || eTag.charAt(0) != '"' || eTag.charAt(eTag.length() - 1) != '"')
+            throw new InvalidRequestException("If-Match must be a single ETag from this API: " + ifMatch);
+        int separator = eTag.indexOf('-');
+        if(separator < 0)
+            throw new InvalidRequestException("If-Match must be a single ETag from this API: " + ifMatch);
+        try {
+            return new ArticleVersion(Long.parseLong(eTag.substring(1, separator)), Long.parseLong(eTag.substring(separator + 1, eTag.length() - 1)));
+        } catch (NumberFormatException e) {
+            throw new InvalidRequestException("If-Match must be a single ETag from this API: " + ifMatch);
+        }
+    }
+}
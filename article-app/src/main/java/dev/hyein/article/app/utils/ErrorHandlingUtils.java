@@ -7,13 +7,14 @@ public class ErrorHandlingUtils {
      * @param limit stack 상위 개수
      * @return
      */
-    public static String getErrorStackTrace(Exception e, int limit) {
+    public static String getErrorStackTrace(Throwable e, int limit) {
         StringBuilder sb = new StringBuilder();
-        sb.append(e.getMessage() + System.lineSeparator());
-        for (int i = 0; i < limit; i++) {
-            StackTraceElement stackTraceElement = e.getStackTrace()[i];
+        sb.append(e.toString()).append(System.lineSeparator());
+        StackTraceElement[] stackTrace = e.getStackTrace(); // 호출할 때마다 배열을 복사하므로 한 번만
+        for (int i = 0; i < Math.min(limit, stackTrace.length); i++) {
+            StackTraceElement stackTraceElement = stackTrace[i];
             sb.append(String.format("%s %s.%s:%s",stackTraceElement.getFileName(), stackTraceElement.getClassName(),
-                    stackTraceElement.getMethodName(), stackTraceElement.getLineNumber()) + System.lineSeparator());
+                    stackTraceElement.getMethodName(), stackTraceElement.getLineNumber())).append(System.lineSeparator());
         }
         return sb.toString();
     }
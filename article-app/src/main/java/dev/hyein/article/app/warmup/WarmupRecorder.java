@@ -0,0 +1,138 @@
+package dev.hyein.article.app.warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.hyein.article.app.properties.WarmupProperties;
+import dev.hyein.article.app.request.SearchRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 최근 요청 표본 기록
+ * 검색 요청과 단건 조회 아티클 번호를 고정 크기 링 버퍼에 덮어쓰며 최근 것만 남긴다. 기록은 락 없이 슬롯 하나만 바꾼다.
+ * 표본은 주기적으로, 그리고 종료 시 파일에 저장하고, 기동 시 읽어 워밍업에 쓴다.
+ */
+@Component
+@ConditionalOnProperty(prefix = "article.warmup", name = "enabled", havingValue = "true")
+@Slf4j
+public class WarmupRecorder {
+    private final WarmupProperties warmupProperties;
+    private final ObjectMapper objectMapper;
+    private final AtomicReferenceArray<SearchRequest> searches;
+    private final AtomicReferenceArray<Integer> articleNumbers;
+    private final AtomicLong searchCursor = new AtomicLong();
+    private final AtomicLong articleCursor = new AtomicLong();
+    private volatile WarmupSample loadedSample = new WarmupSample(); // 이전 실행에서 저장한 표본
+
+    public WarmupRecorder(WarmupProperties warmupProperties, ObjectMapper objectMapper) {
+        this.warmupProperties = warmupProperties;
+        this.objectMapper = objectMapper;
+        this.searches = new AtomicReferenceArray<>(Math.max(1, warmupProperties.getSearchSampleSize()));
+        this.articleNumbers = new AtomicReferenceArray<>(Math.max(1, warmupProperties.getArticleSampleSize()));
+    }
+
+    public void recordSearch(SearchRequest searchRequest) {
+        searches.set((int) (searchCursor.getAndIncrement() % searches.length()), searchRequest);
+    }
+
+    public void recordArticle(Integer articleNumber) {
+        articleNumbers.set((int) (articleCursor.getAndIncrement() % articleNumbers.length()), articleNumber);
+    }
+
+    /**
+     * 이전 실행에서 저장한 표본
+     * @return 없으면 빈 표본
+     */
+    public WarmupSample getLoadedSample() {
+        return loadedSample;
+    }
+
+    /**
+     * 현재 표본, 이번 실행에서 아직 채우지 못한 자리는 이전 실행의 표본으로 채운다.
+     * @return
+     */
+    public WarmupSample snapshot() {
+        WarmupSample previous = loadedSample;
+        return new WarmupSample(
+                fill(snapshot(searches, searchCursor.get()), previous.getSearches(), searches.length()),
+                fill(snapshot(articleNumbers, articleCursor.get()), previous.getArticleNumbers(), articleNumbers.length()));
+    }
+
+    @PostConstruct
+    public void load() {
+        Path path = Paths.get(warmupProperties.getFile());
+        if(!Files.exists(path))
+            return;
+        try {
+            loadedSample = objectMapper.readValue(path.toFile(), WarmupSample.class);
+            log.info("[Warmup] Loaded {} searches, {} articles from {}", loadedSample.getSearches().size(), loadedSample.getArticleNumbers().size(), path);
+        } catch (IOException e) {
+            log.warn("[Warmup] Load {} failed, start without sample: {}", path, e.toString());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${article.warmup.persist-interval-ms:60000}", initialDelayString = "${article.warmup.persist-interval-ms:60000}")
+    public void scheduledPersist() {
+        try {
+            persist();
+        } catch (IOException | RuntimeException e) {
+            log.warn("[Warmup] Persist failed, retry next time: {}", e.toString());
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        scheduledPersist();
+    }
+
+    /**
+     * 표본 저장, 임시 파일에 쓴 뒤 교체해 읽는 쪽이 쓰다 만 파일을 보지 않는다.
+     * @throws IOException
+     */
+    public void persist() throws IOException {
+        WarmupSample warmupSample = snapshot();
+        if(warmupSample.isEmpty())
+            return;
+
+        Path path = Paths.get(warmupProperties.getFile()).toAbsolutePath();
+        Files.createDirectories(path.getParent());
+        Path tempPath = path.resolveSibling(path.getFileName() + ".tmp");
+        objectMapper.writeValue(tempPath.toFile(), warmupSample);
+        Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * 링 버퍼를 오래된 것부터 복사
+     */
+    private static <T> List<T> snapshot(AtomicReferenceArray<T> ring, long cursor) {
+        int size = (int) Math.min(cursor, ring.length());
+        List<T> list = new ArrayList<>(size);
+        for (long i = cursor - size; i < cursor; i++) {
+            T value = ring.get((int) (i % ring.length()));
+            if(value != null)
+                list.add(value);
+        }
+        return list;
+    }
+
+    private static <T> List<T> fill(List<T> recent, List<T> previous, int capacity) {
+        if(recent.size() >= capacity || previous == null)
+            return recent;
+        List<T> filled = new ArrayList<>(previous.subList(Math.max(0, previous.size() - (capacity - recent.size())), previous.size()));
+        filled.addAll(recent);
+        return filled;
+    }
+}
@@ -0,0 +1,102 @@
+package dev.hyein.article.app.warmup;
+
+import dev.hyein.article.app.properties.WarmupProperties;
+import dev.hyein.article.app.request.SearchRequest;
+import dev.hyein.article.app.service.ArticleService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * 기동 직후 워밍업
+ * 이전 실행에서 기록한 검색 요청과 아티클 번호를 ArticleService 로 재생해 JIT 와 엘라스틱서치 쿼리, fielddata 캐시를 데운다.
+ * 재생 시간(durationMs)이나 요청 수(maxRequests)를 다 쓸 때까지 표본을 반복하고, 끝나야 /admin/ready 가 준비 완료로 응답한다.
+ * 재생 실패(삭제된 아티클 등)는 세기만 하고 계속한다. 재생한 검색은 검색 형태별 집계, 느린 검색 로그에 남기지 않는다.
+ */
+@Component
+@ConditionalOnProperty(prefix = "article.warmup", name = "enabled", havingValue = "true")
+@Slf4j
+public class WarmupRunner {
+    private final ArticleService articleService;
+    private final WarmupRecorder warmupRecorder;
+    private final WarmupProperties warmupProperties;
+    private volatile boolean ready = false;
+    private volatile int replayedRequests = 0;
+    private volatile int failedRequests = 0;
+
+    public WarmupRunner(ArticleService articleService, WarmupRecorder warmupRecorder, WarmupProperties warmupProperties) {
+        this.articleService = articleService;
+        this.warmupRecorder = warmupRecorder;
+        this.warmupProperties = warmupProperties;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int getReplayedRequests() {
+        return replayedRequests;
+    }
+
+    public int getFailedRequests() {
+        return failedRequests;
+    }
+
+    /**
+     * 요청 처리 스레드를 막지 않도록 별도 스레드에서 재생
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        Thread warmer = new Thread(this::warmUp, "article-warmup");
+        warmer.setDaemon(true);
+        warmer.start();
+    }
+
+    /**
+     * 표본 재생
+     */
+    public void warmUp() {
+        WarmupSample warmupSample = warmupRecorder.getLoadedSample();
+        long startedAt = System.currentTimeMillis();
+        try {
+            if(warmupSample.isEmpty())
+                return;
+
+            long deadline = startedAt + warmupProperties.getDurationMs();
+            List<SearchRequest> searches = warmupSample.getSearches();
+            List<Integer> articleNumbers = warmupSample.getArticleNumbers();
+            int rounds = Math.max(searches.size(), articleNumbers.size());
+            for (int i = 0; replayedRequests < warmupProperties.getMaxRequests() && System.currentTimeMillis() < deadline
+                    && !Thread.currentThread().isInterrupted(); i = (i + 1) % rounds) {
+                int index = i;
+                if(index < searches.size())
+                    replay(() -> articleService.replayArticles(searches.get(index)));
+                if(index < articleNumbers.size() && replayedRequests < warmupProperties.getMaxRequests())
+                    replay(() -> articleService.getArticle(articleNumbers.get(index)));
+            }
+        } finally {
+            ready = true;
+            log.info("[Warmup] Replayed {} requests ({} failed) in {} ms", replayedRequests, failedRequests, System.currentTimeMillis() - startedAt);
+        }
+    }
+
+    private void replay(Replay replay) {
+        try {
+            replay.run();
+        } catch (IOException | RuntimeException e) {
+            failedRequests++;
+            log.debug("[Warmup] Replay failed: {}", e.toString());
+        }
+        replayedRequests++;
+    }
+
+    @FunctionalInterface
+    private interface Replay {
+        void run() throws IOException;
+    }
+}
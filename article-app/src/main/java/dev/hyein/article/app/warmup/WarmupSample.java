@@ -0,0 +1,20 @@
+package dev.hyein.article.app.warmup;
+
+import dev.hyein.article.app.request.SearchRequest;
+import lombok.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 워밍업에 재생할 요청 표본
+ */
+@Getter @Setter @AllArgsConstructor @NoArgsConstructor @ToString
+public class WarmupSample {
+    private List<SearchRequest> searches = new ArrayList<>();
+    private List<Integer> articleNumbers = new ArrayList<>();
+
+    public boolean isEmpty() {
+        return searches.isEmpty() && articleNumbers.isEmpty();
+    }
+}
@@ -0,0 +1,274 @@
+package dev.hyein.article.app.writebehind;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.CRC32;
+
+/**
+ * 메모리 맵 기반 추가 전용 저널
+ * 고정 크기 세그먼트 파일에 [길이][CRC32][데이터] 레코드를 이어 쓰고 force 로 디스크에 반영한 뒤 반환한다.
+ * 반영이 끝난 위치는 checkpoint 파일에 기록하고, 다 읽은 세그먼트는 삭제한다.
+ * 쓰기는 여러 스레드, 읽기와 커밋은 한 스레드에서 호출하는 것을 전제로 한다.
+ */
+@Slf4j
+public class ArticleJournal implements Closeable {
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final String CHECKPOINT_FILE = "checkpoint";
+    private static final int HEADER_SIZE = Integer.BYTES * 2; // 길이 + CRC32
+
+    private final Path directory;
+    private final int segmentSize;
+    private final TreeMap<Long, MappedByteBuffer> segments = new TreeMap<>();
+    private final FileChannel checkpointChannel;
+    private final Object forceLock = new Object();
+
+    private long writeSegment;
+    private int writeOffset;
+    private long appendSequence = 0;
+    private long forcedSequence = 0;
+    private JournalPosition committed;
+
+    public ArticleJournal(Path directory, int segmentSize) throws IOException {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        Files.createDirectories(directory);
+
+        try (DirectoryStream<Path> segmentFiles = Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            for (Path segmentFile : segmentFiles) {
+                long segment = parseSegmentNumber(segmentFile);
+                segments.put(segment, map(segmentFile));
+            }
+        }
+        if(segments.isEmpty())
+            segments.put(0L, map(segmentPath(0L)));
+
+        this.checkpointChannel = FileChannel.open(directory.resolve(CHECKPOINT_FILE), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.committed = readCheckpoint();
+        this.writeSegment = segments.lastKey();
+        this.writeOffset = recoverWriteOffset(segments.lastEntry().getValue());
+        log.info("[Journal] Opened [{}], committed: {}, write position: {}", directory, committed, new JournalPosition(writeSegment, writeOffset));
+    }
+
+    /**
+     * 레코드 추가 후 디스크 반영
+     * 한 번에 추가한 레코드는 같은 세그먼트에 연속으로 기록된다.
+     * @param records
+     * @throws IOException
+     */
+    public void append(List<byte[]> records) throws IOException {
+        int requiredSize = 0;
+        for (byte[] record : records) {
+            requiredSize += HEADER_SIZE + record.length;
+        }
+        if(requiredSize > segmentSize - HEADER_SIZE)
+            throw new IllegalArgumentException(String.format("Records size [%d] exceeds journal segment size [%d].", requiredSize, segmentSize));
+
+        long sequence;
+        synchronized (this) {
+            if(writeOffset + requiredSize > segmentSize - HEADER_SIZE) // 세그먼트 끝에는 길이 0 자리를 남긴다.
+                rollSegment();
+
+            MappedByteBuffer segment = segments.get(writeSegment);
+            for (byte[] record : records) {
+                writeRecord(segment, writeOffset, record);
+                writeOffset += HEADER_SIZE + record.length;
+            }
+            sequence = ++appendSequence;
+        }
+        force(sequence);
+    }
+
+    /**
+     * 커밋된 위치부터 최대 maxRecords 개 읽기
+     * 커밋하기 전까지는 같은 레코드를 다시 읽는다.
+     * @param maxRecords
+     * @return
+     */
+    public synchronized JournalBatch read(int maxRecords) {
+        List<byte[]> records = new ArrayList<>();
+        long segment = committed.getSegment();
+        int offset = committed.getOffset();
+
+        while (records.size() < maxRecords) {
+            if(segment == writeSegment && offset >= writeOffset)
+                break;
+
+            MappedByteBuffer buffer = segments.get(segment);
+            int length = offset + HEADER_SIZE <= segmentSize ? buffer.getInt(offset) : 0;
+            if(length == 0) { // 세그먼트 끝
+                if(segment == writeSegment)
+                    break;
+                segment = segments.higherKey(segment);
+                offset = 0;
+                continue;
+            }
+
+            byte[] record = new byte[length];
+            ByteBuffer reader = buffer.duplicate();
+            reader.position(offset + HEADER_SIZE);
+            reader.get(record);
+            records.add(record);
+            offset += HEADER_SIZE + length;
+        }
+        return new JournalBatch(records, new JournalPosition(segment, offset));
+    }
+
+    /**
+     * 반영한 위치 기록, 다 읽은 세그먼트 삭제
+     * @param position
+     * @throws IOException
+     */
+    public synchronized void commit(JournalPosition position) throws IOException {
+        ByteBuffer checkpoint = ByteBuffer.allocate(Long.BYTES + Integer.BYTES);
+        checkpoint.putLong(position.getSegment()).putInt(position.getOffset()).flip();
+        checkpointChannel.write(checkpoint, 0);
+        checkpointChannel.force(false);
+        committed = position;
+
+        while (segments.firstKey() < position.getSegment()) {
+            Map.Entry<Long, MappedByteBuffer> consumed = segments.pollFirstEntry();
+            Files.deleteIfExists(segmentPath(consumed.getKey()));
+        }
+    }
+
+    /**
+     * 반영되지 않은 레코드 존재 여부
+     * @return
+     */
+    public synchronized boolean hasPending() {
+        return !read(1).isEmpty();
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (forceLock) {
+            synchronized (this) {
+                segments.get(writeSegment).force();
+            }
+        }
+        checkpointChannel.close();
+    }
+
+    /**
+     * 묶음 fsync: 먼저 들어온 스레드가 그때까지 쓰인 레코드를 한 번에 반영하고, 뒤 스레드는 이미 반영되었으면 바로 반환한다.
+     * @param sequence
+     */
+    private void force(long sequence) {
+        synchronized (forceLock) {
+            if(forcedSequence >= sequence)
+                return;
+
+            MappedByteBuffer segment;
+            long targetSequence;
+            synchronized (this) {
+                segment = segments.get(writeSegment);
+                targetSequence = appendSequence;
+            }
+            segment.force(); // 이전 세그먼트는 넘어갈 때 반영됨
+            forcedSequence = targetSequence;
+        }
+    }
+
+    /**
+     * 다음 세그먼트로 넘어감
+     * @throws IOException
+     */
+    private void rollSegment() throws IOException {
+        segments.get(writeSegment).force();
+        writeSegment++;
+        writeOffset = 0;
+        segments.put(writeSegment, map(segmentPath(writeSegment)));
+    }
+
+    private void writeRecord(MappedByteBuffer segment, int offset, byte[] record) {
+        CRC32 crc32 = new CRC32();
+        crc32.update(record, 0, record.length);
+
+        ByteBuffer writer = segment.duplicate();
+        writer.position(offset + HEADER_SIZE);
+        writer.put(record);
+        segment.putInt(offset + Integer.BYTES, (int) crc32.getValue());
+        segment.putInt(offset, record.length); // 길이는 마지막에 써서 중간에 멈춘 레코드를 끝으로 보이게 한다.
+    }
+
+    /**
+     * 마지막 세그먼트에서 온전한 레코드 다음 위치 찾기
+     * 비정상 종료로 잘린 레코드가 있으면 그 뒤를 지운다.
+     * @param segment
+     * @return
+     */
+    private int recoverWriteOffset(MappedByteBuffer segment) {
+        int offset = 0;
+        while (offset + HEADER_SIZE <= segmentSize) {
+            int length = segment.getInt(offset);
+            if(length <= 0 || offset + HEADER_SIZE + length > segmentSize || !isValidRecord(segment, offset, length))
+                break;
+            offset += HEADER_SIZE + length;
+        }
+
+        if(offset + Integer.BYTES <= segmentSize && segment.getInt(offset) != 0) {
+            log.warn("[Journal] Truncate torn record at segment {} offset {}", writeSegment, offset);
+            for (int i = offset; i < segmentSize; i++) {
+                segment.put(i, (byte) 0);
+            }
+            segment.force();
+        }
+        return offset;
+    }
+
+    private boolean isValidRecord(MappedByteBuffer segment, int offset, int length) {
+        byte[] record = new byte[length];
+        ByteBuffer reader = segment.duplicate();
+        reader.position(offset + HEADER_SIZE);
+        reader.get(record);
+
+        CRC32 crc32 = new CRC32();
+        crc32.update(record, 0, length);
+        return segment.getInt(offset + Integer.BYTES) == (int) crc32.getValue();
+    }
+
+    private JournalPosition readCheckpoint() throws IOException {
+        ByteBuffer checkpoint = ByteBuffer.allocate(Long.BYTES + Integer.BYTES);
+        if(checkpointChannel.read(checkpoint, 0) < checkpoint.capacity())
+            return new JournalPosition(segments.firstKey(), 0);
+
+        checkpoint.flip();
+        long segment = checkpoint.getLong();
+        int offset = checkpoint.getInt();
+        if(segment < segments.firstKey()) // 체크포인트 이후 세그먼트가 이미 지워진 경우
+            return new JournalPosition(segments.firstKey(), 0);
+        return new JournalPosition(segment, offset);
+    }
+
+    private MappedByteBuffer map(Path segmentFile) throws IOException {
+        try (RandomAccessFile file = new RandomAccessFile(segmentFile.toFile(), "rw")) {
+            if(file.length() < segmentSize)
+                file.setLength(segmentSize);
+            return file.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        }
+    }
+
+    private Path segmentPath(long segment) {
+        return directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, segment, SEGMENT_SUFFIX));
+    }
+
+    private static long parseSegmentNumber(Path segmentFile) {
+        String fileName = segmentFile.getFileName().toString();
+        return Long.parseLong(fileName.substring(SEGMENT_PREFIX.length(), fileName.length() - SEGMENT_SUFFIX.length()));
+    }
+}
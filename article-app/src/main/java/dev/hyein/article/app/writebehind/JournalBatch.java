@@ -0,0 +1,19 @@
+package dev.hyein.article.app.writebehind;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 저널에서 읽은 레코드 묶음
+ */
+@Getter @AllArgsConstructor
+public class JournalBatch {
+    private final List<byte[]> records;
+    private final JournalPosition end; // 마지막 레코드 다음 위치, 반영 후 커밋할 위치
+
+    public boolean isEmpty() {
+        return records.isEmpty();
+    }
+}
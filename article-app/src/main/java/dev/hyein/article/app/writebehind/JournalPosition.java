@@ -0,0 +1,15 @@
+package dev.hyein.article.app.writebehind;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 저널 내 위치 (세그먼트 번호, 세그먼트 내 오프셋)
+ */
+@Getter @AllArgsConstructor @EqualsAndHashCode @ToString
+public class JournalPosition {
+    private final long segment;
+    private final int offset;
+}
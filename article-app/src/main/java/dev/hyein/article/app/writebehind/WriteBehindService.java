@@ -0,0 +1,261 @@
+package dev.hyein.article.app.writebehind;
+
+import dev.hyein.article.app.properties.WriteBehindProperties;
+import dev.hyein.article.app.replica.ArticleReplica;
+import dev.hyein.article.app.savedsearch.SavedSearchMatcher;
+import dev.hyein.article.elasticsearch.codec.ArticleCodec;
+import dev.hyein.article.elasticsearch.dao.ArticleDao;
+import dev.hyein.article.elasticsearch.validator.ArticleValidator;
+import dev.hyein.article.elasticsearch.vo.ArticleMutation;
+import dev.hyein.article.elasticsearch.vo.ArticlePatchVo;
+import dev.hyein.article.elasticsearch.vo.ArticleVo;
+import lombok.extern.slf4j.Slf4j;
+import org.elasticsearch.action.bulk.BulkItemResponse;
+import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.rest.RestStatus;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 아티클 쓰기 지연 반영 (write-behind)
+ * 변경을 로컬 저널에 fsync 한 뒤 바로 응답하고, 백그라운드 스레드가 저널을 순서대로 읽어 벌크로 반영한다.
+ * 기동 시 반영되지 않은 저널이 남아 있으면 이어서 반영한다.
+ * 존재 여부 검증은 반영 시점에 엘라스틱서치가 하며, 다시 보내도 실패할 변경(404, 409, 400 등)은 저널 디렉터리의 dead-letter 파일에
+ * 한 줄씩 남기고 fsync 한 뒤 저널을 커밋한다.
+ */
+@Service
+@Lazy(false) // 지연 초기화 프로파일에서도 기동 시 남은 저널을 반영해야 한다.
+@ConditionalOnProperty(prefix = "article.write-behind", name = "enabled", havingValue = "true")
+@Slf4j
+public class WriteBehindService {
+    private static final String DEAD_LETTER_FILE = "dead-letter.log";
+
+    private final ArticleDao articleDao;
+    private final ArticleValidator articleValidator;
+    private final ArticleCodec articleCodec;
+    private final WriteBehindProperties writeBehindProperties;
+    private final Optional<SavedSearchMatcher> savedSearchMatcher;
+    private final Optional<ArticleReplica> articleReplica;
+    private final ArticleJournal articleJournal;
+    private final FileChannel deadLetterChannel;
+    private final LongAdder deadLetterCount = new LongAdder();
+    private final Thread drainer;
+    private volatile boolean running = true;
+
+    public WriteBehindService(ArticleDao articleDao, ArticleValidator articleValidator, ArticleCodec articleCodec, WriteBehindProperties writeBehindProperties,
+                              Optional<SavedSearchMatcher> savedSearchMatcher, Optional<ArticleReplica> articleReplica) throws IOException {
+        this.articleDao = articleDao;
+        this.articleValidator = articleValidator;
+        this.articleCodec = articleCodec;
+        this.writeBehindProperties = writeBehindProperties;
+        this.savedSearchMatcher = savedSearchMatcher;
+        this.articleReplica = articleReplica;
+        this.articleJournal = new ArticleJournal(Paths.get(writeBehindProperties.getDirectory()), writeBehindProperties.getSegmentSize());
+        this.deadLetterChannel = FileChannel.open(Paths.get(writeBehindProperties.getDirectory()).resolve(DEAD_LETTER_FILE),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        this.drainer = new Thread(this::drainLoop, "article-write-behind");
+        this.drainer.start();
+    }
+
+    public void writeArticle(ArticleVo articleVo) throws IOException {
+        articleValidator.validateArticleVo(articleVo);
+        append(Collections.singletonList(ArticleMutation.index(articleVo)));
+    }
+
+    public void updateArticle(Integer articleNumber, ArticleVo articleVo) throws IOException {
+        articleValidator.validateArticleVo(articleVo);
+        if(articleNumber.equals(articleVo.getArticleNumber())) {
+            append(Collections.singletonList(ArticleMutation.update(articleNumber, articleVo)));
+        } else { // _id는 수정이 안돼서 delete & index
+            append(Arrays.asList(ArticleMutation.delete(articleNumber), ArticleMutation.index(articleVo)));
+        }
+    }
+
+    public void patchArticle(Integer articleNumber, ArticlePatchVo articlePatchVo) throws IOException {
+        articleValidator.validateArticlePatchVo(articlePatchVo);
+        append(Collections.singletonList(ArticleMutation.patch(articleNumber, articlePatchVo)));
+    }
+
+    public void deleteArticle(Integer articleNumber) throws IOException {
+        append(Collections.singletonList(ArticleMutation.delete(articleNumber)));
+    }
+
+    /**
+     * 저널에 변경 추가, fsync 후 반환
+     * @param articleMutations 함께 기록할 변경
+     * @throws IOException
+     */
+    private void append(List<ArticleMutation> articleMutations) throws IOException {
+        List<byte[]> records = new ArrayList<>(articleMutations.size());
+        for (ArticleMutation articleMutation : articleMutations) {
+            records.add(articleCodec.writeValueAsBytes(articleMutation));
+        }
+        articleJournal.append(records);
+    }
+
+    /**
+     * 반영되지 않은 변경이 저널에 남아 있는지
+     * @return
+     */
+    public boolean hasPending() {
+        return articleJournal.hasPending();
+    }
+
+    /**
+     * 기동 후 dead-letter 파일에 남긴 변경 수
+     * @return
+     */
+    public long getDeadLetterCount() {
+        return deadLetterCount.sum();
+    }
+
+    /**
+     * 종료 시 남은 저널을 제한 시간 동안 반영, 남은 것은 다음 기동 때 반영
+     */
+    @PreDestroy
+    public void close() throws InterruptedException, IOException {
+        running = false;
+        drainer.join(writeBehindProperties.getShutdownTimeoutMs());
+        if(drainer.isAlive()) {
+            drainer.interrupt();
+            drainer.join();
+        }
+        if(articleJournal.hasPending())
+            log.warn("[WriteBehind] Journal has pending mutations, replay on next startup");
+        articleJournal.close();
+        deadLetterChannel.close();
+    }
+
+    private void drainLoop() {
+        long backoffMs = writeBehindProperties.getDrainIntervalMs();
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                if(drainOnce()) {
+                    backoffMs = writeBehindProperties.getDrainIntervalMs();
+                    continue;
+                }
+                if(!running) // 종료 중이면 다 반영한 뒤 끝냄
+                    return;
+                Thread.sleep(writeBehindProperties.getDrainIntervalMs());
+            } catch (InterruptedException e) {
+                return;
+            } catch (IOException | RuntimeException e) {
+                log.warn("[WriteBehind] Drain failed, retry after {} ms: {}", backoffMs, e.toString());
+                if(!running)
+                    return;
+                try {
+                    Thread.sleep(backoffMs);
+                } catch (InterruptedException interruptedException) {
+                    return;
+                }
+                backoffMs = Math.min(backoffMs * 2, writeBehindProperties.getMaxBackoffMs());
+            }
+        }
+    }
+
+    /**
+     * 저널에서 한 묶음 읽어 벌크 반영 후 커밋
+     * 429, 503 으로 거절된 변경은 백오프 후 그 변경만 다시 보낸다. 거절은 샤드 단위로 일어나므로 같은 아티클의 변경 순서는 유지된다.
+     * @return 반영한 변경이 있으면 true
+     * @throws IOException 반영 실패, 커밋하지 않으므로 다음에 같은 묶음을 다시 반영한다.
+     * @throws InterruptedException
+     */
+    private boolean drainOnce() throws IOException, InterruptedException {
+        JournalBatch journalBatch = articleJournal.read(writeBehindProperties.getBatchSize());
+        if(journalBatch.isEmpty())
+            return false;
+
+        List<ArticleMutation> pendingMutations = new ArrayList<>(journalBatch.getRecords().size());
+        for (byte[] record : journalBatch.getRecords()) {
+            pendingMutations.add(articleCodec.readValue(record, ArticleMutation.class));
+        }
+
+        long backoffMs = writeBehindProperties.getDrainIntervalMs();
+        List<byte[]> deadLetters = new ArrayList<>();
+        while (!pendingMutations.isEmpty()) {
+            BulkResponse bulkResponse = articleDao.bulkMutate(pendingMutations);
+            List<ArticleMutation> rejectedMutations = new ArrayList<>();
+            for (BulkItemResponse item : bulkResponse.getItems()) {
+                ArticleMutation articleMutation = pendingMutations.get(item.getItemId());
+                if(!item.isFailed()) {
+                    ArticleMutation appliedMutation = articleMutation.getType() == ArticleMutation.Type.PATCH
+                            ? ArticleMutation.update(articleMutation.getArticleNumber(), articleDao.readPatchedArticle(item)) // 수정 후 전체 값
+                            : articleMutation;
+                    if(appliedMutation.getType() != ArticleMutation.Type.DELETE && appliedMutation.getArticle() == null) // 수정 직후 삭제됨
+                        continue;
+                    articleReplica.ifPresent(replica -> replica.apply(appliedMutation));
+                    if(appliedMutation.getType() != ArticleMutation.Type.DELETE)
+                        savedSearchMatcher.ifPresent(matcher -> matcher.enqueue(appliedMutation.getArticle()));
+                    continue;
+                }
+                if(item.status() == RestStatus.TOO_MANY_REQUESTS || item.status() == RestStatus.SERVICE_UNAVAILABLE) {
+                    rejectedMutations.add(articleMutation);
+                } else {
+                    log.error("[WriteBehind] Mutation failed, write to dead letter: {}, {}", articleMutation, item.getFailureMessage());
+                    deadLetters.add(toDeadLetter(articleMutation, item));
+                }
+            }
+
+            if(!rejectedMutations.isEmpty()) {
+                log.warn("[WriteBehind] {} mutations rejected, retry after {} ms", rejectedMutations.size(), backoffMs);
+                Thread.sleep(backoffMs);
+                backoffMs = Math.min(backoffMs * 2, writeBehindProperties.getMaxBackoffMs());
+            }
+            pendingMutations = rejectedMutations;
+        }
+        writeDeadLetters(deadLetters);
+        articleJournal.commit(journalBatch.getEnd());
+        return true;
+    }
+
+    /**
+     * dead-letter 한 줄 생성, {"status":404,"failure":"...","mutation":{...}}
+     * @param articleMutation
+     * @param item
+     * @return
+     * @throws IOException
+     */
+    private byte[] toDeadLetter(ArticleMutation articleMutation, BulkItemResponse item) throws IOException {
+        Map<String, Object> deadLetter = new LinkedHashMap<>();
+        deadLetter.put("status", item.status().getStatus());
+        deadLetter.put("failure", item.getFailureMessage());
+        deadLetter.put("mutation", articleMutation);
+        return articleCodec.writeValueAsBytes(deadLetter);
+    }
+
+    /**
+     * dead-letter 파일에 추가 후 디스크 반영, 저널 커밋 전에 호출해 커밋된 변경이 사라지지 않게 한다.
+     * @param deadLetters
+     * @throws IOException 실패하면 커밋하지 않으므로 다음에 같은 묶음을 다시 반영한다.
+     */
+    private void writeDeadLetters(List<byte[]> deadLetters) throws IOException {
+        if(deadLetters.isEmpty())
+            return;
+
+        for (byte[] deadLetter : deadLetters) {
+            ByteBuffer line = ByteBuffer.allocate(deadLetter.length + 1).put(deadLetter).put((byte) '\n');
+            line.flip();
+            while (line.hasRemaining()) {
+                deadLetterChannel.write(line);
+            }
+        }
+        deadLetterChannel.force(false);
+        deadLetterCount.add(deadLetters.size());
+    }
+}
@@ -4,6 +4,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import dev.hyein.article.elasticsearch.dao.ArticleDao;
 import dev.hyein.article.elasticsearch.exception.DocumentAlreadyExistException;
 import dev.hyein.article.elasticsearch.exception.DocumentNotFoundException;
+import dev.hyein.article.elasticsearch.exception.VersionConflictException;
 import dev.hyein.article.elasticsearch.vo.ArticleVo;
 import org.elasticsearch.search.builder.SearchSourceBuilder;
 import org.junit.jupiter.api.*;
@@ -14,6 +15,7 @@ import org.junit.jupiter.params.provider.MethodSource;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
@@ -93,7 +95,7 @@ class ArticleControllerTest {
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(articleVo))
         )
-                .andExpect(status().isInternalServerError())
+                .andExpect(status().isConflict())
                 .andExpect(result -> assertTrue(result.getResolvedException() instanceof DocumentAlreadyExistException))
         ;
     }
@@ -114,7 +116,7 @@ class ArticleControllerTest {
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(articleVo))
         )
-                .andExpect(status().isInternalServerError())
+                .andExpect(status().isBadRequest())
                 .andExpect(result -> assertTrue(result.getResolvedException() instanceof MethodArgumentNotValidException))
         ;
     }
@@ -348,7 +350,7 @@ class ArticleControllerTest {
 
         // when & then
         mockMvc.perform(get("/articles/{articleNumber}", articleId))
-                .andExpect(status().isInternalServerError())
+                .andExpect(status().isNotFound())
                 .andExpect(result -> assertTrue(result.getResolvedException() instanceof DocumentNotFoundException))
         ;
 
@@ -426,7 +428,7 @@ class ArticleControllerTest {
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(newArticleVo))
         )
-                .andExpect(status().isInternalServerError())
+                .andExpect(status().isNotFound())
                 .andExpect(result -> assertTrue(result.getResolvedException() instanceof DocumentNotFoundException))
         ;
     }
@@ -453,7 +455,7 @@ class ArticleControllerTest {
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(newArticleVo))
         )
-                .andExpect(status().isInternalServerError())
+                .andExpect(status().isConflict())
                 .andExpect(result -> assertTrue(result.getResolvedException() instanceof DocumentAlreadyExistException))
         ;
     }
@@ -497,7 +499,7 @@ class ArticleControllerTest {
     public void deleteArticleThatNotExist(Integer articleId) throws Exception {
         // when & then
         mockMvc.perform(delete("/articles/{articleNumber}", articleId))
-                .andExpect(status().isInternalServerError())
+                .andExpect(status().isNotFound())
                 .andExpect(result -> assertTrue(result.getResolvedException() instanceof DocumentNotFoundException))
         ;
     }
@@ -509,7 +511,118 @@ class ArticleControllerTest {
         );
     }
 
+    @DisplayName("아티클 부분 수정_성공")
+    @Order(18)
+    @ParameterizedTest
+    @MethodSource
+    public void patchArticle(ArticleVo oldArticleVo, String changes, ArticleVo newArticleVo) throws Exception {
+        // given
+        writeArticle(oldArticleVo);
+        String eTag = mockMvc.perform(get("/articles/{articleNumber}", oldArticleVo.getArticleNumber()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // when & then
+        String newETag = mockMvc.perform(patch("/articles/{articleNumber}", oldArticleVo.getArticleNumber())
+                .header(HttpHeaders.IF_MATCH, eTag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(changes)
+        )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.articleTitle").value(newArticleVo.getArticleTitle()))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        assertThat(newETag).isNotEqualTo(eTag);
+        assertThat(articleDao.findArticleById(newArticleVo.getArticleNumber())).isEqualToComparingFieldByField(newArticleVo);
+    }
+
+    public static Stream<Arguments> patchArticle() {
+        return Stream.of(
+                Arguments.of(new ArticleVo(1232, "초콜릿이란", 9999, true), "{\"articleTitle\":\"사탕이란\"}",
+                        new ArticleVo(1232, "사탕이란", 9999, true))
+        );
+    }
 
+    @DisplayName("다른 수정 이후의 ETag 로 부분 수정_실패")
+    @Order(19)
+    @ParameterizedTest
+    @MethodSource
+    public void patchArticleWithStaleETag(ArticleVo articleVo) throws Exception {
+        // given
+        writeArticle(articleVo);
+        String eTag = mockMvc.perform(get("/articles/{articleNumber}", articleVo.getArticleNumber()))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(patch("/articles/{articleNumber}", articleVo.getArticleNumber())
+                .header(HttpHeaders.IF_MATCH, eTag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"isOpen\":false}")
+        )
+                .andExpect(status().isOk());
 
+        // when & then
+        mockMvc.perform(patch("/articles/{articleNumber}", articleVo.getArticleNumber())
+                .header(HttpHeaders.IF_MATCH, eTag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"read\":1}")
+        )
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(result -> assertTrue(result.getResolvedException() instanceof VersionConflictException))
+        ;
+    }
 
+    public static Stream<Arguments> patchArticleWithStaleETag() {
+        return Stream.of(
+                Arguments.of(new ArticleVo(1232, "초콜릿이란", 9999, true))
+        );
+    }
+
+    @DisplayName("검색 프로파일_샤드별 요약과 DSL")
+    @Order(20)
+    @ParameterizedTest
+    @MethodSource
+    public void profileArticles(ArticleVo articleVo) throws Exception {
+        // given
+        mockMvc.perform(post("/articles")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(articleVo))
+        )
+                .andExpect(status().isOk());
+        Thread.sleep(WAIT_EVENT_MS); // wait until indexing
+
+        // when & then
+        mockMvc.perform(get("/admin/profile")
+                .param("articleTitle", "초콜릿")
+                .param("sort", "READ")
+        )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.dsl.sort").exists())
+                .andExpect(jsonPath("$.shards[0].queries").isNotEmpty())
+                .andExpect(jsonPath("$.shards[0].collector.type").exists())
+                .andDo(print());
+    }
+
+    public static Stream<Arguments> profileArticles() {
+        return Stream.of(
+                Arguments.of(new ArticleVo(1232, "초콜릿이란", 9999, true))
+        );
+    }
+
+    @DisplayName("지원하지 않는 메서드, 미디어 타입 요청_실패")
+    @Order(21)
+    @Test
+    public void unsupportedMethodAndMediaType() throws Exception {
+        // when & then
+        mockMvc.perform(put("/articles"))
+                .andExpect(status().isMethodNotAllowed())
+                .andExpect(result -> assertTrue(result.getResponse().getHeader(HttpHeaders.ALLOW).contains("GET")))
+                .andExpect(jsonPath("$.error.code").value("METHOD_NOT_ALLOWED"));
+        mockMvc.perform(post("/articles")
+                .contentType(MediaType.TEXT_PLAIN)
+                .content("초콜릿이란")
+        )
+                .andExpect(status().isUnsupportedMediaType())
+                .andExpect(jsonPath("$.error.code").value("UNSUPPORTED_MEDIA_TYPE"));
+        mockMvc.perform(get("/articles/abc"))
+                .andExpect(status().isBadRequest());
+    }
 }
@@ -0,0 +1,54 @@
+package dev.hyein.article.app.accesslog;
+
+import dev.hyein.article.app.properties.AccessLogProperties;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AccessLoggerTest {
+
+    @DisplayName("샘플링 안 된 정상 요청 기록 안 함_성공")
+    @Test
+    public void notSampled() {
+        // given
+        AccessLogger accessLogger = new AccessLogger(properties(0));
+
+        // when & then
+        assertFalse(accessLogger.shouldLog(200, 10, null));
+    }
+
+    @DisplayName("느리거나 실패한 요청 항상 기록_성공")
+    @Test
+    public void slowOrFailed() {
+        // given
+        AccessLogger accessLogger = new AccessLogger(properties(0));
+
+        // when & then
+        assertTrue(accessLogger.shouldLog(200, 500, null));
+        assertTrue(accessLogger.shouldLog(404, 10, null));
+        assertTrue(accessLogger.shouldLog(200, 10, new IOException()));
+    }
+
+    @DisplayName("key=value 한 줄로 기록_성공")
+    @Test
+    public void format() {
+        // given
+        AccessLogger accessLogger = new AccessLogger(properties(1));
+
+        // when
+        String line = accessLogger.format("GET", "/articles", "articleTitle=\"초콜릿\"", 200, 12, 3, null);
+
+        // then
+        assertEquals("method=GET path=/articles status=200 durationMs=12 results=3 query=\"articleTitle='초콜릿'\"", line);
+    }
+
+    private static AccessLogProperties properties(double sampleRate) {
+        AccessLogProperties accessLogProperties = new AccessLogProperties();
+        accessLogProperties.setSampleRate(sampleRate);
+        accessLogProperties.setSlowThresholdMs(500);
+        return accessLogProperties;
+    }
+}
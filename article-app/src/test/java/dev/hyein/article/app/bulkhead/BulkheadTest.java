@@ -0,0 +1,118 @@
+package dev.hyein.article.app.bulkhead;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BulkheadTest {
+    private final ExecutorService callers = Executors.newCachedThreadPool();
+
+    @AfterEach
+    public void tearDown() {
+        callers.shutdownNow();
+    }
+
+    @DisplayName("격벽 실행_요청 스레드에서 결과와 예외를 그대로 전달")
+    @Test
+    public void call() throws IOException {
+        // given
+        Bulkhead bulkhead = new Bulkhead("get", 1, 0);
+        Thread caller = Thread.currentThread();
+
+        // when & then
+        assertEquals("article", bulkhead.call(() -> "article"));
+        assertSame(caller, bulkhead.call(Thread::currentThread));
+        IOException ioException = new IOException("es down");
+        assertSame(ioException, assertThrows(IOException.class, () -> bulkhead.call(() -> { throw ioException; })));
+        assertThrows(IllegalStateException.class, () -> bulkhead.call(() -> { throw new IllegalStateException(); }));
+        assertEquals(0, bulkhead.getActiveCount()); // 예외가 나도 자리를 돌려준다.
+        assertEquals(4, bulkhead.getCompletedCount());
+    }
+
+    @DisplayName("격벽 실행_동시 실행 수가 차면 거절")
+    @Test
+    public void callWhenFull() throws Exception {
+        // given
+        Bulkhead bulkhead = new Bulkhead("search", 1, 0);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<?> running = callers.submit(() -> bulkhead.call(() -> {
+            started.countDown();
+            await(release);
+            return null;
+        }));
+        assertTrue(started.await(1, TimeUnit.SECONDS));
+
+        // when & then
+        assertThrows(BulkheadFullException.class, () -> bulkhead.call(() -> null));
+        assertEquals(1, bulkhead.getRejectedCount());
+        assertEquals(1, bulkhead.getActiveCount());
+        release.countDown();
+        running.get(1, TimeUnit.SECONDS);
+        assertEquals(0, bulkhead.getActiveCount());
+    }
+
+    @DisplayName("격벽 실행_최대 대기 시간 안에 자리가 나면 실행")
+    @Test
+    public void callAfterWaiting() throws Exception {
+        // given
+        Bulkhead bulkhead = new Bulkhead("write", 1, 5000);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        callers.submit(() -> bulkhead.call(() -> {
+            started.countDown();
+            await(release);
+            return null;
+        }));
+        assertTrue(started.await(1, TimeUnit.SECONDS));
+
+        // when
+        Future<String> waiting = callers.submit(() -> bulkhead.call(() -> "article"));
+        waitUntilWaiting(bulkhead, 1);
+        release.countDown();
+
+        // then
+        assertEquals("article", waiting.get(1, TimeUnit.SECONDS));
+        assertEquals(0, bulkhead.getRejectedCount());
+    }
+
+    @DisplayName("격벽 즉시 확보_자리가 없으면 기다리지 않고 거절")
+    @Test
+    public void acquireNow() {
+        // given
+        Bulkhead bulkhead = new Bulkhead("search", 1, 5000);
+
+        // when
+        bulkhead.acquireNow();
+
+        // then
+        assertThrows(BulkheadFullException.class, bulkhead::acquireNow);
+        assertEquals(1, bulkhead.getRejectedCount());
+        bulkhead.release();
+        assertEquals(0, bulkhead.getActiveCount());
+        assertEquals(1, bulkhead.getCompletedCount());
+    }
+
+    private static void waitUntilWaiting(Bulkhead bulkhead, int waiting) throws InterruptedException {
+        for (int i = 0; i < 100 && bulkhead.getWaitingCount() < waiting; i++) {
+            Thread.sleep(10);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
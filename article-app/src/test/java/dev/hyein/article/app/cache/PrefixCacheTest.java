@@ -0,0 +1,66 @@
+package dev.hyein.article.app.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrefixCacheTest {
+
+    @DisplayName("짧은 접두어 캐시_성공")
+    @Test
+    public void putAndGet() {
+        // given
+        PrefixCache<String> prefixCache = new PrefixCache<>(3, 10, 60000);
+
+        // when
+        prefixCache.put("초콜", "result");
+
+        // then
+        assertEquals("result", prefixCache.get("초콜"));
+    }
+
+    @DisplayName("긴 접두어 캐시 안 함_성공")
+    @Test
+    public void notCacheLongPrefix() {
+        // given
+        PrefixCache<String> prefixCache = new PrefixCache<>(3, 10, 60000);
+
+        // when
+        prefixCache.put("초콜릿이란", "result");
+
+        // then
+        assertFalse(prefixCache.isCacheable("초콜릿이란"));
+        assertNull(prefixCache.get("초콜릿이란"));
+    }
+
+    @DisplayName("만료된 캐시 조회 안 됨_성공")
+    @Test
+    public void expire() throws InterruptedException {
+        // given
+        PrefixCache<String> prefixCache = new PrefixCache<>(3, 10, 1);
+        prefixCache.put("초", "result");
+
+        // when
+        Thread.sleep(10);
+
+        // then
+        assertNull(prefixCache.get("초"));
+    }
+
+    @DisplayName("가득 찬 캐시에 저장 안 함_성공")
+    @Test
+    public void full() {
+        // given
+        PrefixCache<String> prefixCache = new PrefixCache<>(3, 2, 60000);
+        prefixCache.put("a", "1");
+        prefixCache.put("b", "2");
+
+        // when
+        prefixCache.put("c", "3");
+
+        // then
+        assertEquals(2, prefixCache.size());
+        assertNull(prefixCache.get("c"));
+    }
+}
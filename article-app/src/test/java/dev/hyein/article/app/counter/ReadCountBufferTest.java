@@ -0,0 +1,91 @@
+package dev.hyein.article.app.counter;
+
+import dev.hyein.article.app.bootstrap.IndexBootstrap;
+import dev.hyein.article.elasticsearch.dao.ArticleDao;
+import org.elasticsearch.action.bulk.BulkItemResponse;
+import org.elasticsearch.action.bulk.BulkResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.*;
+
+class ReadCountBufferTest {
+    private ArticleDao articleDao;
+    private ReadCountBuffer readCountBuffer;
+
+    @BeforeEach
+    public void setUp() {
+        articleDao = mock(ArticleDao.class);
+        readCountBuffer = new ReadCountBuffer(articleDao, mock(IndexBootstrap.class));
+    }
+
+    @DisplayName("누적된 조회수 벌크 반영_성공")
+    @Test
+    public void flush() throws IOException {
+        // given
+        when(articleDao.increaseReads(anyMap())).thenReturn(new BulkResponse(new BulkItemResponse[0], 1));
+        readCountBuffer.increase(1);
+        readCountBuffer.increase(1);
+        readCountBuffer.increase(1);
+        readCountBuffer.increase(2);
+
+        // when
+        readCountBuffer.flush();
+
+        // then
+        Map<Integer, Long> expected = new HashMap<>();
+        expected.put(1, 3L);
+        expected.put(2, 1L);
+        verify(articleDao).increaseReads(expected);
+        assertEquals(0, readCountBuffer.getPendingCount());
+        assertEquals(0, readCountBuffer.getPendingArticleCount());
+    }
+
+    @DisplayName("누적된 조회수 없으면 요청 안 함_성공")
+    @Test
+    public void flushNothing() throws IOException {
+        // when
+        readCountBuffer.flush();
+
+        // then
+        verify(articleDao, never()).increaseReads(anyMap());
+    }
+
+    @DisplayName("벌크 반영 실패 시 조회수 유지_성공")
+    @Test
+    public void restoreWhenFlushFailed() throws IOException {
+        // given
+        when(articleDao.increaseReads(anyMap())).thenThrow(new IOException("connection refused"));
+        readCountBuffer.increase(1);
+        readCountBuffer.increase(2);
+
+        // when & then
+        assertThrows(IOException.class, () -> readCountBuffer.flush());
+        assertEquals(2, readCountBuffer.getPendingCount());
+    }
+
+    @DisplayName("종료 시 반영 실패하면 다시 시도_성공")
+    @Test
+    public void retryFlushOnClose() throws IOException {
+        // given
+        when(articleDao.increaseReads(anyMap()))
+                .thenThrow(new IOException("connection refused"))
+                .thenReturn(new BulkResponse(new BulkItemResponse[0], 1));
+        readCountBuffer.increase(1);
+
+        // when
+        readCountBuffer.close();
+
+        // then
+        verify(articleDao, times(2)).increaseReads(anyMap());
+        assertEquals(0, readCountBuffer.getPendingCount());
+    }
+}
@@ -0,0 +1,74 @@
+package dev.hyein.article.app.error;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.hyein.article.elasticsearch.exception.DocumentAlreadyExistException;
+import dev.hyein.article.elasticsearch.exception.DocumentNotFoundException;
+import dev.hyein.article.elasticsearch.exception.InvalidArticleException;
+import dev.hyein.article.elasticsearch.resilience.CircuitOpenException;
+import org.elasticsearch.ElasticsearchStatusException;
+import org.elasticsearch.rest.RestStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+import org.springframework.web.HttpMediaTypeNotSupportedException;
+import org.springframework.web.HttpRequestMethodNotSupportedException;
+
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ErrorBodyTest {
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @DisplayName("오류 응답 본문 JSON 생성_성공")
+    @Test
+    public void errorBody() throws IOException {
+        // given
+        String message = "Doc id [\"1\"] is not exist\n in [아티클] index.";
+
+        // when
+        JsonNode body = objectMapper.readTree(ErrorBody.of(ErrorCode.NOT_FOUND, message));
+
+        // then
+        assertEquals("NOT_FOUND", body.path("error").path("code").asText());
+        assertEquals(message, body.path("error").path("message").asText());
+    }
+
+    @DisplayName("도메인 Exception 스택 트레이스 없음_성공")
+    @Test
+    public void stacklessException() {
+        assertEquals(0, new DocumentNotFoundException("1", "article").getStackTrace().length);
+        assertEquals(0, new DocumentAlreadyExistException("1", "article").getStackTrace().length);
+    }
+
+    @DisplayName("Exception 별 오류 코드_성공")
+    @ParameterizedTest
+    @MethodSource
+    public void resolve(Exception e, ErrorCode errorCode) {
+        assertEquals(errorCode, ErrorResolver.resolve(e));
+    }
+
+    public static Stream<Arguments> resolve() {
+        return Stream.of(
+                Arguments.of(new DocumentNotFoundException("1", "article"), ErrorCode.NOT_FOUND),
+                Arguments.of(new DocumentAlreadyExistException("1", "article"), ErrorCode.ALREADY_EXISTS),
+                Arguments.of(new ElasticsearchStatusException("conflict", RestStatus.CONFLICT), ErrorCode.ALREADY_EXISTS),
+                Arguments.of(new InvalidRequestException("timeoutMs must be positive: 0"), ErrorCode.INVALID_REQUEST),
+                Arguments.of(new InvalidArticleException("articleTitle must be not empty."), ErrorCode.INVALID_REQUEST),
+                Arguments.of(new NumberFormatException("For input string: \"a\""), ErrorCode.INTERNAL_ERROR),
+                Arguments.of(new IllegalArgumentException("bug"), ErrorCode.INTERNAL_ERROR),
+                Arguments.of(new HttpRequestMethodNotSupportedException("PUT"), ErrorCode.METHOD_NOT_ALLOWED),
+                Arguments.of(new HttpMediaTypeNotSupportedException("text/plain"), ErrorCode.UNSUPPORTED_MEDIA_TYPE),
+                Arguments.of(new HttpMediaTypeNotAcceptableException("text/csv"), ErrorCode.NOT_ACCEPTABLE),
+                Arguments.of(new CircuitOpenException("search", 1000), ErrorCode.UNAVAILABLE),
+                Arguments.of(new SocketTimeoutException("Search on [article] exceeded 1200 ms"), ErrorCode.TIMEOUT),
+                Arguments.of(new IllegalStateException("unknown"), ErrorCode.INTERNAL_ERROR)
+        );
+    }
+}
@@ -0,0 +1,205 @@
+package dev.hyein.article.app.query;
+
+import dev.hyein.article.app.properties.SearchBudgetProperties;
+import dev.hyein.article.app.request.SearchRequest;
+import dev.hyein.article.elasticsearch.script.ArticleScript;
+import dev.hyein.article.elasticsearch.vo.SearchBudget;
+import org.elasticsearch.index.query.BoolQueryBuilder;
+import org.elasticsearch.index.query.QueryBuilder;
+import org.elasticsearch.index.query.TermQueryBuilder;
+import org.elasticsearch.script.Script;
+import org.elasticsearch.script.ScriptType;
+import org.elasticsearch.search.builder.SearchSourceBuilder;
+import org.elasticsearch.search.internal.SearchContext;
+import org.elasticsearch.search.sort.ScriptSortBuilder;
+import org.elasticsearch.search.sort.SortOrder;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ArticleQueryTest {
+    private static final String[] ARTICLE_TITLES = {"", "노랑"};
+    private static final String[] SORTS = {"", "READ", "read", "INVALID"};
+    private static final String[] FILTERS = {"", "OPEN", "open", "INVALID"};
+
+    @DisplayName("아티클 검색 계획_검색어&정렬&필터 조합")
+    @ParameterizedTest(name = "articleTitle=[{0}], sort=[{1}], filter=[{2}]")
+    @MethodSource
+    public void planSearchArticles(String articleTitle, String sort, String filter) {
+        // given
+        boolean hasTitle = !articleTitle.isEmpty();
+        boolean sorted = sort.equalsIgnoreCase("READ");
+        boolean openOnly = filter.equalsIgnoreCase("OPEN");
+
+        // when
+        ArticleSearchPlan articleSearchPlan = ArticleQuery.planSearchArticles(new SearchRequest(articleTitle, sort, filter));
+        SearchSourceBuilder searchSourceBuilder = articleSearchPlan.getSearchSourceBuilder();
+        BoolQueryBuilder query = (BoolQueryBuilder) searchSourceBuilder.query();
+
+        // then
+        // 검색어: 정렬이 있으면 filter, 없으면 점수 계산을 위해 must
+        assertEquals(hasTitle && !sorted ? 1 : 0, query.must().size());
+        assertEquals((hasTitle && sorted ? 1 : 0) + (openOnly ? 1 : 0), query.filter().size());
+        if(hasTitle)
+            assertArticleTitleQuery(sorted ? query.filter().get(0) : query.must().get(0), articleTitle);
+
+        // 필터: 항상 filter context
+        assertEquals(openOnly, query.filter().stream().anyMatch(ArticleQueryTest::isOpenFilter));
+        assertTrue(query.should().isEmpty());
+        assertTrue(query.mustNot().isEmpty());
+
+        // 정렬
+        if(sorted) {
+            assertEquals(1, searchSourceBuilder.sorts().size());
+            assertTrue(searchSourceBuilder.sorts().get(0) instanceof ScriptSortBuilder);
+            assertEquals(SortOrder.DESC, searchSourceBuilder.sorts().get(0).order());
+        } else {
+            assertTrue(searchSourceBuilder.sorts() == null || searchSourceBuilder.sorts().isEmpty());
+        }
+
+        // 목록 조회 옵션
+        assertEquals(Integer.valueOf(SearchContext.TRACK_TOTAL_HITS_DISABLED), searchSourceBuilder.trackTotalHitsUpTo());
+        assertFalse(searchSourceBuilder.trackScores());
+        assertEquals(!hasTitle, articleSearchPlan.isRequestCache());
+    }
+
+    private static Stream<Arguments> planSearchArticles() {
+        List<Arguments> arguments = new ArrayList<>();
+        for (String articleTitle : ARTICLE_TITLES) {
+            for (String sort : SORTS) {
+                for (String filter : FILTERS) {
+                    arguments.add(Arguments.of(articleTitle, sort, filter));
+                }
+            }
+        }
+        return arguments.stream();
+    }
+
+    @DisplayName("아티클 검색 계획_stored script 등록 전에는 조회순 정렬 스크립트를 인라인으로 보냄")
+    @ParameterizedTest(name = "storedScripts=[{0}]")
+    @ValueSource(booleans = {true, false})
+    public void planSearchArticlesReadSort(boolean storedScripts) {
+        // when
+        SearchSourceBuilder searchSourceBuilder = ArticleQuery.planSearchArticles(new SearchRequest("", "READ", ""), storedScripts).getSearchSourceBuilder();
+
+        // then
+        Script script = ((ScriptSortBuilder) searchSourceBuilder.sorts().get(0)).script();
+        if(storedScripts) {
+            assertEquals(ScriptType.STORED, script.getType());
+            assertEquals(ArticleScript.READ_SORT.getId(), script.getIdOrCode());
+        } else {
+            assertEquals(ScriptType.INLINE, script.getType());
+            assertEquals(ArticleScript.READ_SORT.getSource(), script.getIdOrCode());
+        }
+    }
+
+    @DisplayName("아티클 건수, 패싯 조회 계획_검색 조건 모두 filter context")
+    @ParameterizedTest(name = "articleTitle=[{0}], sort=[{1}], filter=[{2}]")
+    @MethodSource("planSearchArticles")
+    public void planCountAndFacetArticles(String articleTitle, String sort, String filter) {
+        // given
+        SearchRequest searchRequest = new SearchRequest(articleTitle, sort, filter);
+        int expectedFilterCount = (articleTitle.isEmpty() ? 0 : 1) + (filter.equalsIgnoreCase("OPEN") ? 1 : 0);
+
+        // when
+        ArticleSearchPlan countPlan = ArticleQuery.planCountArticles(searchRequest);
+        ArticleSearchPlan facetPlan = ArticleQuery.planFacetArticles(searchRequest, 100);
+
+        // then
+        for (ArticleSearchPlan articleSearchPlan : new ArticleSearchPlan[]{countPlan, facetPlan}) {
+            SearchSourceBuilder searchSourceBuilder = articleSearchPlan.getSearchSourceBuilder();
+            BoolQueryBuilder query = (BoolQueryBuilder) searchSourceBuilder.query();
+            assertTrue(query.must().isEmpty());
+            assertEquals(expectedFilterCount, query.filter().size());
+            assertEquals(0, searchSourceBuilder.size());
+            assertTrue(searchSourceBuilder.sorts() == null || searchSourceBuilder.sorts().isEmpty());
+            assertEquals(Integer.valueOf(SearchContext.TRACK_TOTAL_HITS_ACCURATE), searchSourceBuilder.trackTotalHitsUpTo());
+            assertTrue(articleSearchPlan.isRequestCache());
+        }
+        assertEquals(2, facetPlan.getSearchSourceBuilder().aggregations().getAggregatorFactories().size());
+    }
+
+    @DisplayName("저장된 검색 조건 쿼리_모두 filter context")
+    @ParameterizedTest(name = "articleTitle=[{0}], sort=[{1}], filter=[{2}]")
+    @MethodSource("planSearchArticles")
+    public void getSavedSearchQuery(String articleTitle, String sort, String filter) {
+        // given
+        SearchRequest searchRequest = new SearchRequest(articleTitle, sort, filter);
+        int expectedFilterCount = (articleTitle.isEmpty() ? 0 : 1) + (filter.equalsIgnoreCase("OPEN") ? 1 : 0);
+
+        // when
+        BoolQueryBuilder query = (BoolQueryBuilder) ArticleQuery.getSavedSearchQuery(searchRequest);
+
+        // then
+        assertTrue(query.must().isEmpty());
+        assertEquals(expectedFilterCount, query.filter().size());
+    }
+
+    @DisplayName("검색 시간 예산_기본값, 상한 적용")
+    @ParameterizedTest(name = "timeoutMs=[{0}], terminateAfter=[{1}]")
+    @MethodSource("planSearchBudget")
+    public void planSearchBudget(Long timeoutMs, Integer terminateAfter, long expectedTimeoutMs, Integer expectedTerminateAfter) {
+        // given
+        SearchBudgetProperties searchBudgetProperties = new SearchBudgetProperties(1000, 2500, 100000, 200);
+        SearchRequest searchRequest = new SearchRequest("", "", "", timeoutMs, terminateAfter);
+
+        // when
+        SearchBudget searchBudget = ArticleQuery.planSearchBudget(searchRequest, searchBudgetProperties);
+
+        // then
+        assertEquals(expectedTimeoutMs, searchBudget.getTimeoutMs());
+        assertEquals(expectedTerminateAfter, searchBudget.getTerminateAfter());
+        assertEquals(expectedTimeoutMs + 200, searchBudget.getClientTimeoutMs());
+    }
+
+    private static Stream<Arguments> planSearchBudget() {
+        return Stream.of(
+                Arguments.of(null, null, 1000L, null),
+                Arguments.of(300L, 50, 300L, 50),
+                Arguments.of(10000L, 1000000, 2500L, 100000)
+        );
+    }
+
+    @DisplayName("검색 시간 예산_0 이하면 예외")
+    @ParameterizedTest(name = "timeoutMs=[{0}], terminateAfter=[{1}]")
+    @MethodSource("invalidSearchBudget")
+    public void planSearchBudgetInvalid(Long timeoutMs, Integer terminateAfter) {
+        // given
+        SearchRequest searchRequest = new SearchRequest("", "", "", timeoutMs, terminateAfter);
+
+        // when, then
+        assertThrows(IllegalArgumentException.class, () -> ArticleQuery.planSearchBudget(searchRequest, new SearchBudgetProperties()));
+    }
+
+    private static Stream<Arguments> invalidSearchBudget() {
+        return Stream.of(
+                Arguments.of(0L, null),
+                Arguments.of(-1L, null),
+                Arguments.of(null, 0)
+        );
+    }
+
+    private static void assertArticleTitleQuery(QueryBuilder queryBuilder, String articleTitle) {
+        BoolQueryBuilder articleTitleQuery = (BoolQueryBuilder) queryBuilder;
+        assertEquals(2, articleTitleQuery.should().size());
+        for (QueryBuilder should : articleTitleQuery.should()) {
+            TermQueryBuilder termQuery = (TermQueryBuilder) should;
+            assertTrue(termQuery.fieldName().startsWith("articleTitle."));
+            assertEquals(articleTitle, termQuery.value());
+        }
+    }
+
+    private static boolean isOpenFilter(QueryBuilder queryBuilder) {
+        return queryBuilder instanceof TermQueryBuilder
+                && ((TermQueryBuilder) queryBuilder).fieldName().equals("isOpen")
+                && Boolean.TRUE.equals(((TermQueryBuilder) queryBuilder).value());
+    }
+}
@@ -0,0 +1,63 @@
+package dev.hyein.article.app.querystats;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyHistogramTest {
+    private static final long MAX_TRACKABLE_MICROS = TimeUnit.SECONDS.toMicros(60);
+
+    @DisplayName("버킷 상한_값 이상이고 상대 오차 1/32 이내")
+    @ParameterizedTest(name = "micros=[{0}]")
+    @ValueSource(longs = {0, 1, 63, 64, 65, 127, 128, 1000, 123456, 59999999})
+    public void highestEquivalentValue(long micros) {
+        // when
+        long highest = LatencyHistogram.highestEquivalentValue(LatencyHistogram.bucketIndex(micros));
+
+        // then
+        assertTrue(highest >= micros);
+        assertTrue(highest - micros <= micros / 32);
+    }
+
+    @DisplayName("백분위_균등 분포")
+    @Test
+    public void getValueAtPercentile() {
+        // given
+        LatencyHistogram histogram = new LatencyHistogram(MAX_TRACKABLE_MICROS);
+        for (int ms = 1; ms <= 100; ms++) {
+            histogram.record(TimeUnit.MILLISECONDS.toNanos(ms));
+        }
+
+        // when
+        long p50 = histogram.getValueAtPercentile(50);
+        long p99 = histogram.getValueAtPercentile(99);
+
+        // then
+        assertEquals(100, histogram.getCount());
+        assertEquals(5050 * 1000, histogram.getTotalMicros());
+        assertEquals(100 * 1000, histogram.getMaxMicros());
+        assertEquals(50 * 1000, p50, 50 * 1000 / 32.0);
+        assertEquals(99 * 1000, p99, 99 * 1000 / 32.0);
+        assertEquals(100 * 1000, histogram.getValueAtPercentile(100));
+    }
+
+    @DisplayName("백분위_기록 없으면 0, 최대값 초과는 최대값으로")
+    @Test
+    public void getValueAtPercentileEdge() {
+        // given
+        LatencyHistogram histogram = new LatencyHistogram(MAX_TRACKABLE_MICROS);
+        assertEquals(0, histogram.getValueAtPercentile(99));
+
+        // when
+        histogram.record(TimeUnit.MINUTES.toNanos(5));
+
+        // then
+        assertEquals(MAX_TRACKABLE_MICROS, histogram.getMaxMicros());
+        assertEquals(MAX_TRACKABLE_MICROS, histogram.getValueAtPercentile(99));
+    }
+}
@@ -0,0 +1,105 @@
+package dev.hyein.article.app.replica;
+
+import dev.hyein.article.elasticsearch.vo.ArticleVo;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ArticleColumnsTest {
+
+    @DisplayName("추가, 덮어쓰기 후 조회_성공")
+    @Test
+    public void upsertAndGet() {
+        // given
+        ArticleColumns articleColumns = new ArticleColumns(4);
+        articleColumns.upsert(new ArticleVo(1, "초콜릿이란", 3, true));
+
+        // when
+        articleColumns.upsert(new ArticleVo(1, "사탕이란", 5, false));
+
+        // then
+        assertThat(articleColumns.get(1)).isEqualToComparingFieldByField(new ArticleVo(1, "사탕이란", 5, false));
+        assertNull(articleColumns.get(2));
+        assertEquals(1, articleColumns.size());
+    }
+
+    @DisplayName("삭제 후 조회 안 됨, 다시 추가하면 조회_성공")
+    @Test
+    public void removeAndReinsert() {
+        // given
+        ArticleColumns articleColumns = new ArticleColumns(4);
+        articleColumns.upsert(new ArticleVo(1, "초콜릿이란", 3, true));
+
+        // when
+        articleColumns.remove(1);
+
+        // then
+        assertNull(articleColumns.get(1));
+        assertEquals(0, articleColumns.size());
+        articleColumns.upsert(new ArticleVo(1, "사탕이란", 5, true));
+        assertThat(articleColumns.get(1)).isEqualToComparingFieldByField(new ArticleVo(1, "사탕이란", 5, true));
+    }
+
+    @DisplayName("초기 크기보다 많이 추가_성공")
+    @Test
+    public void grow() {
+        // given
+        ArticleColumns articleColumns = new ArticleColumns(4);
+
+        // when
+        for (int i = 0; i < 1000; i++) {
+            articleColumns.upsert(new ArticleVo(i * 7, "ARTICLE" + i, i, i % 2 == 0));
+        }
+
+        // then
+        assertEquals(1000, articleColumns.size());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals("ARTICLE" + i, articleColumns.get(i * 7).getArticleTitle());
+        }
+    }
+
+    @DisplayName("조회순(조회수 + 제목 길이) 상위 목록_성공")
+    @Test
+    public void topByReadSort() {
+        // given
+        ArticleColumns articleColumns = new ArticleColumns(4);
+        articleColumns.upsert(new ArticleVo(1, "가", 10, true)); // 11
+        articleColumns.upsert(new ArticleVo(2, "가나다", 10, false)); // 13
+        articleColumns.upsert(new ArticleVo(3, "가나", 11, true)); // 13
+        articleColumns.upsert(new ArticleVo(4, "가", 1, true)); // 2
+        articleColumns.upsert(new ArticleVo(5, "가", 100, true));
+        articleColumns.remove(5);
+
+        // when
+        List<ArticleVo> all = articleColumns.topByReadSort(false, 3);
+        List<ArticleVo> openOnly = articleColumns.topByReadSort(true, 10);
+
+        // then
+        assertEquals(Arrays.asList(2, 3, 1), articleNumbers(all));
+        assertEquals(Arrays.asList(3, 1, 4), articleNumbers(openOnly));
+    }
+
+    @DisplayName("변경 시 버전 증가_성공")
+    @Test
+    public void version() {
+        // given
+        ArticleColumns articleColumns = new ArticleColumns(4);
+        long version = articleColumns.getVersion();
+
+        // when
+        articleColumns.upsert(new ArticleVo(1, "가", 1, true));
+
+        // then
+        assertTrue(articleColumns.getVersion() > version);
+    }
+
+    private static List<Integer> articleNumbers(List<ArticleVo> articleVoList) {
+        return articleVoList.stream().map(ArticleVo::getArticleNumber).collect(Collectors.toList());
+    }
+}
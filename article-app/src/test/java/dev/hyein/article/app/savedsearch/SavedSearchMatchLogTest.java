@@ -0,0 +1,74 @@
+package dev.hyein.article.app.savedsearch;
+
+import dev.hyein.article.app.properties.SavedSearchProperties;
+import dev.hyein.article.elasticsearch.vo.SavedSearchMatchVo;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SavedSearchMatchLogTest {
+
+    @DisplayName("마지막으로 받은 이후 일치 아티클만 조회_성공")
+    @Test
+    public void getMatchesAfter() {
+        // given
+        SavedSearchMatchLog savedSearchMatchLog = new SavedSearchMatchLog(properties(10));
+        savedSearchMatchLog.record(Collections.singletonList(match("search1", 1, 2)));
+        long after = savedSearchMatchLog.getMatches("search1", 0, 10).get(1).getSequence();
+
+        // when
+        savedSearchMatchLog.record(Arrays.asList(match("search1", 3), match("search2", 3)));
+
+        // then
+        assertEquals(Collections.singletonList(3), articleNumbers(savedSearchMatchLog.getMatches("search1", after, 10)));
+        assertEquals(Collections.singletonList(3), articleNumbers(savedSearchMatchLog.getMatches("search2", 0, 10)));
+    }
+
+    @DisplayName("검색 조건별 최근 기록만 보관_성공")
+    @Test
+    public void keepRecentHistory() {
+        // given
+        SavedSearchMatchLog savedSearchMatchLog = new SavedSearchMatchLog(properties(2));
+
+        // when
+        savedSearchMatchLog.record(Collections.singletonList(match("search1", 1, 2, 3)));
+
+        // then
+        assertEquals(Arrays.asList(2, 3), articleNumbers(savedSearchMatchLog.getMatches("search1", 0, 10)));
+        assertEquals(Collections.singletonList(2), articleNumbers(savedSearchMatchLog.getMatches("search1", 0, 1)));
+    }
+
+    @DisplayName("삭제한 검색 조건 기록 없음_성공")
+    @Test
+    public void remove() {
+        // given
+        SavedSearchMatchLog savedSearchMatchLog = new SavedSearchMatchLog(properties(10));
+        savedSearchMatchLog.record(Collections.singletonList(match("search1", 1)));
+
+        // when
+        savedSearchMatchLog.remove("search1");
+
+        // then
+        assertTrue(savedSearchMatchLog.getMatches("search1", 0, 10).isEmpty());
+    }
+
+    private static SavedSearchMatchVo match(String savedSearchId, Integer... articleNumbers) {
+        return new SavedSearchMatchVo(savedSearchId, "team-a", "노랑", Arrays.asList(articleNumbers));
+    }
+
+    private static List<Integer> articleNumbers(List<SavedSearchMatch> matches) {
+        return matches.stream().map(SavedSearchMatch::getArticleNumber).collect(Collectors.toList());
+    }
+
+    private static SavedSearchProperties properties(int historySize) {
+        SavedSearchProperties savedSearchProperties = new SavedSearchProperties();
+        savedSearchProperties.setHistorySize(historySize);
+        return savedSearchProperties;
+    }
+}
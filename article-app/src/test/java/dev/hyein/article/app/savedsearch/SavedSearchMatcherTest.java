@@ -0,0 +1,71 @@
+package dev.hyein.article.app.savedsearch;
+
+import dev.hyein.article.app.properties.SavedSearchProperties;
+import dev.hyein.article.elasticsearch.dao.SavedSearchDao;
+import dev.hyein.article.elasticsearch.vo.ArticleVo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class SavedSearchMatcherTest {
+    private SavedSearchDao savedSearchDao;
+    private SavedSearchProperties savedSearchProperties;
+    private SavedSearchMatcher savedSearchMatcher;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        savedSearchDao = mock(SavedSearchDao.class);
+        ObjectProvider<SavedSearchListener> savedSearchListeners = mock(ObjectProvider.class);
+        when(savedSearchListeners.orderedStream()).thenReturn(Stream.empty());
+
+        savedSearchProperties = new SavedSearchProperties();
+        savedSearchProperties.setBatchSize(2);
+        savedSearchProperties.setQueueCapacity(2);
+        savedSearchProperties.setFlushIntervalMs(0);
+        savedSearchProperties.setMaxRetryBackoffMs(0);
+        savedSearchMatcher = new SavedSearchMatcher(savedSearchDao, mock(SavedSearchService.class), mock(SavedSearchMatchLog.class),
+                savedSearchListeners, savedSearchProperties);
+    }
+
+    @DisplayName("실패한 묶음은 큐에 되돌리지 않고 다음 대조 때 먼저 다시 보냄_성공")
+    @Test
+    public void retryFailedBatchInPlace() throws IOException {
+        // given
+        ArticleVo first = new ArticleVo(1, "사과", 0, true);
+        ArticleVo second = new ArticleVo(2, "배", 0, true);
+        ArticleVo third = new ArticleVo(3, "감", 0, true);
+        when(savedSearchDao.percolate(anyList(), anyInt()))
+                .thenThrow(new IOException("es down"))
+                .thenReturn(Collections.emptyList());
+        savedSearchMatcher.enqueue(first);
+        savedSearchMatcher.enqueue(second);
+
+        // when
+        assertThrows(IOException.class, () -> savedSearchMatcher.flush());
+        savedSearchMatcher.enqueue(third);
+
+        // then
+        assertEquals(1, savedSearchMatcher.getPendingCount()); // 실패한 묶음이 큐 자리를 차지하지 않는다.
+
+        // when
+        savedSearchMatcher.flush();
+
+        // then
+        verify(savedSearchDao, times(2)).percolate(eq(Arrays.asList(first, second)), anyInt());
+        verify(savedSearchDao).percolate(eq(Collections.singletonList(third)), anyInt());
+        assertEquals(0, savedSearchMatcher.getPendingCount());
+    }
+}
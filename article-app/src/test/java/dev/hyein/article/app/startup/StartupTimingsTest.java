@@ -0,0 +1,83 @@
+package dev.hyein.article.app.startup;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StartupTimingsTest {
+
+    @DisplayName("중첩된 빈 생성 시간에서 의존 빈 시간 제외_성공")
+    @Test
+    public void nestedBeans() throws InterruptedException {
+        // given
+        StartupTimings startupTimings = new StartupTimings();
+
+        // when
+        startupTimings.beanStarted("articleService");
+        startupTimings.beanStarted("articleDao");
+        Thread.sleep(20);
+        startupTimings.beanFinished("articleDao");
+        startupTimings.beanFinished("articleService");
+
+        // then
+        List<BeanTiming> beanTimings = startupTimings.getBeanTimings();
+        assertEquals(2, beanTimings.size());
+        BeanTiming articleService = beanTimings.get(1);
+        assertEquals("articleService", articleService.getBeanName());
+        assertTrue(articleService.getTotalNanos() >= beanTimings.get(0).getTotalNanos());
+        assertTrue(articleService.getSelfNanos() < beanTimings.get(0).getTotalNanos());
+    }
+
+    @DisplayName("시작 기록 없는 빈 무시_성공")
+    @Test
+    public void ignoreUnmatchedBean() {
+        // given
+        StartupTimings startupTimings = new StartupTimings();
+
+        // when
+        startupTimings.beanFinished("factoryProducedBean");
+
+        // then
+        assertTrue(startupTimings.getBeanTimings().isEmpty());
+    }
+
+    @DisplayName("끝나지 않은 빈 기록은 버리고 바깥 빈 기록_성공")
+    @Test
+    public void discardUnfinishedBean() {
+        // given
+        StartupTimings startupTimings = new StartupTimings();
+
+        // when
+        startupTimings.beanStarted("articleService");
+        startupTimings.beanStarted("failedBean"); // 생성 실패로 끝 기록 없음
+        startupTimings.beanFinished("articleService");
+        startupTimings.beanStarted("articleController");
+        startupTimings.beanFinished("articleController");
+
+        // then
+        List<BeanTiming> beanTimings = startupTimings.getBeanTimings();
+        assertEquals(2, beanTimings.size());
+        assertEquals("articleService", beanTimings.get(0).getBeanName());
+        assertEquals("articleController", beanTimings.get(1).getBeanName());
+        assertEquals(beanTimings.get(1).getTotalNanos(), beanTimings.get(1).getSelfNanos()); // 남은 기록이 부모가 되지 않는다.
+    }
+
+    @DisplayName("단계 순서대로 리포트_성공")
+    @Test
+    public void report() {
+        // given
+        StartupTimings startupTimings = new StartupTimings();
+        startupTimings.phase("starting");
+        startupTimings.phase("ready");
+
+        // when
+        String report = startupTimings.getReport(10);
+
+        // then
+        assertTrue(report.indexOf("starting") < report.indexOf("ready"));
+        assertEquals(2, startupTimings.getPhaseMillis().size());
+    }
+}
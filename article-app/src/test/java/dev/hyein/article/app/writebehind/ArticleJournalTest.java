@@ -0,0 +1,113 @@
+package dev.hyein.article.app.writebehind;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ArticleJournalTest {
+    private static final int SEGMENT_SIZE = 256;
+
+    @TempDir
+    Path directory;
+
+    @DisplayName("추가한 순서대로 읽기_성공")
+    @Test
+    public void appendAndRead() throws IOException {
+        // given
+        try (ArticleJournal journal = new ArticleJournal(directory, SEGMENT_SIZE)) {
+            journal.append(Arrays.asList(bytes("1"), bytes("2")));
+            journal.append(Collections.singletonList(bytes("3")));
+
+            // when
+            JournalBatch batch = journal.read(10);
+
+            // then
+            assertEquals(Arrays.asList("1", "2", "3"), strings(batch));
+        }
+    }
+
+    @DisplayName("커밋한 레코드 다시 읽지 않음_성공")
+    @Test
+    public void commit() throws IOException {
+        // given
+        try (ArticleJournal journal = new ArticleJournal(directory, SEGMENT_SIZE)) {
+            journal.append(Arrays.asList(bytes("1"), bytes("2"), bytes("3")));
+
+            // when
+            journal.commit(journal.read(2).getEnd());
+
+            // then
+            assertEquals(Collections.singletonList("3"), strings(journal.read(10)));
+        }
+    }
+
+    @DisplayName("재시작 시 커밋되지 않은 레코드 다시 읽기_성공")
+    @Test
+    public void replayAfterReopen() throws IOException {
+        // given
+        try (ArticleJournal journal = new ArticleJournal(directory, SEGMENT_SIZE)) {
+            journal.append(Arrays.asList(bytes("1"), bytes("2")));
+            journal.commit(journal.read(1).getEnd());
+        }
+
+        // when
+        try (ArticleJournal journal = new ArticleJournal(directory, SEGMENT_SIZE)) {
+            journal.append(Collections.singletonList(bytes("3")));
+
+            // then
+            assertTrue(journal.hasPending());
+            assertEquals(Arrays.asList("2", "3"), strings(journal.read(10)));
+        }
+    }
+
+    @DisplayName("세그먼트 넘어가도 순서 유지_성공")
+    @Test
+    public void rollSegment() throws IOException {
+        // given
+        List<String> expected = new ArrayList<>();
+        try (ArticleJournal journal = new ArticleJournal(directory, SEGMENT_SIZE)) {
+            for (int i = 0; i < 50; i++) {
+                expected.add("record-" + i);
+                journal.append(Collections.singletonList(bytes("record-" + i)));
+            }
+
+            // when
+            JournalBatch batch = journal.read(100);
+            journal.commit(batch.getEnd());
+
+            // then
+            assertEquals(expected, strings(batch));
+            assertFalse(journal.hasPending());
+        }
+    }
+
+    @DisplayName("세그먼트보다 큰 레코드 추가_실패")
+    @Test
+    public void tooLargeRecord() throws IOException {
+        try (ArticleJournal journal = new ArticleJournal(directory, SEGMENT_SIZE)) {
+            assertThrows(IllegalArgumentException.class, () -> journal.append(Collections.singletonList(new byte[SEGMENT_SIZE])));
+        }
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static List<String> strings(JournalBatch batch) {
+        List<String> values = new ArrayList<>();
+        for (byte[] record : batch.getRecords()) {
+            values.add(new String(record, StandardCharsets.UTF_8));
+        }
+        return values;
+    }
+}
@@ -0,0 +1,71 @@
+package dev.hyein.article.elasticsearch.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.afterburner.AfterburnerModule;
+import dev.hyein.article.elasticsearch.dto.ArticleDto;
+import dev.hyein.article.elasticsearch.vo.ArticleVo;
+import org.elasticsearch.common.bytes.BytesArray;
+import org.elasticsearch.common.bytes.BytesReference;
+import org.elasticsearch.common.xcontent.XContentBuilder;
+import org.elasticsearch.common.xcontent.XContentFactory;
+import org.elasticsearch.common.xcontent.XContentHelper;
+import org.elasticsearch.common.xcontent.XContentType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * 기존 변환(Map 을 거친 convertValue)과 ArticleCodec 비교
+ * ./gradlew :article-elasticsearch:jmh
+ */
+@State(Scope.Benchmark)
+public class ArticleCodecBenchmark {
+    private ObjectMapper plainObjectMapper;
+    private ArticleCodec articleCodec;
+    private BytesReference source;
+    private ArticleVo articleVo;
+
+    @Setup
+    public void setup() {
+        plainObjectMapper = new ObjectMapper();
+        articleCodec = new ArticleCodec(new ObjectMapper().registerModule(new AfterburnerModule()));
+        source = new BytesArray("{\"articleNumber\":1232,\"articleTitle\":\"초콜릿이란 무엇인가\",\"read\":9999,\"isOpen\":true}".getBytes(StandardCharsets.UTF_8));
+        articleVo = new ArticleVo(1232, "초콜릿이란 무엇인가", 9999, true);
+    }
+
+    /**
+     * 기존 검색 결과 변환: _source -> Map (SearchHit.getSourceAsMap) -> ArticleVo
+     */
+    @Benchmark
+    public ArticleVo readWithConvertValue() {
+        Map<String, Object> sourceAsMap = XContentHelper.convertToMap(source, false, XContentType.JSON).v2();
+        return plainObjectMapper.convertValue(sourceAsMap, ArticleVo.class);
+    }
+
+    @Benchmark
+    public ArticleVo readWithCodec() throws IOException {
+        return articleCodec.readArticleVo(source);
+    }
+
+    /**
+     * 기존 색인 변환: ArticleVo -> ArticleDto -> Map -> JSON (IndexRequest.source(Map))
+     */
+    @Benchmark
+    public BytesReference writeWithConvertValue() throws IOException {
+        ArticleDto articleDto = plainObjectMapper.convertValue(articleVo, ArticleDto.class);
+        Map<String, Object> map = plainObjectMapper.convertValue(articleDto, Map.class);
+        XContentBuilder builder = XContentFactory.contentBuilder(XContentType.JSON);
+        builder.map(map);
+        return BytesReference.bytes(builder);
+    }
+
+    @Benchmark
+    public byte[] writeWithCodec() throws IOException {
+        return articleCodec.writeArticleSource(articleVo);
+    }
+}
@@ -0,0 +1,250 @@
+package dev.hyein.article.elasticsearch.bitmap;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * int 집합 비트맵 (roaring 방식)
+ * 값의 상위 16비트로 컨테이너를 고르고, 하위 16비트를 컨테이너에 저장한다.
+ * - 원소가 4096개 이하인 컨테이너: 정렬된 char[] (원소당 2바이트)
+ * - 그보다 많은 컨테이너: 65536비트 long[] (8KB 고정)
+ * 번호가 촘촘하면 비트맵 컨테이너로, 드문드문하면 배열 컨테이너로 저장되어 Set&lt;Integer&gt; 보다 훨씬 작다.
+ * 읽기와 쓰기는 StampedLock 으로 나눈다.
+ */
+public class IntBitmap {
+    private static final int ARRAY_CONTAINER_MAX = 4096;
+
+    private final StampedLock lock = new StampedLock();
+    private final Container[] containers = new Container[1 << 16];
+    private long cardinality = 0;
+
+    /**
+     * 포함 여부
+     * @param value
+     * @return
+     */
+    public boolean contains(int value) {
+        long stamp = lock.readLock();
+        try {
+            Container container = containers[value >>> 16];
+            return container != null && container.contains((char) value);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * 추가
+     * @param value
+     * @return 새로 추가되었으면 true
+     */
+    public boolean add(int value) {
+        int key = value >>> 16;
+        char low = (char) value;
+
+        long stamp = lock.writeLock();
+        try {
+            Container container = containers[key];
+            if(container == null) {
+                container = containers[key] = new ArrayContainer();
+            } else if(container instanceof ArrayContainer && container.cardinality() >= ARRAY_CONTAINER_MAX && !container.contains(low)) {
+                container = containers[key] = ((ArrayContainer) container).toBitmapContainer();
+            }
+            if(!container.add(low))
+                return false;
+            cardinality++;
+            return true;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * 삭제
+     * @param value
+     * @return 있었으면 true
+     */
+    public boolean remove(int value) {
+        int key = value >>> 16;
+        char low = (char) value;
+
+        long stamp = lock.writeLock();
+        try {
+            Container container = containers[key];
+            if(container == null || !container.remove(low))
+                return false;
+            cardinality--;
+            if(container.cardinality() == 0) {
+                containers[key] = null;
+            } else if(container instanceof BitmapContainer && container.cardinality() <= ARRAY_CONTAINER_MAX) {
+                containers[key] = ((BitmapContainer) container).toArrayContainer();
+            }
+            return true;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * 원소 수
+     * @return
+     */
+    public long cardinality() {
+        long stamp = lock.readLock();
+        try {
+            return cardinality;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * 컨테이너가 차지하는 대략적인 바이트 수
+     * @return
+     */
+    public long sizeInBytes() {
+        long stamp = lock.readLock();
+        try {
+            long size = 0;
+            for (Container container : containers) {
+                if(container != null)
+                    size += container.sizeInBytes();
+            }
+            return size;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private abstract static class Container {
+        abstract boolean contains(char low);
+
+        abstract boolean add(char low);
+
+        abstract boolean remove(char low);
+
+        abstract int cardinality();
+
+        abstract long sizeInBytes();
+    }
+
+    /**
+     * 정렬된 하위 16비트 배열
+     */
+    private static class ArrayContainer extends Container {
+        private char[] values;
+        private int size = 0;
+
+        ArrayContainer() {
+            this(4);
+        }
+
+        ArrayContainer(int capacity) {
+            this.values = new char[capacity];
+        }
+
+        @Override
+        boolean contains(char low) {
+            return Arrays.binarySearch(values, 0, size, low) >= 0;
+        }
+
+        @Override
+        boolean add(char low) {
+            int index = Arrays.binarySearch(values, 0, size, low);
+            if(index >= 0)
+                return false;
+            int insertAt = -index - 1;
+            if(size == values.length)
+                values = Arrays.copyOf(values, Math.min(values.length * 2, ARRAY_CONTAINER_MAX));
+            System.arraycopy(values, insertAt, values, insertAt + 1, size - insertAt);
+            values[insertAt] = low;
+            size++;
+            return true;
+        }
+
+        @Override
+        boolean remove(char low) {
+            int index = Arrays.binarySearch(values, 0, size, low);
+            if(index < 0)
+                return false;
+            System.arraycopy(values, index + 1, values, index, size - index - 1);
+            size--;
+            return true;
+        }
+
+        @Override
+        int cardinality() {
+            return size;
+        }
+
+        @Override
+        long sizeInBytes() {
+            return values.length * 2L;
+        }
+
+        BitmapContainer toBitmapContainer() {
+            BitmapContainer bitmapContainer = new BitmapContainer();
+            for (int i = 0; i < size; i++) {
+                bitmapContainer.add(values[i]);
+            }
+            return bitmapContainer;
+        }
+    }
+
+    /**
+     * 65536 비트 비트맵
+     */
+    private static class BitmapContainer extends Container {
+        private final long[] words = new long[1 << 10];
+        private int size = 0;
+
+        @Override
+        boolean contains(char low) {
+            return (words[low >>> 6] & (1L << low)) != 0;
+        }
+
+        @Override
+        boolean add(char low) {
+            long word = words[low >>> 6];
+            long bit = 1L << low;
+            if((word & bit) != 0)
+                return false;
+            words[low >>> 6] = word | bit;
+            size++;
+            return true;
+        }
+
+        @Override
+        boolean remove(char low) {
+            long word = words[low >>> 6];
+            long bit = 1L << low;
+            if((word & bit) == 0)
+                return false;
+            words[low >>> 6] = word & ~bit;
+            size--;
+            return true;
+        }
+
+        @Override
+        int cardinality() {
+            return size;
+        }
+
+        @Override
+        long sizeInBytes() {
+            return words.length * 8L;
+        }
+
+        ArrayContainer toArrayContainer() {
+            ArrayContainer arrayContainer = new ArrayContainer(Math.max(size, 4));
+            for (int i = 0; i < words.length; i++) {
+                long word = words[i];
+                while (word != 0) {
+                    arrayContainer.add((char) (i * 64 + Long.numberOfTrailingZeros(word)));
+                    word &= word - 1;
+                }
+            }
+            return arrayContainer;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package dev.hyein.article.elasticsearch.bulk;
+
+import dev.hyein.article.elasticsearch.dao.CommonEsDao;
+import lombok.extern.slf4j.Slf4j;
+import org.elasticsearch.ElasticsearchStatusException;
+import org.elasticsearch.action.bulk.BulkItemResponse;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.client.RestHighLevelClient;
+import org.elasticsearch.rest.RestStatus;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 벌크 요청 실행기
+ * 클러스터가 429(too many requests)로 거절하면 지수 백오프 후 거절된 항목만 다시 보낸다.
+ * 대기하는 동안 호출 스레드가 멈추므로 호출자에게 배압이 전달된다.
+ */
+@Slf4j
+public class BackpressureBulkExecutor {
+    private final RestHighLevelClient client;
+    private final int maxRetries;
+    private final long initialBackoffMs;
+    private final long maxBackoffMs;
+
+    public BackpressureBulkExecutor(RestHighLevelClient client, int maxRetries, long initialBackoffMs, long maxBackoffMs) {
+        this.client = client;
+        this.maxRetries = maxRetries;
+        this.initialBackoffMs = initialBackoffMs;
+        this.maxBackoffMs = maxBackoffMs;
+    }
+
+    /**
+     * 벌크 요청 실행
+     * @param bulkRequest
+     * @return 항목별 성공, 충돌, 실패 건수
+     * @throws IOException 429 외의 오류이거나 재시도 횟수를 넘긴 경우
+     * @throws InterruptedException
+     */
+    public BulkResult execute(BulkRequest bulkRequest) throws IOException, InterruptedException {
+        BulkResult bulkResult = new BulkResult();
+        BulkRequest pendingRequest = bulkRequest;
+
+        for (int attempt = 0; ; attempt++) {
+            BulkResponse bulkResponse;
+            try {
+                bulkResponse = CommonEsDao.bulk(client, pendingRequest);
+            } catch (ElasticsearchStatusException e) {
+                if(e.status() != RestStatus.TOO_MANY_REQUESTS || attempt >= maxRetries)
+                    throw e;
+                bulkResult.addRetry();
+                backoff(attempt);
+                continue;
+            }
+
+            BulkRequest rejectedRequest = new BulkRequest();
+            for (BulkItemResponse item : bulkResponse.getItems()) {
+                if(!item.isFailed()) {
+                    bulkResult.addSucceeded();
+                } else if(item.status() == RestStatus.TOO_MANY_REQUESTS && attempt < maxRetries) {
+                    rejectedRequest.add(pendingRequest.requests().get(item.getItemId()));
+                } else if(item.status() == RestStatus.CONFLICT) { // create 요청인데 이미 있는 도큐먼트
+                    bulkResult.addConflict(item.getId());
+                } else {
+                    bulkResult.addFailure(item.getFailure());
+                }
+            }
+
+            if(rejectedRequest.numberOfActions() == 0)
+                return bulkResult;
+
+            bulkResult.addRetry();
+            backoff(attempt);
+            pendingRequest = rejectedRequest;
+        }
+    }
+
+    /**
+     * 지수 백오프 대기, 동시에 재시도가 몰리지 않도록 대기 시간을 흔든다.
+     * @param attempt
+     * @throws InterruptedException
+     */
+    private void backoff(int attempt) throws InterruptedException {
+        long backoffMs = Math.min(maxBackoffMs, initialBackoffMs << Math.min(attempt, 20));
+        long jitteredBackoffMs = backoffMs / 2 + ThreadLocalRandom.current().nextLong(backoffMs / 2 + 1);
+        log.debug("[Bulk] Rejected by cluster, retry after {} ms", jitteredBackoffMs);
+        Thread.sleep(jitteredBackoffMs);
+    }
+}
@@ -0,0 +1,43 @@
+package dev.hyein.article.elasticsearch.bulk;
+
+import lombok.Getter;
+import lombok.ToString;
+import org.elasticsearch.action.bulk.BulkItemResponse;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 벌크 요청 실행 결과
+ */
+@Getter @ToString
+public class BulkResult {
+    private static final int MAX_FAILURES = 100;
+
+    private int succeeded;
+    private int failed;
+    private int conflicts;
+    private int retries;
+    private final List<BulkItemResponse.Failure> failures = new ArrayList<>();
+    private final List<String> conflictIds = new ArrayList<>();
+
+    void addSucceeded() {
+        succeeded++;
+    }
+
+    void addFailure(BulkItemResponse.Failure failure) {
+        failed++;
+        if(failures.size() < MAX_FAILURES) // 실패 원인은 일부만 보관
+            failures.add(failure);
+    }
+
+    void addConflict(String id) {
+        conflicts++;
+        if(conflictIds.size() < MAX_FAILURES)
+            conflictIds.add(id);
+    }
+
+    void addRetry() {
+        retries++;
+    }
+}
@@ -0,0 +1,70 @@
+package dev.hyein.article.elasticsearch.bulk;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * 처리 건수와 초당 처리량 주기적 출력
+ */
+@Slf4j
+public class ProgressReporter implements AutoCloseable {
+    private final String name;
+    private final LongSupplier processed;
+    private final Supplier<String> detail;
+    private final ScheduledExecutorService scheduler;
+    private final long startNanos = System.nanoTime();
+    private long lastNanos = startNanos;
+    private long lastProcessed = 0;
+
+    /**
+     * @param name 로그 머리말
+     * @param intervalMs 출력 주기
+     * @param processed 누적 처리 건수
+     * @param detail 함께 출력할 내용
+     */
+    public ProgressReporter(String name, long intervalMs, LongSupplier processed, Supplier<String> detail) {
+        this.name = name;
+        this.processed = processed;
+        this.detail = detail;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, name + "-progress");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleAtFixedRate(this::report, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 시작 이후 평균 초당 처리량
+     * @return
+     */
+    public double getAverageDocsPerSecond() {
+        return docsPerSecond(processed.getAsLong(), System.nanoTime() - startNanos);
+    }
+
+    private synchronized void report() {
+        long now = System.nanoTime();
+        long current = processed.getAsLong();
+        log.info("[{}] processed={} docs/sec={} avg docs/sec={} {}", name, current,
+                String.format("%.1f", docsPerSecond(current - lastProcessed, now - lastNanos)),
+                String.format("%.1f", docsPerSecond(current, now - startNanos)),
+                detail.get());
+        lastNanos = now;
+        lastProcessed = current;
+    }
+
+    private static double docsPerSecond(long docs, long nanos) {
+        return nanos <= 0 ? 0 : docs * 1_000_000_000.0 / nanos;
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+        report();
+    }
+}
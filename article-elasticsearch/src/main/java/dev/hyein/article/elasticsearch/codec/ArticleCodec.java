@@ -0,0 +1,133 @@
+package dev.hyein.article.elasticsearch.codec;
+
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import dev.hyein.article.elasticsearch.dto.ArticleDto;
+import dev.hyein.article.elasticsearch.vo.ArticleSuggestVo;
+import dev.hyein.article.elasticsearch.vo.ArticleVo;
+import org.apache.lucene.util.BytesRef;
+import org.elasticsearch.common.bytes.BytesReference;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 아티클 JSON 변환
+ * 타입별 ObjectReader, ObjectWriter 를 미리 만들어 두고 재사용하며, 출력 버퍼는 스레드별로 재사용한다.
+ * 도큐먼트 _source 는 Map 을 거치지 않고 바이트에서 바로 읽는다.
+ */
+@Component
+public class ArticleCodec {
+    private static final int INITIAL_BUFFER_SIZE = 512;
+    private static final ThreadLocal<ByteArrayBuilder> OUTPUT_BUFFER = ThreadLocal.withInitial(() -> new ByteArrayBuilder(INITIAL_BUFFER_SIZE));
+
+    private final ObjectMapper objectMapper;
+    private final ObjectReader articleVoReader;
+    private final ObjectReader articleSuggestVoReader;
+    private final ObjectWriter articleDtoWriter;
+    private final Map<Class<?>, ObjectReader> readers = new ConcurrentHashMap<>();
+    private final Map<Class<?>, ObjectWriter> writers = new ConcurrentHashMap<>();
+
+    public ArticleCodec(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.articleVoReader = readerFor(ArticleVo.class);
+        this.articleSuggestVoReader = readerFor(ArticleSuggestVo.class);
+        this.articleDtoWriter = writerFor(ArticleDto.class);
+        readerFor(ArticleDto.class);
+        writerFor(ArticleVo.class);
+    }
+
+    /**
+     * 도큐먼트 _source 를 ArticleVo 로 변환
+     * @param source
+     * @return
+     * @throws IOException
+     */
+    public ArticleVo readArticleVo(BytesReference source) throws IOException {
+        return read(articleVoReader, source);
+    }
+
+    /**
+     * 도큐먼트 _source 를 ArticleSuggestVo 로 변환
+     * @param source
+     * @return
+     * @throws IOException
+     */
+    public ArticleSuggestVo readArticleSuggestVo(BytesReference source) throws IOException {
+        return read(articleSuggestVoReader, source);
+    }
+
+    /**
+     * 색인할 _source 로 변환
+     * @param articleVo
+     * @return JSON bytes
+     * @throws IOException
+     */
+    public byte[] writeArticleSource(ArticleVo articleVo) throws IOException {
+        return writeValueAsBytes(articleDtoWriter, toArticleDto(articleVo));
+    }
+
+    /**
+     * ArticleVo -> ArticleDto, 필드가 같아 직접 복사한다.
+     * @param articleVo
+     * @return
+     */
+    public ArticleDto toArticleDto(ArticleVo articleVo) {
+        return new ArticleDto(articleVo.getArticleNumber(), articleVo.getArticleTitle(), articleVo.getRead(), articleVo.getIsOpen());
+    }
+
+    /**
+     * 값을 JSON bytes 로 변환, 스레드별 출력 버퍼를 재사용한다.
+     * @param value
+     * @return
+     * @throws IOException
+     */
+    public byte[] writeValueAsBytes(Object value) throws IOException {
+        return writeValueAsBytes(writerFor(value.getClass()), value);
+    }
+
+    /**
+     * JSON bytes 를 type 으로 변환
+     * @param bytes
+     * @param type
+     * @return
+     * @throws IOException
+     */
+    public <T> T readValue(byte[] bytes, Class<T> type) throws IOException {
+        return readerFor(type).readValue(bytes);
+    }
+
+    /**
+     * 타입별 ObjectReader, 처음 요청할 때 만들어 캐시한다.
+     * @param type
+     * @return
+     */
+    public ObjectReader readerFor(Class<?> type) {
+        return readers.computeIfAbsent(type, objectMapper::readerFor);
+    }
+
+    /**
+     * 타입별 ObjectWriter, 처음 요청할 때 만들어 캐시한다.
+     * @param type
+     * @return
+     */
+    public ObjectWriter writerFor(Class<?> type) {
+        return writers.computeIfAbsent(type, objectMapper::writerFor);
+    }
+
+    private static <T> T read(ObjectReader reader, BytesReference source) throws IOException {
+        BytesRef bytesRef = source.toBytesRef(); // 단일 배열이면 복사하지 않는다.
+        return reader.readValue(bytesRef.bytes, bytesRef.offset, bytesRef.length);
+    }
+
+    private static byte[] writeValueAsBytes(ObjectWriter writer, Object value) throws IOException {
+        ByteArrayBuilder buffer = OUTPUT_BUFFER.get();
+        buffer.reset(); // 마지막 블록은 남겨 두고 재사용
+        writer.writeValue(buffer, value);
+        return buffer.toByteArray();
+    }
+}
@@ -1,13 +1,21 @@
 package dev.hyein.article.elasticsearch.config;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.afterburner.AfterburnerModule;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 @Configuration
 public class CustomObjectMapperConfig {
+    /**
+     * 공용 ObjectMapper
+     * Spring Boot 의 HTTP 메시지 컨버터도 이 빈을 사용한다.
+     * Afterburner 로 getter, setter, 생성자 호출을 리플렉션 대신 생성된 바이트코드로 한다.
+     * @return
+     */
     @Bean
     public ObjectMapper objectMapper() {
-        return new ObjectMapper();
+        return new ObjectMapper()
+                .registerModule(new AfterburnerModule());
     }
 }
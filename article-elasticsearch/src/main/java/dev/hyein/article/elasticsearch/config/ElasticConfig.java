@@ -1,31 +1,124 @@
 package dev.hyein.article.elasticsearch.config;
 
+import dev.hyein.article.elasticsearch.federation.FederatedCluster;
+import dev.hyein.article.elasticsearch.federation.FederatedClusters;
 import dev.hyein.article.elasticsearch.properties.ArticleProperties;
+import dev.hyein.article.elasticsearch.properties.ConnectionBudgetProperties;
+import dev.hyein.article.elasticsearch.properties.FederationProperties;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.http.HttpHost;
+import org.elasticsearch.client.Request;
+import org.elasticsearch.client.Response;
+import org.elasticsearch.client.ResponseListener;
 import org.elasticsearch.client.RestClient;
 import org.elasticsearch.client.RestHighLevelClient;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.ArrayList;
+import java.util.List;
+
 @Configuration
 @RequiredArgsConstructor
 @Slf4j
 public class ElasticConfig {
     private final ArticleProperties articleProperties;
+    private final ConnectionBudgetProperties connectionBudgetProperties;
 
+    /**
+     * 아티클 클라이언트, 쓰기와 관리 작업용
+     * 지연 초기화 시 처음 사용할 때 생성되며, warmConnect 이면 생성 직후 연결을 미리 맺어 첫 요청의 연결 시간을 줄인다.
+     * @return
+     */
     @Bean("articleClient")
     public RestHighLevelClient restHighLevelClient() {
-        return new RestHighLevelClient(
-                RestClient.builder(HttpHost.create(articleProperties.getHost()))
+        return createClient(articleProperties.getHost(), connectionBudgetProperties.getWrite());
+    }
+
+    /**
+     * 아티클 검색 클라이언트, 검색, 건수, 집계, 자동완성용 커넥션 풀
+     * @return
+     */
+    @Bean("articleSearchClient")
+    public RestHighLevelClient articleSearchClient() {
+        return createClient(articleProperties.getHost(), connectionBudgetProperties.getSearch());
+    }
+
+    /**
+     * 아티클 단건 조회 클라이언트, 느린 검색이나 쓰기 폭주에 밀리지 않도록 커넥션 풀을 따로 둔다.
+     * @return
+     */
+    @Bean("articleGetClient")
+    public RestHighLevelClient articleGetClient() {
+        return createClient(articleProperties.getHost(), connectionBudgetProperties.getGet());
+    }
+
+    /**
+     * 아티클 읽기 클러스터 클라이언트, read-host 가 있을 때만 생성
+     * @return
+     */
+    @Bean("articleReadClient")
+    @ConditionalOnProperty(prefix = "elasticsearch.article", name = "read-host")
+    public RestHighLevelClient articleReadClient() {
+        return createClient(articleProperties.getReadHost(), connectionBudgetProperties.getSearch());
+    }
+
+    /**
+     * 연합 검색 대상 클러스터, 이 앱의 클러스터는 검색 시 ReadRouter 가 클라이언트를 고르며 여기서는 검색 클라이언트를 넣어 둔다.
+     * @param articleSearchClient
+     * @param federationProperties
+     * @return
+     */
+    @Bean
+    public FederatedClusters federatedClusters(@Qualifier("articleSearchClient") RestHighLevelClient articleSearchClient, FederationProperties federationProperties) {
+        List<FederatedCluster> clusters = new ArrayList<>();
+        if(federationProperties.isIncludeLocal())
+            clusters.add(new FederatedCluster(federationProperties.getLocalName(), articleSearchClient, articleProperties.getAlias()));
+        federationProperties.getClusters().forEach((name, cluster) ->
+                clusters.add(new FederatedCluster(name, createClient(cluster.getHost(), connectionBudgetProperties.getSearch()), cluster.getAlias())));
+        return new FederatedClusters(clusters, federationProperties.getLocalName());
+    }
+
+    private RestHighLevelClient createClient(String host, ConnectionBudgetProperties.Budget budget) {
+        RestHighLevelClient client = new RestHighLevelClient(
+                RestClient.builder(HttpHost.create(host))
                 .setRequestConfigCallback(
                         requestConfigBuilder -> requestConfigBuilder
                                 .setConnectTimeout(articleProperties.getConnectionTimeout())
                                 .setSocketTimeout(articleProperties.getSocketTimeout())
                                 .setConnectionRequestTimeout(articleProperties.getConnectionRequestTimeout())
                 )
+                .setHttpClientConfigCallback(
+                        httpClientBuilder -> httpClientBuilder
+                                .setMaxConnTotal(budget.getMaxConnections())
+                                .setMaxConnPerRoute(budget.getMaxConnections())
+                )
         );
+        if(articleProperties.isWarmConnect())
+            warmConnect(client, host);
+        return client;
+    }
+
+    /**
+     * 비동기로 HEAD / 요청을 보내 커넥션 풀에 연결을 만들어 둔다.
+     * @param client
+     * @param host
+     */
+    private void warmConnect(RestHighLevelClient client, String host) {
+        long startedAt = System.currentTimeMillis();
+        client.getLowLevelClient().performRequestAsync(new Request("HEAD", "/"), new ResponseListener() {
+            @Override
+            public void onSuccess(Response response) {
+                log.info("[ElasticConfig] Warm connect to [{}] in {} ms", host, System.currentTimeMillis() - startedAt);
+            }
+
+            @Override
+            public void onFailure(Exception e) {
+                log.warn("[ElasticConfig] Warm connect to [{}] failed: {}", host, e.toString());
+            }
+        });
     }
 }
@@ -1,44 +1,112 @@
 package dev.hyein.article.elasticsearch.dao;
 
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import dev.hyein.article.elasticsearch.dto.ArticleDto;
+import dev.hyein.article.elasticsearch.codec.ArticleCodec;
+import dev.hyein.article.elasticsearch.exception.DocumentAlreadyExistException;
 import dev.hyein.article.elasticsearch.exception.DocumentNotFoundException;
+import dev.hyein.article.elasticsearch.exception.VersionConflictException;
+import dev.hyein.article.elasticsearch.federation.FederatedCluster;
+import dev.hyein.article.elasticsearch.federation.FederatedClusters;
+import dev.hyein.article.elasticsearch.federation.KWayMerge;
+import dev.hyein.article.elasticsearch.federation.SortValues;
 import dev.hyein.article.elasticsearch.properties.ArticleProperties;
+import dev.hyein.article.elasticsearch.resilience.EsResilience;
+import dev.hyein.article.elasticsearch.routing.ReadRouter;
+import dev.hyein.article.elasticsearch.routing.ReadTarget;
+import dev.hyein.article.elasticsearch.script.ArticleScript;
+import dev.hyein.article.elasticsearch.utils.FileUtils;
 import dev.hyein.article.elasticsearch.validator.ArticleValidator;
+import dev.hyein.article.elasticsearch.vo.ArticleChange;
+import dev.hyein.article.elasticsearch.vo.ArticleSearchResultVo;
+import dev.hyein.article.elasticsearch.vo.FederatedArticleVo;
+import dev.hyein.article.elasticsearch.vo.FederatedSearchVo;
+import dev.hyein.article.elasticsearch.vo.ArticleMutation;
+import dev.hyein.article.elasticsearch.vo.ArticlePatchVo;
+import dev.hyein.article.elasticsearch.vo.ArticleSuggestVo;
+import dev.hyein.article.elasticsearch.vo.ArticleVersion;
 import dev.hyein.article.elasticsearch.vo.ArticleVo;
+import dev.hyein.article.elasticsearch.vo.SearchBudget;
+import dev.hyein.article.elasticsearch.vo.VersionedArticleVo;
+import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.elasticsearch.ElasticsearchStatusException;
+import org.elasticsearch.action.ActionListener;
+import org.elasticsearch.action.DocWriteRequest;
 import org.elasticsearch.action.DocWriteResponse;
+import org.elasticsearch.action.bulk.BulkItemResponse;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.action.delete.DeleteRequest;
 import org.elasticsearch.action.delete.DeleteResponse;
 import org.elasticsearch.action.get.GetResponse;
+import org.elasticsearch.action.index.IndexRequest;
 import org.elasticsearch.action.index.IndexResponse;
 import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.action.support.master.AcknowledgedResponse;
+import org.elasticsearch.action.update.UpdateRequest;
+import org.elasticsearch.action.update.UpdateResponse;
+import org.elasticsearch.client.Cancellable;
 import org.elasticsearch.client.RestHighLevelClient;
 import org.elasticsearch.client.indices.CreateIndexResponse;
+import org.elasticsearch.client.indices.GetIndexResponse;
+import org.elasticsearch.common.unit.TimeValue;
+import org.elasticsearch.common.xcontent.XContentType;
+import org.elasticsearch.index.query.QueryBuilders;
 import org.elasticsearch.index.reindex.BulkByScrollResponse;
+import org.elasticsearch.rest.RestStatus;
+import org.elasticsearch.script.Script;
+import org.elasticsearch.script.ScriptType;
 import org.elasticsearch.search.SearchHit;
+import org.elasticsearch.search.aggregations.Aggregations;
 import org.elasticsearch.search.builder.SearchSourceBuilder;
+import org.elasticsearch.search.profile.ProfileShardResult;
+import org.elasticsearch.search.sort.SortOrder;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.SocketTimeoutException;
+import java.util.AbstractMap;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
 
 @Component
 @Slf4j
 public class ArticleDao {
-    private final ObjectMapper objectMapper;
+    private static final int INCREASE_READ_RETRY_ON_CONFLICT = 3;
+    private static final String SUGGEST_MAPPINGS_PATH = "mappings/article-suggest.json";
+    private static final TimeValue SCAN_KEEP_ALIVE = TimeValue.timeValueMinutes(1);
+    private static final int DEFAULT_SEARCH_SIZE = 10;
+    private static final long FEDERATED_SHARD_TIMEOUT_PERCENT = 80; // 연합 검색 마감 시간 중 클러스터 안 샤드 검색에 쓸 비율, 나머지는 응답 전송 몫
+
+    private final ArticleCodec articleCodec;
     private final RestHighLevelClient client;
     private final ArticleValidator articleValidator;
+    private final EsResilience esResilience;
+    private final ReadRouter readRouter;
+    private final FederatedClusters federatedClusters;
     private final String alias;
 
-    public ArticleDao(ObjectMapper objectMapper, @Qualifier("articleClient") RestHighLevelClient articleClient, ArticleValidator articleValidator, ArticleProperties articleProperties) throws IOException {
-        this.objectMapper = objectMapper;
+    public ArticleDao(ArticleCodec articleCodec, @Qualifier("articleClient") RestHighLevelClient articleClient, ArticleValidator articleValidator, EsResilience esResilience,
+                      ReadRouter readRouter, FederatedClusters federatedClusters, ArticleProperties articleProperties) throws IOException {
+        this.articleCodec = articleCodec;
         this.client = articleClient;
         this.articleValidator = articleValidator;
+        this.esResilience = esResilience;
+        this.readRouter = readRouter;
+        this.federatedClusters = federatedClusters;
         this.alias = articleProperties.getAlias();
     }
 
@@ -49,14 +117,248 @@ public class ArticleDao {
      * @throws IOException
      */
     public List<ArticleVo> searchArticles(SearchSourceBuilder searchSourceBuilder) throws IOException {
+        return searchArticles(searchSourceBuilder, null);
+    }
+
+    /**
+     * 아티클 검색
+     * @param searchSourceBuilder
+     * @param requestCache shard request cache 사용 여부, null 이면 인덱스 설정을 따른다.
+     * @return articleVo list
+     * @throws IOException
+     */
+    public List<ArticleVo> searchArticles(SearchSourceBuilder searchSourceBuilder, Boolean requestCache) throws IOException {
         Objects.requireNonNull(searchSourceBuilder);
 
-        List<ArticleVo> articleVoList = new ArrayList<>();
-        SearchResponse searchResponse = CommonEsDao.searchDocument(client, alias, searchSourceBuilder);
-        for (SearchHit hit : searchResponse.getHits().getHits()) {
-            articleVoList.add(objectMapper.convertValue(hit.getSourceAsMap(), ArticleVo.class));
+        ReadTarget readTarget = readRouter.route("search");
+        return esResilience.read(readTarget.getOperation(), () -> searchSourceBuilder + ":" + requestCache, () -> {
+            List<ArticleVo> articleVoList = new ArrayList<>();
+            SearchResponse searchResponse = CommonEsDao.searchDocument(readTarget.getClient(), readTarget.getAlias(), searchSourceBuilder, requestCache);
+            for (SearchHit hit : searchResponse.getHits().getHits()) {
+                articleVoList.add(articleCodec.readArticleVo(hit.getSourceRef()));
+            }
+            return articleVoList;
+        });
+    }
+
+    /**
+     * 시간 예산 안에서 아티클 검색
+     * 검색 timeout 이 지나면 응답한 샤드 결과만 받는다.
+     * 클라이언트 마감 시간까지 응답이 없으면 재시도하지 않고 SocketTimeoutException 을 던지며, 서킷 브레이커 실패로 센다.
+     * 일부 샤드만 응답한 결과는 장애 대비 캐시에 보관하지 않는다.
+     * @param searchSourceBuilder
+     * @param requestCache shard request cache 사용 여부, null 이면 인덱스 설정을 따른다.
+     * @param searchBudget 시간 예산
+     * @return 검색 결과, 샤드 응답 현황
+     * @throws IOException
+     */
+    public ArticleSearchResultVo searchArticles(SearchSourceBuilder searchSourceBuilder, Boolean requestCache, SearchBudget searchBudget) throws IOException {
+        Objects.requireNonNull(searchSourceBuilder);
+        Objects.requireNonNull(searchBudget);
+
+        SearchSourceBuilder budgetedSearchSourceBuilder = withSearchBudget(searchSourceBuilder, searchBudget);
+        ReadTarget readTarget = readRouter.route("search");
+        return esResilience.budgetedRead(readTarget.getOperation(), () -> searchSourceBuilder + ":" + requestCache + ":" + searchBudget.getTerminateAfter(),
+                articleSearchResultVo -> !articleSearchResultVo.isPartial(), () -> {
+            SearchResponse searchResponse = CommonEsDao.searchDocument(readTarget.getClient(), readTarget.getAlias(), budgetedSearchSourceBuilder, requestCache, searchBudget.getClientTimeoutMs());
+
+            List<ArticleVo> articleVoList = new ArrayList<>(searchResponse.getHits().getHits().length);
+            for (SearchHit hit : searchResponse.getHits().getHits()) {
+                articleVoList.add(articleCodec.readArticleVo(hit.getSourceRef()));
+            }
+            return ArticleSearchResultVo.builder()
+                    .articles(articleVoList)
+                    .timedOut(searchResponse.isTimedOut())
+                    .terminatedEarly(Boolean.TRUE.equals(searchResponse.isTerminatedEarly()))
+                    .totalShards(searchResponse.getTotalShards())
+                    .successfulShards(searchResponse.getSuccessfulShards())
+                    .skippedShards(searchResponse.getSkippedShards())
+                    .failedShards(searchResponse.getFailedShards())
+                    .build();
+        });
+    }
+
+    /**
+     * 연합 검색
+     * 모든 클러스터에 같은 검색을 동시에 보내고, 마감 시간까지 응답한 결과를 정렬 값 기준으로 k-way 병합한다.
+     * 클러스터마다 from + size 건을 받아 병합한 뒤 from 만큼 건너뛴다.
+     * 이 앱의 클러스터는 다른 검색과 같이 ReadRouter 로 읽을 곳을 고르고 EsResilience 로 서킷, 이전 결과 대체를 적용한다.
+     * @param searchSourceBuilder 정렬, from, size 를 포함한 검색 조건
+     * @param timeoutMs 전체 마감 시간
+     * @return 병합된 결과, 빠진 클러스터
+     */
+    public FederatedSearchVo federatedSearchArticles(SearchSourceBuilder searchSourceBuilder, long timeoutMs) {
+        Objects.requireNonNull(searchSourceBuilder);
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        int from = Math.max(0, searchSourceBuilder.from());
+        int size = searchSourceBuilder.size() < 0 ? DEFAULT_SEARCH_SIZE : searchSourceBuilder.size();
+        SearchSourceBuilder clusterSearchSourceBuilder = searchSourceBuilder.shallowCopy()
+                .from(0)
+                .size(from + size)
+                .timeout(TimeValue.timeValueMillis(Math.max(1, timeoutMs * FEDERATED_SHARD_TIMEOUT_PERCENT / 100))) // 일부 샤드 결과라도 전체 마감 전에 도착하도록 더 짧게
+                ;
+
+        List<FederatedCluster> clusters = federatedClusters.getClusters();
+        AtomicReferenceArray<SearchResponse> responses = new AtomicReferenceArray<>(clusters.size());
+        AtomicReferenceArray<Exception> errors = new AtomicReferenceArray<>(clusters.size());
+        CountDownLatch latch = new CountDownLatch(clusters.size());
+        List<Cancellable> cancellables = new ArrayList<>(clusters.size());
+        int localIndex = -1;
+        for (int i = 0; i < clusters.size(); i++) {
+            int clusterIndex = i;
+            FederatedCluster cluster = clusters.get(i);
+            if(federatedClusters.isLocal(cluster)) { // 다른 클러스터에 보낸 뒤 이 스레드에서 검색
+                localIndex = i;
+                cancellables.add(null);
+                continue;
+            }
+            try {
+                cancellables.add(CommonEsDao.searchDocumentAsync(cluster.getClient(), cluster.getAlias(), clusterSearchSourceBuilder, null, ActionListener.wrap(
+                        searchResponse -> { responses.set(clusterIndex, searchResponse); latch.countDown(); },
+                        e -> { errors.set(clusterIndex, e); latch.countDown(); })));
+            } catch (RuntimeException e) {
+                cancellables.add(null);
+                errors.set(clusterIndex, e);
+                latch.countDown();
+            }
+        }
+
+        if(localIndex >= 0) {
+            ReadTarget readTarget = readRouter.route("search");
+            long remainingMs = Math.max(1, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime()));
+            try {
+                responses.set(localIndex, esResilience.budgetedRead(readTarget.getOperation(), clusterSearchSourceBuilder::toString, searchResponse -> !searchResponse.isTimedOut(),
+                        () -> CommonEsDao.searchDocument(readTarget.getClient(), readTarget.getAlias(), clusterSearchSourceBuilder, null, remainingMs)));
+            } catch (SocketTimeoutException e) {
+                // 응답도 오류도 없으면 시간 초과로 본다.
+            } catch (IOException | RuntimeException e) {
+                errors.set(localIndex, e);
+            }
+            latch.countDown();
+        }
+
+        try {
+            latch.await(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt(); // 응답한 클러스터 결과만 병합
         }
-        return articleVoList;
+
+        List<List<FederatedHit>> clusterHits = new ArrayList<>(clusters.size());
+        List<String> timedOutClusters = new ArrayList<>();
+        List<String> failedClusters = new ArrayList<>();
+        for (int i = 0; i < clusters.size(); i++) {
+            String name = clusters.get(i).getName();
+            SearchResponse searchResponse = responses.get(i);
+            if(searchResponse == null) {
+                if(errors.get(i) != null) {
+                    failedClusters.add(name);
+                    log.warn("[Federation] Search on [{}] failed: {}", name, errors.get(i).toString());
+                } else {
+                    timedOutClusters.add(name);
+                    if(cancellables.get(i) != null)
+                        cancellables.get(i).cancel();
+                }
+                continue;
+            }
+            if(searchResponse.isTimedOut())
+                timedOutClusters.add(name);
+            List<FederatedHit> hits = new ArrayList<>(searchResponse.getHits().getHits().length);
+            for (SearchHit hit : searchResponse.getHits().getHits()) {
+                hits.add(new FederatedHit(name, hit));
+            }
+            clusterHits.add(hits);
+        }
+
+        Comparator<SearchHit> hitComparator = SortValues.comparator(searchSourceBuilder.sorts());
+        List<FederatedArticleVo> federatedArticleVoList = new ArrayList<>(size);
+        for (FederatedHit federatedHit : KWayMerge.merge(clusterHits, (a, b) -> hitComparator.compare(a.hit, b.hit), from, size)) {
+            federatedArticleVoList.add(new FederatedArticleVo(federatedHit.cluster, readArticleVo(federatedHit.hit)));
+        }
+        return new FederatedSearchVo(federatedArticleVoList, timedOutClusters, failedClusters);
+    }
+
+    /**
+     * 아티클 건수 조회
+     * @param searchSourceBuilder
+     * @param requestCache shard request cache 사용 여부, null 이면 인덱스 설정을 따른다.
+     * @return 검색 조건에 맞는 아티클 건수
+     * @throws IOException
+     */
+    public long countArticles(SearchSourceBuilder searchSourceBuilder, Boolean requestCache) throws IOException {
+        Objects.requireNonNull(searchSourceBuilder);
+
+        ReadTarget readTarget = readRouter.route("count");
+        return esResilience.read(readTarget.getOperation(), () -> searchSourceBuilder + ":" + requestCache,
+                () -> CommonEsDao.searchDocument(readTarget.getClient(), readTarget.getAlias(), searchSourceBuilder, requestCache).getHits().getTotalHits().value);
+    }
+
+    /**
+     * 아티클 집계
+     * @param searchSourceBuilder
+     * @param requestCache shard request cache 사용 여부, null 이면 인덱스 설정을 따른다.
+     * @return aggregations
+     * @throws IOException
+     */
+    public Aggregations aggregateArticles(SearchSourceBuilder searchSourceBuilder, Boolean requestCache) throws IOException {
+        Objects.requireNonNull(searchSourceBuilder);
+
+        ReadTarget readTarget = readRouter.route("aggregate");
+        return esResilience.read(readTarget.getOperation(), () -> searchSourceBuilder + ":" + requestCache,
+                () -> CommonEsDao.searchDocument(readTarget.getClient(), readTarget.getAlias(), searchSourceBuilder, requestCache).getAggregations());
+    }
+
+    /**
+     * 아티클 검색 프로파일
+     * 같은 검색을 profile 로 실행해 샤드별 쿼리, 수집기 시간을 받는다. 엘라스틱서치는 profile 검색을 캐시하지 않고, 결과 캐시도 쓰지 않는다.
+     * @param searchSourceBuilder withSearchBudget 으로 시간 예산을 적용한 검색 조건
+     * @param requestCache 실제 검색과 같은 shard request cache 사용 여부
+     * @param clientTimeoutMs 응답 대기 마감 시간
+     * @return 샤드 id 별 프로파일 결과
+     * @throws IOException
+     */
+    public Map<String, ProfileShardResult> profileSearchArticles(SearchSourceBuilder searchSourceBuilder, Boolean requestCache, long clientTimeoutMs) throws IOException {
+        Objects.requireNonNull(searchSourceBuilder);
+
+        SearchSourceBuilder profileSearchSourceBuilder = searchSourceBuilder.shallowCopy().profile(true);
+        ReadTarget readTarget = readRouter.route("profile");
+        return esResilience.read(readTarget.getOperation(),
+                () -> CommonEsDao.searchDocument(readTarget.getClient(), readTarget.getAlias(), profileSearchSourceBuilder, requestCache, clientTimeoutMs).getProfileResults());
+    }
+
+    /**
+     * 검색 시간 예산(timeout, terminate_after)을 적용한 검색 조건
+     * @param searchSourceBuilder 바꾸지 않는다.
+     * @param searchBudget
+     * @return
+     */
+    public static SearchSourceBuilder withSearchBudget(SearchSourceBuilder searchSourceBuilder, SearchBudget searchBudget) {
+        SearchSourceBuilder budgetedSearchSourceBuilder = searchSourceBuilder.shallowCopy()
+                .timeout(TimeValue.timeValueMillis(searchBudget.getTimeoutMs()))
+                ;
+        if(searchBudget.getTerminateAfter() != null)
+            budgetedSearchSourceBuilder.terminateAfter(searchBudget.getTerminateAfter());
+        return budgetedSearchSourceBuilder;
+    }
+
+    /**
+     * 아티클 제목 자동완성 검색
+     * @param searchSourceBuilder
+     * @return articleSuggestVo list
+     * @throws IOException
+     */
+    public List<ArticleSuggestVo> suggestArticles(SearchSourceBuilder searchSourceBuilder) throws IOException {
+        Objects.requireNonNull(searchSourceBuilder);
+
+        ReadTarget readTarget = readRouter.route("suggest");
+        return esResilience.read(readTarget.getOperation(), () -> {
+            List<ArticleSuggestVo> articleSuggestVoList = new ArrayList<>();
+            SearchResponse searchResponse = CommonEsDao.searchDocument(readTarget.getClient(), readTarget.getAlias(), searchSourceBuilder);
+            for (SearchHit hit : searchResponse.getHits().getHits()) {
+                articleSuggestVoList.add(articleCodec.readArticleSuggestVo(hit.getSourceRef()));
+            }
+            return articleSuggestVoList;
+        });
     }
 
     /**
@@ -66,13 +368,28 @@ public class ArticleDao {
      * @throws IOException
      */
     public ArticleVo findArticleById(Integer docId) throws IOException {
+        return findVersionedArticleById(docId).getArticle();
+    }
+
+    /**
+     * 아티클 번호가 일치하는 아티클과 _seq_no, _primary_term 반환
+     * 다른 읽기처럼 라우팅하고, 리더에서 읽었을 때만 버전을 준다.
+     * 읽기 클러스터의 _seq_no, _primary_term 은 복제 지연만큼 리더보다 늦고 조건부 수정은 리더에서 비교하므로, 버전이 필요하면 read-your-writes 로 리더에서 읽는다.
+     * @param docId
+     * @return 읽기 클러스터에서 읽으면 버전 없음
+     * @throws IOException
+     */
+    public VersionedArticleVo findVersionedArticleById(Integer docId) throws IOException {
         Objects.requireNonNull(docId);
 
-        GetResponse getResponse = CommonEsDao.findDocumentById(client, alias, String.valueOf(docId));
+        ReadTarget readTarget = readRouter.route("get");
+        GetResponse getResponse = esResilience.read(readTarget.getOperation(), () -> String.valueOf(docId),
+                () -> CommonEsDao.findDocumentById(readTarget.getClient(), readTarget.getAlias(), String.valueOf(docId)));
         if(!getResponse.isExists()) {
             throw new DocumentNotFoundException(String.valueOf(docId), alias);
         }
-        return objectMapper.convertValue(getResponse.getSourceAsMap(), ArticleVo.class);
+        ArticleVersion articleVersion = readTarget.isFollower() ? null : new ArticleVersion(getResponse.getSeqNo(), getResponse.getPrimaryTerm());
+        return new VersionedArticleVo(articleCodec.readArticleVo(getResponse.getSourceAsBytesRef()), articleVersion);
     }
 
     /**
@@ -84,10 +401,9 @@ public class ArticleDao {
     public IndexResponse index(ArticleVo articleVo) throws IOException {
         articleValidator.validateArticleVo(articleVo);
 
-        ArticleDto articleDto = objectMapper.convertValue(articleVo, ArticleDto.class);
-        articleValidator.validateIsDocIdNotExist(articleDto.getArticleNumber());
+        articleValidator.validateIsDocIdNotExist(articleVo.getArticleNumber());
 
-        return CommonEsDao.indexDocument(client, alias, String.valueOf(articleDto.getArticleNumber()), objectMapper.convertValue(articleDto, Map.class));
+        return createArticle(String.valueOf(articleVo.getArticleNumber()), articleCodec.writeArticleSource(articleVo));
     }
 
 
@@ -102,30 +418,115 @@ public class ArticleDao {
         articleValidator.validateArticleVo(articleVo);
         articleValidator.validateIsDocIdExist(docId);
 
-        ArticleDto articleDto = objectMapper.convertValue(articleVo, ArticleDto.class);
         String currentDocId = String.valueOf(docId);
-        String futureDocId = String.valueOf(articleDto.getArticleNumber());
+        String futureDocId = String.valueOf(articleVo.getArticleNumber());
+        byte[] source = articleCodec.writeArticleSource(articleVo);
 
         if(isDocIdUpdated(currentDocId, futureDocId)) {
             // 아티클번호를 수정할 경우
             articleValidator.validateIsDocIdNotExist(futureDocId);
-            return updateNewDocIdDocument(articleDto, currentDocId, futureDocId);
+            return updateNewDocIdDocument(source, currentDocId, futureDocId);
+        }
+
+        try {
+            return esResilience.guardedWrite("update", () -> CommonEsDao.updateDocument(client, alias, currentDocId, source)); // 같은 값 덮어쓰기
+        } catch (ElasticsearchStatusException e) {
+            if(e.status() != RestStatus.NOT_FOUND)
+                throw e;
+            articleValidator.onArticleDeleted(docId); // 검증 이후 삭제됨
+            throw new DocumentNotFoundException(currentDocId, alias);
+        }
+    }
+
+    /**
+     * 아티클 부분 수정
+     * 바뀐 필드만 보내고 변경된 아티클을 같은 요청으로 돌려받는다. 존재 여부는 따로 확인하지 않고 수정 결과로 판단한다.
+     * @param docId
+     * @param articlePatchVo
+     * @param expectedVersion 이 버전일 때만 수정, null 이면 조건 없이 수정
+     * @return 수정된 아티클과 새 버전
+     * @throws IOException
+     */
+    public VersionedArticleVo patch(Integer docId, ArticlePatchVo articlePatchVo, ArticleVersion expectedVersion) throws IOException {
+        Objects.requireNonNull(docId);
+        articleValidator.validateArticlePatchVo(articlePatchVo);
+
+        String id = String.valueOf(docId);
+        Map<String, Object> changes = toChanges(articlePatchVo);
+
+        Long ifSeqNo = expectedVersion == null ? null : expectedVersion.getSeqNo();
+        Long ifPrimaryTerm = expectedVersion == null ? null : expectedVersion.getPrimaryTerm();
+        UpdateResponse updateResponse;
+        try {
+            updateResponse = esResilience.guardedWrite("patch", () -> CommonEsDao.patchDocument(client, alias, id, changes, ifSeqNo, ifPrimaryTerm)); // 같은 필드 값 덮어쓰기
+        } catch (ElasticsearchStatusException e) {
+            if(e.status() == RestStatus.NOT_FOUND) {
+                articleValidator.onArticleDeleted(docId);
+                throw new DocumentNotFoundException(id, alias);
+            }
+            if(e.status() == RestStatus.CONFLICT && expectedVersion != null)
+                throw new VersionConflictException(id, alias, expectedVersion.getSeqNo(), expectedVersion.getPrimaryTerm());
+            throw e;
         }
+        articleValidator.onArticleWritten(docId);
+
+        ArticleVersion version = new ArticleVersion(updateResponse.getSeqNo(), updateResponse.getPrimaryTerm());
+        if(updateResponse.getGetResult() == null || !updateResponse.getGetResult().isExists()) // 수정 직후 삭제됨
+            throw new DocumentNotFoundException(id, alias);
+        return new VersionedArticleVo(articleCodec.readArticleVo(updateResponse.getGetResult().sourceRef()), version);
+    }
 
-        return CommonEsDao.updateDocument(client, alias, currentDocId, objectMapper.convertValue(articleDto, Map.class));
+    /**
+     * 부분 수정할 필드
+     * @param articlePatchVo
+     * @return null 이 아닌 필드만
+     */
+    private static Map<String, Object> toChanges(ArticlePatchVo articlePatchVo) {
+        Map<String, Object> changes = new HashMap<>();
+        if(articlePatchVo.getArticleTitle() != null)
+            changes.put("articleTitle", articlePatchVo.getArticleTitle());
+        if(articlePatchVo.getRead() != null)
+            changes.put("read", articlePatchVo.getRead());
+        if(articlePatchVo.getIsOpen() != null)
+            changes.put("isOpen", articlePatchVo.getIsOpen());
+        return changes;
     }
 
     /**
-     * _id 가 currentDocId 인 아티클 삭제 후 futureDocId 인 아티클 새로 색인
-     * @param articleDto 색인할 데이터
+     * futureDocId 인 아티클 새로 색인 후 _id 가 currentDocId 인 아티클 삭제
+     * 새 번호가 이미 있으면 색인이 409 로 실패하므로 기존 아티클은 지워지지 않는다.
+     * @param source 색인할 데이터 (JSON)
      * @param currentDocId 삭제할 doc id
      * @param futureDocId 색인할 doc id
      * @return
      * @throws IOException
      */
-    private IndexResponse updateNewDocIdDocument(ArticleDto articleDto, String currentDocId, String futureDocId) throws IOException {
-        CommonEsDao.deleteDocument(client, alias, currentDocId); // _id는 수정이 안돼서 delete & index
-        return CommonEsDao.indexDocument(client, alias, futureDocId, objectMapper.convertValue(articleDto, Map.class));
+    private IndexResponse updateNewDocIdDocument(byte[] source, String currentDocId, String futureDocId) throws IOException {
+        IndexResponse indexResponse = createArticle(futureDocId, source); // _id는 수정이 안돼서 index & delete
+        esResilience.guardedWrite("delete", () -> CommonEsDao.deleteDocument(client, alias, currentDocId));
+        articleValidator.onArticleDeleted(Integer.valueOf(currentDocId));
+        return indexResponse;
+    }
+
+    /**
+     * op_type create 로 색인, 이미 있으면 DocumentAlreadyExistException
+     * @param docId
+     * @param source
+     * @return
+     * @throws IOException
+     */
+    private IndexResponse createArticle(String docId, byte[] source) throws IOException {
+        IndexResponse indexResponse;
+        try {
+            indexResponse = esResilience.guardedWrite("index", () -> CommonEsDao.createDocument(client, alias, docId, source)); // 이미 있으면 409 라 재시도해도 덮어쓰지 않음
+        } catch (ElasticsearchStatusException e) {
+            if(e.status() != RestStatus.CONFLICT)
+                throw e;
+            articleValidator.onArticleWritten(Integer.valueOf(docId)); // 검증 이후 다른 곳에서 색인됨
+            throw new DocumentAlreadyExistException(docId, alias);
+        }
+        articleValidator.onArticleWritten(Integer.valueOf(docId));
+        return indexResponse;
     }
 
     /**
@@ -147,7 +548,227 @@ public class ArticleDao {
     public DeleteResponse delete(Integer docId) throws IOException {
         articleValidator.validateIsDocIdExist(docId);
 
-        return CommonEsDao.deleteDocument(client, alias, String.valueOf(docId));
+        DeleteResponse deleteResponse = esResilience.guardedWrite("delete", () -> CommonEsDao.deleteDocument(client, alias, String.valueOf(docId)));
+        articleValidator.onArticleDeleted(docId);
+        if(deleteResponse.getResult() == DocWriteResponse.Result.NOT_FOUND) { // 검증 이후 삭제됨
+            throw new DocumentNotFoundException(String.valueOf(docId), alias);
+        }
+        return deleteResponse;
+    }
+
+    /**
+     * 아티클 조회수 일괄 증가
+     * @param readCounts 아티클 번호별 증가시킬 조회수
+     * @return response
+     * @throws IOException
+     */
+    public BulkResponse increaseReads(Map<Integer, Long> readCounts) throws IOException {
+        Objects.requireNonNull(readCounts);
+
+        BulkRequest bulkRequest = new BulkRequest();
+        readCounts.forEach((docId, count) -> bulkRequest.add(
+                new UpdateRequest(alias, String.valueOf(docId))
+                        .script(new Script(ScriptType.STORED, null, ArticleScript.INCREASE_READ.getId(), Collections.singletonMap("count", count)))
+                        .retryOnConflict(INCREASE_READ_RETRY_ON_CONFLICT) // 동시에 들어온 조회수 증가끼리 충돌 시 재시도
+        ));
+        return esResilience.write("bulk", () -> CommonEsDao.bulk(client, bulkRequest)); // 스크립트 증가라 재시도하면 중복 반영될 수 있음
+    }
+
+    /**
+     * 아티클 변경 일괄 반영
+     * 같은 아티클에 대한 변경은 같은 샤드에서 목록 순서대로 적용된다.
+     * 존재 여부 검증은 하지 않으며, 이미 있는 아티클 색인이나 없는 아티클 수정은 항목 실패로 응답된다.
+     * @param articleMutations
+     * @return response
+     * @throws IOException
+     */
+    public BulkResponse bulkMutate(List<ArticleMutation> articleMutations) throws IOException {
+        Objects.requireNonNull(articleMutations);
+
+        BulkRequest bulkRequest = new BulkRequest();
+        for (ArticleMutation articleMutation : articleMutations) {
+            String docId = String.valueOf(articleMutation.getArticleNumber());
+            switch (articleMutation.getType()) {
+                case INDEX:
+                    bulkRequest.add(new IndexRequest(alias).id(docId).opType(DocWriteRequest.OpType.CREATE).source(articleCodec.writeArticleSource(articleMutation.getArticle()), XContentType.JSON));
+                    break;
+                case UPDATE:
+                    bulkRequest.add(new UpdateRequest(alias, docId).doc(articleCodec.writeArticleSource(articleMutation.getArticle()), XContentType.JSON));
+                    break;
+                case PATCH: // 복제본, 저장된 검색 대조에 쓸 수정 후 전체 값을 함께 받는다.
+                    bulkRequest.add(new UpdateRequest(alias, docId).doc(toChanges(articleMutation.getPatch())).fetchSource(true));
+                    break;
+                case DELETE:
+                    bulkRequest.add(new DeleteRequest(alias, docId));
+                    break;
+            }
+        }
+        BulkResponse bulkResponse = esResilience.write("bulk", () -> CommonEsDao.bulk(client, bulkRequest)); // 항목별 재시도는 호출자가 한다.
+        for (BulkItemResponse item : bulkResponse.getItems()) {
+            ArticleMutation articleMutation = articleMutations.get(item.getItemId());
+            if(!item.isFailed()) {
+                if(articleMutation.getType() == ArticleMutation.Type.DELETE) {
+                    articleValidator.onArticleDeleted(articleMutation.getArticleNumber());
+                } else {
+                    articleValidator.onArticleWritten(articleMutation.getArticleNumber());
+                }
+            } else if(item.status() == RestStatus.CONFLICT) {
+                articleValidator.onArticleWritten(articleMutation.getArticleNumber());
+            } else if(item.status() == RestStatus.NOT_FOUND) {
+                articleValidator.onArticleDeleted(articleMutation.getArticleNumber());
+            }
+        }
+        return bulkResponse;
+    }
+
+    /**
+     * bulkMutate 로 반영한 PATCH 항목의 수정 후 아티클
+     * @param item 성공한 PATCH 항목
+     * @return 수정 직후 삭제되었으면 null
+     * @throws IOException
+     */
+    public ArticleVo readPatchedArticle(BulkItemResponse item) throws IOException {
+        UpdateResponse updateResponse = item.getResponse();
+        if(updateResponse.getGetResult() == null || !updateResponse.getGetResult().isExists())
+            return null;
+        return articleCodec.readArticleVo(updateResponse.getGetResult().sourceRef());
+    }
+
+    /**
+     * alias 가 가리키는 실제 인덱스 이름과 샤드 수
+     * _seq_no 는 샤드별로 증가하므로 변경 추적은 실제 인덱스의 샤드 단위로 한다.
+     * @return 인덱스 이름, 샤드 수
+     * @throws IOException
+     */
+    public Map.Entry<String, Integer> getIndexShards() throws IOException {
+        GetIndexResponse getIndexResponse = CommonEsDao.getIndex(client, alias);
+        String index = getIndexResponse.getIndices()[0];
+        int shards = getIndexResponse.getSettings().get(index).getAsInt("index.number_of_shards", 1);
+        return new AbstractMap.SimpleImmutableEntry<>(index, shards);
+    }
+
+    /**
+     * 샤드별 global checkpoint
+     * @param index 실제 인덱스 이름
+     * @param shards 샤드 수
+     * @return 샤드 번호 순
+     * @throws IOException
+     */
+    public long[] getGlobalCheckpoints(String index, int shards) throws IOException {
+        return esResilience.read("checkpoints", () -> CommonEsDao.getGlobalCheckpoints(client, index, shards));
+    }
+
+    /**
+     * 인덱스 refresh
+     * @param index 실제 인덱스 이름
+     * @throws IOException
+     */
+    public void refreshIndex(String index) throws IOException {
+        esResilience.read("refresh", () -> CommonEsDao.refreshIndex(client, index));
+    }
+
+    /**
+     * 샤드 하나의 모든 아티클을 _seq_no 와 함께 스크롤로 읽기
+     * 검색 결과에는 샤드 정보가 없으므로 샤드 단위로 읽는다.
+     * @param index 실제 인덱스 이름
+     * @param shard 샤드 번호
+     * @param batchSize 스크롤 한 번에 읽을 건수
+     * @param consumer 읽은 순서대로 호출된다.
+     * @throws IOException
+     */
+    public void scanArticles(String index, int shard, int batchSize, Consumer<ArticleChange> consumer) throws IOException {
+        SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder()
+                .size(batchSize)
+                .sort("_doc")
+                .seqNoAndPrimaryTerm(true)
+                ;
+
+        SearchResponse searchResponse = CommonEsDao.startShardScroll(client, index, shard, searchSourceBuilder, SCAN_KEEP_ALIVE);
+        String scrollId = searchResponse.getScrollId();
+        try {
+            while (searchResponse.getHits().getHits().length > 0) {
+                for (SearchHit hit : searchResponse.getHits().getHits()) {
+                    consumer.accept(toArticleChange(shard, hit));
+                }
+                searchResponse = CommonEsDao.scroll(client, scrollId, SCAN_KEEP_ALIVE);
+                scrollId = searchResponse.getScrollId();
+            }
+        } finally {
+            try {
+                CommonEsDao.clearScroll(client, scrollId);
+            } catch (IOException | RuntimeException e) {
+                log.warn("[Scan] Clear scroll failed: {}", e.toString());
+            }
+        }
+    }
+
+    /**
+     * 모든 아티클 번호를 스크롤로 읽기, _source 는 가져오지 않는다.
+     * @param batchSize 스크롤 한 번에 읽을 건수
+     * @param consumer
+     * @throws IOException
+     */
+    public void scanArticleNumbers(int batchSize, IntConsumer consumer) throws IOException {
+        SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder()
+                .size(batchSize)
+                .sort("_doc")
+                .fetchSource(false)
+                ;
+
+        SearchResponse searchResponse = CommonEsDao.startScroll(client, alias, searchSourceBuilder, SCAN_KEEP_ALIVE);
+        String scrollId = searchResponse.getScrollId();
+        try {
+            while (searchResponse.getHits().getHits().length > 0) {
+                for (SearchHit hit : searchResponse.getHits().getHits()) {
+                    try {
+                        consumer.accept(Integer.parseInt(hit.getId()));
+                    } catch (NumberFormatException e) {
+                        log.warn("[Scan] Skip non-numeric doc id [{}]", hit.getId());
+                    }
+                }
+                searchResponse = CommonEsDao.scroll(client, scrollId, SCAN_KEEP_ALIVE);
+                scrollId = searchResponse.getScrollId();
+            }
+        } finally {
+            try {
+                CommonEsDao.clearScroll(client, scrollId);
+            } catch (IOException | RuntimeException e) {
+                log.warn("[Scan] Clear scroll failed: {}", e.toString());
+            }
+        }
+    }
+
+    /**
+     * 샤드에서 _seq_no 구간의 색인, 수정된 아티클 조회
+     * 삭제는 도큐먼트가 남지 않으므로 조회되지 않는다.
+     * @param index 실제 인덱스 이름
+     * @param shard 샤드 번호
+     * @param seqNo 마지막으로 읽은 _seq_no, 이 값은 포함하지 않는다.
+     * @param maxSeqNo 검색에 보이는 것이 확인된 _seq_no(global checkpoint), 이보다 큰 작업은 앞선 작업보다 먼저 보일 수 있어 다음에 읽는다.
+     * @param size 최대 건수
+     * @return _seq_no 순
+     * @throws IOException
+     */
+    public List<ArticleChange> findChangesSince(String index, int shard, long seqNo, long maxSeqNo, int size) throws IOException {
+        SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder()
+                .query(QueryBuilders.boolQuery().filter(QueryBuilders.rangeQuery("_seq_no").gt(seqNo).lte(maxSeqNo)))
+                .sort("_seq_no", SortOrder.ASC)
+                .size(size)
+                .seqNoAndPrimaryTerm(true)
+                .trackTotalHits(false)
+                ;
+
+        return esResilience.read("changes", () -> {
+            List<ArticleChange> articleChangeList = new ArrayList<>();
+            for (SearchHit hit : CommonEsDao.searchShard(client, index, shard, searchSourceBuilder).getHits().getHits()) {
+                articleChangeList.add(toArticleChange(shard, hit));
+            }
+            return articleChangeList;
+        });
+    }
+
+    private ArticleChange toArticleChange(int shard, SearchHit hit) throws IOException {
+        return new ArticleChange(shard, hit.getSeqNo(), articleCodec.readArticleVo(hit.getSourceRef()));
     }
 
     /**
@@ -162,14 +783,60 @@ public class ArticleDao {
         return CommonEsDao.createIndex(client, alias, mappings);
     }
 
+    /**
+     * 아티클 제목 자동완성 필드 매핑 추가
+     * 이미 있는 경우에도 결과는 같다. 추가 이전에 색인된 도큐먼트는 재색인해야 자동완성 대상이 된다.
+     * @return response
+     * @throws IOException
+     */
+    public AcknowledgedResponse putSuggestMapping() throws IOException {
+        return CommonEsDao.putMapping(client, alias, FileUtils.readClasspathResource(SUGGEST_MAPPINGS_PATH));
+    }
+
+    /**
+     * 아티클 stored script 등록
+     * 같은 id 로 다시 등록하면 덮어쓴다.
+     * stored script 는 CCR 로 복제되지 않으므로 읽기 클러스터가 있으면 읽기 클러스터에도 등록한다.
+     * @throws IOException
+     */
+    public void putStoredScripts() throws IOException {
+        putStoredScripts(client);
+        Optional<RestHighLevelClient> readClusterClient = readRouter.getReadClusterClient();
+        if(readClusterClient.isPresent())
+            putStoredScripts(readClusterClient.get());
+    }
+
+    private static void putStoredScripts(RestHighLevelClient client) throws IOException {
+        for (ArticleScript articleScript : ArticleScript.values()) {
+            CommonEsDao.putStoredScript(client, articleScript.getId(), articleScript.getLang(), articleScript.getSource());
+        }
+    }
+
     /**
      * 모든 아티클 삭제
      * @return
      * @throws IOException
      */
     public BulkByScrollResponse deleteAllDocument() throws IOException {
-        return CommonEsDao.deleteAllDocument(client, alias);
+        BulkByScrollResponse bulkByScrollResponse = CommonEsDao.deleteAllDocument(client, alias);
+        articleValidator.onAllArticlesDeleted();
+        return bulkByScrollResponse;
     }
 
+    private ArticleVo readArticleVo(SearchHit hit) {
+        try {
+            return articleCodec.readArticleVo(hit.getSourceRef());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 
+    /**
+     * 연합 검색 중 클러스터별 검색 결과
+     */
+    @AllArgsConstructor
+    private static class FederatedHit {
+        private final String cluster;
+        private final SearchHit hit;
+    }
 }
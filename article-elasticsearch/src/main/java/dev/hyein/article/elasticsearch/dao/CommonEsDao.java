@@ -1,23 +1,47 @@
 package dev.hyein.article.elasticsearch.dao;
 
+import org.elasticsearch.action.ActionListener;
+import org.elasticsearch.action.DocWriteRequest;
+import org.elasticsearch.action.admin.cluster.storedscripts.PutStoredScriptRequest;
 import org.elasticsearch.action.admin.indices.open.OpenIndexRequest;
 import org.elasticsearch.action.admin.indices.open.OpenIndexResponse;
+import org.elasticsearch.action.admin.indices.refresh.RefreshRequest;
+import org.elasticsearch.action.admin.indices.refresh.RefreshResponse;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.bulk.BulkResponse;
 import org.elasticsearch.action.delete.DeleteRequest;
 import org.elasticsearch.action.delete.DeleteResponse;
 import org.elasticsearch.action.get.GetRequest;
 import org.elasticsearch.action.get.GetResponse;
 import org.elasticsearch.action.index.IndexRequest;
 import org.elasticsearch.action.index.IndexResponse;
+import org.elasticsearch.action.search.ClearScrollRequest;
+import org.elasticsearch.action.search.ClearScrollResponse;
 import org.elasticsearch.action.search.SearchRequest;
 import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.action.search.SearchScrollRequest;
+import org.elasticsearch.action.support.PlainActionFuture;
+import org.elasticsearch.action.support.master.AcknowledgedResponse;
 import org.elasticsearch.action.update.UpdateRequest;
 import org.elasticsearch.action.update.UpdateResponse;
+import org.elasticsearch.client.Cancellable;
+import org.elasticsearch.client.Request;
 import org.elasticsearch.client.RequestOptions;
+import org.elasticsearch.client.Response;
 import org.elasticsearch.client.RestHighLevelClient;
 import org.elasticsearch.client.indices.CloseIndexRequest;
 import org.elasticsearch.client.indices.CloseIndexResponse;
 import org.elasticsearch.client.indices.CreateIndexRequest;
 import org.elasticsearch.client.indices.CreateIndexResponse;
+import org.elasticsearch.client.indices.GetIndexRequest;
+import org.elasticsearch.client.indices.GetIndexResponse;
+import org.elasticsearch.client.indices.PutMappingRequest;
+import org.elasticsearch.common.bytes.BytesReference;
+import org.elasticsearch.common.settings.Settings;
+import org.elasticsearch.common.unit.TimeValue;
+import org.elasticsearch.common.xcontent.XContentBuilder;
+import org.elasticsearch.common.xcontent.XContentFactory;
+import org.elasticsearch.common.xcontent.XContentHelper;
 import org.elasticsearch.common.xcontent.XContentType;
 import org.elasticsearch.index.query.QueryBuilders;
 import org.elasticsearch.index.reindex.BulkByScrollResponse;
@@ -26,7 +50,16 @@ import org.elasticsearch.search.builder.SearchSourceBuilder;
 import org.elasticsearch.search.fetch.subphase.FetchSourceContext;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.SocketTimeoutException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 public class CommonEsDao {
 
@@ -37,13 +70,207 @@ public class CommonEsDao {
      * @throws IOException
      */
     public static SearchResponse searchDocument(RestHighLevelClient client, String alias, SearchSourceBuilder searchSourceBuilder) throws IOException {
+        return searchDocument(client, alias, searchSourceBuilder, null);
+    }
+
+    /**
+     * 도큐먼트 검색
+     * @param searchSourceBuilder
+     * @param requestCache shard request cache 사용 여부, null 이면 인덱스 설정을 따른다.
+     * @return SearchResponse
+     * @throws IOException
+     */
+    public static SearchResponse searchDocument(RestHighLevelClient client, String alias, SearchSourceBuilder searchSourceBuilder, Boolean requestCache) throws IOException {
+        SearchRequest searchRequest = new SearchRequest(alias)
+                .source(searchSourceBuilder)
+                .requestCache(requestCache)
+                ;
+
+        return client.search(searchRequest, RequestOptions.DEFAULT);
+    }
+
+    /**
+     * 도큐먼트 검색, 클라이언트 마감 시간까지만 기다린다.
+     * 마감 시간이 지나면 요청을 취소하고 SocketTimeoutException 을 던진다.
+     * @param searchSourceBuilder
+     * @param requestCache shard request cache 사용 여부, null 이면 인덱스 설정을 따른다.
+     * @param clientTimeoutMs 응답 대기 마감 시간
+     * @return SearchResponse
+     * @throws IOException
+     */
+    public static SearchResponse searchDocument(RestHighLevelClient client, String alias, SearchSourceBuilder searchSourceBuilder, Boolean requestCache, long clientTimeoutMs) throws IOException {
+        PlainActionFuture<SearchResponse> future = PlainActionFuture.newFuture();
+        Cancellable cancellable = searchDocumentAsync(client, alias, searchSourceBuilder, requestCache, future);
+        try {
+            return future.get(clientTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            cancellable.cancel();
+            throw new SocketTimeoutException("Search on [" + alias + "] exceeded " + clientTimeoutMs + " ms");
+        } catch (InterruptedException e) {
+            cancellable.cancel();
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Search on [" + alias + "] interrupted");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if(cause instanceof IOException)
+                throw (IOException) cause;
+            if(cause instanceof RuntimeException)
+                throw (RuntimeException) cause;
+            throw new IOException(cause);
+        }
+    }
+
+    /**
+     * 샤드 하나만 검색
+     * @param client
+     * @param index
+     * @param shard 샤드 번호
+     * @param searchSourceBuilder
+     * @return SearchResponse
+     * @throws IOException
+     */
+    public static SearchResponse searchShard(RestHighLevelClient client, String index, int shard, SearchSourceBuilder searchSourceBuilder) throws IOException {
+        SearchRequest searchRequest = new SearchRequest(index)
+                .source(searchSourceBuilder)
+                .preference("_shards:" + shard)
+                ;
+
+        return client.search(searchRequest, RequestOptions.DEFAULT);
+    }
+
+    /**
+     * 도큐먼트 비동기 검색
+     * @param client
+     * @param alias
+     * @param searchSourceBuilder
+     * @param requestCache shard request cache 사용 여부, null 이면 인덱스 설정을 따른다.
+     * @param listener 클라이언트 I/O 스레드에서 호출된다.
+     * @return 요청 취소 핸들
+     */
+    public static Cancellable searchDocumentAsync(RestHighLevelClient client, String alias, SearchSourceBuilder searchSourceBuilder, Boolean requestCache, ActionListener<SearchResponse> listener) {
         SearchRequest searchRequest = new SearchRequest(alias)
                 .source(searchSourceBuilder)
+                .requestCache(requestCache)
                 ;
+        return client.searchAsync(searchRequest, RequestOptions.DEFAULT, listener);
+    }
+
+    /**
+     * 스크롤 검색 시작
+     * @param client
+     * @param index
+     * @param searchSourceBuilder
+     * @param keepAlive 스크롤 유지 시간
+     * @return SearchResponse
+     * @throws IOException
+     */
+    public static SearchResponse startScroll(RestHighLevelClient client, String index, SearchSourceBuilder searchSourceBuilder, TimeValue keepAlive) throws IOException {
+        SearchRequest searchRequest = new SearchRequest(index)
+                .source(searchSourceBuilder)
+                .scroll(keepAlive)
+                ;
+        return client.search(searchRequest, RequestOptions.DEFAULT);
+    }
 
+    /**
+     * 샤드 하나만 스크롤 검색 시작
+     * @param client
+     * @param index
+     * @param shard 샤드 번호
+     * @param searchSourceBuilder
+     * @param keepAlive 스크롤 유지 시간
+     * @return SearchResponse
+     * @throws IOException
+     */
+    public static SearchResponse startShardScroll(RestHighLevelClient client, String index, int shard, SearchSourceBuilder searchSourceBuilder, TimeValue keepAlive) throws IOException {
+        SearchRequest searchRequest = new SearchRequest(index)
+                .source(searchSourceBuilder)
+                .preference("_shards:" + shard)
+                .scroll(keepAlive)
+                ;
         return client.search(searchRequest, RequestOptions.DEFAULT);
     }
 
+    /**
+     * 스크롤 다음 페이지 조회
+     * @param client
+     * @param scrollId
+     * @param keepAlive 스크롤 유지 시간
+     * @return SearchResponse
+     * @throws IOException
+     */
+    public static SearchResponse scroll(RestHighLevelClient client, String scrollId, TimeValue keepAlive) throws IOException {
+        SearchScrollRequest searchScrollRequest = new SearchScrollRequest(scrollId)
+                .scroll(keepAlive)
+                ;
+        return client.scroll(searchScrollRequest, RequestOptions.DEFAULT);
+    }
+
+    /**
+     * 스크롤 해제
+     * @param client
+     * @param scrollId
+     * @return ClearScrollResponse
+     * @throws IOException
+     */
+    public static ClearScrollResponse clearScroll(RestHighLevelClient client, String scrollId) throws IOException {
+        ClearScrollRequest clearScrollRequest = new ClearScrollRequest();
+        clearScrollRequest.addScrollId(scrollId);
+        return client.clearScroll(clearScrollRequest, RequestOptions.DEFAULT);
+    }
+
+    /**
+     * 인덱스 refresh, 지금까지 처리된 작업을 검색에 보이게 한다.
+     * @param client
+     * @param index
+     * @return RefreshResponse
+     * @throws IOException
+     */
+    public static RefreshResponse refreshIndex(RestHighLevelClient client, String index) throws IOException {
+        return client.indices().refresh(new RefreshRequest(index), RequestOptions.DEFAULT);
+    }
+
+    /**
+     * 샤드별 global checkpoint 조회
+     * 모든 in-sync 샤드 복제본이 처리한 마지막 _seq_no 이므로 어느 복제본을 검색해도 refresh 이후에는 이 값 이하의 작업이 보인다.
+     * 하이 레벨 클라이언트에 인덱스 통계 API 가 없어 로우 레벨 클라이언트로 요청한다.
+     * @param client
+     * @param index 실제 인덱스 이름
+     * @param shards 샤드 수
+     * @return 샤드 번호 순, 통계에 없는 샤드는 -1
+     * @throws IOException
+     */
+    @SuppressWarnings("unchecked")
+    public static long[] getGlobalCheckpoints(RestHighLevelClient client, String index, int shards) throws IOException {
+        Request request = new Request("GET", "/" + index + "/_stats");
+        request.addParameter("level", "shards");
+        request.addParameter("filter_path", "indices.*.shards.*.routing.primary,indices.*.shards.*.seq_no.global_checkpoint");
+        Response response = client.getLowLevelClient().performRequest(request);
+
+        Map<String, Object> body;
+        try (InputStream inputStream = response.getEntity().getContent()) {
+            body = XContentHelper.convertToMap(XContentType.JSON.xContent(), inputStream, false);
+        }
+
+        long[] checkpoints = new long[shards];
+        Arrays.fill(checkpoints, -1);
+        Map<String, Object> indices = (Map<String, Object>) body.getOrDefault("indices", Collections.emptyMap());
+        for (Object indexStats : indices.values()) {
+            Map<String, Object> shardStats = (Map<String, Object>) ((Map<String, Object>) indexStats).getOrDefault("shards", Collections.emptyMap());
+            for (Map.Entry<String, Object> entry : shardStats.entrySet()) {
+                int shard = Integer.parseInt(entry.getKey());
+                for (Object copy : (List<Object>) entry.getValue()) {
+                    Map<String, Object> copyStats = (Map<String, Object>) copy;
+                    Map<String, Object> routing = (Map<String, Object>) copyStats.get("routing");
+                    Map<String, Object> seqNo = (Map<String, Object>) copyStats.get("seq_no");
+                    if(shard < shards && routing != null && Boolean.TRUE.equals(routing.get("primary")) && seqNo != null)
+                        checkpoints[shard] = ((Number) seqNo.get("global_checkpoint")).longValue();
+                }
+            }
+        }
+        return checkpoints;
+    }
+
     /**
      * 도큐먼트 ID 조회
      * @param client
@@ -57,6 +284,19 @@ public class CommonEsDao {
         return client.get(getRequest, RequestOptions.DEFAULT);
     }
 
+    /**
+     * 도큐먼트 ID 비동기 조회
+     * @param client
+     * @param alias
+     * @param docId
+     * @param listener 클라이언트 I/O 스레드에서 호출된다.
+     * @return 요청 취소 핸들
+     */
+    public static Cancellable findDocumentByIdAsync(RestHighLevelClient client, String alias, String docId, ActionListener<GetResponse> listener) {
+        GetRequest getRequest = new GetRequest(alias, docId);
+        return client.getAsync(getRequest, RequestOptions.DEFAULT, listener);
+    }
+
     /**
      * 도큐먼트 색인
      * @param docId
@@ -72,21 +312,94 @@ public class CommonEsDao {
         return client.index(indexRequest, RequestOptions.DEFAULT);
     }
 
+    /**
+     * 도큐먼트 생성, 같은 ID 가 이미 있으면 409 로 실패한다.
+     * @param docId
+     * @param source JSON
+     * @throws IOException
+     * @return IndexResponse
+     */
+    public static IndexResponse createDocument(RestHighLevelClient client, String alias, String docId, byte[] source) throws IOException {
+        IndexRequest indexRequest = new IndexRequest(alias)
+                .id(docId)
+                .opType(DocWriteRequest.OpType.CREATE)
+                .source(source, XContentType.JSON)
+                ;
+        return client.index(indexRequest, RequestOptions.DEFAULT);
+    }
+
+    /**
+     * 도큐먼트 비동기 생성, 같은 ID 가 이미 있으면 409 로 실패한다.
+     * @param client
+     * @param alias
+     * @param docId
+     * @param source JSON
+     * @param listener 클라이언트 I/O 스레드에서 호출된다.
+     * @return 요청 취소 핸들
+     */
+    public static Cancellable createDocumentAsync(RestHighLevelClient client, String alias, String docId, byte[] source, ActionListener<IndexResponse> listener) {
+        IndexRequest indexRequest = new IndexRequest(alias)
+                .id(docId)
+                .opType(DocWriteRequest.OpType.CREATE)
+                .source(source, XContentType.JSON)
+                ;
+        return client.indexAsync(indexRequest, RequestOptions.DEFAULT, listener);
+    }
+
     /**
      * 도큐먼트 변경
      * @param docId
-     * @param source
+     * @param source JSON
      * @throws IOException
      * @return UpdateResponse
      */
-    public static UpdateResponse updateDocument(RestHighLevelClient client, String alias, String docId, Map<String, Object> source) throws IOException {
+    public static UpdateResponse updateDocument(RestHighLevelClient client, String alias, String docId, byte[] source) throws IOException {
+        UpdateRequest updateRequest = new UpdateRequest(alias, docId)
+                .doc(source, XContentType.JSON)
+                ;
+        return client.update(updateRequest, RequestOptions.DEFAULT);
+    }
+
+    /**
+     * 도큐먼트 부분 변경, 변경된 _source 를 함께 응답받는다.
+     * @param client
+     * @param alias
+     * @param docId
+     * @param changes 변경할 필드
+     * @param ifSeqNo 이 _seq_no 일 때만 변경, null 이면 조건 없이 변경
+     * @param ifPrimaryTerm 이 _primary_term 일 때만 변경
+     * @return UpdateResponse
+     * @throws IOException
+     */
+    public static UpdateResponse patchDocument(RestHighLevelClient client, String alias, String docId, Map<String, Object> changes, Long ifSeqNo, Long ifPrimaryTerm) throws IOException {
         UpdateRequest updateRequest = new UpdateRequest(alias, docId)
-                .doc(source)
-                .upsert()
+                .doc(changes)
+                .fetchSource(true)
                 ;
+        if(ifSeqNo != null && ifPrimaryTerm != null) {
+            updateRequest.setIfSeqNo(ifSeqNo).setIfPrimaryTerm(ifPrimaryTerm);
+        } else {
+            updateRequest.retryOnConflict(3); // 조건이 없으면 동시 변경은 다시 읽어 적용한다.
+        }
         return client.update(updateRequest, RequestOptions.DEFAULT);
     }
 
+    /**
+     * 도큐먼트 비동기 변경
+     * @param client
+     * @param alias
+     * @param docId
+     * @param source JSON
+     * @param listener 클라이언트 I/O 스레드에서 호출된다.
+     * @return 요청 취소 핸들
+     */
+    public static Cancellable updateDocumentAsync(RestHighLevelClient client, String alias, String docId, byte[] source, ActionListener<UpdateResponse> listener) {
+        UpdateRequest updateRequest = new UpdateRequest(alias, docId)
+                .doc(source, XContentType.JSON)
+                ;
+        return client.updateAsync(updateRequest, RequestOptions.DEFAULT, listener);
+    }
+
     /**
      * 도큐먼트 삭제
      * @param docId
@@ -98,6 +411,30 @@ public class CommonEsDao {
         return client.delete(deleteRequest, RequestOptions.DEFAULT);
     }
 
+    /**
+     * 도큐먼트 비동기 삭제
+     * @param client
+     * @param alias
+     * @param docId
+     * @param listener 클라이언트 I/O 스레드에서 호출된다.
+     * @return 요청 취소 핸들
+     */
+    public static Cancellable deleteDocumentAsync(RestHighLevelClient client, String alias, String docId, ActionListener<DeleteResponse> listener) {
+        DeleteRequest deleteRequest = new DeleteRequest(alias, docId);
+        return client.deleteAsync(deleteRequest, RequestOptions.DEFAULT, listener);
+    }
+
+    /**
+     * 벌크 요청
+     * @param client
+     * @param bulkRequest
+     * @return BulkResponse
+     * @throws IOException
+     */
+    public static BulkResponse bulk(RestHighLevelClient client, BulkRequest bulkRequest) throws IOException {
+        return client.bulk(bulkRequest, RequestOptions.DEFAULT);
+    }
+
     /**
      * 인덱스 생성
      * @param client
@@ -112,6 +449,84 @@ public class CommonEsDao {
         return client.indices().create(createIndexRequest, RequestOptions.DEFAULT);
     }
 
+    /**
+     * 인덱스 생성
+     * @param client
+     * @param index
+     * @param settings
+     * @param mappings
+     * @throws IOException
+     * @return CreateIndexResponse
+     */
+    public static CreateIndexResponse createIndex(RestHighLevelClient client, String index, Settings settings, Map<String, Object> mappings) throws IOException {
+        CreateIndexRequest createIndexRequest = new CreateIndexRequest(index)
+                .settings(settings)
+                .mapping(mappings)
+                ;
+        return client.indices().create(createIndexRequest, RequestOptions.DEFAULT);
+    }
+
+    /**
+     * 인덱스 존재 여부
+     * @param client
+     * @param index 인덱스 또는 alias
+     * @return
+     * @throws IOException
+     */
+    public static boolean isIndexExist(RestHighLevelClient client, String index) throws IOException {
+        return client.indices().exists(new GetIndexRequest(index), RequestOptions.DEFAULT);
+    }
+
+    /**
+     * 인덱스 설정, 매핑 조회
+     * @param client
+     * @param index 인덱스 또는 alias
+     * @return GetIndexResponse
+     * @throws IOException
+     */
+    public static GetIndexResponse getIndex(RestHighLevelClient client, String index) throws IOException {
+        return client.indices().get(new GetIndexRequest(index), RequestOptions.DEFAULT);
+    }
+
+    /**
+     * 매핑 추가
+     * @param client
+     * @param index
+     * @param mappings
+     * @throws IOException
+     * @return AcknowledgedResponse
+     */
+    public static AcknowledgedResponse putMapping(RestHighLevelClient client, String index, String mappings) throws IOException {
+        PutMappingRequest putMappingRequest = new PutMappingRequest(index);
+        putMappingRequest.source(mappings, XContentType.JSON);
+        return client.indices().putMapping(putMappingRequest, RequestOptions.DEFAULT);
+    }
+
+    /**
+     * stored script 등록
+     * @param client
+     * @param id
+     * @param lang
+     * @param source
+     * @throws IOException
+     * @return AcknowledgedResponse
+     */
+    public static AcknowledgedResponse putStoredScript(RestHighLevelClient client, String id, String lang, String source) throws IOException {
+        XContentBuilder content = XContentFactory.jsonBuilder()
+                .startObject()
+                    .startObject("script")
+                        .field("lang", lang)
+                        .field("source", source)
+                    .endObject()
+                .endObject();
+
+        PutStoredScriptRequest putStoredScriptRequest = new PutStoredScriptRequest()
+                .id(id)
+                .content(BytesReference.bytes(content), XContentType.JSON)
+                ;
+        return client.putScript(putStoredScriptRequest, RequestOptions.DEFAULT);
+    }
+
     /**
      * 도큐먼트 전체 삭제
      * @param client
@@ -141,6 +556,22 @@ public class CommonEsDao {
         return client.exists(getRequest, RequestOptions.DEFAULT);
     }
 
+    /**
+     * 도큐먼트 ID 비동기 존재 여부
+     * @param client
+     * @param alias
+     * @param docId
+     * @param listener 존재하면 true, 클라이언트 I/O 스레드에서 호출된다.
+     * @return 요청 취소 핸들
+     */
+    public static Cancellable isDocIdExistAsync(RestHighLevelClient client, String alias, String docId, ActionListener<Boolean> listener) {
+        GetRequest getRequest = new GetRequest(alias, docId);
+        getRequest.fetchSourceContext(new FetchSourceContext(false));
+        getRequest.storedFields("_none_");
+
+        return client.existsAsync(getRequest, RequestOptions.DEFAULT, listener);
+    }
+
     /**
      * 인덱스 close & open
      * @param client
@@ -0,0 +1,259 @@
+package dev.hyein.article.elasticsearch.dao;
+
+import dev.hyein.article.elasticsearch.codec.ArticleCodec;
+import dev.hyein.article.elasticsearch.exception.DocumentNotFoundException;
+import dev.hyein.article.elasticsearch.properties.ArticleProperties;
+import dev.hyein.article.elasticsearch.resilience.EsResilience;
+import dev.hyein.article.elasticsearch.vo.ArticleVo;
+import dev.hyein.article.elasticsearch.vo.SavedSearchMatchVo;
+import dev.hyein.article.elasticsearch.vo.SavedSearchVo;
+import lombok.extern.slf4j.Slf4j;
+import org.elasticsearch.action.DocWriteResponse;
+import org.elasticsearch.action.delete.DeleteResponse;
+import org.elasticsearch.action.index.IndexResponse;
+import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.client.RestHighLevelClient;
+import org.elasticsearch.client.indices.GetIndexResponse;
+import org.elasticsearch.common.bytes.BytesReference;
+import org.elasticsearch.common.document.DocumentField;
+import org.elasticsearch.common.settings.Settings;
+import org.elasticsearch.common.xcontent.XContentBuilder;
+import org.elasticsearch.common.xcontent.XContentFactory;
+import org.elasticsearch.common.xcontent.XContentType;
+import org.elasticsearch.index.query.QueryBuilder;
+import org.elasticsearch.index.query.QueryBuilders;
+import org.elasticsearch.search.SearchHit;
+import org.elasticsearch.search.builder.SearchSourceBuilder;
+import org.elasticsearch.search.sort.SortOrder;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * 저장된 검색 조건(percolator) 인덱스
+ * 검색 조건을 쿼리로 저장해 두고, 새로 쓰인 아티클 묶음을 한 번의 percolate 검색으로 일치하는 조건을 찾는다.
+ */
+@Component
+@Slf4j
+public class SavedSearchDao {
+    public static final String QUERY_FIELD = "query";
+    private static final String SAVED_SEARCH_FIELD = "savedSearch";
+    private static final String DOCUMENT_SLOT_FIELD = "_percolator_document_slot";
+    private static final String[] MATCH_SOURCE_FIELDS = {"savedSearch.subscriber", "savedSearch.name"};
+
+    private final ArticleCodec articleCodec;
+    private final RestHighLevelClient client;
+    private final EsResilience esResilience;
+    private final String alias;
+    private final String index;
+
+    public SavedSearchDao(ArticleCodec articleCodec, @Qualifier("articleClient") RestHighLevelClient articleClient, EsResilience esResilience, ArticleProperties articleProperties) {
+        this.articleCodec = articleCodec;
+        this.client = articleClient;
+        this.esResilience = esResilience;
+        this.alias = articleProperties.getAlias();
+        this.index = articleProperties.getSavedSearchIndex();
+    }
+
+    /**
+     * 저장된 검색 조건 인덱스가 없으면 생성
+     * percolate 할 아티클이 같은 방식으로 분석되도록 아티클 인덱스의 분석기 설정과 매핑을 복사하고 percolator 필드를 추가한다.
+     * 아티클 인덱스 매핑이 바뀌면 인덱스를 다시 만들고 검색 조건을 다시 저장해야 한다.
+     * @return 생성했으면 true
+     * @throws IOException
+     */
+    @SuppressWarnings("unchecked")
+    public boolean createIndexIfNotExist() throws IOException {
+        if(CommonEsDao.isIndexExist(client, index))
+            return false;
+
+        GetIndexResponse articleIndex = CommonEsDao.getIndex(client, alias);
+        String articleIndexName = articleIndex.getIndices()[0];
+        Settings analysisSettings = articleIndex.getSettings().get(articleIndexName).filter(key -> key.startsWith("index.analysis."));
+
+        Map<String, Object> mappings = new HashMap<>(articleIndex.getMappings().get(articleIndexName).sourceAsMap());
+        Map<String, Object> properties = new HashMap<>((Map<String, Object>) mappings.getOrDefault("properties", Collections.emptyMap()));
+        properties.put(QUERY_FIELD, Collections.singletonMap("type", "percolator"));
+        properties.put(SAVED_SEARCH_FIELD, getSavedSearchMapping());
+        mappings.put("properties", properties);
+
+        CommonEsDao.createIndex(client, index, analysisSettings, mappings);
+        log.info("[SavedSearch] Created index [{}] from [{}]", index, articleIndexName);
+        return true;
+    }
+
+    /**
+     * 검색 조건 저장
+     * @param savedSearchVo id 가 채워져 있어야 한다.
+     * @param query 아티클 검색 쿼리, filter context 쿼리만 사용한다.
+     * @return response
+     * @throws IOException
+     */
+    public IndexResponse saveSearch(SavedSearchVo savedSearchVo, QueryBuilder query) throws IOException {
+        Objects.requireNonNull(savedSearchVo.getId());
+        Objects.requireNonNull(query);
+
+        XContentBuilder source = XContentFactory.jsonBuilder()
+                .startObject()
+                    .field(QUERY_FIELD, query)
+                    .startObject(SAVED_SEARCH_FIELD)
+                        .field("id", savedSearchVo.getId()) // percolate 결과 페이지 정렬용
+                        .field("subscriber", savedSearchVo.getSubscriber())
+                        .field("name", savedSearchVo.getName())
+                        .field("articleTitle", savedSearchVo.getArticleTitle())
+                        .field("filter", savedSearchVo.getFilter())
+                        .field("createdAt", savedSearchVo.getCreatedAt())
+                    .endObject()
+                .endObject();
+        byte[] bytes = BytesReference.toBytes(BytesReference.bytes(source));
+        return esResilience.guardedWrite("saved-search-index", () -> CommonEsDao.createDocument(client, index, savedSearchVo.getId(), bytes));
+    }
+
+    /**
+     * 구독자의 검색 조건 목록
+     * @param subscriber
+     * @param size
+     * @return savedSearchVo list
+     * @throws IOException
+     */
+    public List<SavedSearchVo> findSavedSearches(String subscriber, int size) throws IOException {
+        Objects.requireNonNull(subscriber);
+
+        SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder()
+                .query(QueryBuilders.boolQuery().filter(QueryBuilders.termQuery(SAVED_SEARCH_FIELD + ".subscriber", subscriber)))
+                .fetchSource(SAVED_SEARCH_FIELD, null)
+                .size(size)
+                ;
+        return esResilience.read("saved-search-search", () -> {
+            List<SavedSearchVo> savedSearchVoList = new ArrayList<>();
+            for (SearchHit hit : CommonEsDao.searchDocument(client, index, searchSourceBuilder).getHits().getHits()) {
+                savedSearchVoList.add(toSavedSearchVo(hit.getId(), hit.getSourceAsMap()));
+            }
+            return savedSearchVoList;
+        });
+    }
+
+    /**
+     * 검색 조건 삭제
+     * @param id
+     * @return response
+     * @throws IOException
+     */
+    public DeleteResponse deleteSavedSearch(String id) throws IOException {
+        Objects.requireNonNull(id);
+
+        DeleteResponse deleteResponse = esResilience.guardedWrite("saved-search-delete", () -> CommonEsDao.deleteDocument(client, index, id));
+        if(deleteResponse.getResult() == DocWriteResponse.Result.NOT_FOUND) {
+            throw new DocumentNotFoundException(id, index);
+        }
+        return deleteResponse;
+    }
+
+    /**
+     * 아티클 묶음에 일치하는 검색 조건 찾기
+     * 아티클 여러 건을 한 번의 percolate 검색으로 보내고, 일치한 아티클은 document slot 으로 구분한다.
+     * percolator 클라이언트 모듈 없이 보내도록 percolate 쿼리를 wrapper 쿼리로 감싼다.
+     * 일치한 검색 조건은 검색 조건 id 순으로 search_after 로 나눠 모두 가져온다.
+     * @param articleVoList
+     * @param pageSize 한 번에 가져올 검색 조건 수
+     * @return 일치한 검색 조건별 아티클 번호
+     * @throws IOException
+     */
+    public List<SavedSearchMatchVo> percolate(List<ArticleVo> articleVoList, int pageSize) throws IOException {
+        Objects.requireNonNull(articleVoList);
+        if(articleVoList.isEmpty())
+            return Collections.emptyList();
+
+        XContentBuilder percolateQuery = XContentFactory.jsonBuilder()
+                .startObject()
+                    .startObject("percolate")
+                        .field("field", QUERY_FIELD)
+                        .startArray("documents");
+        for (ArticleVo articleVo : articleVoList) {
+            percolateQuery.rawValue(new ByteArrayInputStream(articleCodec.writeArticleSource(articleVo)), XContentType.JSON);
+        }
+        percolateQuery.endArray().endObject().endObject();
+        BytesReference query = BytesReference.bytes(percolateQuery);
+
+        List<SavedSearchMatchVo> savedSearchMatchVoList = new ArrayList<>();
+        Object[] searchAfter = null;
+        SearchHit[] hits;
+        do {
+            SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder()
+                    .query(QueryBuilders.wrapperQuery(query))
+                    .fetchSource(MATCH_SOURCE_FIELDS, null)
+                    .sort(SAVED_SEARCH_FIELD + ".id", SortOrder.ASC)
+                    .size(pageSize)
+                    .trackTotalHits(false)
+                    ;
+            if(searchAfter != null)
+                searchSourceBuilder.searchAfter(searchAfter);
+            SearchResponse searchResponse = esResilience.read("percolate", () -> CommonEsDao.searchDocument(client, index, searchSourceBuilder));
+
+            hits = searchResponse.getHits().getHits();
+            for (SearchHit hit : hits) {
+                SavedSearchVo savedSearchVo = toSavedSearchVo(hit.getId(), hit.getSourceAsMap());
+                savedSearchMatchVoList.add(new SavedSearchMatchVo(hit.getId(), savedSearchVo.getSubscriber(), savedSearchVo.getName(),
+                        getMatchedArticleNumbers(hit, articleVoList)));
+            }
+            if(hits.length > 0)
+                searchAfter = hits[hits.length - 1].getSortValues();
+        } while (hits.length >= pageSize);
+        return savedSearchMatchVoList;
+    }
+
+    /**
+     * percolate 결과에서 일치한 아티클 번호 추출
+     * @param hit
+     * @param articleVoList percolate 한 아티클, slot 은 목록 순서
+     * @return
+     */
+    private static List<Integer> getMatchedArticleNumbers(SearchHit hit, List<ArticleVo> articleVoList) {
+        DocumentField slots = hit.field(DOCUMENT_SLOT_FIELD);
+        if(slots == null) // 한 건만 보낸 경우
+            return Collections.singletonList(articleVoList.get(0).getArticleNumber());
+
+        List<Integer> articleNumbers = new ArrayList<>(slots.getValues().size());
+        for (Object slot : slots.getValues()) {
+            articleNumbers.add(articleVoList.get(((Number) slot).intValue()).getArticleNumber());
+        }
+        return articleNumbers;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static SavedSearchVo toSavedSearchVo(String id, Map<String, Object> source) {
+        Map<String, Object> savedSearch = (Map<String, Object>) source.getOrDefault(SAVED_SEARCH_FIELD, Collections.emptyMap());
+        Object createdAt = savedSearch.get("createdAt");
+        return SavedSearchVo.builder()
+                .id(id)
+                .subscriber((String) savedSearch.get("subscriber"))
+                .name((String) savedSearch.get("name"))
+                .articleTitle((String) savedSearch.get("articleTitle"))
+                .filter((String) savedSearch.get("filter"))
+                .createdAt(createdAt == null ? null : ((Number) createdAt).longValue())
+                .build();
+    }
+
+    private static Map<String, Object> getSavedSearchMapping() {
+        Map<String, Object> notIndexedKeyword = new HashMap<>();
+        notIndexedKeyword.put("type", "keyword");
+        notIndexedKeyword.put("index", false);
+
+        Map<String, Object> savedSearchProperties = new HashMap<>();
+        savedSearchProperties.put("id", Collections.singletonMap("type", "keyword"));
+        savedSearchProperties.put("subscriber", Collections.singletonMap("type", "keyword"));
+        savedSearchProperties.put("name", notIndexedKeyword);
+        savedSearchProperties.put("articleTitle", notIndexedKeyword);
+        savedSearchProperties.put("filter", notIndexedKeyword);
+        savedSearchProperties.put("createdAt", Collections.singletonMap("type", "date"));
+        return Collections.singletonMap("properties", savedSearchProperties);
+    }
+}
@@ -0,0 +1,12 @@
+package dev.hyein.article.elasticsearch.exception;
+
+/**
+ * 아티클 도메인 Exception
+ * 없는 아티클 조회 등 예상된 실패라 부하 중에도 자주 발생하므로 스택 트레이스를 만들지 않는다.
+ */
+public abstract class ArticleException extends RuntimeException {
+
+    protected ArticleException(String message) {
+        super(message, null, false, false);
+    }
+}
@@ -0,0 +1,11 @@
+package dev.hyein.article.elasticsearch.exception;
+
+/**
+ * 요청한 아티클 값이 올바르지 않을 때 발생하는 Exception
+ */
+public class InvalidArticleException extends ArticleException {
+
+    public InvalidArticleException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,11 @@
+package dev.hyein.article.elasticsearch.exception;
+
+/**
+ * 조건부 쓰기의 버전이 현재 도큐먼트 버전과 다를 때 발생하는 Exception
+ */
+public class VersionConflictException extends ArticleException {
+
+    public VersionConflictException(String docId, String index, long seqNo, long primaryTerm) {
+        super(String.format("Doc id [%s] in [%s] index was modified after seq_no [%d], primary_term [%d].", docId, index, seqNo, primaryTerm));
+    }
+}
@@ -0,0 +1,15 @@
+package dev.hyein.article.elasticsearch.federation;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.elasticsearch.client.RestHighLevelClient;
+
+/**
+ * 연합 검색 대상 클러스터
+ */
+@Getter @AllArgsConstructor
+public class FederatedCluster {
+    private final String name;
+    private final RestHighLevelClient client;
+    private final String alias;
+}
@@ -0,0 +1,49 @@
+package dev.hyein.article.elasticsearch.federation;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 연합 검색 대상 클러스터 목록
+ * 이 앱의 클러스터(local)는 다른 빈과 클라이언트를 공유하므로 닫지 않고, 연합 검색용으로 만든 클라이언트만 닫는다.
+ */
+@Slf4j
+public class FederatedClusters implements Closeable {
+    private final List<FederatedCluster> clusters;
+    private final String localName;
+
+    public FederatedClusters(List<FederatedCluster> clusters, String localName) {
+        this.clusters = Collections.unmodifiableList(clusters);
+        this.localName = localName;
+    }
+
+    public List<FederatedCluster> getClusters() {
+        return clusters;
+    }
+
+    /**
+     * 이 앱의 클러스터인지 여부
+     * @param cluster
+     * @return
+     */
+    public boolean isLocal(FederatedCluster cluster) {
+        return cluster.getName().equals(localName);
+    }
+
+    @Override
+    public void close() {
+        for (FederatedCluster cluster : clusters) {
+            if(isLocal(cluster))
+                continue;
+            try {
+                cluster.getClient().close();
+            } catch (IOException e) {
+                log.warn("[Federation] Close client of [{}] failed: {}", cluster.getName(), e.toString());
+            }
+        }
+    }
+}
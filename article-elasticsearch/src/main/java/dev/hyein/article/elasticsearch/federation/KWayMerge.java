@@ -0,0 +1,55 @@
+package dev.hyein.article.elasticsearch.federation;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * 정렬된 목록 k 개 병합
+ * 각 목록의 맨 앞 원소만 힙에 두고 하나씩 꺼내므로 전체를 다시 정렬하지 않는다.
+ */
+public class KWayMerge {
+
+    private KWayMerge() {
+    }
+
+    /**
+     * 병합 후 from 부터 size 개 반환
+     * 순서가 같으면 앞 목록의 원소가 먼저 온다.
+     * @param sortedLists comparator 순으로 정렬된 목록들
+     * @param comparator
+     * @param from
+     * @param size
+     * @return
+     */
+    public static <T> List<T> merge(List<List<T>> sortedLists, Comparator<? super T> comparator, int from, int size) {
+        if(size <= 0)
+            return Collections.emptyList();
+
+        PriorityQueue<int[]> heads = new PriorityQueue<>(Math.max(1, sortedLists.size()), (a, b) -> { // {목록, 위치}
+            int compared = comparator.compare(sortedLists.get(a[0]).get(a[1]), sortedLists.get(b[0]).get(b[1]));
+            return compared != 0 ? compared : Integer.compare(a[0], b[0]);
+        });
+        for (int list = 0; list < sortedLists.size(); list++) {
+            if(!sortedLists.get(list).isEmpty())
+                heads.add(new int[]{list, 0});
+        }
+
+        List<T> merged = new ArrayList<>(size);
+        int skipped = 0;
+        while (!heads.isEmpty() && merged.size() < size) {
+            int[] head = heads.poll();
+            List<T> sortedList = sortedLists.get(head[0]);
+            if(skipped < from) {
+                skipped++;
+            } else {
+                merged.add(sortedList.get(head[1]));
+            }
+            if(head[1] + 1 < sortedList.size())
+                heads.add(new int[]{head[0], head[1] + 1});
+        }
+        return merged;
+    }
+}
@@ -0,0 +1,67 @@
+package dev.hyein.article.elasticsearch.federation;
+
+import org.elasticsearch.search.SearchHit;
+import org.elasticsearch.search.sort.SortBuilder;
+import org.elasticsearch.search.sort.SortOrder;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * 검색 요청의 정렬 조건으로 클러스터별 검색 결과를 비교
+ * 정렬이 없으면 점수 내림차순이며, 클러스터마다 통계가 달라 점수는 근사 비교이다.
+ */
+public class SortValues {
+
+    private SortValues() {
+    }
+
+    /**
+     * 정렬 조건에 따른 SearchHit 비교
+     * 값이 없는 정렬 값은 엘라스틱서치와 같이 정렬 방향과 관계없이 뒤로 보낸다.
+     * @param sorts SearchSourceBuilder.sorts(), null 이면 점수순
+     * @return
+     */
+    public static Comparator<SearchHit> comparator(List<SortBuilder<?>> sorts) {
+        if(sorts == null || sorts.isEmpty())
+            return (a, b) -> Float.compare(b.getScore(), a.getScore());
+
+        SortOrder[] orders = new SortOrder[sorts.size()];
+        for (int i = 0; i < orders.length; i++) {
+            orders[i] = sorts.get(i).order();
+        }
+        return (a, b) -> {
+            Object[] aValues = a.getSortValues();
+            Object[] bValues = b.getSortValues();
+            for (int i = 0; i < orders.length; i++) {
+                Object aValue = i < aValues.length ? aValues[i] : null;
+                Object bValue = i < bValues.length ? bValues[i] : null;
+                if(aValue == null || bValue == null) {
+                    if(aValue != bValue)
+                        return aValue == null ? 1 : -1;
+                    continue;
+                }
+                int compared = compareValues(aValue, bValue);
+                if(compared != 0)
+                    return orders[i] == SortOrder.DESC ? -compared : compared;
+            }
+            return 0;
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    static int compareValues(Object a, Object b) {
+        if(a instanceof Number && b instanceof Number) {
+            if(isIntegral(a) && isIntegral(b))
+                return Long.compare(((Number) a).longValue(), ((Number) b).longValue());
+            return Double.compare(((Number) a).doubleValue(), ((Number) b).doubleValue());
+        }
+        if(a.getClass() == b.getClass() && a instanceof Comparable)
+            return ((Comparable<Object>) a).compareTo(b);
+        return a.toString().compareTo(b.toString()); // keyword 정렬 값(Text, BytesRef)
+    }
+
+    private static boolean isIntegral(Object value) {
+        return value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte;
+    }
+}
@@ -0,0 +1,186 @@
+package dev.hyein.article.elasticsearch.importer;
+
+import dev.hyein.article.elasticsearch.bulk.BackpressureBulkExecutor;
+import dev.hyein.article.elasticsearch.bulk.BulkResult;
+import dev.hyein.article.elasticsearch.bulk.ProgressReporter;
+import dev.hyein.article.elasticsearch.codec.ArticleCodec;
+import dev.hyein.article.elasticsearch.properties.ArticleImportProperties;
+import dev.hyein.article.elasticsearch.properties.ArticleProperties;
+import dev.hyein.article.elasticsearch.validator.ArticleValidator;
+import dev.hyein.article.elasticsearch.vo.ArticleVo;
+import lombok.extern.slf4j.Slf4j;
+import org.elasticsearch.action.DocWriteRequest;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.index.IndexRequest;
+import org.elasticsearch.client.RestHighLevelClient;
+import org.elasticsearch.common.xcontent.XContentType;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 대용량 NDJSON/CSV 파일의 아티클을 벌크로 색인
+ * 파일을 읽는 스레드가 검증한 아티클을 배치로 묶어 크기가 제한된 큐에 넣고, 워커들이 꺼내 벌크 요청한다.
+ * 클러스터가 429 로 거절하면 워커가 백오프하며 큐가 차고, 큐가 차면 파일 읽기가 멈춘다.
+ * 기본은 create 로 보내서 이미 있는 아티클은 덮어쓰지 않고 충돌로 집계한다.
+ */
+@Component
+@Slf4j
+public class ArticleBulkImporter {
+    private static final List<ArticleVo> END_OF_FILE = Collections.emptyList();
+    private static final String REJECTED_FILE_SUFFIX = ".rejected";
+
+    private final ArticleCodec articleCodec;
+    private final ArticleValidator articleValidator;
+    private final ArticleImportProperties articleImportProperties;
+    private final BackpressureBulkExecutor bulkExecutor;
+    private final String alias;
+
+    public ArticleBulkImporter(ArticleCodec articleCodec, @Qualifier("articleClient") RestHighLevelClient articleClient, ArticleValidator articleValidator,
+                               ArticleProperties articleProperties, ArticleImportProperties articleImportProperties) {
+        this.articleCodec = articleCodec;
+        this.articleValidator = articleValidator;
+        this.articleImportProperties = articleImportProperties;
+        this.bulkExecutor = new BackpressureBulkExecutor(articleClient, articleImportProperties.getMaxRetries(),
+                articleImportProperties.getInitialBackoffMs(), articleImportProperties.getMaxBackoffMs());
+        this.alias = articleProperties.getAlias();
+    }
+
+    /**
+     * 파일 가져오기
+     * 검증에 실패한 줄은 보내지 않고 {file}.rejected 에 줄 번호, 원인과 함께 기록한다.
+     * @param file
+     * @param format
+     * @return 결과
+     * @throws IOException 파일 읽기 실패
+     * @throws InterruptedException
+     */
+    public ImportResult importFile(Path file, ImportFormat format) throws IOException, InterruptedException {
+        long startMs = System.currentTimeMillis();
+        int workers = articleImportProperties.getWorkers();
+        BlockingQueue<List<ArticleVo>> queue = new ArrayBlockingQueue<>(articleImportProperties.getQueueCapacity());
+        LongAdder imported = new LongAdder();
+        LongAdder failed = new LongAdder();
+        LongAdder conflicts = new LongAdder();
+        LongAdder rejected = new LongAdder();
+        LongAdder retries = new LongAdder();
+        long lines = 0;
+
+        log.info("[Import] Start importing [{}] as {} with {} workers", file, format, workers);
+        ExecutorService executorService = Executors.newFixedThreadPool(workers, newThreadFactory());
+        ProgressReporter progressReporter = new ProgressReporter("Import", articleImportProperties.getReportIntervalMs(),
+                () -> imported.sum() + conflicts.sum() + failed.sum(), () -> String.format("imported=%d conflicts=%d failed=%d rejected=%d retries=%d queued=%d",
+                imported.sum(), conflicts.sum(), failed.sum(), rejected.sum(), retries.sum(), queue.size()));
+        try {
+            for (int i = 0; i < workers; i++) {
+                executorService.execute(() -> indexBatches(queue, imported, conflicts, failed, retries));
+            }
+
+            Path rejectedFile = Paths.get(file.toString() + REJECTED_FILE_SUFFIX);
+            try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8);
+                 BufferedWriter rejectedWriter = Files.newBufferedWriter(rejectedFile, StandardCharsets.UTF_8)) {
+                List<ArticleVo> batch = new ArrayList<>(articleImportProperties.getBatchSize());
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    lines++;
+                    if(line.trim().isEmpty())
+                        continue;
+
+                    ArticleVo articleVo;
+                    try {
+                        articleVo = format.parse(line, lines, articleCodec);
+                        if(articleVo == null)
+                            continue;
+                        articleValidator.validateArticleVo(articleVo);
+                    } catch (IOException | RuntimeException e) {
+                        rejected.increment();
+                        rejectedWriter.write(String.format("%d\t%s\t%s", lines, e.getMessage(), line));
+                        rejectedWriter.newLine();
+                        continue;
+                    }
+
+                    batch.add(articleVo);
+                    if(batch.size() >= articleImportProperties.getBatchSize()) {
+                        queue.put(batch); // 워커가 밀리면 여기서 대기
+                        batch = new ArrayList<>(articleImportProperties.getBatchSize());
+                    }
+                }
+                if(!batch.isEmpty())
+                    queue.put(batch);
+            }
+            if(rejected.sum() == 0)
+                Files.deleteIfExists(rejectedFile);
+        } finally {
+            for (int i = 0; i < workers; i++) {
+                queue.put(END_OF_FILE);
+            }
+            executorService.shutdown();
+            executorService.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+            progressReporter.close();
+        }
+
+        return new ImportResult(lines, imported.sum(), rejected.sum(), conflicts.sum(), failed.sum(),
+                System.currentTimeMillis() - startMs, progressReporter.getAverageDocsPerSecond());
+    }
+
+    /**
+     * 워커: 파일 끝 표시를 받을 때까지 배치를 꺼내 벌크 색인
+     */
+    private void indexBatches(BlockingQueue<List<ArticleVo>> queue, LongAdder imported, LongAdder conflicts, LongAdder failed, LongAdder retries) {
+        try {
+            List<ArticleVo> batch;
+            while ((batch = queue.take()) != END_OF_FILE) {
+                try {
+                    BulkResult bulkResult = bulkExecutor.execute(toBulkRequest(batch));
+                    imported.add(bulkResult.getSucceeded());
+                    conflicts.add(bulkResult.getConflicts());
+                    failed.add(bulkResult.getFailed());
+                    retries.add(bulkResult.getRetries());
+                    if(bulkResult.getConflicts() > 0)
+                        log.info("[Import] {} articles already exist, not overwritten: {}", bulkResult.getConflicts(), bulkResult.getConflictIds());
+                    if(bulkResult.getFailed() > 0)
+                        log.warn("[Import] {} documents failed, first failure: {}", bulkResult.getFailed(), bulkResult.getFailures().get(0).getMessage());
+                } catch (IOException | RuntimeException e) {
+                    failed.add(batch.size());
+                    log.warn("[Import] Batch of {} documents failed: {}", batch.size(), e.toString());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private BulkRequest toBulkRequest(List<ArticleVo> batch) throws IOException {
+        BulkRequest bulkRequest = new BulkRequest();
+        for (ArticleVo articleVo : batch) {
+            bulkRequest.add(new IndexRequest(alias)
+                    .id(String.valueOf(articleVo.getArticleNumber()))
+                    .opType(articleImportProperties.isOverwrite() ? DocWriteRequest.OpType.INDEX : DocWriteRequest.OpType.CREATE)
+                    .source(articleCodec.writeArticleSource(articleVo), XContentType.JSON));
+        }
+        return bulkRequest;
+    }
+
+    private static ThreadFactory newThreadFactory() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        return runnable -> new Thread(runnable, "article-import-" + threadNumber.incrementAndGet());
+    }
+}
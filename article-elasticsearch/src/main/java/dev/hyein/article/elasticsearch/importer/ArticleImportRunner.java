@@ -0,0 +1,34 @@
+package dev.hyein.article.elasticsearch.importer;
+
+import dev.hyein.article.elasticsearch.properties.ArticleImportProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * import 프로파일로 기동하면 elasticsearch.article.bulk-import.file 을 가져온다.
+ */
+@Component
+@Profile("import")
+@RequiredArgsConstructor
+@Slf4j
+public class ArticleImportRunner implements CommandLineRunner {
+    private final ArticleBulkImporter articleBulkImporter;
+    private final ArticleImportProperties articleImportProperties;
+
+    @Override
+    public void run(String... args) throws Exception {
+        if(!StringUtils.hasText(articleImportProperties.getFile()))
+            throw new IllegalArgumentException("elasticsearch.article.bulk-import.file must be not empty.");
+
+        Path file = Paths.get(articleImportProperties.getFile());
+        ImportResult importResult = articleBulkImporter.importFile(file, ImportFormat.of(articleImportProperties.getFormat(), file));
+        log.info("[Import] Finished: {}", importResult);
+    }
+}
@@ -0,0 +1,109 @@
+package dev.hyein.article.elasticsearch.importer;
+
+import dev.hyein.article.elasticsearch.codec.ArticleCodec;
+import dev.hyein.article.elasticsearch.vo.ArticleVo;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 아티클 가져오기 파일 형식
+ */
+public enum ImportFormat {
+    /**
+     * 한 줄에 아티클 JSON 1개
+     */
+    NDJSON {
+        @Override
+        public ArticleVo parse(String line, long lineNumber, ArticleCodec articleCodec) throws IOException {
+            return articleCodec.readerFor(ArticleVo.class).readValue(line);
+        }
+    },
+    /**
+     * articleNumber,articleTitle,read,isOpen 순서. 첫 줄이 헤더일 수 있고, 제목은 큰따옴표로 감쌀 수 있다.
+     */
+    CSV {
+        @Override
+        public ArticleVo parse(String line, long lineNumber, ArticleCodec articleCodec) {
+            List<String> fields = splitCsvLine(line);
+            if(fields.size() != CSV_FIELD_COUNT)
+                throw new IllegalArgumentException(String.format("Expected %d fields but was %d.", CSV_FIELD_COUNT, fields.size()));
+            if(lineNumber == 1 && !isNumber(fields.get(0).trim())) // 헤더
+                return null;
+
+            return ArticleVo.builder()
+                    .articleNumber(StringUtils.hasText(fields.get(0)) ? Integer.valueOf(fields.get(0).trim()) : null)
+                    .articleTitle(fields.get(1))
+                    .read(StringUtils.hasText(fields.get(2)) ? Integer.parseInt(fields.get(2).trim()) : 0)
+                    .isOpen(parseBoolean(fields.get(3).trim()))
+                    .build();
+        }
+    };
+
+    private static final int CSV_FIELD_COUNT = 4;
+
+    /**
+     * 한 줄을 아티클로 변환
+     * @param line
+     * @param lineNumber 1부터 시작
+     * @param articleCodec
+     * @return 아티클, 헤더처럼 건너뛸 줄이면 null
+     * @throws IOException
+     */
+    public abstract ArticleVo parse(String line, long lineNumber, ArticleCodec articleCodec) throws IOException;
+
+    /**
+     * 형식 결정
+     * @param format 지정된 형식, 비어 있으면 파일 확장자로 판단
+     * @param file
+     * @return
+     */
+    public static ImportFormat of(String format, Path file) {
+        if(StringUtils.hasText(format))
+            return valueOf(format.toUpperCase());
+        return file.getFileName().toString().toLowerCase().endsWith(".csv") ? CSV : NDJSON;
+    }
+
+    static List<String> splitCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if(quoted) {
+                if(c != '"') {
+                    field.append(c);
+                } else if(i + 1 < line.length() && line.charAt(i + 1) == '"') { // 이스케이프된 큰따옴표
+                    field.append(c);
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if(c == '"') {
+                quoted = true;
+            } else if(c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static boolean isNumber(String value) {
+        return !value.isEmpty() && value.chars().allMatch(Character::isDigit);
+    }
+
+    private static Boolean parseBoolean(String value) {
+        if(value.isEmpty())
+            return null;
+        if(!value.equalsIgnoreCase("true") && !value.equalsIgnoreCase("false"))
+            throw new IllegalArgumentException(String.format("Invalid isOpen [%s].", value));
+        return Boolean.valueOf(value);
+    }
+}
@@ -0,0 +1,19 @@
+package dev.hyein.article.elasticsearch.importer;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 아티클 가져오기 결과
+ */
+@Getter @AllArgsConstructor @ToString
+public class ImportResult {
+    private final long lines;
+    private final long imported;
+    private final long rejected; // 형식 오류, 검증 실패로 보내지 않은 줄
+    private final long conflicts; // 이미 있는 아티클 번호라서 색인하지 않은 도큐먼트, overwrite 면 항상 0
+    private final long failed; // 클러스터가 거절한 도큐먼트
+    private final long elapsedMs;
+    private final double docsPerSecond;
+}
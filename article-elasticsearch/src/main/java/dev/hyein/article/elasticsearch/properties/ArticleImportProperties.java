@@ -0,0 +1,24 @@
+package dev.hyein.article.elasticsearch.properties;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "elasticsearch.article.bulk-import")
+@Getter @Setter @AllArgsConstructor @NoArgsConstructor
+public class ArticleImportProperties {
+    private String file;
+    private String format; // NDJSON, CSV. 비어 있으면 파일 확장자로 판단
+    private int workers = 4;
+    private int batchSize = 1000;
+    private int queueCapacity = 8; // 대기할 수 있는 배치 수
+    private int maxRetries = 8;
+    private long initialBackoffMs = 200;
+    private long maxBackoffMs = 10000;
+    private long reportIntervalMs = 5000;
+    private boolean overwrite = false; // true 면 같은 번호의 아티클을 덮어쓰고, false 면 기존 아티클을 두고 충돌로 집계
+}
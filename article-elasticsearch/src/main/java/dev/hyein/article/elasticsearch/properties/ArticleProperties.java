@@ -17,4 +17,15 @@ public class ArticleProperties {
     private int connectionTimeout;
     private int socketTimeout;
     private int connectionRequestTimeout;
+    private boolean warmConnect = false; // 클라이언트 생성 시 비동기로 연결을 미리 맺음
+    private String savedSearchIndex = "article_saved_search"; // 저장된 검색 조건 percolator 인덱스
+    private String readHost; // 읽기 클러스터(CCR 팔로워 등), 없으면 리더에서 읽는다.
+    private String readAlias; // 읽기 클러스터의 alias 또는 팔로워 인덱스, 없으면 alias 와 같다.
+    private String readFollowerIndex; // CCR 통계를 조회할 팔로워 인덱스, 없으면 read-alias 가 가리키는 인덱스
+    private long maxReadLagMs = 5000; // 복제 지연이 이보다 크면 리더에서 읽는다.
+    private long readLagCheckIntervalMs = 1000;
+
+    public String getReadAlias() {
+        return readAlias != null ? readAlias : alias;
+    }
 }
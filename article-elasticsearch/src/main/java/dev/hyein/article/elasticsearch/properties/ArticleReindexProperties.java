@@ -0,0 +1,23 @@
+package dev.hyein.article.elasticsearch.properties;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "elasticsearch.article.reindex")
+@Getter @Setter @AllArgsConstructor @NoArgsConstructor
+public class ArticleReindexProperties {
+    private String source;
+    private String target;
+    private int slices = 4; // 보통 원본 인덱스의 샤드 수
+    private int batchSize = 1000;
+    private String scrollKeepAlive = "5m";
+    private int maxRetries = 8;
+    private long initialBackoffMs = 200;
+    private long maxBackoffMs = 10000;
+    private long reportIntervalMs = 5000;
+}
@@ -0,0 +1,26 @@
+package dev.hyein.article.elasticsearch.properties;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 요청 종류별 커넥션 수
+ * 검색, 단건 조회, 쓰기가 각자의 커넥션 풀을 써서 한 종류가 커넥션을 모두 잡아도 다른 종류는 connectionRequestTimeout 만큼 기다리지 않는다.
+ */
+@Component
+@ConfigurationProperties(prefix = "elasticsearch.article.connections")
+@Getter @Setter @AllArgsConstructor @NoArgsConstructor
+public class ConnectionBudgetProperties {
+    private Budget search = new Budget(20);
+    private Budget get = new Budget(10);
+    private Budget write = new Budget(10); // 색인, 수정, 삭제, 벌크와 관리 작업
+
+    @Getter @Setter @AllArgsConstructor @NoArgsConstructor
+    public static class Budget {
+        private int maxConnections = 10; // 호스트 하나라 route 당, 전체 모두 이 값
+    }
+}
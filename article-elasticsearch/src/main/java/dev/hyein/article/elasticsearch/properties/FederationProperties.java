@@ -0,0 +1,27 @@
+package dev.hyein.article.elasticsearch.properties;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Component
+@ConfigurationProperties(prefix = "elasticsearch.article.federation")
+@Getter @Setter @AllArgsConstructor @NoArgsConstructor
+public class FederationProperties {
+    private boolean includeLocal = true; // 이 앱의 클러스터도 검색
+    private String localName = "local";
+    private long timeoutMs = 1000; // 전체 마감 시간, 지나면 응답한 클러스터의 결과만 병합한다.
+    private Map<String, Cluster> clusters = new LinkedHashMap<>(); // 이름 -> 클러스터
+
+    @Getter @Setter @AllArgsConstructor @NoArgsConstructor
+    public static class Cluster {
+        private String host;
+        private String alias = "article";
+    }
+}
@@ -0,0 +1,22 @@
+package dev.hyein.article.elasticsearch.properties;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "elasticsearch.article.resilience")
+@Getter @Setter @AllArgsConstructor @NoArgsConstructor
+public class ResilienceProperties {
+    private int failureThreshold = 5; // 연속 실패 횟수가 이 값에 도달하면 차단
+    private long openDurationMs = 10000; // 차단 유지 시간, 지나면 요청 하나로 복구 여부 확인
+    private int maxRetries = 2;
+    private long initialBackoffMs = 50;
+    private long maxBackoffMs = 500;
+    private boolean staleFallback = false; // 차단 중이거나 재시도 실패 시 마지막 성공 결과 응답
+    private int staleMaxEntries = 1000;
+    private long staleTtlMs = 60000;
+}
@@ -0,0 +1,34 @@
+package dev.hyein.article.elasticsearch.reindex;
+
+import dev.hyein.article.elasticsearch.properties.ArticleReindexProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+/**
+ * reindex 프로파일로 기동하면 elasticsearch.article.reindex.source 를 target 으로 재색인한다.
+ * DocumentTransformer 빈이 있으면 도큐먼트를 변환해서 복사한다.
+ */
+@Component
+@Profile("reindex")
+@RequiredArgsConstructor
+@Slf4j
+public class ArticleReindexRunner implements CommandLineRunner {
+    private final SlicedScrollReindexer slicedScrollReindexer;
+    private final ArticleReindexProperties articleReindexProperties;
+    private final ObjectProvider<DocumentTransformer> documentTransformer;
+
+    @Override
+    public void run(String... args) throws Exception {
+        if(!StringUtils.hasText(articleReindexProperties.getSource()) || !StringUtils.hasText(articleReindexProperties.getTarget()))
+            throw new IllegalArgumentException("elasticsearch.article.reindex.source and target must be not empty.");
+
+        ReindexResult reindexResult = slicedScrollReindexer.reindex(articleReindexProperties.getSource(), articleReindexProperties.getTarget(),
+                articleReindexProperties.getSlices(), documentTransformer.getIfAvailable(() -> DocumentTransformer.IDENTITY));
+        log.info("[Reindex] Finished: {}", reindexResult);
+    }
+}
@@ -0,0 +1,19 @@
+package dev.hyein.article.elasticsearch.reindex;
+
+import java.util.Map;
+
+/**
+ * 재색인 시 도큐먼트 변환
+ * 새 매핑에 추가된 파생 필드 계산 등에 사용한다. 여러 슬라이스 워커가 동시에 호출한다.
+ */
+@FunctionalInterface
+public interface DocumentTransformer {
+    DocumentTransformer IDENTITY = (id, source) -> source;
+
+    /**
+     * @param id 도큐먼트 ID
+     * @param source 원본 도큐먼트
+     * @return 색인할 도큐먼트, null 이면 복사하지 않는다.
+     */
+    Map<String, Object> transform(String id, Map<String, Object> source);
+}
@@ -0,0 +1,18 @@
+package dev.hyein.article.elasticsearch.reindex;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 재색인 결과
+ */
+@Getter @AllArgsConstructor @ToString
+public class ReindexResult {
+    private final long total;
+    private final long copied;
+    private final long skipped; // 변환 결과가 null 이라 복사하지 않은 도큐먼트
+    private final long failed;
+    private final long elapsedMs;
+    private final double docsPerSecond;
+}
@@ -0,0 +1,151 @@
+package dev.hyein.article.elasticsearch.reindex;
+
+import dev.hyein.article.elasticsearch.bulk.BackpressureBulkExecutor;
+import dev.hyein.article.elasticsearch.bulk.BulkResult;
+import dev.hyein.article.elasticsearch.bulk.ProgressReporter;
+import dev.hyein.article.elasticsearch.dao.CommonEsDao;
+import dev.hyein.article.elasticsearch.properties.ArticleReindexProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.index.IndexRequest;
+import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.client.RestHighLevelClient;
+import org.elasticsearch.common.unit.TimeValue;
+import org.elasticsearch.search.SearchHit;
+import org.elasticsearch.search.builder.SearchSourceBuilder;
+import org.elasticsearch.search.slice.SliceBuilder;
+import org.elasticsearch.search.sort.FieldSortBuilder;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * sliced scroll 병렬 재색인
+ * 원본 인덱스를 슬라이스로 나눠 슬라이스마다 워커 하나가 스크롤로 읽고, 변환 후 대상 인덱스에 벌크로 쓴다.
+ * 슬라이스 수를 원본 샤드 수에 맞추면 샤드 수만큼 병렬로 복사된다.
+ */
+@Component
+@Slf4j
+public class SlicedScrollReindexer {
+    private final RestHighLevelClient client;
+    private final ArticleReindexProperties articleReindexProperties;
+    private final BackpressureBulkExecutor bulkExecutor;
+
+    public SlicedScrollReindexer(@Qualifier("articleClient") RestHighLevelClient articleClient, ArticleReindexProperties articleReindexProperties) {
+        this.client = articleClient;
+        this.articleReindexProperties = articleReindexProperties;
+        this.bulkExecutor = new BackpressureBulkExecutor(articleClient, articleReindexProperties.getMaxRetries(),
+                articleReindexProperties.getInitialBackoffMs(), articleReindexProperties.getMaxBackoffMs());
+    }
+
+    /**
+     * 재색인
+     * @param source 원본 인덱스(alias)
+     * @param target 대상 인덱스, 새 매핑으로 미리 생성해 두어야 한다.
+     * @param slices 슬라이스(워커) 수
+     * @param documentTransformer 도큐먼트 변환
+     * @return 결과
+     * @throws IOException 슬라이스 중 하나라도 실패한 경우
+     * @throws InterruptedException
+     */
+    public ReindexResult reindex(String source, String target, int slices, DocumentTransformer documentTransformer) throws IOException, InterruptedException {
+        long startMs = System.currentTimeMillis();
+        LongAdder total = new LongAdder();
+        LongAdder copied = new LongAdder();
+        LongAdder skipped = new LongAdder();
+        LongAdder failed = new LongAdder();
+        AtomicInteger runningSlices = new AtomicInteger(slices);
+
+        log.info("[Reindex] Start reindexing [{}] to [{}] with {} slices", source, target, slices);
+        ExecutorService executorService = Executors.newFixedThreadPool(slices);
+        ProgressReporter progressReporter = new ProgressReporter("Reindex", articleReindexProperties.getReportIntervalMs(),
+                () -> copied.sum() + skipped.sum() + failed.sum(), () -> String.format("total=%d copied=%d skipped=%d failed=%d running slices=%d",
+                total.sum(), copied.sum(), skipped.sum(), failed.sum(), runningSlices.get()));
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int sliceId = 0; sliceId < slices; sliceId++) {
+                int currentSliceId = sliceId;
+                futures.add(executorService.submit(() -> {
+                    try {
+                        reindexSlice(source, target, currentSliceId, slices, documentTransformer, total, copied, skipped, failed);
+                    } finally {
+                        runningSlices.decrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (ExecutionException e) {
+            executorService.shutdownNow();
+            throw new IOException("Reindex slice failed.", e.getCause());
+        } finally {
+            executorService.shutdown();
+            progressReporter.close();
+        }
+
+        return new ReindexResult(total.sum(), copied.sum(), skipped.sum(), failed.sum(),
+                System.currentTimeMillis() - startMs, progressReporter.getAverageDocsPerSecond());
+    }
+
+    /**
+     * 슬라이스 하나를 스크롤로 읽으며 대상 인덱스에 벌크 색인
+     */
+    private void reindexSlice(String source, String target, int sliceId, int slices, DocumentTransformer documentTransformer,
+                              LongAdder total, LongAdder copied, LongAdder skipped, LongAdder failed) throws IOException, InterruptedException {
+        TimeValue keepAlive = TimeValue.parseTimeValue(articleReindexProperties.getScrollKeepAlive(), "scrollKeepAlive");
+        SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder()
+                .size(articleReindexProperties.getBatchSize())
+                .sort(FieldSortBuilder.DOC_FIELD_NAME) // 정렬 비용 없는 순서
+                .trackTotalHits(true)
+                ;
+        if(slices > 1)
+            searchSourceBuilder.slice(new SliceBuilder(sliceId, slices));
+
+        SearchResponse searchResponse = CommonEsDao.startScroll(client, source, searchSourceBuilder, keepAlive);
+        String scrollId = searchResponse.getScrollId();
+        total.add(searchResponse.getHits().getTotalHits().value);
+        try {
+            while (searchResponse.getHits().getHits().length > 0) {
+                BulkRequest bulkRequest = new BulkRequest();
+                for (SearchHit hit : searchResponse.getHits().getHits()) {
+                    Map<String, Object> document = documentTransformer.transform(hit.getId(), hit.getSourceAsMap());
+                    if(document == null) {
+                        skipped.increment();
+                        continue;
+                    }
+                    bulkRequest.add(new IndexRequest(target).id(hit.getId()).source(document));
+                }
+
+                if(bulkRequest.numberOfActions() > 0) {
+                    BulkResult bulkResult = bulkExecutor.execute(bulkRequest);
+                    copied.add(bulkResult.getSucceeded());
+                    failed.add(bulkResult.getFailed());
+                    if(bulkResult.getFailed() > 0)
+                        log.warn("[Reindex] Slice {}: {} documents failed, first failure: {}", sliceId, bulkResult.getFailed(), bulkResult.getFailures().get(0).getMessage());
+                }
+
+                searchResponse = CommonEsDao.scroll(client, scrollId, keepAlive);
+                scrollId = searchResponse.getScrollId();
+            }
+        } finally {
+            try {
+                CommonEsDao.clearScroll(client, scrollId);
+            } catch (IOException | RuntimeException e) {
+                log.warn("[Reindex] Slice {}: clear scroll failed: {}", sliceId, e.toString());
+            }
+        }
+        log.info("[Reindex] Slice {} finished", sliceId);
+    }
+}
@@ -0,0 +1,99 @@
+package dev.hyein.article.elasticsearch.resilience;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 연속 실패 기반 서킷 브레이커
+ * CLOSED: 모든 요청 통과, 연속 실패가 임계치에 도달하면 OPEN
+ * OPEN: 차단 유지 시간 동안 요청 거절, 지나면 HALF_OPEN
+ * HALF_OPEN: 시험 요청 하나만 통과, 성공하면 CLOSED 실패하면 다시 OPEN
+ */
+@Slf4j
+public class CircuitBreaker {
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final String name;
+    private final int failureThreshold;
+    private final long openDurationMs;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures = 0;
+    private long openedAt;
+    private boolean trialInFlight = false;
+
+    public CircuitBreaker(String name, int failureThreshold, long openDurationMs) {
+        this.name = name;
+        this.failureThreshold = failureThreshold;
+        this.openDurationMs = openDurationMs;
+    }
+
+    /**
+     * 요청 통과 여부
+     * 통과한 요청은 반드시 onSuccess, onFailure, onIgnored 중 하나를 호출해야 한다.
+     * @return 통과하면 true
+     */
+    public synchronized boolean tryAcquire() {
+        switch (state) {
+            case CLOSED:
+                return true;
+            case OPEN:
+                if(System.currentTimeMillis() - openedAt < openDurationMs)
+                    return false;
+                state = State.HALF_OPEN;
+                trialInFlight = true;
+                log.info("[Circuit] [{}] half-open, trial request", name);
+                return true;
+            default: // HALF_OPEN
+                if(trialInFlight)
+                    return false;
+                trialInFlight = true;
+                return true;
+        }
+    }
+
+    public synchronized void onSuccess() {
+        if(state != State.CLOSED)
+            log.info("[Circuit] [{}] closed", name);
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+        trialInFlight = false;
+    }
+
+    public synchronized void onFailure() {
+        trialInFlight = false;
+        consecutiveFailures++;
+        if(state == State.HALF_OPEN || (state == State.CLOSED && consecutiveFailures >= failureThreshold)) {
+            state = State.OPEN;
+            openedAt = System.currentTimeMillis();
+            log.warn("[Circuit] [{}] opened after {} consecutive failures", name, consecutiveFailures);
+        }
+    }
+
+    /**
+     * 클러스터 상태를 판단할 수 없는 결과 (호출자 쪽 오류 등)
+     * 연속 실패 횟수와 상태는 그대로 두고, 시험 요청이었으면 다음 요청이 시험할 수 있게 한다.
+     */
+    public synchronized void onIgnored() {
+        trialInFlight = false;
+    }
+
+    /**
+     * 다시 요청해 볼 수 있을 때까지 남은 시간
+     * @return 남은 시간(ms), 차단 중이 아니면 0
+     */
+    public synchronized long getRetryAfterMs() {
+        if(state != State.OPEN)
+            return 0;
+        return Math.max(0, openDurationMs - (System.currentTimeMillis() - openedAt));
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    public String getName() {
+        return name;
+    }
+}
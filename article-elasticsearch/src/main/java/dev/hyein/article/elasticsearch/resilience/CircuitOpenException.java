@@ -0,0 +1,19 @@
+package dev.hyein.article.elasticsearch.resilience;
+
+import lombok.Getter;
+
+/**
+ * 서킷 브레이커가 열려 있어 호출하지 않았을 때 발생하는 Exception
+ * 차단 중에는 자주 발생하므로 스택 트레이스를 만들지 않는다.
+ */
+@Getter
+public class CircuitOpenException extends RuntimeException {
+    private final String operation;
+    private final long retryAfterMs;
+
+    public CircuitOpenException(String operation, long retryAfterMs) {
+        super(String.format("Circuit for [%s] is open, retry after %d ms.", operation, retryAfterMs), null, false, false);
+        this.operation = operation;
+        this.retryAfterMs = retryAfterMs;
+    }
+}
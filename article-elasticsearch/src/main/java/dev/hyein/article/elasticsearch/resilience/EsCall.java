@@ -0,0 +1,12 @@
+package dev.hyein.article.elasticsearch.resilience;
+
+import java.io.IOException;
+
+/**
+ * 엘라스틱서치 호출
+ * @param <T>
+ */
+@FunctionalInterface
+public interface EsCall<T> {
+    T call() throws IOException;
+}
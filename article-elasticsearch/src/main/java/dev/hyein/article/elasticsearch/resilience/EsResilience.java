@@ -0,0 +1,239 @@
+package dev.hyein.article.elasticsearch.resilience;
+
+import dev.hyein.article.elasticsearch.properties.ResilienceProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.elasticsearch.ElasticsearchStatusException;
+import org.elasticsearch.rest.RestStatus;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.ConnectException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * 엘라스틱서치 호출 보호
+ * 작업별 서킷 브레이커로 장애 중인 클러스터에 요청이 몰리지 않게 하고,
+ * 일시적인 오류는 지터를 준 지수 백오프로 재시도한다.
+ * - 읽기: 429, 502, 503, 504, 연결 및 타임아웃 오류 재시도
+ * - 보호된 쓰기(create, 멱등 쓰기): 요청이 반영되지 않은 것이 확실한 429, 503, 연결 실패만 재시도
+ * - 쓰기: 재시도하지 않음
+ * 검색, 조회는 설정 시 차단 중이거나 재시도가 모두 실패하면 마지막 성공 결과로 응답한다.
+ */
+@Component
+@Slf4j
+public class EsResilience {
+    private final ResilienceProperties resilienceProperties;
+    private final Map<String, CircuitBreaker> circuitBreakers = new ConcurrentHashMap<>();
+    private final StaleCache staleCache;
+
+    public EsResilience(ResilienceProperties resilienceProperties) {
+        this.resilienceProperties = resilienceProperties;
+        this.staleCache = resilienceProperties.isStaleFallback()
+                ? new StaleCache(resilienceProperties.getStaleMaxEntries(), resilienceProperties.getStaleTtlMs())
+                : null;
+    }
+
+    /**
+     * 읽기 호출
+     * @param operation 서킷 브레이커 단위
+     * @param call
+     * @return 결과
+     * @throws IOException
+     */
+    public <T> T read(String operation, EsCall<T> call) throws IOException {
+        return execute(operation, call, true, resilienceProperties.getMaxRetries());
+    }
+
+    /**
+     * 읽기 호출, 실패 시 마지막 성공 결과로 응답
+     * @param operation 서킷 브레이커 단위
+     * @param cacheKey 결과 캐시 키, 캐시를 쓰지 않으면 호출되지 않는다. 보관할 때는 해시로 줄인다.
+     * @param call
+     * @return 결과
+     * @throws IOException
+     */
+    public <T> T read(String operation, Supplier<String> cacheKey, EsCall<T> call) throws IOException {
+        return readWithFallback(operation, cacheKey, result -> true, resilienceProperties.getMaxRetries(), call);
+    }
+
+    /**
+     * 시간 예산이 있는 읽기 호출
+     * 예산을 이미 썼으므로 재시도하지 않고, 시간 초과는 클러스터 장애로 센다.
+     * 실패 시 마지막 성공 결과로 응답하며, cacheable 이 아닌 결과(일부 샤드만 응답 등)는 보관하지 않는다.
+     * @param operation 서킷 브레이커 단위
+     * @param cacheKey 결과 캐시 키, 결과에 영향을 주는 예산(terminate_after 등)을 포함해야 한다.
+     * @param cacheable 보관할 결과인지 여부
+     * @param call
+     * @return 결과
+     * @throws IOException
+     */
+    public <T> T budgetedRead(String operation, Supplier<String> cacheKey, Predicate<T> cacheable, EsCall<T> call) throws IOException {
+        return readWithFallback(operation, cacheKey, cacheable, 0, call);
+    }
+
+    /**
+     * 재시도해도 결과가 같은 쓰기 호출 (op_type create, 버전 조건, 같은 값 덮어쓰기 등)
+     * @param operation 서킷 브레이커 단위
+     * @param call
+     * @return 결과
+     * @throws IOException
+     */
+    public <T> T guardedWrite(String operation, EsCall<T> call) throws IOException {
+        return execute(operation, call, false, resilienceProperties.getMaxRetries());
+    }
+
+    /**
+     * 재시도하면 안 되는 쓰기 호출 (스크립트 증가 등)
+     * @param operation 서킷 브레이커 단위
+     * @param call
+     * @return 결과
+     * @throws IOException
+     */
+    public <T> T write(String operation, EsCall<T> call) throws IOException {
+        return execute(operation, call, false, 0);
+    }
+
+    /**
+     * 작업의 서킷이 열려 요청이 거절되는 중인지 여부
+     * @param operation
+     * @return 호출된 적 없는 작업이면 false
+     */
+    public boolean isCircuitOpen(String operation) {
+        CircuitBreaker circuitBreaker = circuitBreakers.get(operation);
+        return circuitBreaker != null && circuitBreaker.getState() == CircuitBreaker.State.OPEN;
+    }
+
+    /**
+     * 작업별 서킷 브레이커 상태
+     * @return
+     */
+    public Map<String, CircuitBreaker.State> getCircuitStates() {
+        Map<String, CircuitBreaker.State> states = new ConcurrentHashMap<>();
+        circuitBreakers.forEach((operation, circuitBreaker) -> states.put(operation, circuitBreaker.getState()));
+        return Collections.unmodifiableMap(states);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T readWithFallback(String operation, Supplier<String> cacheKey, Predicate<T> cacheable, int maxRetries, EsCall<T> call) throws IOException {
+        if(staleCache == null)
+            return execute(operation, call, true, maxRetries);
+
+        String key = operation + ":" + digest(cacheKey.get());
+        try {
+            T result = execute(operation, call, true, maxRetries);
+            if(cacheable.test(result))
+                staleCache.put(key, result);
+            return result;
+        } catch (CircuitOpenException | IOException | ElasticsearchStatusException e) {
+            Object stale = staleCache.get(key);
+            if(stale == null || !isFallbackable(e))
+                throw e;
+            log.warn("[Resilience] [{}] Serve stale result: {}", operation, e.getMessage());
+            return (T) stale;
+        }
+    }
+
+    private <T> T execute(String operation, EsCall<T> call, boolean idempotent, int maxRetries) throws IOException {
+        CircuitBreaker circuitBreaker = circuitBreakers.computeIfAbsent(operation,
+                name -> new CircuitBreaker(name, resilienceProperties.getFailureThreshold(), resilienceProperties.getOpenDurationMs()));
+
+        for (int attempt = 0; ; attempt++) {
+            if(!circuitBreaker.tryAcquire())
+                throw new CircuitOpenException(operation, circuitBreaker.getRetryAfterMs());
+
+            try {
+                T result = call.call();
+                circuitBreaker.onSuccess();
+                return result;
+            } catch (IOException | ElasticsearchStatusException e) {
+                if(!isClusterFailure(e)) { // 클러스터는 정상 응답한 경우 (404, 409 등)
+                    circuitBreaker.onSuccess();
+                    throw e;
+                }
+                circuitBreaker.onFailure();
+                if(attempt >= maxRetries || !isRetryable(e, idempotent) || circuitBreaker.getState() == CircuitBreaker.State.OPEN)
+                    throw e; // 재시도 중 차단되었으면 마지막 오류를 그대로 던진다.
+                log.debug("[Resilience] [{}] Retry {}: {}", operation, attempt + 1, e.getMessage());
+                backoff(attempt);
+            } catch (RuntimeException e) {
+                circuitBreaker.onIgnored(); // 호출자 쪽 오류는 클러스터가 정상이라는 근거가 아니다.
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * 클러스터 장애로 볼 오류인지 여부
+     * @param e
+     * @return
+     */
+    private static boolean isClusterFailure(Exception e) {
+        if(e instanceof ElasticsearchStatusException) {
+            RestStatus status = ((ElasticsearchStatusException) e).status();
+            return status == RestStatus.TOO_MANY_REQUESTS || status.getStatus() >= 500;
+        }
+        return e instanceof IOException;
+    }
+
+    /**
+     * 재시도 가능 여부
+     * @param e 클러스터 장애 오류
+     * @param idempotent 결과가 불확실한 경우(타임아웃, 502, 504)에도 재시도할지 여부
+     * @return
+     */
+    private static boolean isRetryable(Exception e, boolean idempotent) {
+        if(e instanceof ElasticsearchStatusException) {
+            RestStatus status = ((ElasticsearchStatusException) e).status();
+            if(status == RestStatus.TOO_MANY_REQUESTS || status == RestStatus.SERVICE_UNAVAILABLE)
+                return true;
+            return idempotent && (status == RestStatus.BAD_GATEWAY || status == RestStatus.GATEWAY_TIMEOUT);
+        }
+        if(e instanceof ConnectException)
+            return true;
+        return idempotent && !(e instanceof InterruptedIOException && Thread.currentThread().isInterrupted());
+    }
+
+    /**
+     * 캐시 키 해시, 검색 DSL 전체를 키로 보관하지 않도록 SHA-256 으로 줄인다.
+     * @param cacheKey
+     * @return
+     */
+    static String digest(String cacheKey) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(cacheKey.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e); // 모든 JVM 이 SHA-256 을 제공한다.
+        }
+    }
+
+    private static boolean isFallbackable(Exception e) {
+        return e instanceof CircuitOpenException || isClusterFailure(e);
+    }
+
+    /**
+     * 지수 백오프 대기, 동시에 재시도가 몰리지 않도록 대기 시간을 흔든다.
+     * @param attempt
+     * @throws InterruptedIOException 대기 중 인터럽트된 경우
+     */
+    private void backoff(int attempt) throws InterruptedIOException {
+        long backoffMs = Math.min(resilienceProperties.getMaxBackoffMs(), resilienceProperties.getInitialBackoffMs() << Math.min(attempt, 20));
+        long jitteredBackoffMs = backoffMs / 2 + ThreadLocalRandom.current().nextLong(backoffMs / 2 + 1);
+        try {
+            Thread.sleep(jitteredBackoffMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting to retry.");
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package dev.hyein.article.elasticsearch.resilience;
+
+import lombok.AllArgsConstructor;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 마지막 성공 결과 캐시
+ * 클러스터 장애 시 오래된 결과라도 응답하기 위해 보관하며, 최근에 쓰지 않은 항목부터 밀려난다.
+ */
+public class StaleCache {
+    private final long ttlMs;
+    private final LinkedHashMap<String, Entry> entries;
+
+    public StaleCache(int maxEntries, long ttlMs) {
+        this.ttlMs = ttlMs;
+        this.entries = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * 캐시 조회
+     * @param key
+     * @return 캐시된 값, 없거나 만료되었으면 null
+     */
+    public synchronized Object get(String key) {
+        Entry entry = entries.get(key);
+        if(entry == null)
+            return null;
+        if(System.currentTimeMillis() >= entry.expireAt) {
+            entries.remove(key);
+            return null;
+        }
+        return entry.value;
+    }
+
+    public synchronized void put(String key, Object value) {
+        entries.put(key, new Entry(value, System.currentTimeMillis() + ttlMs));
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    @AllArgsConstructor
+    private static class Entry {
+        private final Object value;
+        private final long expireAt;
+    }
+}
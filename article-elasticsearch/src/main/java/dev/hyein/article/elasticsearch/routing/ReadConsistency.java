@@ -0,0 +1,28 @@
+package dev.hyein.article.elasticsearch.routing;
+
+/**
+ * 현재 스레드의 읽기 일관성 요구
+ * read-your-writes 가 필요한 요청은 복제 지연과 관계없이 리더 클러스터에서 읽는다.
+ */
+public class ReadConsistency {
+    private static final ThreadLocal<Boolean> READ_YOUR_WRITES = new ThreadLocal<>();
+
+    private ReadConsistency() {
+    }
+
+    public static void setReadYourWrites(boolean readYourWrites) {
+        if(readYourWrites) {
+            READ_YOUR_WRITES.set(Boolean.TRUE);
+        } else {
+            READ_YOUR_WRITES.remove();
+        }
+    }
+
+    public static boolean isReadYourWrites() {
+        return READ_YOUR_WRITES.get() != null;
+    }
+
+    public static void clear() {
+        READ_YOUR_WRITES.remove();
+    }
+}
@@ -0,0 +1,186 @@
+package dev.hyein.article.elasticsearch.routing;
+
+import dev.hyein.article.elasticsearch.dao.CommonEsDao;
+import dev.hyein.article.elasticsearch.properties.ArticleProperties;
+import dev.hyein.article.elasticsearch.resilience.EsResilience;
+import lombok.extern.slf4j.Slf4j;
+import org.elasticsearch.client.RequestOptions;
+import org.elasticsearch.client.RestHighLevelClient;
+import org.elasticsearch.client.ccr.FollowStatsRequest;
+import org.elasticsearch.client.ccr.FollowStatsResponse;
+import org.elasticsearch.client.ccr.IndicesFollowStats;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 읽기 요청 라우팅
+ * 읽기 클러스터(CCR 팔로워 등, elasticsearch.article.read-host)가 있으면 검색과 단건 조회를 읽기 클러스터로 보내고, 쓰기는 리더로 보낸다.
+ * 다음 경우에는 리더에서 읽는다.
+ * - 복제 지연이 max-read-lag-ms 를 넘었거나 지연을 알 수 없음 (CCR 통계 조회 실패 등)
+ * - 호출자가 read-your-writes 를 요구 (ReadConsistency)
+ * - 읽기 클러스터의 해당 작업 서킷이 열림
+ */
+@Component
+@Slf4j
+public class ReadRouter {
+    private static final String FOLLOWER_OPERATION_SUFFIX = "@read";
+
+    private static final String GET_OPERATION = "get";
+
+    private final RestHighLevelClient leaderSearchClient;
+    private final RestHighLevelClient leaderGetClient;
+    private final RestHighLevelClient followerClient; // 읽기 클러스터가 없으면 null
+    private final EsResilience esResilience;
+    private final ArticleProperties articleProperties;
+    private final ReplicationLag replicationLag;
+    private volatile long lagMs = ReplicationLag.UNKNOWN;
+    private volatile boolean followerReadable = false;
+    private volatile String followerIndex; // read-alias 가 가리키는 팔로워 인덱스, 조회 전에는 null
+
+    public ReadRouter(@Qualifier("articleSearchClient") RestHighLevelClient articleSearchClient, @Qualifier("articleGetClient") RestHighLevelClient articleGetClient,
+                      @Qualifier("articleReadClient") Optional<RestHighLevelClient> articleReadClient, EsResilience esResilience, ArticleProperties articleProperties) {
+        this.leaderSearchClient = articleSearchClient;
+        this.leaderGetClient = articleGetClient;
+        this.followerClient = articleReadClient.orElse(null);
+        this.esResilience = esResilience;
+        this.articleProperties = articleProperties;
+        this.replicationLag = new ReplicationLag((int) Math.max(2, articleProperties.getMaxReadLagMs() * 2 / Math.max(1, articleProperties.getReadLagCheckIntervalMs())));
+    }
+
+    /**
+     * 현재 스레드의 읽기 일관성 요구에 따라 읽기 대상 선택
+     * @param operation 서킷 브레이커 단위
+     * @return
+     */
+    public ReadTarget route(String operation) {
+        return route(operation, ReadConsistency.isReadYourWrites());
+    }
+
+    /**
+     * 읽기 대상 선택
+     * @param operation 서킷 브레이커 단위
+     * @param readYourWrites true 면 리더
+     * @return
+     */
+    public ReadTarget route(String operation, boolean readYourWrites) {
+        if(readYourWrites || !followerReadable)
+            return leader(operation);
+
+        String followerOperation = operation + FOLLOWER_OPERATION_SUFFIX;
+        if(esResilience.isCircuitOpen(followerOperation))
+            return leader(operation);
+        return new ReadTarget(followerClient, articleProperties.getReadAlias(), followerOperation, true);
+    }
+
+    /**
+     * 리더 읽기 대상, 조건부 쓰기용 버전 조회처럼 리더 값이 필요한 읽기에 쓴다.
+     * 단건 조회(get)는 단건 조회 클라이언트, 나머지는 검색 클라이언트의 커넥션 풀을 쓴다.
+     * @param operation
+     * @return
+     */
+    public ReadTarget leader(String operation) {
+        return new ReadTarget(GET_OPERATION.equals(operation) ? leaderGetClient : leaderSearchClient, articleProperties.getAlias(), operation, false);
+    }
+
+    public boolean hasReadCluster() {
+        return followerClient != null;
+    }
+
+    /**
+     * 읽기 클러스터 클라이언트, stored script 처럼 CCR 로 복제되지 않는 클러스터 설정을 등록할 때 쓴다.
+     * @return 읽기 클러스터가 없으면 empty
+     */
+    public Optional<RestHighLevelClient> getReadClusterClient() {
+        return Optional.ofNullable(followerClient);
+    }
+
+    public boolean isFollowerReadable() {
+        return followerReadable;
+    }
+
+    /**
+     * 마지막으로 추정한 복제 지연
+     * @return ms, 알 수 없으면 ReplicationLag.UNKNOWN
+     */
+    public long getLagMs() {
+        return lagMs;
+    }
+
+    /**
+     * 읽기 클러스터 CCR 통계로 복제 지연 갱신
+     */
+    @Scheduled(fixedDelayString = "${elasticsearch.article.read-lag-check-interval-ms:1000}")
+    public void checkLag() {
+        if(followerClient == null)
+            return;
+
+        long checkedLagMs;
+        try {
+            checkedLagMs = fetchLagMs();
+        } catch (IOException | RuntimeException e) {
+            log.debug("[ReadRouter] Check replication lag failed: {}", e.toString());
+            replicationLag.clear();
+            followerIndex = null; // alias 가 다른 팔로워 인덱스로 바뀌었을 수 있다.
+            checkedLagMs = ReplicationLag.UNKNOWN;
+        }
+        updateLag(checkedLagMs);
+    }
+
+    /**
+     * 추정한 복제 지연으로 읽기 클러스터 사용 여부 갱신
+     * @param checkedLagMs 알 수 없으면 ReplicationLag.UNKNOWN
+     */
+    void updateLag(long checkedLagMs) {
+        lagMs = checkedLagMs;
+
+        boolean readable = checkedLagMs <= articleProperties.getMaxReadLagMs();
+        if(readable != followerReadable) {
+            log.info("[ReadRouter] Read from {} (replication lag {} ms)", readable ? "read cluster" : "leader",
+                    checkedLagMs == ReplicationLag.UNKNOWN ? "unknown" : String.valueOf(checkedLagMs));
+            followerReadable = readable;
+        }
+    }
+
+    private synchronized long fetchLagMs() throws IOException {
+        String index = getFollowerIndex();
+        FollowStatsResponse followStatsResponse = followerClient.ccr().getFollowStats(new FollowStatsRequest(index), RequestOptions.DEFAULT);
+        long leaderCheckpoint = 0;
+        long followerCheckpoint = 0;
+        int shards = 0;
+        for (Map.Entry<String, List<IndicesFollowStats.ShardFollowStats>> entry : followStatsResponse.getIndicesFollowStats().getShardFollowStats().entrySet()) {
+            for (IndicesFollowStats.ShardFollowStats shardFollowStats : entry.getValue()) {
+                leaderCheckpoint += shardFollowStats.getLeaderGlobalCheckpoint();
+                followerCheckpoint += shardFollowStats.getFollowerGlobalCheckpoint();
+                shards++;
+            }
+        }
+        if(shards == 0)
+            throw new IllegalStateException("No follower shard for [" + index + "]");
+        return replicationLag.record(System.currentTimeMillis(), leaderCheckpoint, followerCheckpoint);
+    }
+
+    /**
+     * CCR 통계를 조회할 팔로워 인덱스
+     * follow stats API 는 alias 를 받지 않으므로 read-follower-index 가 없으면 read-alias 가 가리키는 인덱스를 조회해 둔다.
+     * @return
+     * @throws IOException
+     */
+    private String getFollowerIndex() throws IOException {
+        if(articleProperties.getReadFollowerIndex() != null)
+            return articleProperties.getReadFollowerIndex();
+
+        if(followerIndex == null) {
+            String[] indices = CommonEsDao.getIndex(followerClient, articleProperties.getReadAlias()).getIndices();
+            if(indices.length != 1)
+                throw new IllegalStateException("Read alias [" + articleProperties.getReadAlias() + "] must point to one follower index");
+            followerIndex = indices[0];
+        }
+        return followerIndex;
+    }
+}
@@ -0,0 +1,16 @@
+package dev.hyein.article.elasticsearch.routing;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.elasticsearch.client.RestHighLevelClient;
+
+/**
+ * 읽기 요청을 보낼 클러스터
+ */
+@Getter @AllArgsConstructor
+public class ReadTarget {
+    private final RestHighLevelClient client;
+    private final String alias;
+    private final String operation; // 서킷 브레이커 단위, 읽기 클러스터는 리더와 따로 센다.
+    private final boolean follower;
+}
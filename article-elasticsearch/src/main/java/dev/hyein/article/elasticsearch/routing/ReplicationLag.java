@@ -0,0 +1,47 @@
+package dev.hyein.article.elasticsearch.routing;
+
+import java.util.ArrayDeque;
+
+/**
+ * 읽기 클러스터 복제 지연 추정
+ * 주기적으로 리더와 팔로워의 global checkpoint 를 기록하고, 팔로워가 따라잡은 가장 최근 리더 기록 시각부터 지금까지를 지연으로 본다.
+ * 샤드별 checkpoint 의 합으로 비교하므로 샤드 간 지연 차이는 평균된다.
+ * 동기화는 호출자가 한다.
+ */
+public class ReplicationLag {
+    public static final long UNKNOWN = Long.MAX_VALUE;
+
+    private final int maxSamples;
+    private final ArrayDeque<long[]> samples = new ArrayDeque<>(); // {기록 시각, 리더 checkpoint}, 오래된 순
+
+    public ReplicationLag(int maxSamples) {
+        this.maxSamples = Math.max(2, maxSamples);
+    }
+
+    /**
+     * checkpoint 기록 후 지연 계산
+     * @param now 기록 시각 (ms)
+     * @param leaderCheckpoint 리더 global checkpoint
+     * @param followerCheckpoint 팔로워 global checkpoint
+     * @return 지연 (ms), 팔로워가 기록된 어떤 시점도 따라잡지 못했으면 가장 오래된 기록부터의 시간, 첫 기록이면 UNKNOWN
+     */
+    public long record(long now, long leaderCheckpoint, long followerCheckpoint) {
+        samples.addLast(new long[]{now, leaderCheckpoint});
+        if(samples.size() > maxSamples)
+            samples.removeFirst();
+
+        long[] caughtUp = null;
+        while (!samples.isEmpty() && samples.peekFirst()[1] <= followerCheckpoint) {
+            caughtUp = samples.removeFirst();
+        }
+        if(caughtUp != null) {
+            samples.addFirst(caughtUp); // 다음 기록에서도 따라잡은 시점으로 쓴다.
+            return now - caughtUp[0];
+        }
+        return samples.size() > 1 ? now - samples.peekFirst()[0] : UNKNOWN;
+    }
+
+    public void clear() {
+        samples.clear();
+    }
+}
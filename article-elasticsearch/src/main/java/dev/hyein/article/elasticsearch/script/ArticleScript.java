@@ -0,0 +1,23 @@
+package dev.hyein.article.elasticsearch.script;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.elasticsearch.script.Script;
+
+/**
+ * 아티클 인덱스에서 사용하는 stored script 목록
+ * 요청마다 스크립트 소스를 보내지 않고 id 로 참조한다.
+ */
+@Getter @AllArgsConstructor
+public enum ArticleScript {
+    READ_SORT("article-read-sort", "doc['read'].value + doc['articleTitle'].value.length()"), // read 점수 + 아티클 제목의 길이
+    INCREASE_READ("article-increase-read", "ctx._source.read += params.count"), // params.count 만큼 조회수 증가
+    ;
+
+    private final String id;
+    private final String source;
+
+    public String getLang() {
+        return Script.DEFAULT_SCRIPT_LANG;
+    }
+}
@@ -1,6 +1,9 @@
 package dev.hyein.article.elasticsearch.utils;
 
+import org.springframework.util.StreamUtils;
+
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -24,6 +27,20 @@ public class FileUtils {
         return false;
     }
 
+    /**
+     * 클래스패스 리소스 읽기
+     * @param path 리소스 경로
+     * @return 리소스 내용
+     * @throws IOException
+     */
+    public static String readClasspathResource(String path) throws IOException {
+        try (InputStream inputStream = FileUtils.class.getClassLoader().getResourceAsStream(path)) {
+            if(inputStream == null)
+                throw new IOException(String.format("Resource [%s] is not exist.", path));
+            return StreamUtils.copyToString(inputStream, StandardCharsets.UTF_8);
+        }
+    }
+
     /**
      * line 존재 여부
      * @param file
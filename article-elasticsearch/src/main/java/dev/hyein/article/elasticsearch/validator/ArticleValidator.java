@@ -1,39 +1,72 @@
 package dev.hyein.article.elasticsearch.validator;
 
+import dev.hyein.article.elasticsearch.bitmap.IntBitmap;
 import dev.hyein.article.elasticsearch.dao.CommonEsDao;
 import dev.hyein.article.elasticsearch.exception.DocumentAlreadyExistException;
 import dev.hyein.article.elasticsearch.exception.DocumentNotFoundException;
+import dev.hyein.article.elasticsearch.exception.InvalidArticleException;
 import dev.hyein.article.elasticsearch.properties.ArticleProperties;
+import dev.hyein.article.elasticsearch.resilience.EsResilience;
+import dev.hyein.article.elasticsearch.vo.ArticlePatchVo;
 import dev.hyein.article.elasticsearch.vo.ArticleVo;
+import lombok.extern.slf4j.Slf4j;
 import org.elasticsearch.client.RestHighLevelClient;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 
 import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Objects;
+import java.util.function.IntConsumer;
 
 /**
  * 아티클 데이터 검증 클래스
+ * 아티클 번호 존재 여부는 메모리의 비트맵으로 먼저 판단한다.
+ * - 예상대로인 경우(등록할 번호가 없음, 수정/삭제할 번호가 있음)는 원격 확인 없이 통과시키고, 실제 쓰기(op_type create, 없는 문서 수정/삭제 실패)가 최종 확인한다.
+ * - 오류가 될 경우만 원격으로 다시 확인해서, 다른 인스턴스의 쓰기로 비트맵이 오래되었어도 잘못된 오류를 내지 않는다.
+ * 비트맵이 적재되기 전에는 매번 원격으로 확인한다.
  */
 @Component
+@Slf4j
 public class ArticleValidator {
     private final RestHighLevelClient client;
+    private final EsResilience esResilience;
     private final String alias;
+    private volatile IntBitmap articleNumbers; // 적재 전에는 null
+    private final Map<Integer, Boolean> changesDuringReload = new HashMap<>(); // 다시 적재하는 동안의 쓰기, 적재 후 다시 적용
+    private boolean reloading = false;
 
-    public ArticleValidator(@Qualifier("articleClient") RestHighLevelClient articleClient, ArticleProperties articleProperties)  {
+    public ArticleValidator(@Qualifier("articleClient") RestHighLevelClient articleClient, EsResilience esResilience, ArticleProperties articleProperties)  {
         this.client = articleClient;
+        this.esResilience = esResilience;
         this.alias = articleProperties.getAlias();
     }
+
     /**
      * ArticleVo 검증
      * @param articleVo
+     * @throws InvalidArticleException 아티클 번호가 없거나 제목이 비었을 때
      */
     public void validateArticleVo(ArticleVo articleVo) {
         Objects.requireNonNull(articleVo, "ArticleVo must be not null.");
-        Objects.requireNonNull(articleVo.getArticleNumber(), "ArticleNumber must be not null.");
+        if(articleVo.getArticleNumber() == null)
+            throw new InvalidArticleException("articleNumber must be not null.");
         if(!StringUtils.hasText(articleVo.getArticleTitle()))
-            throw new NullPointerException("articleTitle must be not null or empty.");
+            throw new InvalidArticleException("articleTitle must be not null or empty.");
+    }
+
+    /**
+     * ArticlePatchVo 검증
+     * @param articlePatchVo
+     */
+    public void validateArticlePatchVo(ArticlePatchVo articlePatchVo) {
+        Objects.requireNonNull(articlePatchVo, "ArticlePatchVo must be not null.");
+        if(articlePatchVo.getArticleTitle() == null && articlePatchVo.getRead() == null && articlePatchVo.getIsOpen() == null)
+            throw new InvalidArticleException("At least one of articleTitle, read, isOpen is required.");
+        if(articlePatchVo.getArticleTitle() != null && !StringUtils.hasText(articlePatchVo.getArticleTitle()))
+            throw new InvalidArticleException("articleTitle must be not empty.");
     }
 
     /**
@@ -53,7 +86,7 @@ public class ArticleValidator {
     public void validateIsDocIdNotExist(String docId) throws IOException {
         Objects.requireNonNull(docId);
 
-        if (CommonEsDao.isDocIdExist(client, alias, docId)) {
+        if (isKnownExist(docId, false)) {
             throw new DocumentAlreadyExistException(docId, alias);
         }
     }
@@ -67,8 +100,139 @@ public class ArticleValidator {
         Objects.requireNonNull(articleNumber);
 
         String docId = String.valueOf(articleNumber);
-        if (!CommonEsDao.isDocIdExist(client, alias, docId)) {
+        if (!isKnownExist(docId, true)) {
             throw new DocumentNotFoundException(docId, alias);
         }
     }
+
+    /**
+     * 비트맵 기준 존재 여부
+     * @param docId
+     * @return 비트맵 적재 전이거나 아티클 번호가 아니면 null
+     */
+    public Boolean getLocalExistence(String docId) {
+        IntBitmap bitmap = articleNumbers;
+        Integer articleNumber = toArticleNumber(docId);
+        if(bitmap == null || articleNumber == null)
+            return null;
+        return bitmap.contains(articleNumber);
+    }
+
+    /**
+     * 아티클이 쓰였음을 비트맵에 반영
+     * @param articleNumber
+     */
+    public void onArticleWritten(Integer articleNumber) {
+        applyChange(articleNumber, true);
+    }
+
+    /**
+     * 아티클이 삭제되었음을 비트맵에 반영
+     * @param articleNumber
+     */
+    public void onArticleDeleted(Integer articleNumber) {
+        applyChange(articleNumber, false);
+    }
+
+    /**
+     * 모든 아티클이 삭제되었음을 비트맵에 반영
+     */
+    public void onAllArticlesDeleted() {
+        synchronized (changesDuringReload) {
+            if(articleNumbers != null)
+                articleNumbers = new IntBitmap();
+            changesDuringReload.clear();
+        }
+    }
+
+    /**
+     * 전체 아티클 번호로 비트맵을 다시 만들어 교체
+     * 읽는 동안 들어온 쓰기는 새 비트맵에 다시 적용한다.
+     * @param scan 모든 아티클 번호를 consumer 로 넘기는 스캔
+     * @return 적재한 아티클 수
+     * @throws IOException 스캔 실패, 기존 비트맵을 그대로 쓴다.
+     */
+    public long reloadArticleNumbers(ArticleNumberScan scan) throws IOException {
+        IntBitmap loaded = new IntBitmap();
+        synchronized (changesDuringReload) {
+            reloading = true;
+            changesDuringReload.clear();
+        }
+
+        boolean succeeded = false;
+        try {
+            scan.scan(loaded::add);
+            succeeded = true;
+        } finally {
+            synchronized (changesDuringReload) {
+                reloading = false;
+                if(succeeded) {
+                    changesDuringReload.forEach((articleNumber, exists) -> {
+                        if(exists) {
+                            loaded.add(articleNumber);
+                        } else {
+                            loaded.remove(articleNumber);
+                        }
+                    });
+                    articleNumbers = loaded;
+                }
+                changesDuringReload.clear();
+            }
+        }
+        log.info("[ArticleValidator] Loaded {} article numbers ({} bytes)", loaded.cardinality(), loaded.sizeInBytes());
+        return loaded.cardinality();
+    }
+
+    /**
+     * 존재 여부 확인
+     * 비트맵이 예상과 같으면 바로 반환하고, 다르거나 비트맵이 없으면 원격으로 확인한 결과를 비트맵에 반영한다.
+     * @param docId
+     * @param expected 호출자가 기대하는 존재 여부
+     * @return
+     * @throws IOException
+     */
+    private boolean isKnownExist(String docId, boolean expected) throws IOException {
+        Boolean localExistence = getLocalExistence(docId);
+        if(localExistence != null && localExistence == expected)
+            return expected;
+
+        boolean exists = esResilience.read("exists", () -> CommonEsDao.isDocIdExist(client, alias, docId));
+        Integer articleNumber = toArticleNumber(docId);
+        if(localExistence != null && articleNumber != null && localExistence != exists)
+            applyChange(articleNumber, exists); // 다른 인스턴스의 쓰기로 달라진 비트맵 보정
+        return exists;
+    }
+
+    private void applyChange(Integer articleNumber, boolean exists) {
+        if(articleNumber == null)
+            return;
+        synchronized (changesDuringReload) {
+            if(reloading)
+                changesDuringReload.put(articleNumber, exists);
+            IntBitmap bitmap = articleNumbers;
+            if(bitmap == null)
+                return;
+            if(exists) {
+                bitmap.add(articleNumber);
+            } else {
+                bitmap.remove(articleNumber);
+            }
+        }
+    }
+
+    private static Integer toArticleNumber(String docId) {
+        try {
+            return Integer.valueOf(docId);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 모든 아티클 번호 스캔
+     */
+    @FunctionalInterface
+    public interface ArticleNumberScan {
+        void scan(IntConsumer consumer) throws IOException;
+    }
 }
@@ -0,0 +1,13 @@
+package dev.hyein.article.elasticsearch.vo;
+
+import lombok.*;
+
+/**
+ * 샤드별 _seq_no 와 함께 읽은 아티클
+ */
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @ToString @Builder
+public class ArticleChange {
+    private int shard;
+    private long seqNo;
+    private ArticleVo article;
+}
@@ -0,0 +1,37 @@
+package dev.hyein.article.elasticsearch.vo;
+
+import lombok.*;
+
+/**
+ * 아티클 변경 1건
+ */
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @ToString @Builder
+public class ArticleMutation {
+    public enum Type {
+        INDEX, // 새 아티클 색인, 이미 있으면 실패
+        UPDATE, // 기존 아티클에 병합
+        PATCH, // 기존 아티클의 일부 필드만 수정
+        DELETE
+    }
+
+    private Type type;
+    private Integer articleNumber;
+    private ArticleVo article;
+    private ArticlePatchVo patch; // PATCH 일 때만
+
+    public static ArticleMutation index(ArticleVo articleVo) {
+        return new ArticleMutation(Type.INDEX, articleVo.getArticleNumber(), articleVo, null);
+    }
+
+    public static ArticleMutation update(Integer articleNumber, ArticleVo articleVo) {
+        return new ArticleMutation(Type.UPDATE, articleNumber, articleVo, null);
+    }
+
+    public static ArticleMutation patch(Integer articleNumber, ArticlePatchVo articlePatchVo) {
+        return new ArticleMutation(Type.PATCH, articleNumber, null, articlePatchVo);
+    }
+
+    public static ArticleMutation delete(Integer articleNumber) {
+        return new ArticleMutation(Type.DELETE, articleNumber, null, null);
+    }
+}
@@ -0,0 +1,14 @@
+package dev.hyein.article.elasticsearch.vo;
+
+import lombok.*;
+
+/**
+ * 아티클 부분 수정, null 인 필드는 수정하지 않는다.
+ * _id 가 아티클 번호라 아티클 번호는 수정할 수 없다.
+ */
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @ToString @Builder
+public class ArticlePatchVo {
+    private String articleTitle;
+    private Integer read;
+    private Boolean isOpen;
+}
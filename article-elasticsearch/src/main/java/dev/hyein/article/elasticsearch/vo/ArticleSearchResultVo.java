@@ -0,0 +1,33 @@
+package dev.hyein.article.elasticsearch.vo;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * 시간 예산이 있는 아티클 검색 결과
+ * 시간 예산 안에 응답하지 않은 샤드가 있으면 응답한 샤드 결과만 담고 timedOut 이 true 다.
+ */
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @ToString @Builder
+public class ArticleSearchResultVo {
+    private List<ArticleVo> articles;
+    private boolean timedOut;
+    private boolean terminatedEarly; // terminate_after 에 도달한 샤드가 있음
+    private int totalShards;
+    private int successfulShards;
+    private int skippedShards;
+    private int failedShards;
+
+    /**
+     * 모든 샤드가 응답한 결과
+     * @param articles
+     * @return
+     */
+    public static ArticleSearchResultVo complete(List<ArticleVo> articles) {
+        return new ArticleSearchResultVo(articles, false, false, 0, 0, 0, 0);
+    }
+
+    public boolean isPartial() {
+        return timedOut || failedShards > 0;
+    }
+}
@@ -0,0 +1,9 @@
+package dev.hyein.article.elasticsearch.vo;
+
+import lombok.*;
+
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @ToString @Builder
+public class ArticleSuggestVo {
+    private Integer articleNumber;
+    private String articleTitle;
+}
@@ -0,0 +1,13 @@
+package dev.hyein.article.elasticsearch.vo;
+
+import lombok.*;
+
+/**
+ * 아티클 도큐먼트의 _seq_no, _primary_term
+ * 마지막으로 읽은 뒤 다른 쓰기가 있었는지 판단하는 조건부 쓰기에 쓴다.
+ */
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @ToString @Builder
+public class ArticleVersion {
+    private long seqNo;
+    private long primaryTerm;
+}
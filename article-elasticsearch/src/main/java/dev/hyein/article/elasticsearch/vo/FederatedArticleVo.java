@@ -0,0 +1,12 @@
+package dev.hyein.article.elasticsearch.vo;
+
+import lombok.*;
+
+/**
+ * 연합 검색 결과 아티클, 클러스터마다 아티클 번호가 겹칠 수 있어 클러스터 이름을 함께 둔다.
+ */
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @ToString @Builder
+public class FederatedArticleVo {
+    private String cluster;
+    private ArticleVo article;
+}
@@ -0,0 +1,20 @@
+package dev.hyein.article.elasticsearch.vo;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * 연합 검색 결과
+ * 마감 시간 안에 응답하지 않았거나 실패한 클러스터는 결과에서 빠지고 이름만 남는다.
+ */
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @ToString @Builder
+public class FederatedSearchVo {
+    private List<FederatedArticleVo> articles;
+    private List<String> timedOutClusters; // 마감 시간 초과, 클러스터 안에서 일부 샤드만 응답한 경우 포함
+    private List<String> failedClusters;
+
+    public boolean isPartial() {
+        return !timedOutClusters.isEmpty() || !failedClusters.isEmpty();
+    }
+}
@@ -0,0 +1,16 @@
+package dev.hyein.article.elasticsearch.vo;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * 저장된 검색 조건에 일치한 아티클
+ */
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @ToString @Builder
+public class SavedSearchMatchVo {
+    private String savedSearchId;
+    private String subscriber;
+    private String name;
+    private List<Integer> articleNumbers;
+}
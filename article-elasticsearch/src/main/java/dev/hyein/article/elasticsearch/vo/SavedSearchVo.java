@@ -0,0 +1,17 @@
+package dev.hyein.article.elasticsearch.vo;
+
+import lombok.*;
+
+/**
+ * 저장된 검색 조건
+ * 조건은 아티클 검색과 같은 검색어, 필터이며 percolator 쿼리로 변환되어 저장된다.
+ */
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @ToString @Builder
+public class SavedSearchVo {
+    private String id;
+    private String subscriber;
+    private String name;
+    private String articleTitle;
+    private String filter;
+    private Long createdAt;
+}
@@ -0,0 +1,14 @@
+package dev.hyein.article.elasticsearch.vo;
+
+import lombok.*;
+
+/**
+ * 검색 요청 시간 예산
+ * 샤드는 timeoutMs 까지 모은 결과로 응답하고, 클라이언트는 clientTimeoutMs 까지만 응답을 기다린다.
+ */
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @ToString @Builder
+public class SearchBudget {
+    private long timeoutMs; // 검색 timeout, 넘으면 그때까지 모은 샤드 결과로 응답한다.
+    private Integer terminateAfter; // 샤드별 최대 수집 문서 수, null 이면 제한 없음
+    private long clientTimeoutMs; // 응답 대기 마감 시간, timeoutMs 보다 네트워크, 병합 시간만큼 길다.
+}
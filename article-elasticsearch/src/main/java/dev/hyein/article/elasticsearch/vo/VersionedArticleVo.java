@@ -0,0 +1,12 @@
+package dev.hyein.article.elasticsearch.vo;
+
+import lombok.*;
+
+/**
+ * 버전과 함께 읽은 아티클
+ */
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @ToString @Builder
+public class VersionedArticleVo {
+    private ArticleVo article;
+    private ArticleVersion version; // 버전을 알 수 없으면 null
+}
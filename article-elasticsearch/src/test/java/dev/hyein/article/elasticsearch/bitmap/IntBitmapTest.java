@@ -0,0 +1,81 @@
+package dev.hyein.article.elasticsearch.bitmap;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+
+class IntBitmapTest {
+
+    @DisplayName("추가, 포함, 삭제_성공")
+    @ParameterizedTest
+    @MethodSource("getValues")
+    public void addContainsRemove(int value) {
+        // given
+        IntBitmap intBitmap = new IntBitmap();
+
+        // when
+        boolean added = intBitmap.add(value);
+        boolean addedAgain = intBitmap.add(value);
+
+        // then
+        assertThat(added).isTrue();
+        assertThat(addedAgain).isFalse();
+        assertThat(intBitmap.contains(value)).isTrue();
+        assertThat(intBitmap.contains(value + 1)).isFalse();
+        assertThat(intBitmap.cardinality()).isEqualTo(1);
+
+        assertThat(intBitmap.remove(value)).isTrue();
+        assertThat(intBitmap.remove(value)).isFalse();
+        assertThat(intBitmap.contains(value)).isFalse();
+        assertThat(intBitmap.cardinality()).isEqualTo(0);
+    }
+
+    private static Stream<Arguments> getValues() {
+        return Stream.of(
+                Arguments.of(0),
+                Arguments.of(1),
+                Arguments.of(65535),
+                Arguments.of(65536),
+                Arguments.of(Integer.MAX_VALUE - 1),
+                Arguments.of(-1),
+                Arguments.of(Integer.MIN_VALUE)
+        );
+    }
+
+    @DisplayName("촘촘한 번호는 비트맵 컨테이너로 바뀌었다가 삭제되면 다시 배열 컨테이너로_성공")
+    @Test
+    public void convertContainer() {
+        // given
+        IntBitmap intBitmap = new IntBitmap();
+
+        // when
+        for (int i = 0; i < 10000; i += 2) {
+            intBitmap.add(i);
+        }
+        long sizeInBytes = intBitmap.sizeInBytes();
+
+        // then
+        assertThat(intBitmap.cardinality()).isEqualTo(5000);
+        assertThat(sizeInBytes).isEqualTo(8192); // 65536 비트
+        for (int i = 0; i < 10000; i++) {
+            assertThat(intBitmap.contains(i)).isEqualTo(i % 2 == 0);
+        }
+
+        // when
+        for (int i = 0; i < 10000; i += 4) {
+            intBitmap.remove(i);
+        }
+
+        // then
+        assertThat(intBitmap.cardinality()).isEqualTo(2500);
+        for (int i = 0; i < 10000; i++) {
+            assertThat(intBitmap.contains(i)).isEqualTo(i % 4 == 2);
+        }
+    }
+}
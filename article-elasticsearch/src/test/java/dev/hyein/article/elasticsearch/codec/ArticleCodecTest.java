@@ -0,0 +1,72 @@
+package dev.hyein.article.elasticsearch.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.afterburner.AfterburnerModule;
+import dev.hyein.article.elasticsearch.vo.ArticleMutation;
+import dev.hyein.article.elasticsearch.vo.ArticlePatchVo;
+import dev.hyein.article.elasticsearch.vo.ArticleVo;
+import org.elasticsearch.common.bytes.BytesArray;
+import org.elasticsearch.common.bytes.BytesReference;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ArticleCodecTest {
+    private final ArticleCodec articleCodec = new ArticleCodec(new ObjectMapper().registerModule(new AfterburnerModule()));
+
+    @DisplayName("_source 바이트 -> Vo 변환_성공")
+    @Test
+    public void readArticleVo() throws IOException {
+        // given
+        byte[] json = "xx{\"articleNumber\":1,\"articleTitle\":\"초콜릿이란\",\"read\":3,\"isOpen\":true}".getBytes(StandardCharsets.UTF_8);
+        BytesReference source = new BytesArray(json, 2, json.length - 2); // 배열 중간부터 시작하는 _source
+
+        // when
+        ArticleVo articleVo = articleCodec.readArticleVo(source);
+
+        // then
+        assertThat(articleVo).isEqualToComparingFieldByField(new ArticleVo(1, "초콜릿이란", 3, true));
+    }
+
+    @DisplayName("Vo -> _source -> Vo 변환_성공")
+    @Test
+    public void writeAndRead() throws IOException {
+        // given
+        ArticleVo articleVo = new ArticleVo(2, "ARTICLE2", 40, false);
+
+        // when
+        byte[] source = articleCodec.writeArticleSource(articleVo);
+        articleCodec.writeArticleSource(new ArticleVo(3, "재사용된 버퍼에 쓰기", 0, true)); // 이전 결과에 영향 없어야 함
+
+        // then
+        assertThat(articleCodec.readArticleVo(new BytesArray(source))).isEqualToComparingFieldByField(articleVo);
+    }
+
+    @DisplayName("부분 수정 저널 레코드 변환_성공")
+    @Test
+    public void writeAndReadPatchMutation() throws IOException {
+        // given
+        ArticleMutation articleMutation = ArticleMutation.patch(4, ArticlePatchVo.builder().isOpen(false).build());
+
+        // when
+        ArticleMutation readMutation = articleCodec.readValue(articleCodec.writeValueAsBytes(articleMutation), ArticleMutation.class);
+
+        // then
+        assertEquals(ArticleMutation.Type.PATCH, readMutation.getType());
+        assertEquals(4, readMutation.getArticleNumber());
+        assertNull(readMutation.getArticle());
+        assertThat(readMutation.getPatch()).isEqualToComparingFieldByField(articleMutation.getPatch());
+    }
+
+    @DisplayName("타입별 reader, writer 재사용_성공")
+    @Test
+    public void cachedReaderWriter() {
+        assertSame(articleCodec.readerFor(ArticleVo.class), articleCodec.readerFor(ArticleVo.class));
+        assertSame(articleCodec.writerFor(ArticleVo.class), articleCodec.writerFor(ArticleVo.class));
+    }
+}
@@ -2,7 +2,9 @@ package dev.hyein.article.elasticsearch.dao;
 
 import dev.hyein.article.elasticsearch.exception.DocumentAlreadyExistException;
 import dev.hyein.article.elasticsearch.exception.DocumentNotFoundException;
+import dev.hyein.article.elasticsearch.exception.InvalidArticleException;
 import dev.hyein.article.elasticsearch.properties.ArticleProperties;
+import dev.hyein.article.elasticsearch.vo.ArticleChange;
 import dev.hyein.article.elasticsearch.vo.ArticleVo;
 import lombok.extern.slf4j.Slf4j;
 import org.elasticsearch.index.query.QueryBuilders;
@@ -17,7 +19,9 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Stream;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
@@ -89,7 +93,7 @@ class ArticleDaoTest {
     @Order(3)
     public void indexInvalidDocument(ArticleVo articleVo) throws IOException, InterruptedException {
         // when & then
-        assertThrows(NullPointerException.class, () -> articleDao.index(articleVo));
+        assertThrows(InvalidArticleException.class, () -> articleDao.index(articleVo));
     }
 
     private static Stream<Arguments> indexInvalidDocument() {
@@ -256,7 +260,7 @@ class ArticleDaoTest {
         Thread.sleep(WAIT_EVENT_MS); // wait until indexing
 
         // when & then
-        assertThrows(NullPointerException.class, () -> articleDao.update(oldArticleVo.getArticleNumber(), newArticleVo));
+        assertThrows(InvalidArticleException.class, () -> articleDao.update(oldArticleVo.getArticleNumber(), newArticleVo));
     }
 
     public static Stream<Arguments> updateInvalidArticle() {
@@ -349,4 +353,60 @@ class ArticleDaoTest {
 
 
 
+    @DisplayName("샤드별 스캔 결과에 샤드 번호 포함_성공")
+    @Order(15)
+    @Test
+    public void scanArticlesByShard() throws Exception {
+        // given
+        articleDao.index(new ArticleVo(1, "사과", 1, true));
+        articleDao.index(new ArticleVo(2, "배", 2, true));
+        articleDao.index(new ArticleVo(3, "감", 3, false));
+        Thread.sleep(WAIT_EVENT_MS); // wait until indexing
+        Map.Entry<String, Integer> indexShards = articleDao.getIndexShards();
+
+        // when
+        List<ArticleChange> articleChangeList = new ArrayList<>();
+        List<Integer> scannedShards = new ArrayList<>();
+        for (int shard = 0; shard < indexShards.getValue(); shard++) {
+            int scannedShard = shard;
+            articleDao.scanArticles(indexShards.getKey(), shard, 2, articleChange -> {
+                articleChangeList.add(articleChange);
+                scannedShards.add(scannedShard);
+            });
+        }
+
+        // then
+        assertEquals(3, articleChangeList.size());
+        for (int i = 0; i < articleChangeList.size(); i++) {
+            assertEquals(scannedShards.get(i).intValue(), articleChangeList.get(i).getShard());
+            assertTrue(articleChangeList.get(i).getSeqNo() >= 0);
+        }
+    }
+
+    @DisplayName("global checkpoint 까지의 변경만 조회_성공")
+    @Order(16)
+    @Test
+    public void findChangesUntilCheckpoint() throws Exception {
+        // given
+        Map.Entry<String, Integer> indexShards = articleDao.getIndexShards();
+        String index = indexShards.getKey();
+        articleDao.index(new ArticleVo(1, "사과", 1, true));
+        articleDao.refreshIndex(index);
+        long[] checkpoints = articleDao.getGlobalCheckpoints(index, indexShards.getValue());
+
+        // when
+        List<ArticleChange> articleChangeList = new ArrayList<>();
+        List<ArticleChange> beforeCheckpointList = new ArrayList<>();
+        for (int shard = 0; shard < checkpoints.length; shard++) {
+            articleChangeList.addAll(articleDao.findChangesSince(index, shard, -1, checkpoints[shard], 10));
+            beforeCheckpointList.addAll(articleDao.findChangesSince(index, shard, -1, checkpoints[shard] - 1, 10));
+        }
+
+        // then
+        assertEquals(1, articleChangeList.size());
+        assertEquals(1, articleChangeList.get(0).getArticle().getArticleNumber().intValue());
+        assertEquals(checkpoints[articleChangeList.get(0).getShard()], articleChangeList.get(0).getSeqNo());
+        assertEquals(0, beforeCheckpointList.size());
+    }
+
 }
\ No newline at end of file
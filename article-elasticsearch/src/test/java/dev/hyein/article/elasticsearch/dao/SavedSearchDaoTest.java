@@ -0,0 +1,83 @@
+package dev.hyein.article.elasticsearch.dao;
+
+import dev.hyein.article.elasticsearch.vo.ArticleVo;
+import dev.hyein.article.elasticsearch.vo.SavedSearchMatchVo;
+import dev.hyein.article.elasticsearch.vo.SavedSearchVo;
+import org.elasticsearch.index.query.QueryBuilder;
+import org.elasticsearch.index.query.QueryBuilders;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ExtendWith(ContainerExtension.class)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@ActiveProfiles("test")
+class SavedSearchDaoTest {
+    public static final int WAIT_EVENT_MS = 1000;
+
+    @Autowired
+    private SavedSearchDao savedSearchDao;
+
+    @DisplayName("페이지 크기보다 많이 일치한 검색 조건 모두 조회_성공")
+    @Test
+    @Order(1)
+    public void percolateAllPages() throws IOException, InterruptedException {
+        // given
+        savedSearchDao.createIndexIfNotExist();
+        saveSearch("open-1", QueryBuilders.termQuery("isOpen", true));
+        saveSearch("open-2", QueryBuilders.termQuery("isOpen", true));
+        saveSearch("open-3", QueryBuilders.termQuery("isOpen", true));
+        saveSearch("closed", QueryBuilders.termQuery("isOpen", false));
+        saveSearch("number", QueryBuilders.rangeQuery("articleNumber").gte(1).lte(2));
+        saveSearch("none", QueryBuilders.termQuery("articleNumber", 3));
+        Thread.sleep(WAIT_EVENT_MS); // wait until refresh
+
+        // when
+        List<SavedSearchMatchVo> savedSearchMatchVoList = savedSearchDao.percolate(Arrays.asList(
+                new ArticleVo(1, "사과", 1, true),
+                new ArticleVo(2, "배", 2, false)
+        ), 2);
+
+        // then
+        Map<String, List<Integer>> matches = new HashMap<>();
+        for (SavedSearchMatchVo savedSearchMatchVo : savedSearchMatchVoList) {
+            assertNull(matches.put(savedSearchMatchVo.getSavedSearchId(), savedSearchMatchVo.getArticleNumbers())); // 페이지가 겹치지 않는다.
+            assertEquals("tester", savedSearchMatchVo.getSubscriber());
+        }
+        assertEquals(5, matches.size());
+        assertEquals(Collections.singletonList(1), matches.get("open-1"));
+        assertEquals(Collections.singletonList(1), matches.get("open-2"));
+        assertEquals(Collections.singletonList(1), matches.get("open-3"));
+        assertEquals(Collections.singletonList(2), matches.get("closed"));
+        assertEquals(Arrays.asList(1, 2), matches.get("number"));
+    }
+
+    @DisplayName("아티클이 없으면 조회 안 함_성공")
+    @Test
+    @Order(2)
+    public void percolateNothing() throws IOException {
+        // when, then
+        assertTrue(savedSearchDao.percolate(Collections.emptyList(), 2).isEmpty());
+    }
+
+    private void saveSearch(String id, QueryBuilder query) throws IOException {
+        savedSearchDao.saveSearch(SavedSearchVo.builder()
+                .id(id)
+                .subscriber("tester")
+                .name(id)
+                .createdAt(System.currentTimeMillis())
+                .build(), query);
+    }
+}
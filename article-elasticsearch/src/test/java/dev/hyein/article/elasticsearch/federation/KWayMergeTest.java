@@ -0,0 +1,45 @@
+package dev.hyein.article.elasticsearch.federation;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class KWayMergeTest {
+
+    @DisplayName("정렬된 목록 병합 후 from, size 만큼 반환_성공")
+    @ParameterizedTest
+    @MethodSource
+    public void merge(List<List<Integer>> sortedLists, int from, int size, List<Integer> expected) {
+        // when
+        List<Integer> merged = KWayMerge.merge(sortedLists, Comparator.<Integer>reverseOrder(), from, size);
+
+        // then
+        assertThat(merged).containsExactlyElementsOf(expected);
+    }
+
+    private static Stream<Arguments> merge() {
+        // given
+        List<List<Integer>> sortedLists = Arrays.asList(
+                Arrays.asList(90, 50, 10),
+                Collections.emptyList(),
+                Arrays.asList(80, 70, 60, 5),
+                Arrays.asList(100, 50)
+        );
+        return Stream.of(
+                Arguments.of(sortedLists, 0, 5, Arrays.asList(100, 90, 80, 70, 60)),
+                Arguments.of(sortedLists, 4, 3, Arrays.asList(60, 50, 50)),
+                Arguments.of(sortedLists, 8, 10, Arrays.asList(5)),
+                Arguments.of(sortedLists, 0, 0, Collections.emptyList()),
+                Arguments.of(Collections.emptyList(), 0, 10, Collections.emptyList())
+        );
+    }
+}
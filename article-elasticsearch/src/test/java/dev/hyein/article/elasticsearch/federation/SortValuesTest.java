@@ -0,0 +1,121 @@
+package dev.hyein.article.elasticsearch.federation;
+
+import org.apache.lucene.util.BytesRef;
+import org.elasticsearch.search.DocValueFormat;
+import org.elasticsearch.search.SearchHit;
+import org.elasticsearch.search.sort.SortBuilder;
+import org.elasticsearch.search.sort.SortBuilders;
+import org.elasticsearch.search.sort.SortOrder;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SortValuesTest {
+
+    @DisplayName("정렬 값이 없는 결과는 정렬 방향과 관계없이 뒤로_성공")
+    @Test
+    public void nullsLast() {
+        // given
+        SearchHit missing = hit(1, (Object) null);
+        SearchHit low = hit(2, 10L);
+        SearchHit high = hit(3, 20L);
+
+        // when
+        List<SearchHit> ascending = sort(Arrays.asList(missing, high, low), SortOrder.ASC);
+        List<SearchHit> descending = sort(Arrays.asList(missing, low, high), SortOrder.DESC);
+
+        // then
+        assertThat(ascending).containsExactly(low, high, missing);
+        assertThat(descending).containsExactly(high, low, missing);
+    }
+
+    @DisplayName("클러스터마다 다른 숫자 타입 정렬 값 비교_성공")
+    @Test
+    public void mixedNumbers() {
+        // given
+        SearchHit integer = hit(1, 3);
+        SearchHit longValue = hit(2, 2L);
+        SearchHit doubleValue = hit(3, 2.5d);
+        SearchHit floatValue = hit(4, 1.5f);
+
+        // when
+        List<SearchHit> sorted = sort(Arrays.asList(integer, longValue, doubleValue, floatValue), SortOrder.ASC);
+
+        // then
+        assertThat(sorted).containsExactly(floatValue, longValue, doubleValue, integer);
+        assertEquals(0, SortValues.compareValues(Long.MAX_VALUE, Long.MAX_VALUE)); // 정수끼리는 double 로 바꾸지 않는다.
+        assertThat(SortValues.compareValues(Long.MAX_VALUE, Long.MAX_VALUE - 1)).isPositive();
+    }
+
+    @DisplayName("keyword 정렬 값 문자열 비교_성공")
+    @Test
+    public void keywords() {
+        // given
+        SearchHit apple = hit(1, new BytesRef("apple"));
+        SearchHit banana = hit(2, "banana");
+        SearchHit cherry = hit(3, new BytesRef("cherry"));
+
+        // when
+        List<SearchHit> sorted = sort(Arrays.asList(cherry, apple, banana), SortOrder.DESC);
+
+        // then
+        assertThat(sorted).containsExactly(cherry, banana, apple);
+    }
+
+    @DisplayName("앞 정렬 값이 같으면 다음 정렬 값 비교_성공")
+    @Test
+    public void nextSortValue() {
+        // given
+        SearchHit first = hit(1, 10L, "b");
+        SearchHit second = hit(2, 10L, "a");
+        SearchHit third = hit(3, 5L, "z");
+        List<SortBuilder<?>> sorts = Arrays.asList(SortBuilders.fieldSort("read").order(SortOrder.DESC), SortBuilders.fieldSort("articleTitle").order(SortOrder.ASC));
+
+        // when
+        List<SearchHit> sorted = new ArrayList<>(Arrays.asList(first, third, second));
+        sorted.sort(SortValues.comparator(sorts));
+
+        // then
+        assertThat(sorted).containsExactly(second, first, third);
+    }
+
+    @DisplayName("정렬 조건이 없으면 점수 내림차순_성공")
+    @Test
+    public void score() {
+        // given
+        SearchHit low = hit(1);
+        low.score(1.0f);
+        SearchHit high = hit(2);
+        high.score(2.0f);
+
+        // when
+        List<SearchHit> sorted = new ArrayList<>(Arrays.asList(low, high));
+        sorted.sort(SortValues.comparator(null));
+
+        // then
+        assertThat(sorted).containsExactly(high, low);
+    }
+
+    private static List<SearchHit> sort(List<SearchHit> hits, SortOrder order) {
+        Comparator<SearchHit> comparator = SortValues.comparator(Collections.singletonList(SortBuilders.fieldSort("read").order(order)));
+        List<SearchHit> sorted = new ArrayList<>(hits);
+        sorted.sort(comparator);
+        return sorted;
+    }
+
+    private static SearchHit hit(int docId, Object... sortValues) {
+        SearchHit hit = new SearchHit(docId);
+        DocValueFormat[] formats = new DocValueFormat[sortValues.length];
+        Arrays.fill(formats, DocValueFormat.RAW);
+        hit.sortValues(sortValues, formats);
+        return hit;
+    }
+}
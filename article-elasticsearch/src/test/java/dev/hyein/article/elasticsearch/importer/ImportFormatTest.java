@@ -0,0 +1,71 @@
+package dev.hyein.article.elasticsearch.importer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.hyein.article.elasticsearch.codec.ArticleCodec;
+import dev.hyein.article.elasticsearch.vo.ArticleVo;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ImportFormatTest {
+    private final ArticleCodec articleCodec = new ArticleCodec(new ObjectMapper());
+
+    @DisplayName("NDJSON 한 줄 변환_성공")
+    @Test
+    public void parseNdjson() throws IOException {
+        // when
+        ArticleVo articleVo = ImportFormat.NDJSON.parse("{\"articleNumber\":1,\"articleTitle\":\"초콜릿이란\",\"read\":3,\"isOpen\":true}", 1, articleCodec);
+
+        // then
+        assertThat(articleVo).isEqualToComparingFieldByField(new ArticleVo(1, "초콜릿이란", 3, true));
+    }
+
+    @DisplayName("CSV 한 줄 변환_성공")
+    @ParameterizedTest
+    @MethodSource
+    public void parseCsv(String line, ArticleVo expected) throws IOException {
+        // when
+        ArticleVo articleVo = ImportFormat.CSV.parse(line, 2, articleCodec);
+
+        // then
+        assertThat(articleVo).isEqualToComparingFieldByField(expected);
+    }
+
+    private static Stream<Arguments> parseCsv() {
+        return Stream.of(
+                Arguments.of("1,초콜릿이란,3,true", new ArticleVo(1, "초콜릿이란", 3, true)),
+                Arguments.of("2,\"사탕, \"\"젤리\"\"\",,false", new ArticleVo(2, "사탕, \"젤리\"", 0, false))
+        );
+    }
+
+    @DisplayName("CSV 헤더 건너뜀_성공")
+    @Test
+    public void skipCsvHeader() throws IOException {
+        assertNull(ImportFormat.CSV.parse("articleNumber,articleTitle,read,isOpen", 1, articleCodec));
+    }
+
+    @DisplayName("잘못된 CSV 한 줄 변환_실패")
+    @ParameterizedTest
+    @ValueSource(strings = {"1,초콜릿이란,3", "a,초콜릿이란,3,true", "1,초콜릿이란,3,yes"})
+    public void parseInvalidCsv(String line) {
+        assertThrows(IllegalArgumentException.class, () -> ImportFormat.CSV.parse(line, 2, articleCodec));
+    }
+
+    @DisplayName("파일 확장자로 형식 결정_성공")
+    @Test
+    public void formatOfFile() {
+        assertEquals(ImportFormat.CSV, ImportFormat.of(null, Paths.get("articles.csv")));
+        assertEquals(ImportFormat.NDJSON, ImportFormat.of("", Paths.get("articles.ndjson")));
+        assertEquals(ImportFormat.CSV, ImportFormat.of("csv", Paths.get("articles.ndjson")));
+    }
+}
@@ -0,0 +1,150 @@
+package dev.hyein.article.elasticsearch.reindex;
+
+import dev.hyein.article.elasticsearch.dao.CommonEsDao;
+import dev.hyein.article.elasticsearch.dao.ContainerExtension;
+import dev.hyein.article.elasticsearch.properties.ArticleReindexProperties;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.index.IndexRequest;
+import org.elasticsearch.action.support.WriteRequest;
+import org.elasticsearch.client.RestHighLevelClient;
+import org.elasticsearch.search.builder.SearchSourceBuilder;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ExtendWith(ContainerExtension.class)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@ActiveProfiles("test")
+class SlicedScrollReindexerTest {
+    public static final int WAIT_EVENT_MS = 1000;
+    private static final String SOURCE = "reindex_source";
+    private static final String TARGET_MAPPINGS = "{\"mappings\":{\"properties\":{\"articleNumber\":{\"type\":\"integer\"},\"read\":{\"type\":\"integer\"}}}}";
+    private static final int DOCUMENTS = 30;
+    private static final int SLICES = 3;
+
+    @Autowired
+    @Qualifier("articleClient")
+    private RestHighLevelClient client;
+
+    private SlicedScrollReindexer reindexer;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        ArticleReindexProperties articleReindexProperties = new ArticleReindexProperties();
+        articleReindexProperties.setBatchSize(4); // 슬라이스마다 여러 번 스크롤
+        articleReindexProperties.setMaxRetries(0);
+        reindexer = new SlicedScrollReindexer(client, articleReindexProperties);
+
+        if(CommonEsDao.isIndexExist(client, SOURCE))
+            return;
+        CommonEsDao.createIndex(client, SOURCE, TARGET_MAPPINGS);
+        BulkRequest bulkRequest = new BulkRequest().setRefreshPolicy(WriteRequest.RefreshPolicy.IMMEDIATE);
+        for (int articleNumber = 1; articleNumber <= DOCUMENTS; articleNumber++) {
+            Map<String, Object> source = new HashMap<>();
+            source.put("articleNumber", articleNumber);
+            source.put("read", articleNumber * 10);
+            bulkRequest.add(new IndexRequest(SOURCE).id(String.valueOf(articleNumber)).source(source));
+        }
+        CommonEsDao.bulk(client, bulkRequest);
+    }
+
+    @DisplayName("슬라이스로 나눠 모든 도큐먼트 한 번씩 복사_성공")
+    @Test
+    @Order(1)
+    public void reindexSlices() throws IOException, InterruptedException {
+        // given
+        String target = "reindex_target_1";
+        CommonEsDao.createIndex(client, target, TARGET_MAPPINGS);
+        Set<String> workers = ConcurrentHashMap.newKeySet();
+
+        // when
+        ReindexResult reindexResult = reindexer.reindex(SOURCE, target, SLICES, (id, source) -> {
+            workers.add(Thread.currentThread().getName());
+            return source;
+        });
+        Thread.sleep(WAIT_EVENT_MS); // wait until refresh
+
+        // then
+        assertEquals(DOCUMENTS, reindexResult.getTotal()); // 슬라이스별 건수 합이 전체와 같으면 겹치거나 빠진 도큐먼트가 없다.
+        assertEquals(DOCUMENTS, reindexResult.getCopied());
+        assertEquals(0, reindexResult.getFailed());
+        assertEquals(SLICES, workers.size());
+        assertEquals(DOCUMENTS, count(target));
+    }
+
+    @DisplayName("변환 결과가 null 인 도큐먼트 건너뜀_성공")
+    @Test
+    @Order(2)
+    public void skipDocuments() throws IOException, InterruptedException {
+        // given
+        String target = "reindex_target_2";
+        CommonEsDao.createIndex(client, target, TARGET_MAPPINGS);
+
+        // when
+        ReindexResult reindexResult = reindexer.reindex(SOURCE, target, SLICES, (id, source) -> Integer.parseInt(id) % 2 == 0 ? source : null);
+        Thread.sleep(WAIT_EVENT_MS); // wait until refresh
+
+        // then
+        assertEquals(DOCUMENTS / 2, reindexResult.getCopied());
+        assertEquals(DOCUMENTS / 2, reindexResult.getSkipped());
+        assertEquals(DOCUMENTS / 2, count(target));
+    }
+
+    @DisplayName("대상 인덱스가 거절한 도큐먼트는 실패로 집계하고 계속_성공")
+    @Test
+    @Order(3)
+    public void countRejectedDocuments() throws IOException, InterruptedException {
+        // given
+        String target = "reindex_target_3";
+        CommonEsDao.createIndex(client, target, TARGET_MAPPINGS);
+
+        // when
+        ReindexResult reindexResult = reindexer.reindex(SOURCE, target, SLICES, (id, source) -> {
+            if("7".equals(id) || "8".equals(id)) {
+                Map<String, Object> invalidSource = new HashMap<>(source);
+                invalidSource.put("read", "not a number"); // integer 매핑에 색인 실패
+                return invalidSource;
+            }
+            return source;
+        });
+
+        // then
+        assertEquals(DOCUMENTS - 2, reindexResult.getCopied());
+        assertEquals(2, reindexResult.getFailed());
+    }
+
+    @DisplayName("변환 중 오류 나면 재색인 실패_실패")
+    @Test
+    @Order(4)
+    public void failWhenSliceFailed() throws IOException {
+        // given
+        String target = "reindex_target_4";
+        CommonEsDao.createIndex(client, target, TARGET_MAPPINGS);
+
+        // when
+        IOException e = assertThrows(IOException.class, () -> reindexer.reindex(SOURCE, target, SLICES, (id, source) -> {
+            if("7".equals(id))
+                throw new IllegalStateException("transform failed");
+            return source;
+        }));
+
+        // then
+        assertTrue(e.getCause() instanceof IllegalStateException);
+    }
+
+    private long count(String index) throws IOException {
+        return CommonEsDao.searchDocument(client, index, new SearchSourceBuilder().size(0).trackTotalHits(true)).getHits().getTotalHits().value;
+    }
+}
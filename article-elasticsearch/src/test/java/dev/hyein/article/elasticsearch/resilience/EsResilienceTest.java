@@ -0,0 +1,220 @@
+package dev.hyein.article.elasticsearch.resilience;
+
+import dev.hyein.article.elasticsearch.properties.ResilienceProperties;
+import org.elasticsearch.ElasticsearchStatusException;
+import org.elasticsearch.rest.RestStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.SocketTimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EsResilienceTest {
+
+    @DisplayName("일시적인 오류 읽기 재시도_성공")
+    @Test
+    public void retryRead() throws IOException {
+        // given
+        EsResilience esResilience = new EsResilience(properties(5, false));
+        AtomicInteger calls = new AtomicInteger();
+
+        // when
+        String result = esResilience.read("search", () -> {
+            if(calls.incrementAndGet() < 3)
+                throw new ElasticsearchStatusException("rejected", RestStatus.TOO_MANY_REQUESTS);
+            return "result";
+        });
+
+        // then
+        assertEquals("result", result);
+        assertEquals(3, calls.get());
+    }
+
+    @DisplayName("결과가 불확실한 쓰기 재시도 안 함_성공")
+    @Test
+    public void notRetryAmbiguousWrite() {
+        // given
+        EsResilience esResilience = new EsResilience(properties(5, false));
+        AtomicInteger calls = new AtomicInteger();
+
+        // when
+        assertThrows(SocketTimeoutException.class, () -> esResilience.guardedWrite("index", () -> {
+            calls.incrementAndGet();
+            throw new SocketTimeoutException();
+        }));
+
+        // then
+        assertEquals(1, calls.get());
+    }
+
+    @DisplayName("반영 안 된 보호된 쓰기 재시도_성공")
+    @Test
+    public void retryGuardedWrite() throws IOException {
+        // given
+        EsResilience esResilience = new EsResilience(properties(5, false));
+        AtomicInteger calls = new AtomicInteger();
+
+        // when
+        String result = esResilience.guardedWrite("index", () -> {
+            if(calls.incrementAndGet() == 1)
+                throw new ConnectException();
+            return "result";
+        });
+
+        // then
+        assertEquals("result", result);
+        assertEquals(2, calls.get());
+    }
+
+    @DisplayName("연속 실패 시 차단_성공")
+    @Test
+    public void openCircuit() {
+        // given
+        EsResilience esResilience = new EsResilience(properties(3, false));
+        AtomicInteger calls = new AtomicInteger();
+        EsCall<String> failingCall = () -> {
+            calls.incrementAndGet();
+            throw new ElasticsearchStatusException("unavailable", RestStatus.SERVICE_UNAVAILABLE);
+        };
+
+        // when
+        assertThrows(ElasticsearchStatusException.class, () -> esResilience.read("search", failingCall));
+
+        // then
+        assertThrows(CircuitOpenException.class, () -> esResilience.read("search", failingCall));
+        assertEquals(3, calls.get());
+        assertEquals(CircuitBreaker.State.OPEN, esResilience.getCircuitStates().get("search"));
+    }
+
+    @DisplayName("클라이언트 오류는 차단 안 함_성공")
+    @Test
+    public void notOpenCircuitOnClientError() {
+        // given
+        EsResilience esResilience = new EsResilience(properties(1, false));
+
+        // when
+        assertThrows(ElasticsearchStatusException.class, () -> esResilience.guardedWrite("index", () -> {
+            throw new ElasticsearchStatusException("conflict", RestStatus.CONFLICT);
+        }));
+
+        // then
+        assertEquals(CircuitBreaker.State.CLOSED, esResilience.getCircuitStates().get("index"));
+    }
+
+    @DisplayName("호출자 쪽 오류는 연속 실패를 초기화하지 않음_성공")
+    @Test
+    public void notResetFailuresOnRuntimeException() {
+        // given
+        EsResilience esResilience = new EsResilience(properties(2, false));
+        EsCall<String> failingCall = () -> {
+            throw new ElasticsearchStatusException("unavailable", RestStatus.SERVICE_UNAVAILABLE);
+        };
+        assertThrows(ElasticsearchStatusException.class, () -> esResilience.write("search", failingCall));
+
+        // when
+        assertThrows(IllegalStateException.class, () -> esResilience.write("search", () -> {
+            throw new IllegalStateException("parse failed");
+        }));
+        assertThrows(ElasticsearchStatusException.class, () -> esResilience.write("search", failingCall));
+
+        // then
+        assertEquals(CircuitBreaker.State.OPEN, esResilience.getCircuitStates().get("search"));
+    }
+
+    @DisplayName("캐시 키 해시_성공")
+    @Test
+    public void digestCacheKey() {
+        // when
+        String digest = EsResilience.digest("{\"query\":{\"match_all\":{}}}:true");
+
+        // then
+        assertEquals(43, digest.length());
+        assertEquals(digest, EsResilience.digest("{\"query\":{\"match_all\":{}}}:true"));
+        assertNotEquals(digest, EsResilience.digest("{\"query\":{\"match_all\":{}}}:false"));
+    }
+
+    @DisplayName("차단 중 마지막 성공 결과 응답_성공")
+    @Test
+    public void staleFallback() throws IOException {
+        // given
+        EsResilience esResilience = new EsResilience(properties(1, true));
+        esResilience.read("get", () -> "1", () -> "stale");
+        assertThrows(ElasticsearchStatusException.class, () -> esResilience.read("get", () -> "2", () -> {
+            throw new ElasticsearchStatusException("unavailable", RestStatus.SERVICE_UNAVAILABLE);
+        }));
+
+        // when
+        String result = esResilience.read("get", () -> "1", () -> "fresh");
+
+        // then
+        assertEquals("stale", result);
+    }
+
+    @DisplayName("시간 예산 읽기는 재시도 안 하고 일부 결과는 보관 안 함_성공")
+    @Test
+    public void budgetedRead() throws IOException {
+        // given
+        EsResilience esResilience = new EsResilience(properties(5, true));
+        AtomicInteger calls = new AtomicInteger();
+        esResilience.budgetedRead("search", () -> "1", result -> !result.startsWith("partial"), () -> "partial");
+
+        // when
+        assertThrows(SocketTimeoutException.class, () -> esResilience.budgetedRead("search", () -> "1", result -> true, () -> {
+            calls.incrementAndGet();
+            throw new SocketTimeoutException();
+        }));
+
+        // then
+        assertEquals(1, calls.get());
+    }
+
+    @DisplayName("차단 시간 지나면 시험 요청 후 복구_성공")
+    @Test
+    public void halfOpen() throws InterruptedException {
+        // given
+        CircuitBreaker circuitBreaker = new CircuitBreaker("search", 1, 1);
+        circuitBreaker.tryAcquire();
+        circuitBreaker.onFailure();
+
+        // when
+        Thread.sleep(10);
+
+        // then
+        assertTrue(circuitBreaker.tryAcquire());
+        assertFalse(circuitBreaker.tryAcquire()); // 시험 요청은 하나만
+        circuitBreaker.onSuccess();
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+
+    @DisplayName("시험 요청이 판단 불가로 끝나면 상태 유지_성공")
+    @Test
+    public void halfOpenIgnored() throws InterruptedException {
+        // given
+        CircuitBreaker circuitBreaker = new CircuitBreaker("search", 1, 1);
+        circuitBreaker.tryAcquire();
+        circuitBreaker.onFailure();
+        Thread.sleep(10);
+        circuitBreaker.tryAcquire();
+
+        // when
+        circuitBreaker.onIgnored();
+
+        // then
+        assertEquals(CircuitBreaker.State.HALF_OPEN, circuitBreaker.getState());
+        assertTrue(circuitBreaker.tryAcquire()); // 다음 요청이 다시 시험
+    }
+
+    private static ResilienceProperties properties(int failureThreshold, boolean staleFallback) {
+        ResilienceProperties resilienceProperties = new ResilienceProperties();
+        resilienceProperties.setFailureThreshold(failureThreshold);
+        resilienceProperties.setOpenDurationMs(60000);
+        resilienceProperties.setInitialBackoffMs(1);
+        resilienceProperties.setMaxBackoffMs(1);
+        resilienceProperties.setStaleFallback(staleFallback);
+        return resilienceProperties;
+    }
+}
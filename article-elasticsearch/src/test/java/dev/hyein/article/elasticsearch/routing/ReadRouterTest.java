@@ -0,0 +1,125 @@
+package dev.hyein.article.elasticsearch.routing;
+
+import dev.hyein.article.elasticsearch.properties.ArticleProperties;
+import dev.hyein.article.elasticsearch.properties.ResilienceProperties;
+import dev.hyein.article.elasticsearch.resilience.EsResilience;
+import org.elasticsearch.ElasticsearchStatusException;
+import org.elasticsearch.client.RestHighLevelClient;
+import org.elasticsearch.rest.RestStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class ReadRouterTest {
+    private RestHighLevelClient searchClient;
+    private RestHighLevelClient getClient;
+    private RestHighLevelClient readClient;
+    private EsResilience esResilience;
+    private ReadRouter readRouter;
+
+    @BeforeEach
+    public void setUp() {
+        searchClient = mock(RestHighLevelClient.class);
+        getClient = mock(RestHighLevelClient.class);
+        readClient = mock(RestHighLevelClient.class);
+
+        ResilienceProperties resilienceProperties = new ResilienceProperties();
+        resilienceProperties.setFailureThreshold(1);
+        resilienceProperties.setOpenDurationMs(60000);
+        resilienceProperties.setInitialBackoffMs(1);
+        resilienceProperties.setMaxBackoffMs(1);
+        esResilience = new EsResilience(resilienceProperties);
+
+        ArticleProperties articleProperties = new ArticleProperties();
+        articleProperties.setAlias("article");
+        articleProperties.setReadAlias("article_follower");
+        articleProperties.setMaxReadLagMs(5000);
+        articleProperties.setReadLagCheckIntervalMs(1000);
+        readRouter = new ReadRouter(searchClient, getClient, Optional.of(readClient), esResilience, articleProperties);
+    }
+
+    @AfterEach
+    public void clearReadConsistency() {
+        ReadConsistency.clear();
+    }
+
+    @DisplayName("복제 지연이 허용 범위 안이면 읽기 클러스터에서 읽음_성공")
+    @Test
+    public void routeToFollower() {
+        // given
+        readRouter.updateLag(5000);
+
+        // when
+        ReadTarget readTarget = readRouter.route("search");
+
+        // then
+        assertTrue(readTarget.isFollower());
+        assertSame(readClient, readTarget.getClient());
+        assertEquals("article_follower", readTarget.getAlias());
+        assertEquals("search@read", readTarget.getOperation());
+    }
+
+    @DisplayName("첫 지연 확인 전, 지연이 크거나 알 수 없으면 리더에서 읽음_성공")
+    @Test
+    public void routeToLeaderWhenLagging() {
+        // when, then
+        assertFalse(readRouter.route("search").isFollower());
+
+        // when
+        readRouter.updateLag(5001);
+
+        // then
+        assertFalse(readRouter.route("search").isFollower());
+
+        // when
+        readRouter.updateLag(ReplicationLag.UNKNOWN);
+
+        // then
+        ReadTarget readTarget = readRouter.route("search");
+        assertFalse(readTarget.isFollower());
+        assertSame(searchClient, readTarget.getClient());
+        assertEquals("article", readTarget.getAlias());
+        assertEquals("search", readTarget.getOperation());
+    }
+
+    @DisplayName("read-your-writes 요구하면 리더에서 읽음_성공")
+    @Test
+    public void routeToLeaderForReadYourWrites() {
+        // given
+        readRouter.updateLag(0);
+
+        // when
+        ReadConsistency.setReadYourWrites(true);
+        ReadTarget readTarget = readRouter.route("get");
+
+        // then
+        assertFalse(readTarget.isFollower());
+        assertSame(getClient, readTarget.getClient());
+        assertFalse(readRouter.route("get", true).isFollower());
+    }
+
+    @DisplayName("읽기 클러스터 서킷이 열린 작업만 리더에서 읽음_성공")
+    @Test
+    public void routeToLeaderWhenCircuitOpen() {
+        // given
+        readRouter.updateLag(0);
+        assertThrows(ElasticsearchStatusException.class, () -> esResilience.read("search@read", () -> {
+            throw new ElasticsearchStatusException("unavailable", RestStatus.SERVICE_UNAVAILABLE);
+        }));
+
+        // when
+        ReadTarget searchTarget = readRouter.route("search");
+        ReadTarget getTarget = readRouter.route("get");
+
+        // then
+        assertFalse(searchTarget.isFollower());
+        assertEquals("search", searchTarget.getOperation());
+        assertTrue(getTarget.isFollower());
+    }
+}
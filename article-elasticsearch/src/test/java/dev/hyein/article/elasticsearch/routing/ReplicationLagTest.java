@@ -0,0 +1,58 @@
+package dev.hyein.article.elasticsearch.routing;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+
+class ReplicationLagTest {
+
+    @DisplayName("첫 기록에서 따라잡지 못했으면 지연을 알 수 없음_성공")
+    @Test
+    public void unknownOnFirstRecord() {
+        // given
+        ReplicationLag replicationLag = new ReplicationLag(10);
+
+        // when
+        long lagMs = replicationLag.record(1000, 100, 90);
+
+        // then
+        assertThat(lagMs).isEqualTo(ReplicationLag.UNKNOWN);
+    }
+
+    @DisplayName("팔로워가 따라잡은 가장 최근 리더 기록부터 지연 계산_성공")
+    @Test
+    public void lagSinceCaughtUpRecord() {
+        // given
+        ReplicationLag replicationLag = new ReplicationLag(10);
+        replicationLag.record(1000, 100, 100);
+        replicationLag.record(2000, 150, 120);
+        replicationLag.record(3000, 200, 140);
+
+        // when
+        long lagMs = replicationLag.record(4000, 250, 140); // 2000 의 리더 150 을 따라잡지 못해 1000 기록부터
+
+        // then
+        assertThat(lagMs).isEqualTo(3000);
+
+        // when
+        lagMs = replicationLag.record(5000, 300, 210); // 3000 의 200 까지 따라잡음
+
+        // then
+        assertThat(lagMs).isEqualTo(2000);
+    }
+
+    @DisplayName("팔로워가 리더와 같으면 지연 0_성공")
+    @Test
+    public void noLagWhenCaughtUp() {
+        // given
+        ReplicationLag replicationLag = new ReplicationLag(10);
+        replicationLag.record(1000, 100, 50);
+
+        // when
+        long lagMs = replicationLag.record(2000, 120, 120);
+
+        // then
+        assertThat(lagMs).isEqualTo(0);
+    }
+}
@@ -0,0 +1,118 @@
+package dev.hyein.article.elasticsearch.validator;
+
+import dev.hyein.article.elasticsearch.exception.DocumentAlreadyExistException;
+import dev.hyein.article.elasticsearch.exception.DocumentNotFoundException;
+import dev.hyein.article.elasticsearch.exception.InvalidArticleException;
+import dev.hyein.article.elasticsearch.properties.ArticleProperties;
+import dev.hyein.article.elasticsearch.resilience.EsResilience;
+import dev.hyein.article.elasticsearch.vo.ArticleVo;
+import org.elasticsearch.client.RestHighLevelClient;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class ArticleValidatorTest {
+    private EsResilience esResilience;
+    private ArticleValidator articleValidator;
+
+    @BeforeEach
+    public void setUp() {
+        esResilience = mock(EsResilience.class);
+        ArticleProperties articleProperties = new ArticleProperties();
+        articleProperties.setAlias("article");
+        articleValidator = new ArticleValidator(mock(RestHighLevelClient.class), esResilience, articleProperties);
+    }
+
+    @DisplayName("아티클 번호가 없거나 제목이 비었으면 InvalidArticleException_실패")
+    @Test
+    public void validateInvalidArticleVo() {
+        // when, then
+        assertThrows(InvalidArticleException.class, () -> articleValidator.validateArticleVo(new ArticleVo(null, "제목", 0, true)));
+        assertThrows(InvalidArticleException.class, () -> articleValidator.validateArticleVo(new ArticleVo(1, null, 0, true)));
+        assertThrows(InvalidArticleException.class, () -> articleValidator.validateArticleVo(new ArticleVo(1, " ", 0, true)));
+        articleValidator.validateArticleVo(new ArticleVo(1, "제목", 0, true));
+    }
+
+    @DisplayName("비트맵 적재 전에는 원격으로 존재 확인_성공")
+    @Test
+    public void checkRemotelyBeforeLoad() throws IOException {
+        // given
+        when(esResilience.read(eq("exists"), any())).thenReturn(false);
+
+        // when
+        articleValidator.validateIsDocIdNotExist(1);
+
+        // then
+        assertNull(articleValidator.getLocalExistence("1"));
+        verify(esResilience).read(eq("exists"), any());
+    }
+
+    @DisplayName("비트맵이 예상과 같으면 원격 확인 안 함_성공")
+    @Test
+    public void skipRemoteWhenExpected() throws IOException {
+        // given
+        articleValidator.reloadArticleNumbers(consumer -> consumer.accept(1));
+
+        // when
+        articleValidator.validateIsDocIdExist(1);
+        articleValidator.validateIsDocIdNotExist(2);
+
+        // then
+        assertEquals(Boolean.TRUE, articleValidator.getLocalExistence("1"));
+        assertEquals(Boolean.FALSE, articleValidator.getLocalExistence("2"));
+        verify(esResilience, never()).read(any(), any());
+    }
+
+    @DisplayName("비트맵이 오류를 예상하면 원격으로 다시 확인하고 비트맵 보정_성공")
+    @Test
+    public void correctStaleBitmap() throws IOException {
+        // given
+        articleValidator.reloadArticleNumbers(consumer -> consumer.accept(1));
+        when(esResilience.read(eq("exists"), any())).thenReturn(false, true);
+
+        // when
+        articleValidator.validateIsDocIdNotExist(1); // 다른 인스턴스가 삭제
+        articleValidator.validateIsDocIdExist(2); // 다른 인스턴스가 등록
+
+        // then
+        assertEquals(Boolean.FALSE, articleValidator.getLocalExistence("1"));
+        assertEquals(Boolean.TRUE, articleValidator.getLocalExistence("2"));
+        verify(esResilience, times(2)).read(eq("exists"), any());
+    }
+
+    @DisplayName("원격 확인 결과도 오류면 예외_실패")
+    @Test
+    public void failWhenConfirmed() throws IOException {
+        // given
+        articleValidator.reloadArticleNumbers(consumer -> consumer.accept(1));
+        when(esResilience.read(eq("exists"), any())).thenReturn(true, false);
+
+        // when, then
+        assertThrows(DocumentAlreadyExistException.class, () -> articleValidator.validateIsDocIdNotExist(1));
+        assertThrows(DocumentNotFoundException.class, () -> articleValidator.validateIsDocIdExist(2));
+    }
+
+    @DisplayName("다시 적재하는 동안의 쓰기를 새 비트맵에 반영_성공")
+    @Test
+    public void replayChangesDuringReload() throws IOException {
+        // when
+        articleValidator.reloadArticleNumbers(consumer -> {
+            consumer.accept(1);
+            consumer.accept(2);
+            articleValidator.onArticleDeleted(1);
+            articleValidator.onArticleWritten(3);
+        });
+
+        // then
+        assertEquals(Boolean.FALSE, articleValidator.getLocalExistence("1"));
+        assertEquals(Boolean.TRUE, articleValidator.getLocalExistence("2"));
+        assertEquals(Boolean.TRUE, articleValidator.getLocalExistence("3"));
+    }
+}